@@ -9,15 +9,24 @@ import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import lombok.SneakyThrows;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
+import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
+import wiki.xsx.core.pdf.util.XEasyPdfFontWidthCache;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
 import wiki.xsx.core.pdf.util.XEasyPdfImageUtil;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * pdf条形码(一维码/二维码)组件
@@ -368,6 +377,16 @@ public class XEasyPdfBarCode implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 开启矢量模式（条码绘制为合并后的填充矩形，文字使用文档字体，不生成图片）
+     *
+     * @return 返回条形码组件
+     */
+    public XEasyPdfBarCode enableVectorMode() {
+        this.param.setIsVectorMode(Boolean.TRUE);
+        return this;
+    }
+
     /**
      * 开启上下文重置
      *
@@ -379,6 +398,28 @@ public class XEasyPdfBarCode implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 预处理（生成并编码条形码图片，与页面定位无关，可在并行预处理阶段执行）
+     *
+     * @param document pdf文档
+     */
+    public void prepare(XEasyPdfDocument document) {
+        // 如果为矢量模式或已预处理，则返回
+        if (this.param.getIsVectorMode() || this.param.getPreparedImageBytes() != null) {
+            return;
+        }
+        // 初始化图片参数
+        this.param.initImage();
+        // 如果图片已缓存，则返回（绘制时直接复用缓存图片）
+        if (XEasyPdfImageCache.containsTemplate(this.param.getImageKey())) {
+            return;
+        }
+        // 获取条形码图片
+        BufferedImage bufferedImage = this.getBarCodeImage();
+        // 设置预处理的图片数据
+        this.param.setPreparedImageBytes(XEasyPdfImageUtil.toBytes(bufferedImage, XEasyPdfImageType.PNG.name()));
+    }
+
     /**
      * 绘制
      *
@@ -388,38 +429,35 @@ public class XEasyPdfBarCode implements XEasyPdfComponent {
     @SneakyThrows
     @Override
     public void draw(XEasyPdfDocument document, XEasyPdfPage page) {
-        // 初始化参数
-        this.param.init(document, page);
-        // 编码
-        BitMatrix bitMatrix = new MultiFormatWriter().encode(
-                this.param.getContent(),
-                this.param.getCodeType().codeFormat,
-                this.param.getImageMaxWidth(),
-                this.param.getImageMaxHeight(),
-                this.param.getEncodeHints()
-        );
+        // 如果为矢量模式，则绘制矢量条形码
+        if (this.param.getIsVectorMode()) {
+            // 绘制矢量条形码
+            this.drawVector(document, page);
+            return;
+        }
+        // 初始化图片参数
+        this.param.initImage();
         // 获取任务文档
         PDDocument target = document.getTarget();
-        // 获取条形码图片
-        BufferedImage bufferedImage = this.getBarCodeImage(bitMatrix);
-        // 创建pdfBox图片
-        PDImageXObject pdImage = PDImageXObject.createFromByteArray(
-                target,
-                XEasyPdfImageUtil.toBytes(bufferedImage, XEasyPdfImageType.PNG.name()),
-                XEasyPdfImageType.PNG.name()
-        );
-        // 新建内容流
-        PDPageContentStream contentStream = new PDPageContentStream(
-                target,
-                page.getLastPage(),
-                this.param.getContentMode().getMode(),
-                true,
+        // 获取pdfBox图片（相同条形码在同一文档内复用同一图片对象）
+        PDImageXObject pdImage = XEasyPdfImageCache.getImage(target, this.param.getImageKey(), () -> this.createImage(document));
+        // 重置预处理结果为空
+        this.param.setPreparedImageBytes(null);
+        // 初始化参数
+        this.param.init(document, page);
+        // 如果需要旋转，则重置Y轴起始坐标
+        if (this.param.isRotate()) {
+            // 重置Y轴起始坐标
+            this.param.resetBeginY(pdImage.getHeight());
+        }
+        // 获取内容流
+        PDPageContentStream contentStream = page.getContentStream(
+                document,
+                this.param.getContentMode(),
                 this.param.getIsResetContext()
         );
         // 添加图片
         contentStream.drawImage(pdImage, this.param.getBeginX(), this.param.getBeginY(), this.param.getImageWidth(), this.param.getImageHeight());
-        // 关闭内容流
-        contentStream.close();
         // 如果允许页面重置定位，则进行重置
         if (page.isAllowResetPosition()) {
             // 设置文档页面X轴坐标Y轴坐标
@@ -428,25 +466,259 @@ public class XEasyPdfBarCode implements XEasyPdfComponent {
     }
 
     /**
-     * 获取条形码图片
+     * 获取条形码参数
+     *
+     * @return 返回条形码参数
+     */
+    XEasyPdfBarCodeParam getParam() {
+        return this.param;
+    }
+
+    /**
+     * 创建pdfBox图片（图片缓存未命中时调用）
+     *
+     * @param document pdf文档
+     * @return 返回pdfBox图片
+     */
+    @SneakyThrows
+    private PDImageXObject createImage(XEasyPdfDocument document) {
+        // 预处理（已预处理时直接使用预处理结果）
+        this.prepare(document);
+        // 获取预处理的图片数据
+        byte[] imageBytes = this.param.getPreparedImageBytes();
+        // 如果图片数据为空（预处理时已缓存但随后被淘汰），则重新生成
+        if (imageBytes == null) {
+            // 重新生成图片数据
+            imageBytes = XEasyPdfImageUtil.toBytes(this.getBarCodeImage(), XEasyPdfImageType.PNG.name());
+        }
+        // 创建pdfBox图片
+        return PDImageXObject.createFromByteArray(document.getTarget(), imageBytes, XEasyPdfImageType.PNG.name());
+    }
+
+    /**
+     * 绘制矢量条形码
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     */
+    @SneakyThrows
+    private void drawVector(XEasyPdfDocument document, XEasyPdfPage page) {
+        // 初始化参数
+        this.param.init(document, page);
+        // 编码
+        BitMatrix bitMatrix = this.encode();
+        // 获取位矩阵宽度
+        int matrixWidth = bitMatrix.getWidth();
+        // 获取位矩阵高度
+        int matrixHeight = bitMatrix.getHeight();
+        // 获取是否显示文字
+        boolean isShowWords = this.param.getIsShowWords();
+        // 定义文字高度（与图片模式一致：文字大小 + 1）
+        int wordsHeight = isShowWords ? this.param.getWordsSize() + 1 : 0;
+        // 获取宽度
+        float width = this.param.getImageWidth();
+        // 获取高度
+        float height = this.param.getImageHeight();
+        // 定义X轴缩放比例
+        float scaleX = width / matrixWidth;
+        // 定义Y轴缩放比例
+        float scaleY = height / (matrixHeight + wordsHeight);
+        // 获取内容流
+        PDPageContentStream contentStream = page.getContentStream(
+                document,
+                this.param.getContentMode(),
+                this.param.getIsResetContext()
+        );
+        // 保存图形状态
+        contentStream.saveGraphicsState();
+        // 定义变换矩阵（平移至起始坐标）
+        Matrix matrix = Matrix.getTranslateInstance(this.param.getBeginX(), this.param.getBeginY());
+        // 如果需要旋转，则以中心点顺时针旋转
+        if (this.param.isRotate()) {
+            // 平移至中心点
+            matrix.translate(width / 2, height / 2);
+            // 顺时针旋转
+            matrix.rotate(-Math.toRadians(this.param.getRadians()));
+            // 平移回原点
+            matrix.translate(-width / 2, -height / 2);
+        }
+        // 变换坐标系
+        contentStream.transform(matrix);
+        // 设置背景色
+        contentStream.setNonStrokingColor(this.param.getOffColor());
+        // 添加背景矩形
+        contentStream.addRect(0F, 0F, width, height);
+        // 填充背景
+        contentStream.fill();
+        // 设置前景色
+        contentStream.setNonStrokingColor(this.param.getOnColor());
+        // 定义条码Y轴起始坐标（文字位于条码下方）
+        float barBeginY = wordsHeight * scaleY;
+        // 遍历合并后的矩形
+        for (int[] rect : this.getRectangles(bitMatrix)) {
+            // 添加矩形（位矩阵行号自上而下，pdf坐标自下而上）
+            contentStream.addRect(
+                    rect[0] * scaleX,
+                    barBeginY + (matrixHeight - rect[1] - rect[3]) * scaleY,
+                    rect[2] * scaleX,
+                    rect[3] * scaleY
+            );
+        }
+        // 填充条码
+        contentStream.fill();
+        // 如果显示文字，则添加文字
+        if (isShowWords) {
+            // 添加文字
+            this.addVectorWords(document, page, contentStream, width, scaleY);
+        }
+        // 恢复图形状态
+        contentStream.restoreGraphicsState();
+        // 如果允许页面重置定位，则进行重置
+        if (page.isAllowResetPosition()) {
+            // 设置文档页面X轴坐标Y轴坐标
+            page.setPageX(this.param.getBeginX()).setPageY(this.param.getBeginY());
+        }
+    }
+
+    /**
+     * 获取合并后的矩形
+     * <p>
+     * 每行连续的前景模块合并为一段，相邻行起止相同的段再纵向合并，
+     * 一维码各行相同，合并后每个条仅为一个矩形；二维码相同列宽的模块按行列合并
+     * </p>
      *
      * @param matrix 位矩阵
+     * @return 返回矩形列表（X轴起始模块、Y轴起始模块、模块宽度、模块高度）
+     */
+    private List<int[]> getRectangles(BitMatrix matrix) {
+        // 获取宽度
+        int width = matrix.getWidth();
+        // 获取高度
+        int height = matrix.getHeight();
+        // 定义矩形列表
+        List<int[]> rectangles = new ArrayList<>(64);
+        // 定义未闭合矩形（key为段起止位置）
+        Map<Long, int[]> openMap = new HashMap<>(64);
+        // 定义位数组
+        BitArray row = new BitArray(width);
+        // 循环高度
+        for (int y = 0; y < height; y++) {
+            // 获取位数组
+            row = matrix.getRow(y, row);
+            // 定义当前行矩形
+            Map<Long, int[]> currentMap = new HashMap<>(Math.max(16, openMap.size() * 2));
+            // 获取首个前景位置
+            int begin = row.getNextSet(0);
+            // 循环前景段
+            while (begin < width) {
+                // 获取段结束位置
+                int end = row.getNextUnset(begin);
+                // 定义段key
+                Long key = ((long) begin << 32) | end;
+                // 获取上一行相同的矩形
+                int[] rect = openMap.remove(key);
+                // 如果矩形为空，则新建矩形
+                if (rect == null) {
+                    // 新建矩形
+                    rect = new int[]{begin, y, end - begin, 0};
+                }
+                // 矩形高度+1
+                rect[3]++;
+                // 添加当前行矩形
+                currentMap.put(key, rect);
+                // 获取下一个前景位置
+                begin = end < width ? row.getNextSet(end) : width;
+            }
+            // 闭合上一行未延续的矩形
+            rectangles.addAll(openMap.values());
+            // 重置未闭合矩形
+            openMap = currentMap;
+        }
+        // 闭合剩余矩形
+        rectangles.addAll(openMap.values());
+        return rectangles;
+    }
+
+    /**
+     * 添加矢量文字（使用页面或文档字体）
+     *
+     * @param document      pdf文档
+     * @param page          pdf页面
+     * @param contentStream 内容流
+     * @param width         条形码宽度
+     * @param scaleY        Y轴缩放比例
+     */
+    @SneakyThrows
+    private void addVectorWords(XEasyPdfDocument document, XEasyPdfPage page, PDPageContentStream contentStream, float width, float scaleY) {
+        // 获取文字
+        String words = this.param.getWords();
+        // 获取字体
+        PDFont font = XEasyPdfFontUtil.loadFont(document, page, null, true);
+        // 定义字体大小
+        float fontSize = this.param.getWordsSize() * scaleY;
+        // 添加文本关联
+        XEasyPdfFontUtil.addToSubset(font, words);
+        // 获取文字宽度
+        float wordsWidth = XEasyPdfFontWidthCache.getStringWidth(font, words) / 1000F * fontSize;
+        // 开启文本输入
+        contentStream.beginText();
+        // 设置字体
+        contentStream.setFont(font, fontSize);
+        // 设置文字颜色
+        contentStream.setNonStrokingColor(this.param.getWordsColor());
+        // 设置文本定位（居中显示，基线位于底部留白之上）
+        contentStream.newLineAtOffset((width - wordsWidth) / 2, scaleY);
+        // 添加文字
+        contentStream.showText(words);
+        // 结束文本输入
+        contentStream.endText();
+    }
+
+    /**
+     * 编码（优先使用编码缓存）
+     *
+     * @return 返回位矩阵
+     */
+    private BitMatrix encode() {
+        return XEasyPdfBarCodeCache.getMatrix(this.param.getMatrixKey(), this::encodeMatrix);
+    }
+
+    /**
+     * 编码（不使用缓存）
+     *
+     * @return 返回位矩阵
+     */
+    @SneakyThrows
+    private BitMatrix encodeMatrix() {
+        return new MultiFormatWriter().encode(
+                this.param.getContent(),
+                this.param.getCodeType().codeFormat,
+                this.param.getImageMaxWidth(),
+                this.param.getImageMaxHeight(),
+                this.param.getEncodeHints()
+        );
+    }
+
+    /**
+     * 获取条形码图片
+     *
      * @return 返回条形码图片
      */
-    private BufferedImage getBarCodeImage(BitMatrix matrix) {
+    @SneakyThrows
+    private BufferedImage getBarCodeImage() {
+        // 编码
+        BitMatrix bitMatrix = this.encode();
         // 获取图片
-        BufferedImage bufferedImage = this.toBufferedImage(matrix);
+        BufferedImage bufferedImage = this.toBufferedImage(bitMatrix);
         // 如果显示文字，则添加图片文字
         if (this.param.getIsShowWords()) {
             // 添加图片文字
             bufferedImage = this.addImageWords(bufferedImage);
         }
-        // 如果需要旋转且不旋转文字，则重置图片为旋转后的图片
+        // 如果需要旋转，则重置图片为旋转后的图片
         if (this.param.isRotate()) {
             // 重置图片为旋转后的图片
             bufferedImage = XEasyPdfImageUtil.rotate(bufferedImage, this.param.getRadians());
-            // 重置Y轴起始坐标
-            this.param.resetBeginY(bufferedImage.getHeight());
         }
         return bufferedImage;
     }
@@ -0,0 +1,181 @@
+package wiki.xsx.core.pdf.component.barcode;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 条形码编码缓存
+ * <p>
+ * 以条形码类型、内容、编码尺寸、纠错级别与边距作为缓存key，复用编码后的位矩阵（按数量淘汰最久未使用的缓存）；
+ * 绘制完成的图片对象由图片缓存按相同key附加颜色、文字与旋转参数复用
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public final class XEasyPdfBarCodeCache {
+
+    /**
+     * 位矩阵缓存（访问顺序，用于淘汰最久未使用的缓存）
+     */
+    private static final LinkedHashMap<String, BitMatrix> MATRIX_CACHE = new LinkedHashMap<>(16, 0.75F, true);
+    /**
+     * 命中次数
+     */
+    private static final AtomicLong HIT_COUNT = new AtomicLong();
+    /**
+     * 未命中次数
+     */
+    private static final AtomicLong MISS_COUNT = new AtomicLong();
+    /**
+     * 位矩阵缓存最大数量（默认1024）
+     */
+    private static int maxCount = 1024;
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfBarCodeCache() {
+    }
+
+    /**
+     * 获取位矩阵（位矩阵共享，调用方不可修改）
+     *
+     * @param key     缓存key
+     * @param encoder 编码器（未命中时调用）
+     * @return 返回位矩阵
+     */
+    static BitMatrix getMatrix(String key, Supplier<BitMatrix> encoder) {
+        // 定义位矩阵
+        BitMatrix matrix;
+        // 同步获取
+        synchronized (MATRIX_CACHE) {
+            // 获取位矩阵
+            matrix = MATRIX_CACHE.get(key);
+        }
+        // 如果位矩阵不为空，则命中缓存
+        if (matrix != null) {
+            // 命中次数加1
+            HIT_COUNT.incrementAndGet();
+            return matrix;
+        }
+        // 未命中次数加1
+        MISS_COUNT.incrementAndGet();
+        // 编码（不持有锁，并行预处理时互不阻塞）
+        matrix = encoder.get();
+        // 同步添加
+        synchronized (MATRIX_CACHE) {
+            // 如果允许缓存，则添加缓存
+            if (maxCount > 0) {
+                // 添加缓存
+                MATRIX_CACHE.put(key, matrix);
+                // 淘汰超出的缓存
+                evict();
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * 设置位矩阵缓存最大数量
+     *
+     * @param maxCount 最大数量（小于等于0时不缓存）
+     */
+    public static void setMaxCount(int maxCount) {
+        // 同步设置
+        synchronized (MATRIX_CACHE) {
+            // 设置最大数量
+            XEasyPdfBarCodeCache.maxCount = maxCount;
+            // 淘汰超出的缓存
+            evict();
+        }
+    }
+
+    /**
+     * 获取位矩阵缓存最大数量
+     *
+     * @return 返回最大数量
+     */
+    public static int getMaxCount() {
+        // 同步获取
+        synchronized (MATRIX_CACHE) {
+            return maxCount;
+        }
+    }
+
+    /**
+     * 获取位矩阵缓存当前数量
+     *
+     * @return 返回当前数量
+     */
+    public static int getSize() {
+        // 同步获取
+        synchronized (MATRIX_CACHE) {
+            return MATRIX_CACHE.size();
+        }
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 返回命中次数
+     */
+    public static long getHitCount() {
+        return HIT_COUNT.get();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    public static long getMissCount() {
+        return MISS_COUNT.get();
+    }
+
+    /**
+     * 清空位矩阵缓存与统计
+     */
+    public static void clear() {
+        // 同步清空
+        synchronized (MATRIX_CACHE) {
+            // 清空缓存
+            MATRIX_CACHE.clear();
+        }
+        // 重置命中次数
+        HIT_COUNT.set(0L);
+        // 重置未命中次数
+        MISS_COUNT.set(0L);
+    }
+
+    /**
+     * 淘汰最久未使用的缓存（调用方持有锁）
+     */
+    private static void evict() {
+        // 获取迭代器
+        Iterator<BitMatrix> iterator = MATRIX_CACHE.values().iterator();
+        // 如果当前数量超过最大数量，则淘汰
+        while (MATRIX_CACHE.size() > Math.max(maxCount, 0) && iterator.hasNext()) {
+            // 移动至最久未使用的缓存
+            iterator.next();
+            // 移除缓存
+            iterator.remove();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * pdf条形码参数
@@ -132,10 +133,18 @@ class XEasyPdfBarCodeParam implements Serializable {
      * 是否显示文字
      */
     private Boolean isShowWords = Boolean.FALSE;
+    /**
+     * 是否矢量模式
+     */
+    private Boolean isVectorMode = Boolean.FALSE;
     /**
      * 编码设置
      */
     private final Map<EncodeHintType, Object> encodeHints = new HashMap<>(8);
+    /**
+     * 预处理的图片数据（png编码）
+     */
+    private transient byte[] preparedImageBytes;
 
     /**
      * 设置编码设置
@@ -199,6 +208,21 @@ class XEasyPdfBarCodeParam implements Serializable {
         }
     }
 
+    /**
+     * 初始化图片参数（与页面定位无关，用于预处理）
+     */
+    void initImage() {
+        // 初始化编码设置
+        this.initEncodeHints();
+        // 初始化宽度与高度
+        this.initWidthAndHeight();
+        // 如果显示文字且文字为空，则重置为条形码内容
+        if (this.isShowWords && (this.words == null || this.words.trim().length() == 0)) {
+            // 重置为条形码内容
+            this.words = this.content;
+        }
+    }
+
     /**
      * 是否旋转
      *
@@ -208,6 +232,29 @@ class XEasyPdfBarCodeParam implements Serializable {
         return this.radians != null && this.radians % 360 != 0;
     }
 
+    /**
+     * 获取编码缓存key（条形码类型、编码尺寸、编码设置与内容）
+     *
+     * @return 返回编码缓存key
+     */
+    String getMatrixKey() {
+        return "barcode:" + this.codeType.name() + ":" + this.imageMaxWidth + "x" + this.imageMaxHeight + ":" +
+                new TreeMap<>(this.encodeHints) + ":" + this.content.length() + "#" + this.content;
+    }
+
+    /**
+     * 获取图片缓存key（编码缓存key附加颜色、文字与旋转参数）
+     *
+     * @return 返回图片缓存key
+     */
+    String getImageKey() {
+        // 定义文字参数
+        String wordsKey = this.isShowWords ?
+                this.words.length() + "#" + this.words + ":" + this.wordsColor.getRGB() + ":" + this.wordsStyle + ":" + this.wordsSize :
+                "none";
+        return this.onColor.getRGB() + ":" + this.offColor.getRGB() + ":" + (this.isRotate() ? this.radians : 0D) + ":" + wordsKey + ":" + this.getMatrixKey();
+    }
+
     /**
      * 初始化编码设置
      */
@@ -228,12 +275,10 @@ class XEasyPdfBarCodeParam implements Serializable {
         Object errorLevel = this.encodeHints.get(EncodeHintType.ERROR_CORRECTION);
         // 如果纠错级别不为空，则检查条形码格式化类型并重置
         if (errorLevel != null) {
-            // 类型转换
-            ErrorCorrectionLevel level = (ErrorCorrectionLevel) errorLevel;
-            // 如果条形码格式化类型为阿兹特克码或PDF-417码，则重置纠错级别
-            if (BarcodeFormat.AZTEC == this.codeType.codeFormat || BarcodeFormat.PDF_417 == this.codeType.codeFormat) {
+            // 如果条形码格式化类型为阿兹特克码或PDF-417码且未转换，则重置纠错级别（重复初始化时已为级别位数）
+            if ((BarcodeFormat.AZTEC == this.codeType.codeFormat || BarcodeFormat.PDF_417 == this.codeType.codeFormat) && errorLevel instanceof ErrorCorrectionLevel) {
                 // 重置纠错级别
-                this.encodeHints.put(EncodeHintType.ERROR_CORRECTION, level.getBits());
+                this.encodeHints.put(EncodeHintType.ERROR_CORRECTION, ((ErrorCorrectionLevel) errorLevel).getBits());
             }
         }
         // 否则重置纠错级别
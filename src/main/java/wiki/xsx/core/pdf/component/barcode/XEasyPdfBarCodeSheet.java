@@ -0,0 +1,362 @@
+package wiki.xsx.core.pdf.component.barcode;
+
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.doc.XEasyPdfPage;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * pdf条形码标签页组件
+ * <p>
+ * 按列数与单元格尺寸将多个条形码一次性排列为网格，行超出页面时自动分页；
+ * 条形码共享页面内容流，相同条形码复用编码缓存与图片对象
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfBarCodeSheet implements XEasyPdfComponent {
+
+    private static final long serialVersionUID = 2306814471269537702L;
+
+    /**
+     * 条形码标签页参数
+     */
+    private final XEasyPdfBarCodeSheetParam param = new XEasyPdfBarCodeSheetParam();
+
+    /**
+     * 有参构造
+     *
+     * @param columns 列数
+     */
+    public XEasyPdfBarCodeSheet(int columns) {
+        this.param.setColumns(columns);
+    }
+
+    /**
+     * 有参构造
+     *
+     * @param columns    列数
+     * @param cellWidth  单元格宽度
+     * @param cellHeight 单元格高度
+     */
+    public XEasyPdfBarCodeSheet(int columns, float cellWidth, float cellHeight) {
+        this.param.setColumns(columns).setCellWidth(Math.abs(cellWidth)).setCellHeight(Math.abs(cellHeight));
+    }
+
+    /**
+     * 添加条形码（每个条形码占用一个单元格，同一条形码组件不可重复添加）
+     *
+     * @param barCodes 条形码
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet addBarCode(XEasyPdfBarCode... barCodes) {
+        // 如果条形码不为空，则添加
+        if (barCodes != null) {
+            // 添加条形码
+            Collections.addAll(this.param.getBarCodeList(), barCodes);
+        }
+        return this;
+    }
+
+    /**
+     * 添加条形码（每个条形码占用一个单元格，同一条形码组件不可重复添加）
+     *
+     * @param barCodeList 条形码列表
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet addBarCode(List<XEasyPdfBarCode> barCodeList) {
+        // 如果条形码列表不为空，则添加
+        if (barCodeList != null) {
+            // 添加条形码
+            this.param.getBarCodeList().addAll(barCodeList);
+        }
+        return this;
+    }
+
+    /**
+     * 设置列数
+     *
+     * @param columns 列数
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet setColumns(int columns) {
+        this.param.setColumns(columns);
+        return this;
+    }
+
+    /**
+     * 设置单元格间距
+     *
+     * @param horizontalSpacing 水平间距
+     * @param verticalSpacing   垂直间距
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet setSpacing(float horizontalSpacing, float verticalSpacing) {
+        this.param.setHorizontalSpacing(Math.abs(horizontalSpacing)).setVerticalSpacing(Math.abs(verticalSpacing));
+        return this;
+    }
+
+    /**
+     * 设置左边距
+     *
+     * @param marginLeft 左边距
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet setMarginLeft(float marginLeft) {
+        this.param.setMarginLeft(marginLeft);
+        return this;
+    }
+
+    /**
+     * 设置右边距
+     *
+     * @param marginRight 右边距
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet setMarginRight(float marginRight) {
+        this.param.setMarginRight(marginRight);
+        return this;
+    }
+
+    /**
+     * 设置上边距
+     *
+     * @param marginTop 上边距
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet setMarginTop(float marginTop) {
+        this.param.setMarginTop(marginTop);
+        return this;
+    }
+
+    /**
+     * 设置下边距
+     *
+     * @param marginBottom 下边距
+     * @return 返回条形码标签页组件
+     */
+    public XEasyPdfBarCodeSheet setMarginBottom(float marginBottom) {
+        this.param.setMarginBottom(marginBottom);
+        return this;
+    }
+
+    /**
+     * 设置定位（标签页左上角）
+     *
+     * @param beginX X轴起始坐标
+     * @param beginY Y轴起始坐标
+     * @return 返回条形码标签页组件
+     */
+    @Override
+    public XEasyPdfBarCodeSheet setPosition(float beginX, float beginY) {
+        this.param.setBeginX(beginX).setBeginY(beginY);
+        return this;
+    }
+
+    /**
+     * 设置宽度（单元格宽度）
+     *
+     * @param width 宽度
+     * @return 返回条形码标签页组件
+     */
+    @Override
+    public XEasyPdfBarCodeSheet setWidth(float width) {
+        this.param.setCellWidth(Math.abs(width));
+        return this;
+    }
+
+    /**
+     * 设置高度（单元格高度）
+     *
+     * @param height 高度
+     * @return 返回条形码标签页组件
+     */
+    @Override
+    public XEasyPdfBarCodeSheet setHeight(float height) {
+        this.param.setCellHeight(Math.abs(height));
+        return this;
+    }
+
+    /**
+     * 设置内容模式
+     *
+     * @param mode 模式
+     * @return 返回条形码标签页组件
+     */
+    @Override
+    public XEasyPdfBarCodeSheet setContentMode(ContentMode mode) {
+        if (mode != null) {
+            this.param.setContentMode(mode);
+        }
+        return this;
+    }
+
+    /**
+     * 开启上下文重置
+     *
+     * @return 返回条形码标签页组件
+     */
+    @Override
+    public XEasyPdfBarCodeSheet enableResetContext() {
+        this.param.setIsResetContext(Boolean.TRUE);
+        return this;
+    }
+
+    /**
+     * 获取可预处理的条形码列表
+     * <p>
+     * 单元格宽度已设置时，未设置尺寸的条形码初始化为单元格尺寸后返回；
+     * 单元格宽度依赖页面宽度时返回空列表，条形码于绘制时顺序处理
+     * </p>
+     *
+     * @return 返回条形码列表（只读）
+     */
+    public List<XEasyPdfBarCode> getPreparableBarCodeList() {
+        // 如果单元格宽度未设置，则返回空列表
+        if (this.param.getCellWidth() == null) {
+            return Collections.emptyList();
+        }
+        // 遍历条形码
+        for (XEasyPdfBarCode barCode : this.param.getBarCodeList()) {
+            // 初始化条形码尺寸
+            this.initSize(barCode.getParam());
+        }
+        return Collections.unmodifiableList(this.param.getBarCodeList());
+    }
+
+    /**
+     * 绘制
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     */
+    @Override
+    public void draw(XEasyPdfDocument document, XEasyPdfPage page) {
+        // 初始化参数
+        this.param.init(document, page);
+        // 获取条形码列表
+        List<XEasyPdfBarCode> barCodeList = this.param.getBarCodeList();
+        // 如果条形码列表为空，则返回
+        if (barCodeList.isEmpty()) {
+            return;
+        }
+        // 获取页面尺寸
+        PDRectangle rectangle = page.getLastPage().getMediaBox();
+        // 获取列数
+        int columns = this.param.getColumns();
+        // 获取单元格宽度
+        float cellWidth = this.param.getCellWidth();
+        // 获取单元格高度
+        float cellHeight = this.param.getCellHeight();
+        // 定义行顶部Y轴坐标
+        float rowTop;
+        // 如果Y轴起始坐标不为空，则使用Y轴起始坐标
+        if (this.param.getBeginY() != null) {
+            // 初始化行顶部Y轴坐标
+            rowTop = this.param.getBeginY();
+        }
+        // 否则根据页面当前Y轴坐标初始化
+        else {
+            // 行顶部Y轴坐标 = 页面当前Y轴坐标（新页面为页面高度） - 上边距
+            rowTop = (page.getPageY() != null ? page.getPageY() : rectangle.getHeight()) - this.param.getMarginTop();
+        }
+        // 遍历条形码
+        for (int i = 0, count = barCodeList.size(); i < count; i++) {
+            // 获取列索引
+            int column = i % columns;
+            // 如果为行首，则检查换行与分页
+            if (column == 0) {
+                // 如果不为首行，则换行
+                if (i > 0) {
+                    // 行顶部Y轴坐标 -= 单元格高度 + 垂直间距
+                    rowTop -= cellHeight + this.param.getVerticalSpacing();
+                }
+                // 如果行底部超出页脚与下边距，则分页
+                if (rowTop - cellHeight - this.param.getFooterHeight(document, page) < this.param.getMarginBottom()) {
+                    // 添加新页面
+                    page.addNewPage(document, rectangle);
+                    // 重置行顶部Y轴坐标 = 页面高度 - 上边距
+                    rowTop = rectangle.getHeight() - this.param.getMarginTop();
+                }
+            }
+            // 获取条形码
+            XEasyPdfBarCode barCode = barCodeList.get(i);
+            // 初始化单元格
+            this.initCell(barCode.getParam(), column, rowTop);
+            // 绘制条形码
+            barCode.draw(document, page);
+        }
+        // 如果允许页面重置定位，则进行重置
+        if (page.isAllowResetPosition()) {
+            // 设置文档页面X轴坐标Y轴坐标
+            page.setPageX(this.param.getBeginX()).setPageY(rowTop - cellHeight);
+        }
+    }
+
+    /**
+     * 初始化单元格（水平居中、顶部对齐）
+     *
+     * @param barCodeParam 条形码参数
+     * @param column       列索引
+     * @param rowTop       行顶部Y轴坐标
+     */
+    private void initCell(XEasyPdfBarCodeParam barCodeParam, int column, float rowTop) {
+        // 初始化条形码尺寸
+        this.initSize(barCodeParam);
+        // 如果条形码内容模式未设置，则初始化为标签页内容模式
+        if (barCodeParam.getContentMode() == null) {
+            // 初始化条形码内容模式
+            barCodeParam.setContentMode(this.param.getContentMode());
+        }
+        // 如果条形码是否重置上下文未设置，则初始化为标签页是否重置上下文
+        if (barCodeParam.getIsResetContext() == null) {
+            // 初始化条形码是否重置上下文
+            barCodeParam.setIsResetContext(this.param.getIsResetContext());
+        }
+        // 获取单元格宽度
+        float cellWidth = this.param.getCellWidth();
+        // 单元格X轴起始坐标 = X轴起始坐标 + 列索引 * (单元格宽度 + 水平间距)
+        float cellX = this.param.getBeginX() + column * (cellWidth + this.param.getHorizontalSpacing());
+        // 设置条形码定位（水平居中、顶部对齐，边距由单元格代替）
+        barCodeParam.setBeginX(cellX + (cellWidth - barCodeParam.getImageWidth()) / 2)
+                .setBeginY(rowTop - barCodeParam.getImageHeight())
+                .setMarginLeft(0F)
+                .setMarginRight(null);
+    }
+
+    /**
+     * 初始化条形码尺寸（条形码未设置尺寸时使用单元格尺寸）
+     *
+     * @param barCodeParam 条形码参数
+     */
+    private void initSize(XEasyPdfBarCodeParam barCodeParam) {
+        // 获取单元格宽度
+        float cellWidth = this.param.getCellWidth();
+        // 如果条形码宽度未设置，则初始化为单元格宽度
+        if (barCodeParam.getImageWidth() == null) {
+            // 初始化条形码宽度
+            barCodeParam.setImageWidth((int) cellWidth);
+        }
+        // 如果条形码高度未设置，则初始化为单元格高度（未设置时为单元格宽度）
+        if (barCodeParam.getImageHeight() == null) {
+            // 初始化条形码高度
+            barCodeParam.setImageHeight((int) (this.param.getCellHeight() != null ? this.param.getCellHeight() : cellWidth));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package wiki.xsx.core.pdf.component.barcode;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.doc.XEasyPdfPage;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * pdf条形码标签页参数
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+class XEasyPdfBarCodeSheetParam implements Serializable {
+
+    private static final long serialVersionUID = -3120958840775311647L;
+
+    /**
+     * 内容模式
+     */
+    private XEasyPdfComponent.ContentMode contentMode;
+    /**
+     * 是否重置上下文
+     */
+    private Boolean isResetContext;
+    /**
+     * 条形码列表
+     */
+    private final List<XEasyPdfBarCode> barCodeList = new ArrayList<>(64);
+    /**
+     * 列数
+     */
+    private Integer columns;
+    /**
+     * 单元格宽度
+     */
+    private Float cellWidth;
+    /**
+     * 单元格高度
+     */
+    private Float cellHeight;
+    /**
+     * 水平间距
+     */
+    private Float horizontalSpacing = 0F;
+    /**
+     * 垂直间距
+     */
+    private Float verticalSpacing = 0F;
+    /**
+     * 页面X轴起始坐标
+     */
+    private Float beginX;
+    /**
+     * 页面Y轴起始坐标（标签页顶部）
+     */
+    private Float beginY;
+    /**
+     * 左边距
+     */
+    private Float marginLeft = 0F;
+    /**
+     * 右边距
+     */
+    private Float marginRight = 0F;
+    /**
+     * 上边距
+     */
+    private Float marginTop = 0F;
+    /**
+     * 下边距
+     */
+    private Float marginBottom = 0F;
+
+    /**
+     * 初始化
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     */
+    void init(XEasyPdfDocument document, XEasyPdfPage page) {
+        // 如果列数未设置或小于1，则抛异常
+        if (this.columns == null || this.columns < 1) {
+            throw new IllegalArgumentException("the columns must be greater than 0");
+        }
+        // 如果内容模式未初始化，则初始化为页面内容模式
+        if (this.contentMode == null) {
+            // 初始化为页面内容模式
+            this.contentMode = page.getContentMode();
+        }
+        // 如果是否重置上下文未初始化，则初始化为页面是否重置上下文
+        if (this.isResetContext == null) {
+            // 初始化为页面是否重置上下文
+            this.isResetContext = page.isResetContext();
+        }
+        // 获取页面尺寸
+        PDRectangle rectangle = page.getLastPage().getMediaBox();
+        // 如果X轴起始坐标未初始化，则初始化为左边距
+        if (this.beginX == null) {
+            // 初始化X轴起始坐标
+            this.beginX = this.marginLeft;
+        }
+        // 如果单元格宽度未初始化，则按列数均分可用宽度
+        if (this.cellWidth == null) {
+            // 单元格宽度 = (页面宽度 - X轴起始坐标 - 右边距 - 水平间距总和) / 列数
+            this.cellWidth = (rectangle.getWidth() - this.beginX - this.marginRight - this.horizontalSpacing * (this.columns - 1)) / this.columns;
+        }
+        // 如果单元格高度未初始化，则初始化为单元格宽度
+        if (this.cellHeight == null) {
+            // 初始化单元格高度
+            this.cellHeight = this.cellWidth;
+        }
+    }
+
+    /**
+     * 获取页脚高度
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     * @return 返回页脚高度
+     */
+    float getFooterHeight(XEasyPdfDocument document, XEasyPdfPage page) {
+        // 如果允许添加页脚，且页脚不为空则返回页脚高度
+        if (page.isAllowFooter() && page.getFooter() != null) {
+            // 返回页脚高度
+            return page.getFooter().getHeight(document, page);
+        }
+        return 0F;
+    }
+}
@@ -265,12 +265,10 @@ public class XEasyPdfCircle implements XEasyPdfComponent {
     public void draw(XEasyPdfDocument document, XEasyPdfPage page) {
         // 参数初始化
         this.param.init(document, page);
-        // 新建内容流
-        PDPageContentStream contentStream = new PDPageContentStream(
-                document.getTarget(),
-                page.getLastPage(),
-                this.param.getContentMode().getMode(),
-                true,
+        // 获取内容流
+        PDPageContentStream contentStream = page.getContentStream(
+                document,
+                this.param.getContentMode(),
                 this.param.getIsResetContext()
         );
 
@@ -290,8 +288,6 @@ public class XEasyPdfCircle implements XEasyPdfComponent {
         }
         // 内容流重置颜色为黑色
         contentStream.setNonStrokingColor(Color.BLACK);
-        // 关闭内容流
-        contentStream.close();
         // 如果允许页面重置定位，则进行重置
         if (page.isAllowResetPosition()) {
             // 如果允许自动换行，则重置页面Y轴起始坐标
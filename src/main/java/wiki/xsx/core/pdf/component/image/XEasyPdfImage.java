@@ -4,12 +4,14 @@ import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
 import wiki.xsx.core.pdf.util.XEasyPdfImageUtil;
 
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.InputStream;
@@ -49,7 +51,7 @@ public class XEasyPdfImage implements XEasyPdfComponent {
      */
     @SneakyThrows
     public XEasyPdfImage(File imageFile) {
-        this.param.setImageType(XEasyPdfImageUtil.parseType(imageFile)).setImage(XEasyPdfImageUtil.read(imageFile));
+        this.initImageFile(imageFile);
     }
 
     /**
@@ -60,7 +62,7 @@ public class XEasyPdfImage implements XEasyPdfComponent {
      */
     @SneakyThrows
     public XEasyPdfImage(InputStream imageStream, XEasyPdfImageType imageType) {
-        this.param.setImageType(imageType.name().toLowerCase()).setImage(XEasyPdfImageUtil.read(imageStream));
+        this.param.setImageType(imageType.name().toLowerCase()).setImageBytes(XEasyPdfImageUtil.readBytes(imageStream));
     }
 
     /**
@@ -83,9 +85,8 @@ public class XEasyPdfImage implements XEasyPdfComponent {
      */
     @SneakyThrows
     public XEasyPdfImage(File imageFile, int width, int height) {
-        this.param.setImageType(XEasyPdfImageUtil.parseType(imageFile))
-                .setImage(XEasyPdfImageUtil.read(imageFile))
-                .setWidth(Math.abs(width))
+        this.initImageFile(imageFile);
+        this.param.setWidth(Math.abs(width))
                 .setHeight(Math.abs(height))
                 .setIsCustomRectangle(Boolean.TRUE);
     }
@@ -101,7 +102,7 @@ public class XEasyPdfImage implements XEasyPdfComponent {
     @SneakyThrows
     public XEasyPdfImage(InputStream imageStream, XEasyPdfImageType imageType, int width, int height) {
         this.param.setImageType(imageType.name().toLowerCase())
-                .setImage(XEasyPdfImageUtil.read(imageStream))
+                .setImageBytes(XEasyPdfImageUtil.readBytes(imageStream))
                 .setWidth(Math.abs(width))
                 .setHeight(Math.abs(height))
                 .setIsCustomRectangle(Boolean.TRUE);
@@ -132,8 +133,7 @@ public class XEasyPdfImage implements XEasyPdfComponent {
      */
     @SneakyThrows
     public XEasyPdfImage setImage(File imageFile) {
-        this.param.setImageType(XEasyPdfImageUtil.parseType(imageFile)).setImage(XEasyPdfImageUtil.read(imageFile));
-        this.param.setImageXObject(null);
+        this.initImageFile(imageFile);
         return this;
     }
 
@@ -146,7 +146,7 @@ public class XEasyPdfImage implements XEasyPdfComponent {
      */
     public XEasyPdfImage setImage(BufferedImage image, XEasyPdfImageType imageType) {
         this.param.setImageType(imageType.name().toLowerCase()).setImage(image);
-        this.param.setImageXObject(null);
+        this.param.setImageBytes(null).setImageFile(null).setSourceKey(null).setImageXObject(null).setTiles(null);
         return this;
     }
 
@@ -158,8 +158,8 @@ public class XEasyPdfImage implements XEasyPdfComponent {
      * @return 返回图片组件
      */
     public XEasyPdfImage setImage(InputStream imageStream, XEasyPdfImageType imageType) {
-        this.param.setImageType(imageType.name().toLowerCase()).setImage(XEasyPdfImageUtil.read(imageStream));
-        this.param.setImageXObject(null);
+        this.param.setImageType(imageType.name().toLowerCase()).setImageBytes(XEasyPdfImageUtil.readBytes(imageStream));
+        this.param.setImage(null).setImageFile(null).setSourceKey(null).setImageXObject(null).setTiles(null);
         return this;
     }
 
@@ -242,6 +242,80 @@ public class XEasyPdfImage implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 设置目标分辨率（嵌入时按显示尺寸重采样至该分辨率，仅缩小不放大）
+     *
+     * @param dpi 分辨率（每英寸像素数）
+     * @return 返回图片组件
+     */
+    public XEasyPdfImage setDpi(float dpi) {
+        // 如果分辨率小于等于0，则提示错误
+        if (dpi <= 0) {
+            // 提示错误
+            throw new IllegalArgumentException("the dpi must be greater than 0");
+        }
+        this.param.setDpi(dpi).setImageXObject(null).setTiles(null);
+        return this;
+    }
+
+    /**
+     * 设置重采样缩放模式
+     *
+     * @param scaleMode 缩放模式
+     * @return 返回图片组件
+     */
+    public XEasyPdfImage setScaleMode(XEasyPdfImageScaleMode scaleMode) {
+        this.param.setScaleMode(scaleMode).setImageXObject(null).setTiles(null);
+        return this;
+    }
+
+    /**
+     * 设置重采样图片类型与质量
+     *
+     * @param imageType 图片类型（仅支持jpeg与png）
+     * @param quality   图片质量（jpeg压缩质量，0-1）
+     * @return 返回图片组件
+     */
+    public XEasyPdfImage setResampleType(XEasyPdfImageType imageType, float quality) {
+        // 如果图片类型不为jpeg或png，则提示错误
+        if (imageType != XEasyPdfImageType.JPEG && imageType != XEasyPdfImageType.PNG) {
+            // 提示错误
+            throw new IllegalArgumentException("only set JPEG or PNG type");
+        }
+        // 如果图片质量不在0-1之间，则提示错误
+        if (quality < 0 || quality > 1) {
+            // 提示错误
+            throw new IllegalArgumentException("the quality must be between 0 and 1");
+        }
+        this.param.setResampleType(imageType).setResampleQuality(quality).setImageXObject(null).setTiles(null);
+        return this;
+    }
+
+    /**
+     * 开启分块（条带高度为1024像素）
+     *
+     * @return 返回图片组件
+     */
+    public XEasyPdfImage enableTiling() {
+        return this.enableTiling(1024);
+    }
+
+    /**
+     * 开启分块（按条带逐条解码并嵌入为相邻的多个图片对象，用于超大图片，仅文件与数据流图片有效）
+     *
+     * @param tileSize 条带高度（解码后像素）
+     * @return 返回图片组件
+     */
+    public XEasyPdfImage enableTiling(int tileSize) {
+        // 如果条带高度小于1，则提示错误
+        if (tileSize < 1) {
+            // 提示错误
+            throw new IllegalArgumentException("the tile size must be greater than 0");
+        }
+        this.param.setTileSize(tileSize).setImageXObject(null).setTiles(null);
+        return this;
+    }
+
     /**
      * 设置最大宽度
      *
@@ -404,6 +478,15 @@ public class XEasyPdfImage implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 预处理（解码、变换与压缩图片，与页面定位无关，可在并行预处理阶段执行）
+     *
+     * @param document pdf文档
+     */
+    public void prepare(XEasyPdfDocument document) {
+        this.param.prepare(document);
+    }
+
     /**
      * 绘制
      *
@@ -417,18 +500,22 @@ public class XEasyPdfImage implements XEasyPdfComponent {
         PDImageXObject pdImage = this.param.init(document, page, this);
         // 初始化位置
         this.param.initPosition(document, page);
-        // 新建内容流
-        PDPageContentStream contentStream = new PDPageContentStream(
-                document.getTarget(),
-                page.getLastPage(),
-                this.param.getContentMode().getMode(),
-                true,
+        // 获取内容流
+        PDPageContentStream contentStream = page.getContentStream(
+                document,
+                this.param.getContentMode(),
                 this.param.getIsResetContext()
         );
-        // 添加图片
-        contentStream.drawImage(pdImage, this.param.getBeginX(), this.param.getBeginY(), this.param.getWidth(), this.param.getHeight());
-        // 关闭内容流
-        contentStream.close();
+        // 如果分块图片不为空，则绘制分块图片
+        if (this.param.getTiles() != null) {
+            // 绘制分块图片
+            this.drawTiles(contentStream);
+        }
+        // 否则添加图片
+        else {
+            // 添加图片
+            contentStream.drawImage(pdImage, this.param.getBeginX(), this.param.getBeginY(), this.param.getWidth(), this.param.getHeight());
+        }
         // 如果允许页面重置定位，则进行重置
         if (page.isAllowResetPosition()) {
             // 设置文档页面X轴坐标Y轴坐标
@@ -436,11 +523,77 @@ public class XEasyPdfImage implements XEasyPdfComponent {
         }
         // 设置X轴Y轴坐标为初始值
         this.param.setBeginX(0F).setBeginY(null);
-        // 如果待添加图片不为空，则释放图片资源
-        if (this.param.getImage() != null) {
-            // 设置待添加图片为空
-            this.param.setImage(null);
+        // 释放可重新读取的图片资源（保留图片数据）
+        this.param.releaseSource();
+    }
+
+    /**
+     * 绘制分块图片（条带自上而下相邻排列，旋转时以中心点顺时针旋转）
+     *
+     * @param contentStream 内容流
+     */
+    @SneakyThrows
+    private void drawTiles(PDPageContentStream contentStream) {
+        // 获取显示宽度
+        float width = this.param.getWidth();
+        // 获取显示高度
+        float height = this.param.getHeight();
+        // 定义分块显示宽度
+        float tileWidth = width;
+        // 定义分块显示高度
+        float tileHeight = height;
+        // 保存图形状态
+        contentStream.saveGraphicsState();
+        // 定义变换矩阵（平移至起始坐标）
+        Matrix matrix = Matrix.getTranslateInstance(this.param.getBeginX(), this.param.getBeginY());
+        // 如果需要旋转，则以中心点顺时针旋转
+        if (this.param.isRotate()) {
+            // 获取原图尺寸
+            Dimension sourceSize = this.param.getTileSourceSize();
+            // 获取旋转后的尺寸
+            Dimension rotateSize = XEasyPdfImageUtil.getRotateSize(sourceSize.width, sourceSize.height, this.param.getRadians());
+            // 分块显示宽度 = 显示宽度 * 原图宽度 / 旋转后宽度
+            tileWidth = width * sourceSize.width / rotateSize.width;
+            // 分块显示高度 = 显示高度 * 原图高度 / 旋转后高度
+            tileHeight = height * sourceSize.height / rotateSize.height;
+            // 平移至中心点
+            matrix.translate(width / 2, height / 2);
+            // 顺时针旋转
+            matrix.rotate(-Math.toRadians(this.param.getRadians()));
+            // 平移至原图左下角
+            matrix.translate(-tileWidth / 2, -tileHeight / 2);
+        }
+        // 变换坐标系
+        contentStream.transform(matrix);
+        // 遍历分块图片
+        for (XEasyPdfImageParam.Tile tile : this.param.getTiles()) {
+            // 添加分块图片（分块起始位置自上而下，pdf坐标自下而上）
+            contentStream.drawImage(tile.image, 0F, tileHeight * (1 - tile.offset - tile.ratio), tileWidth, tileHeight * tile.ratio);
+        }
+        // 恢复图形状态
+        contentStream.restoreGraphicsState();
+    }
+
+    /**
+     * 初始化图片文件（仅记录文件，绘制或预处理时读取）
+     *
+     * @param imageFile 待添加图片
+     */
+    private void initImageFile(File imageFile) {
+        // 获取图片类型
+        String imageType = XEasyPdfImageUtil.parseType(imageFile);
+        // 如果图片文件不存在，则提示错误信息
+        if (!imageFile.isFile()) {
+            // 提示错误信息
+            throw new IllegalArgumentException("the image can not be found: " + imageFile.getAbsolutePath());
         }
+        // 设置图片文件
+        this.param.setImageType(imageType)
+                .setImageFile(imageFile)
+                .setImageBytes(null)
+                .setImage(null)
+                .setSourceKey(null)
+                .setImageXObject(null).setTiles(null);
     }
 
     /**
@@ -3,7 +3,10 @@ package wiki.xsx.core.pdf.component.image;
 import lombok.Data;
 import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
@@ -11,11 +14,17 @@ import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
 import wiki.xsx.core.pdf.footer.XEasyPdfFooter;
 import wiki.xsx.core.pdf.header.XEasyPdfHeader;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
 import wiki.xsx.core.pdf.util.XEasyPdfImageUtil;
 
+import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 /**
  * pdf图片参数
@@ -53,10 +62,34 @@ class XEasyPdfImageParam implements Serializable {
      * pdfbox图片对象
      */
     private transient PDImageXObject imageXObject;
+    /**
+     * pdfbox图片对象所属文档（pdfbox图片对象与分块图片仅在该文档中有效）
+     */
+    private transient PDDocument imageDocument;
     /**
      * 待添加图片
      */
     private transient BufferedImage image;
+    /**
+     * 待添加图片数据（原始编码，jpeg与png无需变换时直接嵌入）
+     */
+    private transient byte[] imageBytes;
+    /**
+     * 待添加图片文件（延迟读取，图片对象创建后释放已读取的数据）
+     */
+    private File imageFile;
+    /**
+     * 图片内容摘要（缓存key前缀）
+     */
+    private transient String sourceKey;
+    /**
+     * 预处理的图片流
+     */
+    private transient XEasyPdfImageCache.StreamTemplate preparedTemplate;
+    /**
+     * 预处理的图片流缓存key
+     */
+    private transient String preparedKey;
     /**
      * 待添加图片类型
      */
@@ -97,6 +130,34 @@ class XEasyPdfImageParam implements Serializable {
      * 旋转弧度
      */
     private Double radians;
+    /**
+     * 目标分辨率（每英寸像素数，为空时使用文档全局分辨率，均为空时不重采样）
+     */
+    private Float dpi;
+    /**
+     * 重采样缩放模式
+     */
+    private XEasyPdfImageScaleMode scaleMode;
+    /**
+     * 重采样图片类型（仅支持jpeg与png，为空时jpeg源图片使用jpeg，其余使用png）
+     */
+    private XEasyPdfImageType resampleType;
+    /**
+     * 重采样图片质量（jpeg压缩质量，0-1）
+     */
+    private Float resampleQuality = 0.85F;
+    /**
+     * 分块条带高度（解码后像素，为空时不分块）
+     */
+    private Integer tileSize;
+    /**
+     * 分块图片列表
+     */
+    private transient List<Tile> tiles;
+    /**
+     * 分块原图尺寸（未旋转）
+     */
+    private transient Dimension tileSourceSize;
     /**
      * 是否使用自身样式
      */
@@ -147,13 +208,26 @@ class XEasyPdfImageParam implements Serializable {
      */
     @SneakyThrows
     PDImageXObject init(XEasyPdfDocument document, XEasyPdfPage page, XEasyPdfImage image) {
+        // 如果任务文档已变更，则重置pdfbox图片对象与分块图片（已创建的图片对象属于原文档）
+        if (this.imageDocument != document.getTarget()) {
+            // 重置pdfbox图片对象
+            this.imageXObject = null;
+            // 重置分块图片
+            this.tiles = null;
+            // 设置所属文档
+            this.imageDocument = document.getTarget();
+        }
         // 如果pdfbox图片对象不为空，则返回该对象
         if (this.imageXObject != null) {
             // 返回该对象
             return this.imageXObject;
         }
-        // 如果图片为空，则抛出异常信息
-        if (this.image == null) {
+        // 如果分块图片不为空，则返回null（绘制分块图片）
+        if (this.tiles != null) {
+            return null;
+        }
+        // 如果图片、图片数据与图片文件均为空，则抛出异常信息
+        if (this.isEmptySource()) {
             throw new FileNotFoundException("the image can not be found");
         }
         // 如果内容模式未初始化，则初始化为页面内容模式
@@ -166,27 +240,18 @@ class XEasyPdfImageParam implements Serializable {
             // 初始化为页面是否重置上下文
             this.isResetContext = page.isResetContext();
         }
-        // 如果需要旋转，则重置图片为旋转后的图片
-        if (this.isRotate()) {
-            // 重置图片为旋转后的图片
-            this.image = XEasyPdfImageUtil.rotate(this.image, this.radians);
-        }
         // 获取页面尺寸
         PDRectangle rectangle = page.getLastPage().getMediaBox();
         // 获取页面宽度
         float pageWidth = rectangle.getWidth();
         // 获取页面高度
         float pageHeight = rectangle.getHeight();
-        // 创建pdfBox图片
-        this.imageXObject = PDImageXObject.createFromByteArray(
-                document.getTarget(),
-                XEasyPdfImageUtil.toBytes(this.image, this.imageType),
-                this.imageType
-        );
+        // 获取图片尺寸（仅读取图片头信息，不解码）
+        Dimension imageSize = this.getImageSize();
         // 获取图片宽度
-        int imageWidth = this.imageXObject.getWidth();
+        int imageWidth = imageSize.width;
         // 获取图片高度
-        int imageHeight = this.imageXObject.getHeight();
+        int imageHeight = imageSize.height;
         // 如果自定义宽度为空，则将自定义宽度设置为图片宽度
         if (this.width == null) {
             // 自定义宽度设置为图片宽度
@@ -253,6 +318,18 @@ class XEasyPdfImageParam implements Serializable {
                 this.height = (int) (this.height * ratio);
             }
         }
+        // 如果开启分块，则分块创建pdfBox图片
+        if (this.isTiled()) {
+            // 分块创建pdfBox图片
+            this.tiles = this.createTiles(document, imageSize);
+            // 释放可重新读取的图片资源
+            this.releaseSource();
+            return null;
+        }
+        // 创建pdfBox图片（按显示尺寸重采样）
+        this.imageXObject = this.createImageXObject(document, imageSize);
+        // 释放可重新读取的图片资源
+        this.releaseSource();
         return this.imageXObject;
     }
 
@@ -362,12 +439,436 @@ class XEasyPdfImageParam implements Serializable {
         }
     }
 
+    /**
+     * 预处理（解码、变换与压缩图片，与页面定位无关，可在并行预处理阶段执行）
+     * <p>
+     * 预处理时按自定义尺寸计算重采样尺寸，若布局后的尺寸与之不同，则绘制时重新创建；
+     * 开启重采样与自适应且未自定义尺寸时，显示尺寸取决于页面布局，此时不进行预处理
+     * </p>
+     *
+     * @param document pdf文档
+     */
+    @SneakyThrows
+    void prepare(XEasyPdfDocument document) {
+        // 如果当前文档的pdfbox图片对象或预处理结果不为空，或图片与图片数据均为空，或开启分块（布局时逐条解码），则返回
+        if ((this.imageXObject != null && this.imageDocument == document.getTarget()) || this.preparedTemplate != null || this.isEmptySource() || this.isTiled()) {
+            return;
+        }
+        // 如果开启重采样与自适应且未自定义尺寸，则返回（显示尺寸需在布局时确定）
+        if (this.enableSelfAdaption && (this.width == null || this.height == null) && this.getTargetDpi(document) != null) {
+            return;
+        }
+        // 获取图片尺寸
+        Dimension imageSize = this.getImageSize();
+        // 获取重采样尺寸（按自定义尺寸计算）
+        Dimension resampleSize = this.getResampleSize(
+                document,
+                imageSize,
+                this.width != null ? this.width : imageSize.width,
+                this.height != null ? this.height : imageSize.height
+        );
+        // 获取缓存key
+        String key = this.getCacheKey(document, resampleSize);
+        // 如果缓存中不存在该图片流，则创建预处理结果
+        if (!XEasyPdfImageCache.containsTemplate(key)) {
+            // 创建临时文档（pdfbox文档非线程安全，预处理线程使用独立文档）
+            try (PDDocument temp = new PDDocument()) {
+                // 创建预处理结果
+                this.preparedTemplate = XEasyPdfImageCache.createTemplate(
+                        this.createImageXObject(temp, this.getScaleMode(document), this.getBytes(), resampleSize)
+                );
+                // 设置预处理结果缓存key
+                this.preparedKey = key;
+            }
+        }
+        // 释放可重新读取的图片资源
+        this.releaseSource();
+    }
+
+    /**
+     * 创建pdfBox图片（按内容摘要、旋转弧度与重采样尺寸缓存，相同图片复用同一图片对象或已压缩的图片流）
+     *
+     * @param document  pdf文档
+     * @param imageSize 图片尺寸
+     * @return 返回pdfBox图片对象
+     */
+    private PDImageXObject createImageXObject(XEasyPdfDocument document, Dimension imageSize) {
+        // 获取重采样尺寸
+        Dimension resampleSize = this.getResampleSize(document, imageSize, this.width, this.height);
+        // 获取缓存key
+        String key = this.getCacheKey(document, resampleSize);
+        // 获取预处理结果
+        XEasyPdfImageCache.StreamTemplate template = key.equals(this.preparedKey) ? this.preparedTemplate : null;
+        // 重置预处理结果为空
+        this.preparedTemplate = null;
+        this.preparedKey = null;
+        // 获取缓存图片，未命中时使用预处理结果或创建
+        return XEasyPdfImageCache.getImage(
+                document.getTarget(),
+                key,
+                () -> template != null ?
+                        template.createImage(document.getTarget()) :
+                        this.createImageXObject(document.getTarget(), this.getScaleMode(document), this.getBytes(), resampleSize)
+        );
+    }
+
+    /**
+     * 创建pdfBox图片
+     *
+     * @param target       pdfbox文档
+     * @param scaleMode    重采样缩放模式
+     * @param bytes        图片数据（原始编码）
+     * @param resampleSize 重采样尺寸（为空时不重采样）
+     * @return 返回pdfBox图片对象
+     */
+    @SneakyThrows
+    private PDImageXObject createImageXObject(PDDocument target, XEasyPdfImageScaleMode scaleMode, byte[] bytes, Dimension resampleSize) {
+        // 如果需要重采样，则使用重采样后的图片创建
+        if (resampleSize != null) {
+            // 定义源图片
+            BufferedImage sourceImage = null;
+            // 如果无需旋转且未解码，则按目标尺寸抽样解码
+            if (!this.isRotate() && this.image == null) {
+                // 抽样解码
+                sourceImage = XEasyPdfImageUtil.read(bytes, resampleSize.width, resampleSize.height);
+            }
+            // 如果源图片为空，则获取完整源图片
+            if (sourceImage == null) {
+                // 获取完整源图片（需要时旋转）
+                sourceImage = this.isRotate() ? XEasyPdfImageUtil.rotate(this.getSourceImage(), this.radians) : this.getSourceImage();
+            }
+            // 重采样图片
+            BufferedImage resampleImage = XEasyPdfImageUtil.resample(sourceImage, resampleSize.width, resampleSize.height, scaleMode);
+            // 如果重采样类型为jpeg，则使用jpeg编码创建
+            if (this.getResampleType() == XEasyPdfImageType.JPEG) {
+                // 使用jpeg编码创建
+                return JPEGFactory.createFromImage(target, resampleImage, this.resampleQuality);
+            }
+            // 使用无损编码创建
+            return LosslessFactory.createFromImage(target, resampleImage);
+        }
+        // 如果需要旋转，则使用旋转后的图片创建
+        if (this.isRotate()) {
+            // 编码旋转后的图片并创建
+            return PDImageXObject.createFromByteArray(
+                    target,
+                    XEasyPdfImageUtil.toBytes(XEasyPdfImageUtil.rotate(this.getSourceImage(), this.radians), this.imageType),
+                    this.imageType
+            );
+        }
+        // 如果图片数据可直接嵌入，则使用该数据创建（jpeg作为DCTDecode流嵌入，png直接转换原始采样数据）
+        if (XEasyPdfImageUtil.isPassthrough(bytes)) {
+            // 使用该数据创建
+            return PDImageXObject.createFromByteArray(target, bytes, this.imageType);
+        }
+        // 编码图片并创建
+        return PDImageXObject.createFromByteArray(
+                target,
+                XEasyPdfImageUtil.toBytes(this.getSourceImage(), this.imageType),
+                this.imageType
+        );
+    }
+
+    /**
+     * 分块创建pdfBox图片
+     * <p>
+     * 按条带区域逐条解码原图（需要重采样时按整数间隔抽样），每个条带编码为独立的图片对象，
+     * 峰值内存与条带大小相关；旋转于绘制时通过坐标变换完成，不生成旋转后的图片
+     * </p>
+     *
+     * @param document  pdf文档
+     * @param imageSize 图片尺寸（旋转后的尺寸）
+     * @return 返回分块图片列表
+     */
+    private List<Tile> createTiles(XEasyPdfDocument document, Dimension imageSize) {
+        // 获取任务文档
+        PDDocument target = document.getTarget();
+        // 获取重采样尺寸
+        Dimension resampleSize = this.getResampleSize(document, imageSize, this.width, this.height);
+        // 定义抽样间隔（保留不小于重采样尺寸的像素）
+        int subsampling = resampleSize == null ? 1 : Math.max(
+                1,
+                Math.min(imageSize.width / resampleSize.width, imageSize.height / resampleSize.height)
+        );
+        // 定义条带图片列表
+        List<PDImageXObject> images = new ArrayList<>(16);
+        // 定义条带起始行列表
+        List<Integer> offsets = new ArrayList<>(16);
+        // 定义条带处理器（编码条带后立即释放条带像素）
+        ObjIntConsumer<BufferedImage> consumer = (strip, offset) -> {
+            // 添加条带图片
+            images.add(this.createTileXObject(target, strip));
+            // 添加条带起始行
+            offsets.add(offset);
+        };
+        // 分条读取图片（图片数据未读取时直接读取图片文件）
+        Dimension sourceSize = this.imageBytes == null ?
+                XEasyPdfImageUtil.readStrips(this.imageFile, this.tileSize, subsampling, consumer) :
+                XEasyPdfImageUtil.readStrips(this.imageBytes, this.tileSize, subsampling, consumer);
+        // 如果无可用解码器，则抛出异常信息
+        if (sourceSize == null) {
+            throw new IllegalArgumentException("Image type not supported: " + this.imageType);
+        }
+        // 设置分块原图尺寸
+        this.tileSourceSize = sourceSize;
+        // 定义分块图片列表
+        List<Tile> tileList = new ArrayList<>(images.size());
+        // 遍历条带图片
+        for (int i = 0, count = images.size(); i < count; i++) {
+            // 获取条带起始行
+            int offset = offsets.get(i);
+            // 获取条带结束行
+            int end = i + 1 < count ? offsets.get(i + 1) : sourceSize.height;
+            // 添加分块图片（起始位置与高度为原图高度占比）
+            tileList.add(new Tile(images.get(i), offset / (float) sourceSize.height, (end - offset) / (float) sourceSize.height));
+        }
+        return tileList;
+    }
+
+    /**
+     * 创建条带pdfBox图片
+     *
+     * @param target pdfbox文档
+     * @param strip  条带图片
+     * @return 返回pdfBox图片对象
+     */
+    @SneakyThrows
+    private PDImageXObject createTileXObject(PDDocument target, BufferedImage strip) {
+        // 如果重采样类型为jpeg，则使用jpeg编码创建
+        if (this.getResampleType() == XEasyPdfImageType.JPEG) {
+            // 使用jpeg编码创建
+            return JPEGFactory.createFromImage(target, strip, this.resampleQuality);
+        }
+        // 使用无损编码创建
+        return LosslessFactory.createFromImage(target, strip);
+    }
+
+    /**
+     * 是否分块（仅文件与图片数据来源，已解码图片无需分块）
+     *
+     * @return 返回布尔值，是为true，否为false
+     */
+    boolean isTiled() {
+        return this.tileSize != null && this.image == null && (this.imageBytes != null || this.imageFile != null);
+    }
+
+    /**
+     * 获取图片数据
+     *
+     * @return 返回图片数据（原始编码，为空时编码图片）
+     */
+    private byte[] getBytes() {
+        // 如果图片数据为空，则读取图片文件或编码图片
+        if (this.imageBytes == null) {
+            // 读取图片文件或编码图片
+            this.imageBytes = this.imageFile != null ?
+                    XEasyPdfImageUtil.readBytes(this.imageFile) :
+                    XEasyPdfImageUtil.toBytes(this.image, this.imageType);
+        }
+        return this.imageBytes;
+    }
+
+    /**
+     * 获取缓存key
+     *
+     * @param document     pdf文档
+     * @param resampleSize 重采样尺寸
+     * @return 返回缓存key
+     */
+    private String getCacheKey(XEasyPdfDocument document, Dimension resampleSize) {
+        // 如果图片内容摘要为空，则计算摘要（仅计算一次）
+        if (this.sourceKey == null) {
+            // 计算摘要
+            this.sourceKey = XEasyPdfImageCache.getKey(this.getBytes());
+        }
+        return this.sourceKey + ":" + this.imageType + ":" + (this.isRotate() ? this.radians : 0D) + ":" + (
+                resampleSize == null ? "" : resampleSize.width + "x" + resampleSize.height + "," + this.getScaleMode(document) + "," + this.getResampleType() + "," + this.resampleQuality
+        );
+    }
+
+    /**
+     * 是否无图片源
+     *
+     * @return 返回布尔值，是为true，否为false
+     */
+    private boolean isEmptySource() {
+        return this.image == null && this.imageBytes == null && this.imageFile == null;
+    }
+
+    /**
+     * 释放可重新读取的图片资源（文件图片释放图片数据与已解码图片，其余图片数据释放已解码图片，
+     * 图片数据保留至组件丢弃，以便更换文档或参数后重新创建图片）
+     */
+    void releaseSource() {
+        // 如果图片文件不为空，则释放图片数据与已解码图片
+        if (this.imageFile != null) {
+            // 释放图片数据与已解码图片
+            this.imageBytes = null;
+            this.image = null;
+        }
+        // 如果图片数据不为空，则释放已解码图片
+        else if (this.imageBytes != null) {
+            // 释放已解码图片
+            this.image = null;
+        }
+    }
+
+    /**
+     * 获取图片尺寸（旋转后的尺寸）
+     *
+     * @return 返回图片尺寸
+     */
+    private Dimension getImageSize() {
+        // 定义图片尺寸
+        Dimension size = null;
+        // 如果图片为空，则读取图片头信息
+        if (this.image == null) {
+            // 读取图片头信息（图片数据未读取时直接读取图片文件头信息）
+            size = this.imageBytes == null && this.imageFile != null ?
+                    XEasyPdfImageUtil.readSize(this.imageFile) :
+                    XEasyPdfImageUtil.readSize(this.imageBytes);
+        }
+        // 如果图片尺寸为空，则使用源图片尺寸
+        if (size == null) {
+            // 获取源图片
+            BufferedImage sourceImage = this.getSourceImage();
+            // 使用源图片尺寸
+            size = new Dimension(sourceImage.getWidth(), sourceImage.getHeight());
+        }
+        // 如果需要旋转，则返回旋转后的尺寸
+        if (this.isRotate()) {
+            // 返回旋转后的尺寸
+            return XEasyPdfImageUtil.getRotateSize(size.width, size.height, this.radians);
+        }
+        return size;
+    }
+
+    /**
+     * 获取重采样尺寸
+     *
+     * @param document  pdf文档
+     * @param imageSize 图片尺寸
+     * @param width     显示宽度
+     * @param height    显示高度
+     * @return 返回重采样尺寸，无需重采样时返回null
+     */
+    private Dimension getResampleSize(XEasyPdfDocument document, Dimension imageSize, int width, int height) {
+        // 获取目标分辨率
+        Float targetDpi = this.getTargetDpi(document);
+        // 如果目标分辨率为空，则不重采样
+        if (targetDpi == null) {
+            return null;
+        }
+        // 计算目标宽度（显示宽度单位为点，每英寸72点）
+        int targetWidth = Math.max(1, (int) Math.ceil(width * targetDpi / 72D));
+        // 计算目标高度
+        int targetHeight = Math.max(1, (int) Math.ceil(height * targetDpi / 72D));
+        // 如果目标尺寸不小于图片尺寸，则不重采样
+        if (targetWidth >= imageSize.width && targetHeight >= imageSize.height) {
+            return null;
+        }
+        // 返回重采样尺寸（不放大）
+        return new Dimension(Math.min(targetWidth, imageSize.width), Math.min(targetHeight, imageSize.height));
+    }
+
+    /**
+     * 获取目标分辨率
+     *
+     * @param document pdf文档
+     * @return 返回目标分辨率，未设置时返回null
+     */
+    private Float getTargetDpi(XEasyPdfDocument document) {
+        // 返回图片分辨率，为空时使用文档全局分辨率
+        return this.dpi != null ? this.dpi : document.getGlobalImageDpi();
+    }
+
+    /**
+     * 获取重采样缩放模式
+     *
+     * @param document pdf文档
+     * @return 返回缩放模式
+     */
+    private XEasyPdfImageScaleMode getScaleMode(XEasyPdfDocument document) {
+        // 如果缩放模式不为空，则返回缩放模式
+        if (this.scaleMode != null) {
+            return this.scaleMode;
+        }
+        // 获取文档全局缩放模式
+        XEasyPdfImageScaleMode globalScaleMode = document.getGlobalImageScaleMode();
+        // 返回文档全局缩放模式，为空时使用质量模式
+        return globalScaleMode != null ? globalScaleMode : XEasyPdfImageScaleMode.QUALITY;
+    }
+
+    /**
+     * 获取重采样图片类型
+     *
+     * @return 返回重采样图片类型
+     */
+    private XEasyPdfImageType getResampleType() {
+        // 如果重采样图片类型不为空，则返回该类型
+        if (this.resampleType != null) {
+            return this.resampleType;
+        }
+        // 如果源图片为jpeg类型，则使用jpeg，否则使用png
+        return "jpg".equalsIgnoreCase(this.imageType) || "jpeg".equalsIgnoreCase(this.imageType) ? XEasyPdfImageType.JPEG : XEasyPdfImageType.PNG;
+    }
+
+    /**
+     * 获取源图片（仅在需要变换或重新编码时解码）
+     *
+     * @return 返回源图片
+     */
+    @SneakyThrows
+    private BufferedImage getSourceImage() {
+        // 如果图片为空，则解码图片数据
+        if (this.image == null) {
+            // 解码图片数据
+            this.image = XEasyPdfImageUtil.read(this.getBytes());
+            // 如果解码失败，则抛出异常信息
+            if (this.image == null) {
+                throw new IllegalArgumentException("Image type not supported: " + this.imageType);
+            }
+        }
+        return this.image;
+    }
+
     /**
      * 是否旋转
      *
      * @return 返回布尔值，是为true，否为false
      */
-    private boolean isRotate() {
+    boolean isRotate() {
         return this.radians != null && this.radians % 360 != 0;
     }
+
+    /**
+     * 分块图片
+     */
+    static final class Tile {
+        /**
+         * pdfbox图片对象
+         */
+        final PDImageXObject image;
+        /**
+         * 起始位置（原图高度占比，自上而下）
+         */
+        final float offset;
+        /**
+         * 高度（原图高度占比）
+         */
+        final float ratio;
+
+        /**
+         * 有参构造
+         *
+         * @param image  pdfbox图片对象
+         * @param offset 起始位置
+         * @param ratio  高度
+         */
+        Tile(PDImageXObject image, float offset, float ratio) {
+            this.image = image;
+            this.offset = offset;
+            this.ratio = ratio;
+        }
+    }
 }
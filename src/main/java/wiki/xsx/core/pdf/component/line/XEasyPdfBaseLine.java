@@ -255,8 +255,11 @@ public class XEasyPdfBaseLine implements XEasyPdfLine {
         contentStream.stroke();
         // 重置为黑色
         contentStream.setStrokingColor(Color.BLACK);
-        // 关闭内容流
-        contentStream.close();
+        // 如果为虚线，则重置为实线
+        if (this.isDashed()) {
+            // 重置为实线
+            contentStream.setLineDashPattern(new float[0], 0);
+        }
     }
 
     /**
@@ -270,12 +273,10 @@ public class XEasyPdfBaseLine implements XEasyPdfLine {
     private PDPageContentStream initStream(XEasyPdfDocument document, XEasyPdfPage page) {
         // 初始化参数
         this.init(document, page);
-        // 新建内容流
-        PDPageContentStream contentStream = new PDPageContentStream(
-                document.getTarget(),
-                page.getLastPage(),
-                this.param.getContentMode().getMode(),
-                true,
+        // 获取内容流
+        PDPageContentStream contentStream = page.getContentStream(
+                document,
+                this.param.getContentMode(),
                 this.param.getIsResetContext()
         );
         // 设置字体
@@ -284,9 +285,23 @@ public class XEasyPdfBaseLine implements XEasyPdfLine {
         contentStream.setLineWidth(this.param.getLineWidth());
         // 设置线型
         contentStream.setLineCapStyle(this.param.getStyle().getType());
+        // 如果为虚线，则设置虚线样式
+        if (this.isDashed()) {
+            // 设置虚线样式（点线长度，点线间隔）
+            contentStream.setLineDashPattern(new float[]{this.param.getDashLength(), this.param.getDashSpace()}, 0);
+        }
         return contentStream;
     }
 
+    /**
+     * 是否虚线
+     *
+     * @return 返回布尔值，是为true，否为false
+     */
+    private boolean isDashed() {
+        return this.param.getDashLength() != null && this.param.getDashSpace() != null && this.param.getDashSpace() > 0;
+    }
+
     /**
      * 初始化参数
      *
@@ -273,12 +273,6 @@ public class XEasyPdfDottedSplitLine implements XEasyPdfLine {
     public void draw(XEasyPdfDocument document, XEasyPdfPage page) {
         // 初始化虚线分割线参数
         this.init(document, page);
-        // 定义线条组件
-        XEasyPdfBaseLine xpdfLine;
-        // 初始化线条组件
-        xpdfLine = new XEasyPdfBaseLine(this.param);
-        // 执行画图
-        xpdfLine.draw(document, page);
         // 定义点线数量
         int count;
         // 如果宽度未初始化，则计算点线数量为(pdfBox最新页面宽度 - 左边距 - 右边距) / (点线长度 + 点线间隔)
@@ -295,20 +289,16 @@ public class XEasyPdfDottedSplitLine implements XEasyPdfLine {
             // 点线数量 = (宽度-左边距-右边距)/(点线长度+点线间隔)
             count = (int) Math.floor((this.param.getWidth() - this.param.getMarginLeft() - this.param.getMarginRight()) / (this.lineLength + this.lineSpace));
         }
-        // 循环点线数量进行画图
-        for (int j = 1; j <= count; j++) {
-            // 设置页面X轴起始坐标，起始坐标 = 结束坐标 + 点线间隔
-            this.param.setBeginX(
-                    this.param.getEndX() + this.lineSpace
-                    // 设置页面X轴结束坐标，结束坐标 = 起始坐标 + 点线长度
-            ).setEndX(
-                    this.param.getBeginX() + this.lineLength
-            );
-            // 重新初始化线条组件
-            xpdfLine = new XEasyPdfBaseLine(this.param);
-            // 执行画图
-            xpdfLine.draw(document, page);
-        }
+        // 重置点线数量（至少绘制首个点线）
+        count = Math.max(0, count);
+        // 设置X轴结束坐标 = 起始坐标 + (点线数量 + 1) * 点线长度 + 点线数量 * 点线间隔（首个点线加后续点线）
+        this.param.setEndX(this.param.getBeginX() + (count + 1) * this.lineLength + count * this.lineSpace);
+        // 设置虚线样式
+        this.param.setDashLength(this.lineLength).setDashSpace(this.lineSpace);
+        // 执行画图（单一路径，虚线样式绘制）
+        new XEasyPdfBaseLine(this.param).draw(document, page);
+        // 重置虚线样式
+        this.param.setDashLength(null).setDashSpace(null);
         // 如果允许重置定位，则重置页面坐标
         if (page.isAllowResetPosition()) {
             // 设置pdf页面Y轴起始坐标，起始坐标 = 起始坐标 - 线宽 / 2
@@ -93,6 +93,14 @@ class XEasyPdfLineParam implements Serializable {
      * 线型
      */
     private XEasyPdfLineCapStyle style = XEasyPdfLineCapStyle.NORMAL;
+    /**
+     * 虚线点线长度（为空时绘制实线）
+     */
+    private Float dashLength;
+    /**
+     * 虚线点线间隔（为空时绘制实线）
+     */
+    private Float dashSpace;
     /**
      * 颜色（默认黑色）
      */
@@ -14,6 +14,8 @@ import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * pdf单元格组件
@@ -234,6 +236,17 @@ public class XEasyPdfCell implements Serializable {
         return this;
     }
 
+    /**
+     * 设置后备字体路径（主字体未覆盖的字符按顺序使用首个覆盖该字符的后备字体）
+     *
+     * @param fontPaths 后备字体路径
+     * @return 返回单元格组件
+     */
+    public XEasyPdfCell setFallbackFontPath(String... fontPaths) {
+        this.param.setFallbackFontPaths(fontPaths == null ? null : new ArrayList<>(Arrays.asList(fontPaths)));
+        return this;
+    }
+
     /**
      * 设置默认字体样式
      *
@@ -624,9 +637,10 @@ public class XEasyPdfCell implements Serializable {
         if (this.param.getHasBorder()) {
             // 构建单元格边框
             XEasyPdfCellBorder cellBorder = new XEasyPdfCellBorder()
-                    .setDocument(document.getTarget())
-                    .setPage(page.getLastPage())
-                    .setContentMode(this.param.getContentMode().getMode())
+                    .setDocument(document)
+                    .setPage(page)
+                    .setPdPage(page.getLastPage())
+                    .setContentMode(this.param.getContentMode())
                     .setIsResetContext(this.param.getIsResetContext())
                     .setWidth(this.param.getWidth())
                     .setHeight(this.param.getHeight())
@@ -747,6 +761,11 @@ public class XEasyPdfCell implements Serializable {
                     .setFontColor(this.param.getFontColor())
                     .setHorizontalStyle(this.param.getHorizontalStyle())
                     .setVerticalStyle(this.param.getVerticalStyle());
+            // 如果后备字体路径列表不为空，则设置文本后备字体路径
+            if (this.param.getFallbackFontPaths() != null) {
+                // 设置文本后备字体路径
+                text.setFallbackFontPath(this.param.getFallbackFontPaths().toArray(new String[0]));
+            }
         }
     }
 
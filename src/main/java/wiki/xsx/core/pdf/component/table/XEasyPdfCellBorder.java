@@ -3,9 +3,11 @@ package wiki.xsx.core.pdf.component.table;
 import lombok.Data;
 import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
-import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 
 import java.awt.*;
 
@@ -32,17 +34,21 @@ import java.awt.*;
 final class XEasyPdfCellBorder {
 
     /**
-     * pdfbox文档
+     * pdf文档
      */
-    private PDDocument document;
+    private XEasyPdfDocument document;
+    /**
+     * pdf页面
+     */
+    private XEasyPdfPage page;
     /**
      * pdfbox页面
      */
-    private PDPage page;
+    private PDPage pdPage;
     /**
      * 内容模式
      */
-    private PDPageContentStream.AppendMode contentMode;
+    private XEasyPdfComponent.ContentMode contentMode;
     /**
      * 是否重置上下文
      */
@@ -105,8 +111,8 @@ final class XEasyPdfCellBorder {
      */
     @SneakyThrows
     void drawBorder() {
-        // 新建内容流
-        PDPageContentStream contentStream = new PDPageContentStream(this.document, this.page, this.contentMode, true, this.isResetContext);
+        // 获取内容流
+        PDPageContentStream contentStream = this.page.getContentStream(this.document, this.pdPage, this.contentMode, this.isResetContext);
         // 设置线宽
         contentStream.setLineWidth(this.borderWidth);
         // 设置线帽样式
@@ -115,12 +121,12 @@ final class XEasyPdfCellBorder {
         this.line(contentStream);
         // 设置颜色
         contentStream.setStrokingColor(Color.BLACK);
-        // 关闭内容流
-        contentStream.close();
-        // 重置pdfbox文档为空
+        // 重置pdf文档为空
         this.document = null;
-        // 重置pdfbox页面为空
+        // 重置pdf页面为空
         this.page = null;
+        // 重置pdfbox页面为空
+        this.pdPage = null;
     }
 
     @SneakyThrows
@@ -9,6 +9,7 @@ import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * pdf单元格参数
@@ -122,6 +123,10 @@ class XEasyPdfCellParam implements Serializable {
      * 字体路径
      */
     private String fontPath;
+    /**
+     * 后备字体路径列表
+     */
+    private List<String> fallbackFontPaths;
     /**
      * 字体大小
      */
@@ -217,6 +222,11 @@ class XEasyPdfCellParam implements Serializable {
             // 初始化为默认字体路径
             this.fontPath = rowParam.getFontPath();
         }
+        // 如果后备字体路径列表未初始化，则初始化为行后备字体路径列表
+        if (this.fallbackFontPaths == null) {
+            // 初始化为行后备字体路径列表
+            this.fallbackFontPaths = rowParam.getFallbackFontPaths();
+        }
         // 如果字体大小未初始化，则进行初始化
         if (this.fontSize == null) {
             // 初始化字体大小
@@ -8,6 +8,8 @@ import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -84,6 +86,17 @@ public class XEasyPdfRow implements Serializable {
         return this;
     }
 
+    /**
+     * 设置后备字体路径（主字体未覆盖的字符按顺序使用首个覆盖该字符的后备字体）
+     *
+     * @param fontPaths 后备字体路径
+     * @return 返回表格行组件
+     */
+    public XEasyPdfRow setFallbackFontPath(String... fontPaths) {
+        this.param.setFallbackFontPaths(fontPaths == null ? null : new ArrayList<>(Arrays.asList(fontPaths)));
+        return this;
+    }
+
     /**
      * 设置默认字体样式
      *
@@ -103,6 +103,10 @@ class XEasyPdfRowParam implements Serializable {
      * 字体路径
      */
     private String fontPath;
+    /**
+     * 后备字体路径列表
+     */
+    private List<String> fallbackFontPaths;
     /**
      * 字体大小
      */
@@ -183,6 +187,11 @@ class XEasyPdfRowParam implements Serializable {
                 // 初始化为表格字体路径
                 this.fontPath = tableParam.getFontPath();
             }
+            // 如果后备字体路径列表未初始化，则初始化为表格后备字体路径列表
+            if (this.fallbackFontPaths == null) {
+                // 初始化为表格后备字体路径列表
+                this.fallbackFontPaths = tableParam.getFallbackFontPaths();
+            }
             // 如果字体大小未初始化，则进行初始化
             if (this.fontSize == null) {
                 // 初始化字体大小
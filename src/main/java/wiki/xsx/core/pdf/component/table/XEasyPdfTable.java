@@ -7,6 +7,7 @@ import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
 
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -66,6 +67,17 @@ public class XEasyPdfTable implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 设置后备字体路径（主字体未覆盖的字符按顺序使用首个覆盖该字符的后备字体）
+     *
+     * @param fontPaths 后备字体路径
+     * @return 返回表格组件
+     */
+    public XEasyPdfTable setFallbackFontPath(String... fontPaths) {
+        this.param.setFallbackFontPaths(fontPaths == null ? null : new ArrayList<>(Arrays.asList(fontPaths)));
+        return this;
+    }
+
     /**
      * 设置默认字体样式
      *
@@ -104,6 +104,10 @@ class XEasyPdfTableParam implements Serializable {
      * 字体路径
      */
     private String fontPath;
+    /**
+     * 后备字体路径列表
+     */
+    private List<String> fallbackFontPaths;
     /**
      * 字体大小
      */
@@ -145,6 +149,11 @@ class XEasyPdfTableParam implements Serializable {
             // 初始化为页面字体路径
             this.fontPath = page.getFontPath();
         }
+        // 如果后备字体路径列表未初始化，则初始化
+        if (this.fallbackFontPaths == null) {
+            // 初始化为文档后备字体路径列表
+            this.fallbackFontPaths = document.getFallbackFontPaths();
+        }
         // 如果背景颜色未初始化，则初始化
         if (this.backgroundColor == null) {
             // 初始化背景颜色
@@ -186,6 +195,8 @@ class XEasyPdfTableParam implements Serializable {
         this.minRowHeight = param.getMinRowHeight();
         // 初始化为页面字体路径
         this.fontPath = param.getFontPath();
+        // 初始化后备字体路径列表
+        this.fallbackFontPaths = param.getFallbackFontPaths();
         // 初始化字体大小
         this.fontSize = param.getFontSize();
         // 初始化字体颜色
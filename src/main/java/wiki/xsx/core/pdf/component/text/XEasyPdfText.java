@@ -15,8 +15,9 @@ import wiki.xsx.core.pdf.doc.XEasyPdfDefaultFontStyle;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
-import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
-import wiki.xsx.core.pdf.util.XEasyPdfTextUtil;
+import wiki.xsx.core.pdf.doc.XEasyPdfTotalPagePlaceholder;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfFontFallback;
 
 import java.awt.*;
 import java.util.List;
@@ -293,6 +294,17 @@ public class XEasyPdfText implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 设置后备字体路径（主字体未覆盖的字符按顺序使用首个覆盖该字符的后备字体）
+     *
+     * @param fontPaths 后备字体路径
+     * @return 返回文本组件
+     */
+    public XEasyPdfText setFallbackFontPath(String... fontPaths) {
+        this.param.setFallbackFontPaths(fontPaths == null ? null : new ArrayList<>(Arrays.asList(fontPaths)));
+        return this;
+    }
+
     /**
      * 设置默认字体样式
      *
@@ -634,6 +646,52 @@ public class XEasyPdfText implements XEasyPdfComponent {
         return this;
     }
 
+    /**
+     * 是否包含注解（超链接或评论，注解仅添加至绘制时的页面）
+     *
+     * @return 返回布尔值，是为true，否为false
+     */
+    public boolean hasAnnotation() {
+        // 获取超链接地址
+        String linkUrl = this.param.getLinkUrl();
+        // 获取评论
+        String comment = this.param.getComment();
+        // 判断超链接地址或评论是否不为空
+        return (linkUrl != null && linkUrl.trim().length() > 0) || (comment != null && comment.trim().length() > 0);
+    }
+
+    /**
+     * 是否包含占位符
+     *
+     * @param placeholder 占位符
+     * @return 返回布尔值，是为true，否为false
+     */
+    public boolean hasPlaceholder(String placeholder) {
+        // 如果文本不为空，则判断文本
+        if (this.param.getText() != null) {
+            // 判断文本是否包含占位符
+            return this.param.getText().contains(placeholder);
+        }
+        // 获取待添加文本列表(模板)
+        List<String> templateTextList = this.param.getSplitTemplateTextList();
+        // 如果模板列表未初始化，则获取待添加文本列表
+        if (templateTextList == null) {
+            // 获取待添加文本列表
+            templateTextList = this.param.getSplitTextList();
+        }
+        // 如果文本列表不为空，则遍历判断
+        if (templateTextList != null) {
+            // 遍历文本列表
+            for (String text : templateTextList) {
+                // 如果包含占位符，则返回true
+                if (text.contains(placeholder)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * 绘制
      *
@@ -757,6 +815,15 @@ public class XEasyPdfText implements XEasyPdfComponent {
         return this.param.getFontPath();
     }
 
+    /**
+     * 获取后备字体路径列表
+     *
+     * @return 返回后备字体路径列表
+     */
+    public List<String> getFallbackFontPaths() {
+        return this.param.getFallbackFontPaths();
+    }
+
     /**
      * 获取行间距
      *
@@ -803,12 +870,10 @@ public class XEasyPdfText implements XEasyPdfComponent {
      */
     @SneakyThrows
     private PDPageContentStream initPageContentStream(XEasyPdfDocument document, XEasyPdfPage page, PDFont font) {
-        // 新建内容流
-        PDPageContentStream contentStream = new PDPageContentStream(
-                document.getTarget(),
-                page.getLastPage(),
-                this.param.getContentMode().getMode(),
-                true,
+        // 获取内容流
+        PDPageContentStream contentStream = page.getContentStream(
+                document,
+                this.param.getContentMode(),
                 this.param.getIsResetContext()
         );
 
@@ -850,8 +915,8 @@ public class XEasyPdfText implements XEasyPdfComponent {
         List<String> splitTextList = this.param.getSplitTextList();
         // 文本总行数索引
         int totalLineIndex = splitTextList.size() - 1;
-        // 获取字体
-        PDFont font = XEasyPdfFontUtil.loadFont(document, page, this.param.getFontPath(), true);
+        // 获取字体后备链
+        XEasyPdfFontFallback fallback = this.param.getFontFallback(document, page);
         // 定义内容流
         PDPageContentStream stream = null;
         // 定义X轴坐标
@@ -891,14 +956,12 @@ public class XEasyPdfText implements XEasyPdfComponent {
                 // 重置Y轴起始坐标，Y轴起始坐标 = Y轴起始坐标 + 字体高度 + 行间距，由于之前多减一行，所以现在加回来
                 this.param.setBeginY(this.param.getBeginY() + this.param.getFontHeight() + this.param.getLeading());
                 // 获取文本宽度
-                float textWidth = this.param.getFontSize() * font.getStringWidth(splitTextList.get(totalLineIndex)) / 1000;
+                float textWidth = this.param.getFontSize() * fallback.getStringWidth(splitTextList.get(totalLineIndex)) / 1000;
                 // 设置页面X轴坐标
                 page.setPageX(beginX + textWidth);
             }
             // 内容流重置颜色为黑色
             stream.setNonStrokingColor(Color.BLACK);
-            // 关闭内容流
-            stream.close();
             // 如果允许页面重置定位，则进行重置
             if (page.isAllowResetPosition()) {
                 // 设置文档页面Y轴坐标
@@ -932,13 +995,8 @@ public class XEasyPdfText implements XEasyPdfComponent {
             }
             // 分页检查
             if (this.param.getBeginY() - footerHeight < this.param.getMarginBottom()) {
-                // 如果内容流不为空，则关闭并设置为空
-                if (stream != null) {
-                    // 关闭内容流
-                    stream.close();
-                    // 设置内容流为空
-                    stream = null;
-                }
+                // 设置内容流为空（由页面在新增页面时关闭）
+                stream = null;
                 // 获取页面尺寸
                 PDRectangle rectangle = page.getLastPage().getMediaBox();
                 // 添加新页面
@@ -977,25 +1035,25 @@ public class XEasyPdfText implements XEasyPdfComponent {
             float beginY,
             boolean isLast
     ) {
-        // 获取字体
-        PDFont font = XEasyPdfFontUtil.loadFont(document, page, this.param.getFontPath(), true);
+        // 获取字体后备链
+        XEasyPdfFontFallback fallback = this.param.getFontFallback(document, page);
         // 如果内容流为空，则初始化内容流
         if (stream == null) {
             // 初始化内容流
-            stream = this.initPageContentStream(document, page, font);
+            stream = this.initPageContentStream(document, page, fallback.getFont());
         }
         // 添加评论
-        this.addComment(font, page, text, beginX, beginY, isLast);
+        this.addComment(fallback, page, text, beginX, beginY, isLast);
         // 添加超链接
-        this.addLink(font, page, text, beginX, beginY);
+        this.addLink(fallback, page, text, beginX, beginY);
         // 添加高亮
-        this.addHighlight(font, stream, text, beginX, beginY);
+        this.addHighlight(fallback, stream, text, beginX, beginY);
         // 添加文本
-        this.addText(stream, text, beginX, beginY);
+        this.addText(document, fallback, stream, text, beginX, beginY);
         // 添加下划线
-        this.addUnderline(font, stream, text, beginX, beginY);
+        this.addUnderline(fallback, stream, text, beginX, beginY);
         // 添加删除线
-        this.addDeleteLine(font, stream, text, beginX, beginY);
+        this.addDeleteLine(fallback, stream, text, beginX, beginY);
         // 重置Y轴起始坐标，Y轴起始坐标 = Y轴起始坐标 - 字体高度 - 行间距
         this.param.setBeginY(this.param.getBeginY() - this.param.getFontHeight() - this.param.getLeading());
         return stream;
@@ -1004,14 +1062,14 @@ public class XEasyPdfText implements XEasyPdfComponent {
     /**
      * 添加超链接（不支持旋转）
      *
-     * @param font   pdfbox字体
+     * @param fallback 字体后备链
      * @param page   pdf页面
      * @param text   待写入文本
      * @param beginX X轴坐标
      * @param beginY Y轴坐标
      */
     @SneakyThrows
-    private void addLink(PDFont font, XEasyPdfPage page, String text, float beginX, float beginY) {
+    private void addLink(XEasyPdfFontFallback fallback, XEasyPdfPage page, String text, float beginX, float beginY) {
         // 获取超链接地址
         String linkUrl = this.param.getLinkUrl();
         // 如果超链接地址不为空，则添加超链接
@@ -1027,7 +1085,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
             // 设置动作
             link.setAction(action);
             // 设置范围
-            link.setRectangle(this.getRectangleForWrite(font, text, beginX, beginY));
+            link.setRectangle(this.getRectangleForWrite(fallback, text, beginX, beginY));
             // 添加链接
             page.getLastPage().getAnnotations().add(link);
         }
@@ -1036,14 +1094,14 @@ public class XEasyPdfText implements XEasyPdfComponent {
     /**
      * 添加评论
      *
-     * @param font   pdfbox字体
+     * @param fallback 字体后备链
      * @param page   pdf页面
      * @param text   待写入文本
      * @param beginX X轴坐标
      * @param beginY Y轴坐标
      */
     @SneakyThrows
-    private void addComment(PDFont font, XEasyPdfPage page, String text, float beginX, float beginY, boolean isLast) {
+    private void addComment(XEasyPdfFontFallback fallback, XEasyPdfPage page, String text, float beginX, float beginY, boolean isLast) {
         // 获取评论
         String content = this.param.getComment();
         // 如果评论不为空，则添加评论
@@ -1059,7 +1117,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
             // 设置日期
             comment.setCreationDate((new GregorianCalendar()));
             // 设置范围
-            comment.setRectangle(this.getRectangleForWrite(font, text, beginX, beginY));
+            comment.setRectangle(this.getRectangleForWrite(fallback, text, beginX, beginY));
             // 添加评论
             page.getLastPage().getAnnotations().add(comment);
         }
@@ -1068,7 +1126,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
     /**
      * 添加高亮（不支持旋转）
      *
-     * @param font   pdfbox字体
+     * @param fallback 字体后备链
      * @param stream 内容流
      * @param text   待写入文本
      * @param beginX X轴坐标
@@ -1076,7 +1134,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
      */
     @SneakyThrows
     private void addHighlight(
-            PDFont font,
+            XEasyPdfFontFallback fallback,
             PDPageContentStream stream,
             String text,
             float beginX,
@@ -1087,7 +1145,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
             // 初始化Y轴起始坐标为Y轴起始坐标-字体高度/10
             beginY = beginY - this.param.getFontHeight() / 10;
             // 获取写入尺寸
-            PDRectangle rectangle = this.getRectangleForWrite(font, text, beginX, beginY);
+            PDRectangle rectangle = this.getRectangleForWrite(fallback, text, beginX, beginY);
             // 绘制矩形
             stream.addRect(rectangle.getLowerLeftX(), rectangle.getLowerLeftY(), rectangle.getWidth(), rectangle.getHeight());
             // 设置矩形颜色
@@ -1102,13 +1160,17 @@ public class XEasyPdfText implements XEasyPdfComponent {
     /**
      * 添加文本
      *
-     * @param stream 内容流
-     * @param text   待写入文本
-     * @param beginX X轴坐标
-     * @param beginY Y轴坐标
+     * @param document pdf文档
+     * @param fallback 字体后备链
+     * @param stream   内容流
+     * @param text     待写入文本
+     * @param beginX   X轴坐标
+     * @param beginY   Y轴坐标
      */
     @SneakyThrows
     private void addText(
+            XEasyPdfDocument document,
+            XEasyPdfFontFallback fallback,
             PDPageContentStream stream,
             String text,
             float beginX,
@@ -1118,12 +1180,27 @@ public class XEasyPdfText implements XEasyPdfComponent {
         if (this.param.getRadians() > 0) {
             // 如果开启整行旋转，则整行旋转
             if (this.param.getIsRotateLine()) {
+                // 获取总页码占位符索引
+                int index = text.indexOf(XEasyPdfHandler.Page.getTotalPagePlaceholder());
+                // 如果包含总页码占位符且开启替换，则写入含总页码文本
+                if (index > -1 && XEasyPdfTotalPagePlaceholder.isEnabled(document)) {
+                    // 写入含总页码文本
+                    this.addTextWithTotalPage(
+                            document,
+                            fallback,
+                            stream,
+                            text,
+                            index,
+                            Matrix.getRotateInstance(Math.toRadians(this.param.getRadians()), beginX, beginY)
+                    );
+                    return;
+                }
                 // 开启文本输入
                 stream.beginText();
                 // 设置文本弧度
                 stream.setTextMatrix(Matrix.getRotateInstance(Math.toRadians(this.param.getRadians()), beginX, beginY));
                 // 文本输入
-                stream.showText(text);
+                fallback.showText(stream, text, this.param.getFontSize());
                 // 结束文本写入
                 stream.endText();
             }
@@ -1144,7 +1221,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
                     // 设置文本弧度
                     stream.setTextMatrix(Matrix.getRotateInstance(Math.toRadians(this.param.getRadians()), x + this.param.getFontSize() / 2, beginY + this.param.getFontSize() / 2));
                     // 文本输入
-                    stream.showText(textTemp);
+                    fallback.showText(stream, textTemp, this.param.getFontSize());
                     // 结束文本写入
                     stream.endText();
                     // 重置当前行x轴坐标， x轴坐标 = x轴坐标 + 字体大小
@@ -1154,21 +1231,78 @@ public class XEasyPdfText implements XEasyPdfComponent {
         }
         // 否则正常文本输入
         else {
+            // 获取总页码占位符索引
+            int index = text.indexOf(XEasyPdfHandler.Page.getTotalPagePlaceholder());
+            // 如果包含总页码占位符且开启替换，则写入含总页码文本
+            if (index > -1 && XEasyPdfTotalPagePlaceholder.isEnabled(document)) {
+                // 写入含总页码文本
+                this.addTextWithTotalPage(document, fallback, stream, text, index, Matrix.getTranslateInstance(beginX, beginY));
+            }
+            // 否则直接写入文本
+            else {
+                // 开启文本输入
+                stream.beginText();
+                // 设置文本定位
+                stream.newLineAtOffset(beginX, beginY);
+                // 文本输入
+                fallback.showText(stream, text, this.param.getFontSize());
+                // 结束文本写入
+                stream.endText();
+            }
+        }
+    }
+
+    /**
+     * 添加含总页码文本（总页码及后续文本绘制为总页码表单，保存时写入总页码）
+     *
+     * @param document pdf文档
+     * @param fallback 字体后备链
+     * @param stream   内容流
+     * @param text     待写入文本
+     * @param index    总页码占位符索引
+     * @param matrix   文本矩阵
+     */
+    @SneakyThrows
+    private void addTextWithTotalPage(
+            XEasyPdfDocument document,
+            XEasyPdfFontFallback fallback,
+            PDPageContentStream stream,
+            String text,
+            int index,
+            Matrix matrix
+    ) {
+        // 获取占位符前的文本
+        String prefix = text.substring(0, index);
+        // 如果占位符前的文本不为空，则写入文本
+        if (!prefix.isEmpty()) {
             // 开启文本输入
             stream.beginText();
-            // 设置文本定位
-            stream.newLineAtOffset(beginX, beginY);
+            // 设置文本矩阵
+            stream.setTextMatrix(matrix);
             // 文本输入
-            stream.showText(text);
+            fallback.showText(stream, prefix, this.param.getFontSize());
             // 结束文本写入
             stream.endText();
         }
+        // 获取占位符偏移量，偏移量 = 字体大小 * 文本宽度 / 1000 + 文本间隔 * 字符数
+        float offset = this.param.getFontSize() * fallback.getStringWidth(prefix) / 1000
+                + this.param.getCharacterSpacing() * prefix.codePointCount(0, prefix.length());
+        // 保存图形状态
+        stream.saveGraphicsState();
+        // 变换至文本矩阵
+        stream.transform(matrix);
+        // 平移至占位符坐标
+        stream.transform(Matrix.getTranslateInstance(offset, 0F));
+        // 绘制总页码表单
+        stream.drawForm(XEasyPdfTotalPagePlaceholder.getForm(document, fallback, this.param.getFontSize(), text.substring(index)));
+        // 恢复图形状态
+        stream.restoreGraphicsState();
     }
 
     /**
      * 添加下划线（不支持旋转）
      *
-     * @param font   pdfbox字体
+     * @param fallback 字体后备链
      * @param stream 内容流
      * @param text   待写入文本
      * @param beginX X轴坐标
@@ -1176,7 +1310,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
      */
     @SneakyThrows
     private void addUnderline(
-            PDFont font,
+            XEasyPdfFontFallback fallback,
             PDPageContentStream stream,
             String text,
             float beginX,
@@ -1187,7 +1321,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
             // 初始化Y轴起始坐标为Y轴起始坐标-下划线宽度/2-字体高度/10
             beginY = beginY - this.param.getUnderlineWidth() / 2 - this.param.getFontHeight() / 10;
             // 获取写入尺寸
-            PDRectangle rectangle = this.getRectangleForWrite(font, text, beginX, beginY);
+            PDRectangle rectangle = this.getRectangleForWrite(fallback, text, beginX, beginY);
             // 设置颜色
             stream.setStrokingColor(this.param.getUnderlineColor());
             // 设置线宽
@@ -1206,7 +1340,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
     /**
      * 添加删除线（不支持旋转）
      *
-     * @param font   pdfbox字体
+     * @param fallback 字体后备链
      * @param stream 内容流
      * @param text   待写入文本
      * @param beginX X轴坐标
@@ -1214,7 +1348,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
      */
     @SneakyThrows
     private void addDeleteLine(
-            PDFont font,
+            XEasyPdfFontFallback fallback,
             PDPageContentStream stream,
             String text,
             float beginX,
@@ -1225,7 +1359,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
             // 初始化Y轴起始坐标为Y轴起始坐标-删除线宽度/2+字体高度/2
             beginY = beginY - this.param.getDeleteLineWidth() / 2 + this.param.getFontHeight() / 2;
             // 获取写入尺寸
-            PDRectangle rectangle = this.getRectangleForWrite(font, text, beginX, beginY);
+            PDRectangle rectangle = this.getRectangleForWrite(fallback, text, beginX, beginY);
             // 设置颜色
             stream.setStrokingColor(this.param.getDeleteLineColor());
             // 设置线宽
@@ -1244,13 +1378,13 @@ public class XEasyPdfText implements XEasyPdfComponent {
     /**
      * 获取写入尺寸
      *
-     * @param font   pdfbox字体
+     * @param fallback 字体后备链
      * @param text   待写入文本
      * @param beginX x轴起始坐标
      * @param beginY y轴起始坐标
      * @return 返回写入尺寸
      */
-    private PDRectangle getRectangleForWrite(PDFont font, String text, float beginX, float beginY) {
+    private PDRectangle getRectangleForWrite(XEasyPdfFontFallback fallback, String text, float beginX, float beginY) {
         // 创建尺寸
         PDRectangle rectangle = new PDRectangle();
         // 设置起始X轴坐标
@@ -1267,7 +1401,7 @@ public class XEasyPdfText implements XEasyPdfComponent {
         // 文本弧度为0，则结束X轴坐标为起始坐标+文本真实宽度
         else {
             // 设置结束X轴坐标为起始坐标+文本真实宽度
-            rectangle.setUpperRightX(beginX + XEasyPdfTextUtil.getTextRealWidth(text, font, this.param.getFontSize(), this.getCharacterSpacing()));
+            rectangle.setUpperRightX(beginX + fallback.getTextRealWidth(text, this.param.getFontSize(), this.getCharacterSpacing()));
         }
         return rectangle;
     }
@@ -5,11 +5,11 @@ import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDFont;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 import wiki.xsx.core.pdf.doc.XEasyPdfPositionStyle;
+import wiki.xsx.core.pdf.util.XEasyPdfFontFallback;
 import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
 import wiki.xsx.core.pdf.util.XEasyPdfTextUtil;
 
@@ -57,6 +57,10 @@ class XEasyPdfTextParam implements Serializable {
      * 字体路径
      */
     private String fontPath;
+    /**
+     * 后备字体路径列表（主字体未覆盖的字符按顺序使用首个覆盖该字符的后备字体）
+     */
+    private List<String> fallbackFontPaths;
     /**
      * 字体大小
      */
@@ -273,6 +277,11 @@ class XEasyPdfTextParam implements Serializable {
             // 初始化为页面字体路径
             this.fontPath = page.getFontPath();
         }
+        // 如果后备字体路径列表未初始化，则初始化为文档后备字体路径列表
+        if (this.fallbackFontPaths == null) {
+            // 初始化为文档后备字体路径列表
+            this.fallbackFontPaths = document.getFallbackFontPaths();
+        }
 
         // 初始化字体高度
         this.fontHeight = this.fontSize;
@@ -297,6 +306,21 @@ class XEasyPdfTextParam implements Serializable {
         this.initBeginY(document, page);
     }
 
+    /**
+     * 获取字体后备链
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     * @return 返回字体后备链
+     */
+    XEasyPdfFontFallback getFontFallback(XEasyPdfDocument document, XEasyPdfPage page) {
+        return XEasyPdfFontFallback.getInstance(
+                document,
+                XEasyPdfFontUtil.loadFont(document, page, this.fontPath, true),
+                this.fallbackFontPaths
+        );
+    }
+
     /**
      * 初始化X轴起始坐标
      *
@@ -343,15 +367,15 @@ class XEasyPdfTextParam implements Serializable {
             // 初始化为左边距
             return this.marginLeft;
         }
-        // 获取字体
-        PDFont font = XEasyPdfFontUtil.loadFont(document, page, this.fontPath, true);
+        // 获取字体后备链
+        XEasyPdfFontFallback fallback = this.getFontFallback(document, page);
         // 如果为居中，则初始化为(最大宽度-左边距-右边距-文本宽度)/2
         if (this.horizontalStyle == XEasyPdfPositionStyle.CENTER) {
             // 初始化为(最大宽度-文本宽度)/2
-            return (this.maxWidth - ((this.fontSize * font.getStringWidth(text) / 1000) + this.characterSpacing * text.length())) / 2 + this.marginLeft - this.marginRight;
+            return (this.maxWidth - ((this.fontSize * fallback.getStringWidth(text) / 1000) + this.characterSpacing * text.length())) / 2 + this.marginLeft - this.marginRight;
         }
         // 否则为居右，初始化为最大宽度-右边距-文本宽度
-        return this.maxWidth - ((this.fontSize * font.getStringWidth(text) / 1000) + this.characterSpacing * text.length()) + this.marginLeft - this.marginRight;
+        return this.maxWidth - ((this.fontSize * fallback.getStringWidth(text) / 1000) + this.characterSpacing * text.length()) + this.marginLeft - this.marginRight;
     }
 
     /**
@@ -482,23 +506,23 @@ class XEasyPdfTextParam implements Serializable {
             this.text = this.processText(this.text);
             // 初始化X轴坐标
             float x = this.initTextX(page);
-            // 获取字体
-            PDFont font = XEasyPdfFontUtil.loadFont(document, page, this.fontPath, true);
-            // 获取第一行文本
-            String firstLineText = XEasyPdfTextUtil.splitText(
+            // 获取字符宽度（按各字符实际使用的字体测量）
+            float[] widths = this.getFontFallback(document, page).getCharacterWidths(this.text);
+            // 获取第一行结束索引
+            int firstLineEndIndex = XEasyPdfTextUtil.splitTextIndex(
                     // 待输入文本
                     this.text,
+                    // 字符宽度
+                    widths,
                     // 行宽度 = 最大宽度 - 左边距 - 右边距
                     this.maxWidth - x - this.marginRight,
-                    // 字体
-                    font,
                     // 字体大小
                     this.fontSize,
                     // 文本间隔
                     this.characterSpacing
             );
             // 初始待添加文本列表
-            this.initTextList(page, font, firstLineText);
+            this.initTextList(page, widths, firstLineEndIndex);
         }
         // 否则处理待添加文本列表
         else {
@@ -515,32 +539,41 @@ class XEasyPdfTextParam implements Serializable {
     /**
      * 初始化待添加文本列表
      *
-     * @param page          pdf页面
-     * @param font          pdfbox字体
-     * @param firstLineText 第一行文本
+     * @param page              pdf页面
+     * @param widths            字符宽度
+     * @param firstLineEndIndex 第一行结束索引
      */
-    private void initTextList(XEasyPdfPage page, PDFont font, String firstLineText) {
-        // 如果第一行文本不为空，则添加文本列表
-        if (firstLineText != null) {
+    private void initTextList(XEasyPdfPage page, float[] widths, int firstLineEndIndex) {
+        // 如果第一行结束索引不小于0，则添加文本列表
+        if (firstLineEndIndex >= 0) {
             // 初始化待添加文本列表
             this.splitTextList = new ArrayList<>(128);
             // 添加第一行文本
-            this.splitTextList.add(firstLineText);
+            this.splitTextList.add(this.text.substring(0, firstLineEndIndex));
             // 第一行文本长度小于待输入文本，则继续拆分剩余文本
-            if (firstLineText.length() < this.text.length()) {
+            if (firstLineEndIndex < this.text.length()) {
                 // 添加剩余文本
                 this.splitTextList.addAll(
-                        XEasyPdfTextUtil.splitLines(
-                                // 截取剩余待输入文本
-                                this.text.substring(firstLineText.length()),
-                                // 行宽度 = 最大宽度 - 左边距 - 右边距
-                                this.maxWidth - this.marginLeft - this.marginRight,
-                                // 字体
-                                font,
-                                // 字体大小
-                                this.fontSize,
-                                // 文本间隔
-                                this.characterSpacing
+                        XEasyPdfTextUtil.subLines(
+                                // 待输入文本
+                                this.text,
+                                // 开始索引
+                                firstLineEndIndex,
+                                // 拆分剩余待输入文本
+                                XEasyPdfTextUtil.splitLinesIndexes(
+                                        // 待输入文本
+                                        this.text,
+                                        // 字符宽度
+                                        widths,
+                                        // 开始索引
+                                        firstLineEndIndex,
+                                        // 行宽度 = 最大宽度 - 左边距 - 右边距
+                                        this.maxWidth - this.marginLeft - this.marginRight,
+                                        // 字体大小
+                                        this.fontSize,
+                                        // 文本间隔
+                                        this.characterSpacing
+                                )
                         )
                 );
             }
@@ -548,17 +581,26 @@ class XEasyPdfTextParam implements Serializable {
         // 否则进行文本全拆分（换行）
         else {
             // 初始化待添加文本列表
-            this.splitTextList = XEasyPdfTextUtil.splitLines(
+            this.splitTextList = XEasyPdfTextUtil.subLines(
                     // 待输入文本
                     this.text,
-                    // 行宽度 = 最大宽度 - 左边距 - 右边距
-                    this.maxWidth - this.marginLeft - this.marginRight,
-                    // 字体
-                    font,
-                    // 字体大小
-                    this.fontSize,
-                    // 文本间隔
-                    this.characterSpacing
+                    // 开始索引
+                    0,
+                    // 拆分待输入文本
+                    XEasyPdfTextUtil.splitLinesIndexes(
+                            // 待输入文本
+                            this.text,
+                            // 字符宽度
+                            widths,
+                            // 开始索引
+                            0,
+                            // 行宽度 = 最大宽度 - 左边距 - 右边距
+                            this.maxWidth - this.marginLeft - this.marginRight,
+                            // 字体大小
+                            this.fontSize,
+                            // 文本间隔
+                            this.characterSpacing
+                    )
             );
             // 重置页面X轴起始坐标（换行）
             this.beginX = this.marginLeft;
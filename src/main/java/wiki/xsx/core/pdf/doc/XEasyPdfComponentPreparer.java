@@ -0,0 +1,120 @@
+package wiki.xsx.core.pdf.doc;
+
+import lombok.SneakyThrows;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+import wiki.xsx.core.pdf.component.barcode.XEasyPdfBarCode;
+import wiki.xsx.core.pdf.component.barcode.XEasyPdfBarCodeSheet;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * pdf组件预处理
+ * <p>
+ * 在页面布局前查找页面中的图片与条形码组件，于指定执行器中并行完成解码、旋转、缩放与压缩，
+ * 布局阶段仅放置已就绪的图片对象；同时预处理的组件数量受并行上限限制，预处理完成后仅保留压缩数据
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+final class XEasyPdfComponentPreparer {
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfComponentPreparer() {
+    }
+
+    /**
+     * 预处理
+     *
+     * @param document pdf文档
+     * @param pages    pdf页面列表
+     */
+    @SneakyThrows
+    static void prepare(XEasyPdfDocument document, Collection<XEasyPdfPage> pages) {
+        // 获取预处理执行器
+        Executor executor = document.getParam().getPrepareExecutor();
+        // 如果预处理执行器为空，则返回（绘制时顺序处理）
+        if (executor == null) {
+            return;
+        }
+        // 定义待预处理组件（同一组件可能出现在多个页面，按引用去重）
+        Set<Object> components = Collections.newSetFromMap(new IdentityHashMap<>(64));
+        // 添加全局背景图片
+        addComponent(components, document.getGlobalBackgroundImage());
+        // 遍历页面
+        for (XEasyPdfPage page : pages) {
+            // 添加页面背景图片
+            addComponent(components, page.getBackgroundImage());
+            // 遍历组件
+            for (XEasyPdfComponent component : page.getComponentList()) {
+                // 添加组件
+                addComponent(components, component);
+            }
+        }
+        // 如果待预处理组件为空，则返回
+        if (components.isEmpty()) {
+            return;
+        }
+        // 定义任务列表
+        List<CompletableFuture<Void>> futures = new ArrayList<>(components.size());
+        // 定义并行许可（限制同时持有解码像素的组件数量）
+        Semaphore semaphore = new Semaphore(document.getParam().getPrepareLimit());
+        // 遍历待预处理组件
+        for (Object component : components) {
+            // 获取许可（提交线程等待，不阻塞执行器线程）
+            semaphore.acquire();
+            // 定义任务
+            Runnable task = component instanceof XEasyPdfImage ?
+                    () -> ((XEasyPdfImage) component).prepare(document) :
+                    () -> ((XEasyPdfBarCode) component).prepare(document);
+            // 提交任务，完成后释放许可
+            futures.add(CompletableFuture.runAsync(task, executor).whenComplete((result, error) -> semaphore.release()));
+        }
+        try {
+            // 等待全部任务完成
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            // 抛出原始异常
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    /**
+     * 添加待预处理组件
+     *
+     * @param components 待预处理组件
+     * @param component  组件
+     */
+    private static void addComponent(Set<Object> components, XEasyPdfComponent component) {
+        // 如果为条形码标签页组件，则添加标签页中可预处理的条形码
+        if (component instanceof XEasyPdfBarCodeSheet) {
+            // 添加条形码
+            components.addAll(((XEasyPdfBarCodeSheet) component).getPreparableBarCodeList());
+            return;
+        }
+        // 如果为图片或条形码组件，则添加
+        if (component instanceof XEasyPdfImage || component instanceof XEasyPdfBarCode) {
+            // 添加组件
+            components.add(component);
+        }
+    }
+}
@@ -5,8 +5,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageTree;
 import org.apache.pdfbox.pdmodel.common.PDMetadata;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
@@ -18,12 +16,14 @@ import org.apache.xmpbox.schema.AdobePDFSchema;
 import org.apache.xmpbox.xml.XmpSerializer;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageScaleMode;
 import wiki.xsx.core.pdf.footer.XEasyPdfFooter;
-import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.handler.XEasyPdfFontMapperHandler;
 import wiki.xsx.core.pdf.header.XEasyPdfHeader;
 import wiki.xsx.core.pdf.mark.XEasyPdfWatermark;
 import wiki.xsx.core.pdf.util.XEasyPdfFileUtil;
-import wiki.xsx.core.pdf.util.XEasyPdfTextUtil;
+import wiki.xsx.core.pdf.util.XEasyPdfFontSubsetter;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
 
 import javax.print.PrintServiceLookup;
 import java.awt.*;
@@ -32,9 +32,12 @@ import java.awt.print.PageFormat;
 import java.awt.print.PrinterJob;
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * pdf文档
@@ -98,6 +101,32 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         this.param.init(inputStream, this);
     }
 
+    /**
+     * 有参构造（使用给定内存策略随机读取文件，不复制全部文件数据，文档关闭前不可覆盖源文件）
+     *
+     * @param filePath           pdf文件路径
+     * @param memoryUsageSetting 内存策略（主内存上限及临时目录）
+     */
+    public XEasyPdfDocument(String filePath, MemoryUsageSetting memoryUsageSetting) {
+        // 设置内存策略
+        this.param.setMemoryUsageSetting(memoryUsageSetting);
+        // 初始化
+        this.param.init(new File(filePath), this);
+    }
+
+    /**
+     * 有参构造（使用给定内存策略读取数据流）
+     *
+     * @param inputStream        数据流
+     * @param memoryUsageSetting 内存策略（主内存上限及临时目录）
+     */
+    public XEasyPdfDocument(InputStream inputStream, MemoryUsageSetting memoryUsageSetting) {
+        // 设置内存策略
+        this.param.setMemoryUsageSetting(memoryUsageSetting);
+        // 初始化
+        this.param.init(inputStream, this);
+    }
+
     /**
      * 开启重置上下文
      *
@@ -118,6 +147,93 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         return this;
     }
 
+    /**
+     * 设置内存策略（构建及保存时使用，如：MemoryUsageSetting.setupMixed(主内存上限).setTempDir(临时目录)）
+     *
+     * @param memoryUsageSetting 内存策略
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument setMemoryUsageSetting(MemoryUsageSetting memoryUsageSetting) {
+        // 设置重置
+        this.param.setIsReset(Boolean.TRUE);
+        // 设置内存策略
+        this.param.setMemoryUsageSetting(memoryUsageSetting);
+        return this;
+    }
+
+    /**
+     * 开启流式模式
+     * <p>开启后添加的页面立即构建，页面及其引用的对象（字体与总页码表单除外）立即序列化至临时文件（可通过setTempDir设置目录），</p>
+     * <p>随后页面内容流关闭并从任务文档移除，pdf页面释放组件，堆内存中仅保留对象编号与偏移量；</p>
+     * <p>字体于保存时子集化并写入（同一字体仅写入一次），总页码表单于保存时填充；</p>
+     * <p>全局页眉、页脚、水印等设置需在添加页面前完成，已写入的页面不支持插入、修改尺寸、移除及添加组件（抛出IllegalStateException），</p>
+     * <p>文档仅支持保存一次；设置文档权限时，页面写入时尚无法加密，保存时需先完整输出至临时文件，</p>
+     * <p>再由pdfbox重新加载并加密保存（额外占用与文档大小相当的磁盘空间，且加载时页面对象重新进入内存）</p>
+     *
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument enableStreamMode() {
+        // 如果未开启流式模式，则开启
+        if (!this.param.getIsStreamMode()) {
+            // 设置流式模式
+            this.param.setIsStreamMode(Boolean.TRUE);
+            // 如果流式写入器为空（未刷新），则初始化任务文档（使用流式模式内存策略）
+            if (this.param.getWriter() == null) {
+                // 初始化任务文档
+                this.param.initTarget(this);
+            }
+            // 如果pdf页面列表不为空，则写入已有页面
+            if (!this.param.getPageList().isEmpty()) {
+                // 写入已有页面
+                this.writePage(this.param.getPageList().toArray(new XEasyPdfPage[0]));
+                // 清空pdf页面列表
+                this.param.getPageList().clear();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 开启组件并行预处理（使用公共线程池）
+     * <p>构建页面前，图片与条形码组件的解码、旋转、缩放与压缩将并行执行，布局时仅放置已就绪的图片对象</p>
+     *
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument enableParallelPrepare() {
+        return this.enableParallelPrepare(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 开启组件并行预处理
+     * <p>构建页面前，图片与条形码组件的解码、旋转、缩放与压缩将于给定执行器中并行执行，布局时仅放置已就绪的图片对象</p>
+     *
+     * @param executor 执行器
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument enableParallelPrepare(Executor executor) {
+        return this.enableParallelPrepare(executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 开启组件并行预处理
+     * <p>构建页面前，图片与条形码组件的解码、旋转、缩放与压缩将于给定执行器中并行执行，布局时仅放置已就绪的图片对象，</p>
+     * <p>同时预处理的组件数量不超过给定上限，已预处理的组件仅保留压缩后的数据，解码像素随即释放，峰值堆内存与上限相关而与图片总数无关</p>
+     *
+     * @param executor 执行器
+     * @param limit    最大并行数量（同时持有解码像素的图片数量上限）
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument enableParallelPrepare(Executor executor, int limit) {
+        // 如果最大并行数量小于1，则提示错误
+        if (limit < 1) {
+            // 提示错误
+            throw new IllegalArgumentException("the limit must be greater than 0");
+        }
+        // 设置组件预处理执行器与最大并行数量
+        this.param.setPrepareExecutor(executor).setPrepareLimit(limit);
+        return this;
+    }
+
     /**
      * 设置文档内容模式（每个页面都将设置该模式）
      *
@@ -257,6 +373,53 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         return this.param.getGlobalFooter();
     }
 
+    /**
+     * 设置全局图片分辨率（图片嵌入时按显示尺寸重采样至该分辨率，仅缩小不放大）
+     *
+     * @param dpi 分辨率（每英寸像素数）
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument setGlobalImageDpi(float dpi) {
+        // 如果分辨率小于等于0，则提示错误
+        if (dpi <= 0) {
+            // 提示错误
+            throw new IllegalArgumentException("the dpi must be greater than 0");
+        }
+        // 设置全局图片分辨率
+        this.param.setGlobalImageDpi(dpi);
+        return this;
+    }
+
+    /**
+     * 获取全局图片分辨率
+     *
+     * @return 返回全局图片分辨率
+     */
+    public Float getGlobalImageDpi() {
+        return this.param.getGlobalImageDpi();
+    }
+
+    /**
+     * 设置全局图片缩放模式（图片重采样时使用）
+     *
+     * @param scaleMode 缩放模式
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument setGlobalImageScaleMode(XEasyPdfImageScaleMode scaleMode) {
+        // 设置全局图片缩放模式
+        this.param.setGlobalImageScaleMode(scaleMode);
+        return this;
+    }
+
+    /**
+     * 获取全局图片缩放模式
+     *
+     * @return 返回全局图片缩放模式
+     */
+    public XEasyPdfImageScaleMode getGlobalImageScaleMode() {
+        return this.param.getGlobalImageScaleMode();
+    }
+
     /**
      * 设置字体路径
      *
@@ -271,6 +434,18 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         return this;
     }
 
+    /**
+     * 设置后备字体路径（主字体未覆盖的字符按顺序使用首个覆盖该字符的后备字体）
+     *
+     * @param fontPaths 后备字体路径
+     * @return 返回pdf文档
+     */
+    public XEasyPdfDocument setFallbackFontPath(String... fontPaths) {
+        // 设置后备字体路径列表
+        this.param.setFallbackFontPaths(fontPaths == null ? null : new ArrayList<>(Arrays.asList(fontPaths)));
+        return this;
+    }
+
     /**
      * 设置默认字体样式
      *
@@ -307,7 +482,7 @@ public class XEasyPdfDocument implements Closeable, Serializable {
     }
 
     /**
-     * 设置临时目录（用于flush操作），需读写权限
+     * 设置临时目录（用于flush操作及流式模式），需读写权限
      * <p>默认在项目路径的根目录</p>
      * <p>eg：当前项目在“D:\test\pdf”目录下，临时文件存放目录则为“D:\”</p>
      *
@@ -385,14 +560,23 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         return this.param.getFontPath();
     }
 
+    /**
+     * 获取文档后备字体路径列表
+     *
+     * @return 返回文档后备字体路径列表
+     */
+    public List<String> getFallbackFontPaths() {
+        return this.param.getFallbackFontPaths();
+    }
+
     /**
      * 获取任务文档
      *
      * @return 返回任务文档
      */
     public PDDocument getTarget() {
-        // 如果任务文档未初始化或文档被重置，则进行新任务创建
-        if (this.param.getTarget() == null || this.param.getIsReset()) {
+        // 如果任务文档未初始化或文档被重置（流式模式或已刷新时已写入页面，不重置），则进行新任务创建
+        if (this.param.getTarget() == null || (this.param.getIsReset() && !this.param.getIsStreamMode() && this.param.getWriter() == null)) {
             // 初始化
             this.param.initTarget(this);
         }
@@ -424,6 +608,11 @@ public class XEasyPdfDocument implements Closeable, Serializable {
      * @return 返回pdf文档
      */
     public XEasyPdfDocument addPage(XEasyPdfPage... pages) {
+        // 如果为流式模式，则直接写入页面
+        if (this.param.getIsStreamMode()) {
+            // 写入页面
+            return this.writePage(pages);
+        }
         // 设置重置
         this.param.setIsReset(Boolean.TRUE);
         // 添加页面
@@ -653,26 +842,33 @@ public class XEasyPdfDocument implements Closeable, Serializable {
     }
 
     /**
-     * 刷新（临时保存）
+     * 刷新（写入已添加的页面）
+     * <p>页面构建后及其引用的对象（字体与总页码表单除外）立即序列化至临时文件，随后页面内容流关闭并从任务文档移除，</p>
+     * <p>pdf页面释放组件且不再持有；对象编号全局分配，保存时直接复制临时文件数据，字体仅写入一次；</p>
+     * <p>刷新后的页面不支持添加组件（抛出IllegalStateException），文档仅支持保存一次</p>
      *
      * @return 返回pdf文档
      */
-    @SneakyThrows
     public XEasyPdfDocument flush() {
         // 构建文档
         PDDocument target = this.build();
-        // 获取临时路径
-        String tempPath = this.param.getTempUrl();
-        // 临时保存文档
-        target.save(new File(tempPath));
-        // 添加临时任务列表
-        this.param.getTempTargetList().add(tempPath);
-        // 关闭文档
-        this.close();
+        // 获取流式写入器
+        XEasyPdfDocumentWriter writer = this.param.initWriter(target);
+        // 写入页面
+        writer.writePages(target);
+        // 获取pdf页面列表
+        List<XEasyPdfPage> pageList = this.param.getPageList();
+        // 遍历pdf页面列表
+        for (XEasyPdfPage page : pageList) {
+            // 释放页面
+            page.flush();
+        }
+        // 清空pdf页面列表
+        pageList.clear();
         // 打印日志
         if (log.isDebugEnabled()) {
-            // 打印当前刷新次数
-            log.debug("current count of flush：" + this.param.getTempTargetList().size());
+            // 打印已写入页面数量
+            log.debug("current count of written pages：" + writer.getPageCount());
         }
         return this;
     }
@@ -698,22 +894,24 @@ public class XEasyPdfDocument implements Closeable, Serializable {
      */
     @SneakyThrows
     public XEasyPdfDocument save(OutputStream outputStream) {
-        // 如果临时任务列表为空，则保存当前文档
-        if (this.param.getTempTargetList().isEmpty()) {
+        // 如果未开启流式模式且未刷新，则保存当前文档
+        if (!this.param.getIsStreamMode() && this.param.getWriter() == null) {
             // 构建文档
             PDDocument target = this.build();
             // 替换总页码占位符
-            this.replaceTotalPagePlaceholder(target, false);
+            this.replaceTotalPagePlaceholder(target);
             // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
             this.setBasicInfo(target);
+            // 子集化字体
+            this.param.subsetFont(target);
             // 保存文档
             target.save(outputStream);
             return this;
         }
-        // 否则保存临时任务列表中的文档
+        // 否则保存已写入的页面
         else {
-            // 保存临时任务
-            this.saveTemp(outputStream);
+            // 保存已写入的页面
+            this.saveStream(outputStream);
         }
         return this;
     }
@@ -782,12 +980,18 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         }
         // 如果任务文档不为空且非刷新，则关闭
         if (this.param.getTarget() != null) {
+            // 释放图片缓存
+            XEasyPdfImageCache.release(this.param.getTarget());
             // 关闭任务文档
             this.param.getTarget().close();
+            // 释放文档使用的字体（关闭已淘汰且不再被使用的字体）
+            XEasyPdfFontMapperHandler.getInstance().release(this.param.getTarget());
             // 清空字体
             this.param.getFontCache().clear();
             // 清空otf字体
             this.param.getOtfFontCache().clear();
+            // 清空总页码表单
+            this.param.getTotalPageFormCache().clear();
         }
         // 重置字体为空
         this.param.setFont(null);
@@ -795,6 +999,8 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         this.param.setTarget(null);
         // 清空页面列表
         this.param.getPageList().clear();
+        // 关闭流式写入器（删除临时文件）
+        this.param.closeWriter();
     }
 
     /**
@@ -820,7 +1026,7 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         // 如果替换总页码占位符，则进行替换
         if (isReplaceTotalPagePlaceholder) {
             // 替换总页码占位符
-            this.replaceTotalPagePlaceholder(target, false);
+            this.replaceTotalPagePlaceholder(target);
         }
         return target;
     }
@@ -857,15 +1063,25 @@ public class XEasyPdfDocument implements Closeable, Serializable {
      *
      * @param target 任务文档
      */
-    @SneakyThrows
     void setBasicInfo(PDDocument target) {
+        this.setBasicInfo(target, true);
+    }
+
+    /**
+     * 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
+     *
+     * @param target    任务文档
+     * @param isProtect 是否设置保护策略
+     */
+    @SneakyThrows
+    private void setBasicInfo(PDDocument target, boolean isProtect) {
         // 如果文档信息不为空，则进行设置
         if (this.param.getDocumentInfo() != null) {
             // 设置文档信息
             target.setDocumentInformation(this.param.getDocumentInfo().getInfo());
         }
         // 如果pdfBox保护策略不为空，则进行设置
-        if (this.param.getPermission() != null) {
+        if (isProtect && this.param.getPermission() != null) {
             // 设置pdfBox保护策略
             target.protect(this.param.getPermission().getPolicy());
         }
@@ -878,41 +1094,54 @@ public class XEasyPdfDocument implements Closeable, Serializable {
     }
 
     /**
-     * 替换总页码占位符
+     * 替换总页码占位符（写入总页码表单，无需解析页面内容流）
      *
      * @param target 任务文档
      */
-    void replaceTotalPagePlaceholder(PDDocument target, boolean isMultiDocument) {
+    void replaceTotalPagePlaceholder(PDDocument target) {
         // 如果开启替换总页码占位符，则进行替换
         if (this.param.getIsReplaceTotalPagePlaceholder()) {
             // 获取文档总页码
             int totalPage = target.getNumberOfPages();
-            // 如果页码大于0，则进行替换
+            // 如果页码大于0，则进行替换（多文档时表单来自各临时文档，同样通过页面资源查找）
             if (totalPage > 0) {
-                // 创建pdf文本替换器
-                XEasyPdfDocumentReplacer replacer = new XEasyPdfDocumentReplacer(this, target);
-                // 开启替换cos数组
-                replacer.enableReplaceCOSArray();
-                // 定义待替换文本字典
-                Map<String, String> replaceMap = new HashMap<>(1);
-                // 设置替换文本
-                replaceMap.put(XEasyPdfTextUtil.escapeForRegex(XEasyPdfHandler.Page.getTotalPagePlaceholder()), String.valueOf(totalPage));
-                // 如果为多文档，则使用多文档替换方式
-                if (isMultiDocument) {
-                    // 替换总页码占位符
-                    this.replaceTotalPagePlaceholder(target, replacer, replaceMap);
-                }
-                // 否则使用单文档替换方式
-                else {
-                    // 替换总页码占位符
-                    this.replaceTotalPagePlaceholder(replacer, replaceMap, this.getPageList());
-                }
-                // 完成操作
-                replacer.finish();
+                // 写入总页码
+                XEasyPdfTotalPagePlaceholder.fill(target, totalPage);
             }
         }
     }
 
+    /**
+     * 写入页面（流式模式）
+     *
+     * @param pages pdf页面
+     * @return 返回pdf文档
+     */
+    private XEasyPdfDocument writePage(XEasyPdfPage... pages) {
+        // 如果任务文档未初始化，则进行初始化（流式模式下不重置已写入页面的任务文档）
+        if (this.param.getTarget() == null) {
+            // 初始化任务文档
+            this.param.initTarget(this);
+        }
+        // 预处理组件
+        XEasyPdfComponentPreparer.prepare(this, Arrays.asList(pages));
+        // 遍历pdf页面
+        for (XEasyPdfPage page : pages) {
+            // 写入页面
+            this.param.writePage(this, page);
+        }
+        // 获取任务文档
+        PDDocument target = this.param.getTarget();
+        // 序列化页面（写入后页面从任务文档移除）
+        this.param.initWriter(target).writePages(target);
+        // 遍历pdf页面
+        for (XEasyPdfPage page : pages) {
+            // 释放页面
+            page.flush();
+        }
+        return this;
+    }
+
     /**
      * 获取pdf文档参数
      *
@@ -923,52 +1152,55 @@ public class XEasyPdfDocument implements Closeable, Serializable {
     }
 
     /**
-     * 保存临时任务
+     * 保存已写入的页面
+     * <p>写入剩余页面后填充总页码表单、设置基础信息并子集化字体，随后由流式写入器输出，</p>
+     * <p>设置文档权限时先输出至临时文件，再由pdfbox加载并加密保存</p>
      *
      * @param outputStream 文件输出流
      */
     @SneakyThrows
-    private void saveTemp(OutputStream outputStream) {
-        // 刷新
+    private void saveStream(OutputStream outputStream) {
+        // 刷新（写入剩余页面）
         this.flush();
-        // 创建任务
-        PDDocument target = new PDDocument();
-        // 获取临时任务列表
-        List<String> tempTargetList = this.param.getTempTargetList();
-        // 创建临时pdfbox文档列表
-        List<PDDocument> tempList = new ArrayList<>(tempTargetList.size());
-        // 遍历临时任务
-        for (String tempPath : tempTargetList) {
-            // 读取临时文件
-            File file = new File(tempPath);
-            // 加载临时pdfbox文档
-            PDDocument temp = PDDocument.load(file, MemoryUsageSetting.setupTempFileOnly());
-            // 获取临时pdfbox页面树
-            PDPageTree tempPageTree = temp.getPages();
-            // 遍历临时页面树
-            for (PDPage page : tempPageTree) {
-                // 添加页面至任务文档
-                PDPage importPage = target.importPage(page);
-                // 添加页面资源
-                importPage.setResources(page.getResources());
+        // 获取任务文档
+        PDDocument target = this.param.getTarget();
+        // 获取流式写入器
+        XEasyPdfDocumentWriter writer = this.param.getWriter();
+        // 如果开启替换总页码占位符，则写入总页码
+        if (this.param.getIsReplaceTotalPagePlaceholder()) {
+            // 写入总页码
+            writer.fillTotalPage();
+        }
+        // 设置基础信息（文档信息、版本、xmp信息及书签）
+        this.setBasicInfo(target, false);
+        // 子集化字体
+        this.param.subsetFont(target);
+        // 子集化剩余字体（不经pdfbox保存）
+        XEasyPdfFontSubsetter.subsetRemaining(target);
+        // 如果文档权限为空，则直接输出
+        if (this.param.getPermission() == null) {
+            // 输出文档
+            writer.finish(target, outputStream);
+            return;
+        }
+        // 获取临时文件路径
+        Path tempPath = Paths.get(this.param.getTempUrl());
+        try {
+            // 输出至临时文件
+            try (OutputStream tempOutputStream = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+                // 输出文档
+                writer.finish(target, tempOutputStream);
+            }
+            // 加载临时文件
+            try (PDDocument document = PDDocument.load(tempPath.toFile(), this.param.getStreamMemoryUsageSetting())) {
+                // 设置pdfBox保护策略
+                document.protect(this.param.getPermission().getPolicy());
+                // 保存文档
+                document.save(outputStream);
             }
-            // 添加临时文档列表
-            tempList.add(temp);
+        } finally {
             // 删除临时文件
-            file.deleteOnExit();
-        }
-        // 替换总页码占位符
-        this.replaceTotalPagePlaceholder(target, true);
-        // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
-        this.setBasicInfo(target);
-        // 保存任务文档
-        target.save(outputStream);
-        // 设置任务文档
-        this.param.setTarget(target);
-        // 遍历临时文档列表
-        for (PDDocument temp : tempList) {
-            // 关闭临时文档
-            temp.close();
+            Files.deleteIfExists(tempPath);
         }
     }
 
@@ -1028,93 +1260,4 @@ public class XEasyPdfDocument implements Closeable, Serializable {
         // 设置书签
         target.getDocumentCatalog().setDocumentOutline(outline);
     }
-
-    /**
-     * 替换总页码占位符（多文档）
-     *
-     * @param target     任务文档
-     * @param replacer   pdf文本替换器
-     * @param replaceMap 待替换文本字典
-     */
-    private void replaceTotalPagePlaceholder(
-            PDDocument target,
-            XEasyPdfDocumentReplacer replacer,
-            Map<String, String> replaceMap
-    ) {
-        // 获取pdfbox页面树
-        PDPageTree pages = target.getPages();
-        // 设置字体路径
-        replacer.setFontPath(this.param.getFontPath());
-        // 遍历页面树
-        for (PDPage pdfboxPage : pages) {
-            // 替换文本
-            replacer.replaceText(pdfboxPage, replaceMap);
-        }
-    }
-
-    /**
-     * 替换总页码占位符（单文档）
-     *
-     * @param replacer   pdf文本替换器
-     * @param replaceMap 待替换文本字典
-     * @param pageList   待替换pdf页面列表
-     */
-    private void replaceTotalPagePlaceholder(
-            XEasyPdfDocumentReplacer replacer,
-            Map<String, String> replaceMap,
-            List<XEasyPdfPage> pageList
-    ) {
-        // 遍历pdf页面列表
-        for (XEasyPdfPage page : pageList) {
-            // 获取pdf页眉
-            XEasyPdfHeader header = page.getHeader();
-            // 如果页眉不为空，则替换
-            if (header != null) {
-                // 替换总页码占位符
-                this.replaceTotalPagePlaceholder(header.getTextFontPath(), replacer, replaceMap, page);
-            }
-            // 获取pdf页脚
-            XEasyPdfFooter footer = page.getFooter();
-            // 如果页脚不为空，则替换
-            if (footer != null) {
-                // 替换总页码占位符
-                this.replaceTotalPagePlaceholder(footer.getTextFontPath(), replacer, replaceMap, page);
-            }
-        }
-    }
-
-    /**
-     * 替换总页码占位符
-     *
-     * @param fontPath   字体路径
-     * @param replacer   pdf文档替换器
-     * @param replaceMap 代替换字典
-     * @param page       pdf页面
-     */
-    private void replaceTotalPagePlaceholder(
-            String fontPath,
-            XEasyPdfDocumentReplacer replacer,
-            Map<String, String> replaceMap,
-            XEasyPdfPage page
-    ) {
-        // 如果字体路径不为空，则替换
-        if (fontPath != null) {
-            // 设置字体路径
-            replacer.setFontPath(fontPath);
-            // 获取原有pdfBox页面列表
-            List<PDPage> pdfboxPageList = page.getPageList();
-            // 遍历页面列表
-            for (PDPage pdfboxPage : pdfboxPageList) {
-                // 替换文本
-                replacer.replaceText(pdfboxPage, replaceMap);
-            }
-            // 获取新增的pdfBox页面列表
-            pdfboxPageList = page.getNewPageList();
-            // 遍历页面列表
-            for (PDPage pdfboxPage : pdfboxPageList) {
-                // 替换文本
-                replacer.replaceText(pdfboxPage, replaceMap);
-            }
-        }
-    }
 }
@@ -19,7 +19,6 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -246,7 +245,9 @@ public class XEasyPdfDocumentFormFiller implements Serializable {
         // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
         this.pdfDocument.setBasicInfo(this.document);
         // 替换总页码占位符
-        this.pdfDocument.replaceTotalPagePlaceholder(this.document, false);
+        this.pdfDocument.replaceTotalPagePlaceholder(this.document);
+        // 子集化字体
+        this.pdfDocument.getParam().subsetFont(this.document);
         // 保存文档
         this.document.save(outputStream);
         // 关闭文档
@@ -320,11 +321,8 @@ public class XEasyPdfDocumentFormFiller implements Serializable {
         PDResources defaultResources = this.form.getDefaultResources();
         // 添加自定义字体
         defaultResources.put(COSName.getPDFName(font.getName()), font);
-        // 如果填充表单成功，则嵌入字体
-        if (this.fill(formMap, font)) {
-            // 嵌入字体
-            this.pdfDocument.getParam().embedFont(Collections.singleton(font));
-        }
+        // 填充表单（字体已加入文档字体缓存，保存时子集化）
+        this.fill(formMap, font);
     }
 
     /**
@@ -6,21 +6,27 @@ import lombok.experimental.Accessors;
 import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.*;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageScaleMode;
 import wiki.xsx.core.pdf.footer.XEasyPdfFooter;
 import wiki.xsx.core.pdf.header.XEasyPdfHeader;
 import wiki.xsx.core.pdf.mark.XEasyPdfWatermark;
+import wiki.xsx.core.pdf.util.XEasyPdfFontSubsetter;
 import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
 
 import java.awt.*;
 import java.io.File;
 import java.io.InputStream;
 import java.io.Serializable;
-import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * pdf文档参数
@@ -70,6 +76,10 @@ class XEasyPdfDocumentParam implements Serializable {
      * 字体路径
      */
     private String fontPath;
+    /**
+     * 后备字体路径列表（文本组件未设置时的默认后备字体）
+     */
+    private List<String> fallbackFontPaths;
     /**
      * 当前字体
      */
@@ -82,6 +92,10 @@ class XEasyPdfDocumentParam implements Serializable {
      * otf字体缓存
      */
     private final Map<String, PDFont> otfFontCache = new ConcurrentHashMap<>(8);
+    /**
+     * 总页码表单缓存（字体后备链 -> 字体大小与文本 -> 表单）
+     */
+    private final transient Map<List<PDFont>, Map<String, PDFormXObject>> totalPageFormCache = new HashMap<>(4);
     /**
      * pdfBox文档（源文档）
      */
@@ -90,10 +104,6 @@ class XEasyPdfDocumentParam implements Serializable {
      * pdfBox文档（目标文档）
      */
     private PDDocument target;
-    /**
-     * 临时任务列表
-     */
-    private List<String> tempTargetList = new ArrayList<>(16);
     /**
      * 临时目录
      */
@@ -150,6 +160,22 @@ class XEasyPdfDocumentParam implements Serializable {
      * 全局页脚
      */
     private XEasyPdfFooter globalFooter;
+    /**
+     * 全局图片分辨率（每英寸像素数，为空时不重采样）
+     */
+    private Float globalImageDpi;
+    /**
+     * 全局图片缩放模式
+     */
+    private XEasyPdfImageScaleMode globalImageScaleMode;
+    /**
+     * 组件预处理执行器（为空时绘制时顺序处理）
+     */
+    private transient Executor prepareExecutor;
+    /**
+     * 组件预处理最大并行数量（同时持有解码像素的图片数量上限）
+     */
+    private Integer prepareLimit = Runtime.getRuntime().availableProcessors();
     /**
      * pdf文档权限
      */
@@ -166,14 +192,96 @@ class XEasyPdfDocumentParam implements Serializable {
      * 是否重置
      */
     private Boolean isReset = Boolean.FALSE;
+    /**
+     * 是否流式模式
+     */
+    private Boolean isStreamMode = Boolean.FALSE;
+    /**
+     * 内存策略（加载、构建及保存时使用，为空时使用主内存）
+     */
+    private transient MemoryUsageSetting memoryUsageSetting;
+    /**
+     * 流式写入器（流式模式或刷新后创建，保存或关闭文档时删除临时文件）
+     */
+    private transient XEasyPdfDocumentWriter writer;
 
     /**
      * 获取临时存放路径
      *
      * @return 返回临时存放路径
      */
+    @SneakyThrows
     String getTempUrl() {
-        return (this.tempDir != null ? this.tempDir : "") + File.separatorChar + this.tempTargetList.size();
+        // 创建唯一临时文件（避免多个文档同时刷新时文件名冲突）
+        return File.createTempFile(
+                "x-easypdf-",
+                ".pdf",
+                new File((this.tempDir != null ? this.tempDir : "") + File.separatorChar)
+        ).getPath();
+    }
+
+    /**
+     * 初始化流式写入器（已存在时直接返回）
+     *
+     * @param target 任务文档
+     * @return 返回流式写入器
+     */
+    XEasyPdfDocumentWriter initWriter(PDDocument target) {
+        // 如果流式写入器为空，则创建
+        if (this.writer == null) {
+            // 创建流式写入器
+            this.writer = new XEasyPdfDocumentWriter(target, Paths.get(this.getTempUrl()));
+        }
+        return this.writer;
+    }
+
+    /**
+     * 关闭流式写入器（删除临时文件）
+     */
+    @SneakyThrows
+    void closeWriter() {
+        // 如果流式写入器不为空，则关闭
+        if (this.writer != null) {
+            // 关闭流式写入器
+            this.writer.close();
+            // 重置流式写入器为空
+            this.writer = null;
+        }
+    }
+
+    /**
+     * 获取内存策略
+     *
+     * @return 返回内存策略
+     */
+    MemoryUsageSetting getMemoryUsageSetting() {
+        // 如果内存策略为空，则返回主内存策略
+        if (this.memoryUsageSetting == null) {
+            // 返回主内存策略
+            return MemoryUsageSetting.setupMainMemoryOnly();
+        }
+        return this.memoryUsageSetting;
+    }
+
+    /**
+     * 获取流式模式内存策略（未设置使用临时文件的内存策略时，仅使用临时文件）
+     *
+     * @return 返回内存策略
+     */
+    MemoryUsageSetting getStreamMemoryUsageSetting() {
+        // 如果内存策略使用临时文件，则返回内存策略
+        if (this.memoryUsageSetting != null && this.memoryUsageSetting.useTempFile()) {
+            // 返回内存策略
+            return this.memoryUsageSetting;
+        }
+        // 定义内存策略
+        MemoryUsageSetting setting = MemoryUsageSetting.setupTempFileOnly();
+        // 如果临时目录不为空，则设置临时目录
+        if (this.tempDir != null) {
+            // 设置临时目录
+            setting.setTempDir(new File(this.tempDir));
+        }
+        return setting;
     }
 
     /**
@@ -185,7 +293,30 @@ class XEasyPdfDocumentParam implements Serializable {
     @SneakyThrows
     void init(InputStream inputStream, XEasyPdfDocument document) {
         // 初始化pdfBox源文档
-        this.source = PDDocument.load(inputStream, MemoryUsageSetting.setupMainMemoryOnly());
+        this.init(PDDocument.load(inputStream, this.getMemoryUsageSetting()), document);
+    }
+
+    /**
+     * 初始化（随机读取文件，不复制全部文件数据）
+     *
+     * @param file     pdf文件
+     * @param document pdf文档
+     */
+    @SneakyThrows
+    void init(File file, XEasyPdfDocument document) {
+        // 初始化pdfBox源文档
+        this.init(PDDocument.load(file, this.getMemoryUsageSetting()), document);
+    }
+
+    /**
+     * 初始化
+     *
+     * @param source   pdfBox源文档
+     * @param document pdf文档
+     */
+    private void init(PDDocument source, XEasyPdfDocument document) {
+        // 初始化pdfBox源文档
+        this.source = source;
         // 获取pdfBox页面树
         PDPageTree pages = this.source.getPages();
         // 遍历pdfBox页面树
@@ -208,11 +339,13 @@ class XEasyPdfDocumentParam implements Serializable {
     void initTarget(XEasyPdfDocument document) {
         // 如果任务文档不为空，则关闭
         if (this.target != null) {
+            // 释放图片缓存
+            XEasyPdfImageCache.release(this.target);
             // 关闭文档
             this.target.close();
         }
-        // 新建任务文档
-        this.target = new PDDocument();
+        // 新建任务文档（流式模式下内容流等数据存放于临时文件，不占用堆内存）
+        this.target = new PDDocument(this.isStreamMode ? this.getStreamMemoryUsageSetting() : this.getMemoryUsageSetting());
         // 如果源文档不为空，则设置文档表单
         if (this.source != null) {
             // 获取文档大纲
@@ -233,50 +366,54 @@ class XEasyPdfDocumentParam implements Serializable {
      *
      * @param document pdf文档
      */
-    @SneakyThrows
     void initPage(XEasyPdfDocument document) {
-        // 定义pdfBox页面列表
-        List<PDPage> pdfboxPageList;
+        // 预处理组件
+        XEasyPdfComponentPreparer.prepare(document, this.pageList);
         // 遍历pdf页面列表
         for (XEasyPdfPage pdfPage : this.pageList) {
-            // pdf页面构建
-            pdfPage.build(document);
-            // 初始化pdfBox页面列表
-            pdfboxPageList = pdfPage.getPageList();
-            // 遍历pdfBox页面列表
-            for (PDPage page : pdfboxPageList) {
-                // 任务文档添加页面
-                PDPage importPage = this.target.importPage(page);
-                // 设置页面资源缓存
-                importPage.setResources(page.getResources());
-            }
-            // 获取pdfbox页面树
-            PDPageTree pageTree = this.target.getPages();
-            // 初始化pdfBox新增页面列表
-            pdfboxPageList = pdfPage.getNewPageList();
-            // 遍历pdfBox页面列表
-            for (PDPage page : pdfboxPageList) {
-                // 任务文档添加页面
-                pageTree.add(page);
-            }
+            // 写入页面
+            this.writePage(document, pdfPage);
         }
-        // 嵌入字体
-        this.embedFont(this.fontCache.values());
     }
 
     /**
-     * 嵌入字体
+     * 写入页面（构建页面并添加至任务文档）
      *
-     * @param font pdfbox字体
+     * @param document pdf文档
+     * @param pdfPage  pdf页面
      */
-    @SuppressWarnings("all")
     @SneakyThrows
-    void embedFont(Collection<PDFont> fonts) {
-        if (fonts != null && !fonts.isEmpty()) {
-            Method method = this.target.getClass().getDeclaredMethod("getFontsToSubset");
-            method.setAccessible(true);
-            ((Set<PDFont>) method.invoke(this.target)).addAll(fonts);
+    void writePage(XEasyPdfDocument document, XEasyPdfPage pdfPage) {
+        // pdf页面构建
+        pdfPage.build(document);
+        // 初始化pdfBox页面列表
+        List<PDPage> pdfboxPageList = pdfPage.getPageList();
+        // 遍历pdfBox页面列表
+        for (PDPage page : pdfboxPageList) {
+            // 任务文档添加页面
+            PDPage importPage = this.target.importPage(page);
+            // 设置页面资源缓存
+            importPage.setResources(page.getResources());
         }
+        // 获取pdfbox页面树
+        PDPageTree pageTree = this.target.getPages();
+        // 初始化pdfBox新增页面列表
+        pdfboxPageList = pdfPage.getNewPageList();
+        // 遍历pdfBox页面列表
+        for (PDPage page : pdfboxPageList) {
+            // 任务文档添加页面
+            pageTree.add(page);
+        }
+    }
+
+    /**
+     * 子集化字体（保存文档前调用）
+     *
+     * @param target 任务文档
+     */
+    void subsetFont(PDDocument target) {
+        // 子集化字体（复用已缓存的子集，开启并行预处理时按字体并行生成子集）
+        XEasyPdfFontSubsetter.subset(target, this.fontCache.values(), this.prepareExecutor);
     }
 
     /**
@@ -3,6 +3,7 @@ package wiki.xsx.core.pdf.doc;
 import lombok.SneakyThrows;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.pdfbox.contentstream.operator.Operator;
 import org.apache.pdfbox.cos.COSArray;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSName;
@@ -19,6 +20,7 @@ import org.apache.pdfbox.pdmodel.graphics.image.PDImage;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
 import wiki.xsx.core.pdf.util.XEasyPdfFileUtil;
+import wiki.xsx.core.pdf.util.XEasyPdfFontFallback;
 import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
 import wiki.xsx.core.pdf.util.XEasyPdfImageUtil;
 
@@ -70,6 +72,10 @@ public class XEasyPdfDocumentReplacer implements Serializable {
      * 字体路径
      */
     private String fontPath;
+    /**
+     * 后备字体路径列表
+     */
+    private List<String> fallbackFontPaths;
 
     /**
      * 有参构造
@@ -113,6 +119,17 @@ public class XEasyPdfDocumentReplacer implements Serializable {
         return this;
     }
 
+    /**
+     * 设置后备字体路径（替换文本中主字体未覆盖的字符时，使用首个覆盖全部替换文本的后备字体）
+     *
+     * @param fontPaths 后备字体路径
+     * @return 返回pdf文档替换器
+     */
+    public XEasyPdfDocumentReplacer setFallbackFontPath(String... fontPaths) {
+        this.fallbackFontPaths = fontPaths == null ? null : new ArrayList<>(Arrays.asList(fontPaths));
+        return this;
+    }
+
     /**
      * 设置默认字体样式
      *
@@ -284,9 +301,11 @@ public class XEasyPdfDocumentReplacer implements Serializable {
     @SneakyThrows
     public void finish(OutputStream outputStream) {
         // 替换总页码占位符
-        this.pdfDocument.replaceTotalPagePlaceholder(this.document, false);
+        this.pdfDocument.replaceTotalPagePlaceholder(this.document);
         // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
         this.pdfDocument.setBasicInfo(this.document);
+        // 子集化字体
+        this.pdfDocument.getParam().subsetFont(this.document);
         // 保存文档
         this.document.save(outputStream);
         // 关闭文档
@@ -309,8 +328,8 @@ public class XEasyPdfDocumentReplacer implements Serializable {
      */
     @SneakyThrows
     void replaceText(PDPage page, Map<String, String> replaceMap) {
-        // 获取pdfbox字体
-        PDFont font = this.initFont();
+        // 获取字体后备链
+        XEasyPdfFontFallback fallback = this.initFontFallback();
         // 获取页面资源
         PDResources resources = page.getResources();
         // 获取pdf解析器
@@ -320,7 +339,7 @@ public class XEasyPdfDocumentReplacer implements Serializable {
         // 获取标记列表
         List<Object> tokens = parser.getTokens();
         // 如果替换文本标记成功，则更新内容
-        if (this.replaceTextToken(font, resources, tokens, replaceMap)) {
+        if (this.replaceTextToken(fallback, resources, tokens, replaceMap)) {
             // 定义更新流
             PDStream updatedStream = new PDStream(this.document);
             // 创建输出流
@@ -332,24 +351,31 @@ public class XEasyPdfDocumentReplacer implements Serializable {
                 // 设置页面内容
                 page.setContents(updatedStream);
             }
-            // 添加字体嵌入
-            this.pdfDocument.getParam().embedFont(Collections.singleton(font));
         }
     }
 
     /**
-     * 初始化字体
+     * 初始化字体后备链
      *
-     * @return 返回pdfbox字体
+     * @return 返回字体后备链
      */
-    private PDFont initFont() {
+    private XEasyPdfFontFallback initFontFallback() {
         // 如果字体路径为空，则初始化为文档字体路径
         if (this.fontPath == null) {
             // 初始化为文档字体路径
             this.fontPath = this.pdfDocument.getFontPath();
         }
+        // 如果后备字体路径列表为空，则初始化为文档后备字体路径列表
+        if (this.fallbackFontPaths == null) {
+            // 初始化为文档后备字体路径列表
+            this.fallbackFontPaths = this.pdfDocument.getFallbackFontPaths();
+        }
         // 读取字体
-        return XEasyPdfFontUtil.loadFont(this.pdfDocument, this.fontPath, true);
+        return XEasyPdfFontFallback.getInstance(
+                this.pdfDocument,
+                XEasyPdfFontUtil.loadFont(this.pdfDocument, this.fontPath, true),
+                this.fallbackFontPaths
+        );
     }
 
     /**
@@ -372,15 +398,19 @@ public class XEasyPdfDocumentReplacer implements Serializable {
 
     /**
      * 替换文本标记
+     * <p>
+     * 替换后的文本使用后备链中覆盖该文本的字体重新编码，并在其显示操作前后切换字体（Tf），
+     * 同一字体块中未替换的文本仍使用原资源字体
+     * </p>
      *
-     * @param font       pdfbox字体
+     * @param fallback   字体后备链
      * @param resources  pdfbox页面资源
      * @param tokens     标记列表
      * @param replaceMap 替换字典（key可为正则）
      */
     @SneakyThrows
     private boolean replaceTextToken(
-            PDFont font,
+            XEasyPdfFontFallback fallback,
             PDResources resources,
             List<Object> tokens,
             Map<String, String> replaceMap
@@ -391,43 +421,56 @@ public class XEasyPdfDocumentReplacer implements Serializable {
         Map<COSName, PDFont> resourceFontMap = this.initResourceFontMap(resources);
         // 获取替换字典文本列表
         Set<Map.Entry<String, String>> entrySet = replaceMapTemp.entrySet();
-        // 获取替换字体名称
-        COSName replaceFontName = COSName.getPDFName(font.getName());
-        // 定义字体索引
-        int fontIndex = 0;
+        // 定义已使用的替换字体
+        Set<PDFont> replaceFonts = new LinkedHashSet<>(4);
+        // 定义资源字体名称
+        COSName resourceFontName = null;
+        // 定义资源字体大小
+        COSBase resourceFontSize = null;
         // 定义资源字体
         PDFont resourceFont = null;
+        // 定义上一次使用的替换字体（优先复用）
+        PDFont replaceFont = null;
+        // 定义处理后的替换字体
+        PDFont processedFont;
         // 遍历标记列表
-        for (int i = 0, count = tokens.size(); i < count; i++) {
+        for (int i = 0; i < tokens.size(); i++) {
             // 获取标记
             Object token = tokens.get(i);
             // 如果标记为字体名称
             if (token instanceof COSName) {
-                // 如果为资源字体名称，则重置资源字体
-                if (resourceFontMap.get(token) != null) {
-                    // 重置字体索引
-                    fontIndex = i;
+                // 如果为资源字体名称且后续为字体大小，则重置资源字体
+                if (resourceFontMap.get(token) != null && i + 1 < tokens.size() && tokens.get(i + 1) instanceof COSBase) {
+                    // 重置资源字体名称
+                    resourceFontName = (COSName) token;
+                    // 重置资源字体大小
+                    resourceFontSize = (COSBase) tokens.get(i + 1);
                     // 重置资源字体
                     resourceFont = resourceFontMap.get(token);
                 }
                 // 跳过
                 continue;
             }
+            // 定义处理后的替换字体为空
+            processedFont = null;
             // 如果标记为cos数组，则替换文本
             if (token instanceof COSArray) {
-                // 如果处理cos数组成功，则添加待替换字体
-                if (this.processCOSArray(token, entrySet, resourceFont, font)) {
-                    // 替换字体
-                    tokens.set(fontIndex, replaceFontName);
-                }
+                // 处理cos数组
+                processedFont = this.processCOSArray(token, entrySet, resourceFont, fallback, replaceFont);
             }
             // 如果标记为cos字符串，则替换文本
-            if (token instanceof COSString) {
-                // 如果处理cos字符串成功，则添加待替换字体
-                if (this.processCOSString(false, token, entrySet, resourceFont, font)) {
-                    // 替换字体
-                    tokens.set(fontIndex, replaceFontName);
-                }
+            else if (token instanceof COSString) {
+                // 处理cos字符串
+                processedFont = this.processCOSString(token, entrySet, resourceFont, fallback, replaceFont);
+            }
+            // 如果处理成功，则切换字体
+            if (processedFont != null) {
+                // 重置上一次使用的替换字体
+                replaceFont = processedFont;
+                // 切换字体（跳过插入的标记）
+                i = this.switchFont(tokens, i, replaceFont, resourceFontName, resourceFontSize);
+                // 添加已使用的替换字体
+                replaceFonts.add(replaceFont);
             }
             // 如果替换字典文本列表为空，则结束遍历
             if (entrySet.isEmpty()) {
@@ -446,66 +489,126 @@ public class XEasyPdfDocumentReplacer implements Serializable {
         }
         // 如果已替换数量大于0，则添加字体
         if (replacedCount > 0) {
-            // 添加字体
-            resources.put(replaceFontName, font);
+            // 遍历已使用的替换字体
+            for (PDFont font : replaceFonts) {
+                // 添加字体
+                resources.put(COSName.getPDFName(font.getName()), font);
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * 切换字体（在文本显示操作前切换为替换字体，操作后恢复为资源字体）
+     *
+     * @param tokens           标记列表
+     * @param index            文本标记索引
+     * @param replaceFont      替换字体
+     * @param resourceFontName 资源字体名称
+     * @param resourceFontSize 资源字体大小
+     * @return 返回恢复字体的最后一个标记索引
+     */
+    private int switchFont(List<Object> tokens, int index, PDFont replaceFont, COSName resourceFontName, COSBase resourceFontSize) {
+        // 定义操作数起始索引
+        int begin = index;
+        // 向前查找操作数起始索引（上一个操作符之后）
+        while (begin > 0 && !(tokens.get(begin - 1) instanceof Operator)) {
+            // 索引减1
+            begin--;
+        }
+        // 定义操作符索引
+        int end = index + 1;
+        // 向后查找操作符索引
+        while (end < tokens.size() && !(tokens.get(end) instanceof Operator)) {
+            // 索引加1
+            end++;
+        }
+        // 获取恢复字体插入索引
+        int restoreIndex = Math.min(end + 1, tokens.size());
+        // 操作后恢复为资源字体
+        tokens.addAll(restoreIndex, Arrays.asList(resourceFontName, resourceFontSize, Operator.getOperator("Tf")));
+        // 操作前切换为替换字体
+        tokens.addAll(begin, Arrays.asList(COSName.getPDFName(replaceFont.getName()), resourceFontSize, Operator.getOperator("Tf")));
+        // 返回恢复字体的最后一个标记索引
+        return restoreIndex + 5;
+    }
+
     /**
      * 处理cos数组
      *
      * @param token        标记
      * @param entrySet     待替换字典文本列表
      * @param resourceFont 资源字体
-     * @param replaceFont  替换字体
-     * @return 返回布尔值，已处理为true，未处理为false
+     * @param fallback     字体后备链
+     * @param replaceFont  优先使用的替换字体（可为空）
+     * @return 返回处理后的替换字体，未处理为null
      */
     @SneakyThrows
-    private boolean processCOSArray(
+    private PDFont processCOSArray(
             Object token,
             Set<Map.Entry<String, String>> entrySet,
             PDFont resourceFont,
+            XEasyPdfFontFallback fallback,
             PDFont replaceFont
     ) {
         // 如果资源字体为空，则返回未处理
         if (resourceFont == null) {
             // 返回未处理
-            return false;
+            return null;
         }
-        // 定义处理标记
-        boolean flag = false;
         // 转换为cos数组
         COSArray array = (COSArray) token;
         // 如果允许替换替换cos数组，则替换cos数组
         if (this.isAllowReplaceCOSArray) {
-            // 如果处理cos字符串成功，则重置处理标记为已处理
-            if (this.processCOSArray(array, entrySet, resourceFont, replaceFont)) {
-                // 重置处理标记为已处理
-                flag = true;
-            }
+            // 处理cos数组
+            return this.processCOSArray(array, entrySet, resourceFont, fallback, replaceFont);
         }
-        // 否则遍历cos数组
-        else {
-            // 遍历cos数组
-            for (COSBase cosBase : array) {
-                // 如果为cos字符串，则进行处理
-                if (cosBase instanceof COSString) {
-                    // 如果处理cos字符串成功，则重置处理标记为已处理
-                    if (this.processCOSString(true, cosBase, entrySet, resourceFont, replaceFont)) {
-                        // 重置处理标记为已处理
-                        flag = true;
-                        // 如果待替换字典文本列表为空，则结束遍历
-                        if (entrySet.isEmpty()) {
-                            // 结束遍历
-                            break;
-                        }
-                    }
+        // 定义数组文本列表
+        List<String> values = new ArrayList<>(array.size());
+        // 定义全部文本构建器
+        StringBuilder builder = new StringBuilder();
+        // 定义是否已替换
+        boolean isReplaced = false;
+        // 遍历cos数组
+        for (COSBase cosBase : array) {
+            // 如果为cos字符串，则进行处理
+            if (cosBase instanceof COSString) {
+                // 解析文本
+                String value = this.decode((COSString) cosBase, resourceFont);
+                // 获取替换后的字符串
+                String replacedValue = this.replace(true, value, entrySet);
+                // 如果替换后的字符串不为空，则重置文本
+                if (replacedValue != null) {
+                    // 重置文本
+                    value = replacedValue;
+                    // 设置已替换
+                    isReplaced = true;
                 }
+                // 添加数组文本
+                values.add(value);
+                // 添加全部文本
+                builder.append(value);
             }
         }
-        return flag;
+        // 如果未替换，则返回未处理
+        if (!isReplaced) {
+            // 返回未处理
+            return null;
+        }
+        // 获取覆盖数组全部文本的字体（数组中无法切换字体，未替换的文本一并重新编码）
+        PDFont font = fallback.getFont(builder.toString(), replaceFont);
+        // 定义数组文本索引
+        int valueIndex = 0;
+        // 遍历cos数组
+        for (COSBase cosBase : array) {
+            // 如果为cos字符串，则重新编码
+            if (cosBase instanceof COSString) {
+                // 重新编码
+                ((COSString) cosBase).setValue(this.encode(values.get(valueIndex++), font));
+            }
+        }
+        return font;
     }
 
     /**
@@ -514,14 +617,16 @@ public class XEasyPdfDocumentReplacer implements Serializable {
      * @param array        cos数组
      * @param entrySet     待替换字典文本列表
      * @param resourceFont 资源字体
-     * @param replaceFont  替换字体
-     * @return 返回布尔值，已处理为true，未处理为false
+     * @param fallback     字体后备链
+     * @param replaceFont  优先使用的替换字体（可为空）
+     * @return 返回处理后的替换字体，未处理为null
      */
     @SneakyThrows
-    private boolean processCOSArray(
+    private PDFont processCOSArray(
             COSArray array,
             Set<Map.Entry<String, String>> entrySet,
             PDFont resourceFont,
+            XEasyPdfFontFallback fallback,
             PDFont replaceFont
     ) {
         // 定义字符串构建器
@@ -530,29 +635,23 @@ public class XEasyPdfDocumentReplacer implements Serializable {
         for (COSBase cosBase : array) {
             // 如果为cos字符串，则进行处理
             if (cosBase instanceof COSString) {
-                // 转换为cos字符串
-                COSString cosString = (COSString) cosBase;
-                // 获取字符串输入流
-                try (InputStream in = new ByteArrayInputStream(cosString.getBytes())) {
-                    // 读取字符
-                    while (in.available() > 0) {
-                        // 解析字符
-                        builder.append(resourceFont.toUnicode(resourceFont.readCode(in)));
-                    }
-                }
+                // 解析文本
+                builder.append(this.decode((COSString) cosBase, resourceFont));
             }
         }
-        // 获取编码字节数组
-        byte[] bytes = this.encode(true, builder.toString(), entrySet, replaceFont);
-        // 如果编码字节数组不为空，则添加新文本
-        if (bytes != null) {
+        // 获取替换后的字符串
+        String value = this.replace(true, builder.toString(), entrySet);
+        // 如果替换后的字符串不为空，则添加新文本
+        if (value != null) {
+            // 获取覆盖全部文本的字体
+            PDFont font = fallback.getFont(value, replaceFont);
             // 清空数组内容
             array.clear();
             // 添加新文本
-            array.add(new COSString(bytes));
-            return true;
+            array.add(new COSString(this.encode(value, font)));
+            return font;
         }
-        return false;
+        return null;
     }
 
     /**
@@ -561,26 +660,49 @@ public class XEasyPdfDocumentReplacer implements Serializable {
      * @param token        标记
      * @param entrySet     待替换字典文本列表
      * @param resourceFont 资源字体
-     * @param replaceFont  替换字体
-     * @return 返回布尔值，已处理为true，未处理为false
+     * @param fallback     字体后备链
+     * @param replaceFont  优先使用的替换字体（可为空）
+     * @return 返回处理后的替换字体，未处理为null
      */
     @SneakyThrows
-    private boolean processCOSString(
-            boolean isArray,
+    private PDFont processCOSString(
             Object token,
             Set<Map.Entry<String, String>> entrySet,
             PDFont resourceFont,
+            XEasyPdfFontFallback fallback,
             PDFont replaceFont
     ) {
         // 如果资源字体为空，则返回未处理
         if (resourceFont == null) {
             // 直接返回
-            return false;
+            return null;
         }
-        // 初始化字符串构造器
-        StringBuilder builder = new StringBuilder();
         // 转换为cos字符串
         COSString cosString = (COSString) token;
+        // 获取替换后的字符串
+        String value = this.replace(false, this.decode(cosString, resourceFont), entrySet);
+        // 如果替换后的字符串不为空，则设置新文本
+        if (value != null) {
+            // 获取覆盖全部文本的字体
+            PDFont font = fallback.getFont(value, replaceFont);
+            // 设置新文本
+            cosString.setValue(this.encode(value, font));
+            return font;
+        }
+        return null;
+    }
+
+    /**
+     * 解码
+     *
+     * @param cosString    cos字符串
+     * @param resourceFont 资源字体
+     * @return 返回解码后的文本
+     */
+    @SneakyThrows
+    private String decode(COSString cosString, PDFont resourceFont) {
+        // 初始化字符串构造器
+        StringBuilder builder = new StringBuilder();
         // 获取字符串输入流
         try (InputStream in = new ByteArrayInputStream(cosString.getBytes())) {
             // 读取字符
@@ -589,28 +711,18 @@ public class XEasyPdfDocumentReplacer implements Serializable {
                 builder.append(resourceFont.toUnicode(resourceFont.readCode(in)));
             }
         }
-        // 获取编码字节数组
-        byte[] bytes = this.encode(isArray, builder.toString(), entrySet, replaceFont);
-        // 如果编码字节数组不为空，则设置新文本
-        if (bytes != null) {
-            // 设置新文本
-            cosString.setValue(bytes);
-            return true;
-        }
-        return false;
+        return builder.toString();
     }
 
     /**
-     * 编码
+     * 替换
      *
      * @param isArray  是否数组
      * @param value    当前字符串
      * @param entrySet 待替换文本字典
-     * @param font     pdfbox字体
-     * @return 返回编码字节数组，如果未替换，则返回null
+     * @return 返回替换后的字符串，如果未替换，则返回null
      */
-    @SneakyThrows
-    private byte[] encode(boolean isArray, String value, Set<Map.Entry<String, String>> entrySet, PDFont font) {
+    private String replace(boolean isArray, String value, Set<Map.Entry<String, String>> entrySet) {
         // 日志打印
         if (log.isDebugEnabled()) {
             // 如果为数组，则提示为数组
@@ -645,16 +757,29 @@ public class XEasyPdfDocumentReplacer implements Serializable {
                 }
             }
         }
-        // 如果替换过字符串，则关联文本
+        // 如果替换过字符串，则返回替换后的字符串
         if (count > entrySet.size()) {
-            // 添加文本关联
-            XEasyPdfFontUtil.addToSubset(font, value);
-            // 字符串编码
-            return font.encode(value);
+            // 返回替换后的字符串
+            return value;
         }
         return null;
     }
 
+    /**
+     * 编码
+     *
+     * @param value 替换后的字符串
+     * @param font  pdfbox字体
+     * @return 返回编码字节数组
+     */
+    @SneakyThrows
+    private byte[] encode(String value, PDFont font) {
+        // 添加文本关联
+        XEasyPdfFontUtil.addToSubset(font, value);
+        // 字符串编码
+        return font.encode(value);
+    }
+
     /**
      * 替换图像
      *
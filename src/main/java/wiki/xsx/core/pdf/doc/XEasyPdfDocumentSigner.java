@@ -221,7 +221,7 @@ public class XEasyPdfDocumentSigner implements Serializable {
         // 获取pdf文档
         XEasyPdfDocument pdfDocument = this.param.getPdfDocument();
         // 替换总页码占位符
-        pdfDocument.replaceTotalPagePlaceholder(target, false);
+        pdfDocument.replaceTotalPagePlaceholder(target);
         // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
         pdfDocument.setBasicInfo(target);
         // 设置mdp权限
@@ -121,7 +121,7 @@ public class XEasyPdfDocumentSplitter implements Serializable {
             // 遍历页面树
             for (PDPage sourcePage : pageTree) {
                 // 创建任务
-                PDDocument target = new PDDocument();
+                PDDocument target = new PDDocument(this.pdfDocument.getParam().getMemoryUsageSetting());
                 // 添加页面
                 PDPage importPage = target.importPage(sourcePage);
                 // 添加页面资源
@@ -133,7 +133,7 @@ public class XEasyPdfDocumentSplitter implements Serializable {
                 // 获取输出流
                 try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(XEasyPdfFileUtil.createDirectories(Paths.get(fileNameBuilder.toString()))))) {
                     // 替换总页码占位符
-                    this.pdfDocument.replaceTotalPagePlaceholder(target, false);
+                    this.pdfDocument.replaceTotalPagePlaceholder(target);
                     // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
                     this.pdfDocument.setBasicInfo(target);
                     // 保存文档
@@ -158,7 +158,7 @@ public class XEasyPdfDocumentSplitter implements Serializable {
     @SneakyThrows
     public XEasyPdfDocumentSplitter split(OutputStream outputStream, int... pageIndex) {
         // 新建任务文档
-        try (PDDocument target = new PDDocument()) {
+        try (PDDocument target = new PDDocument(this.pdfDocument.getParam().getMemoryUsageSetting())) {
             // 获取源文档页面树
             PDPageTree sourcePages = this.document.getPages();
             // 遍历页面索引
@@ -171,7 +171,7 @@ public class XEasyPdfDocumentSplitter implements Serializable {
                 importPage.setResources(pdPage.getResources());
             }
             // 替换总页码占位符
-            this.pdfDocument.replaceTotalPagePlaceholder(target, false);
+            this.pdfDocument.replaceTotalPagePlaceholder(target);
             // 设置基础信息（文档信息、保护策略、版本、xmp信息及书签）
             this.pdfDocument.setBasicInfo(target);
             // 保存任务文档
@@ -0,0 +1,759 @@
+package wiki.xsx.core.pdf.doc;
+
+import lombok.SneakyThrows;
+import org.apache.pdfbox.cos.*;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdfwriter.COSWriter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * pdf文档流式写入器
+ * <p>
+ * 页面构建完成后，页面及其引用的对象立即序列化至临时文件，页面内容流随即关闭，文档不再持有该页面；
+ * 对象编号在首次写入时全局分配，保存时直接复制临时文件数据，无需重新加载与重新编号。
+ * 字体与总页码表单需在保存前完成子集化与填充，仅预留编号，保存时写入；
+ * 文档目录、页面树根节点、文档信息与交叉引用表同样在保存时写入
+ * </p>
+ * <p>
+ * 已写入的对象不再修改；堆内存中仅保留对象编号（弱引用）、对象偏移量与页面对象编号
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+final class XEasyPdfDocumentWriter implements Closeable {
+
+    /**
+     * 文件头注释（二进制标记）
+     */
+    private static final byte[] BINARY_COMMENT = {'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'};
+    /**
+     * 文档目录对象编号
+     */
+    private static final int CATALOG_NUMBER = 1;
+    /**
+     * 页面树根节点对象编号
+     */
+    private static final int PAGE_ROOT_NUMBER = 2;
+    /**
+     * 文档目录
+     */
+    private final COSDictionary catalog;
+    /**
+     * 页面树根节点
+     */
+    private final COSDictionary pageRoot;
+    /**
+     * 临时文件路径
+     */
+    private final Path spillPath;
+    /**
+     * 临时文件输出流
+     */
+    private final CountingOutputStream spillOutput;
+    /**
+     * 当前输出流
+     */
+    private CountingOutputStream output;
+    /**
+     * 对象编号字典（弱引用，对象不再被引用时随之释放）
+     */
+    private final Map<COSBase, Integer> numberMap = new WeakHashMap<>(256);
+    /**
+     * 延迟写入对象列表（字体与总页码表单）
+     */
+    private final List<COSBase> deferredList = new ArrayList<>(16);
+    /**
+     * 待写入对象队列
+     */
+    private final Deque<COSBase> pendingQueue = new ArrayDeque<>(64);
+    /**
+     * 已写入对象集合（按对象编号）
+     */
+    private final BitSet writtenSet = new BitSet(256);
+    /**
+     * 对象偏移量（按对象编号）
+     */
+    private long[] offsets = new long[256];
+    /**
+     * 页面对象编号
+     */
+    private int[] pageNumbers = new int[64];
+    /**
+     * 页面数量
+     */
+    private int pageCount;
+    /**
+     * 下一个对象编号
+     */
+    private int nextNumber = PAGE_ROOT_NUMBER + 1;
+    /**
+     * 是否正在保存（保存时不再延迟写入）
+     */
+    private boolean isFinishing;
+    /**
+     * 是否已保存
+     */
+    private boolean isFinished;
+
+    /**
+     * 有参构造
+     *
+     * @param target    任务文档
+     * @param spillPath 临时文件路径
+     */
+    @SneakyThrows
+    XEasyPdfDocumentWriter(PDDocument target, Path spillPath) {
+        this.catalog = target.getDocumentCatalog().getCOSObject();
+        this.pageRoot = target.getPages().getCOSObject();
+        this.spillPath = spillPath;
+        this.spillOutput = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(spillPath), 65536));
+        this.output = this.spillOutput;
+        this.numberMap.put(this.catalog, CATALOG_NUMBER);
+        this.numberMap.put(this.pageRoot, PAGE_ROOT_NUMBER);
+    }
+
+    /**
+     * 写入页面（写入任务文档当前全部页面及其引用的对象，写入后关闭页面内容流并从页面树移除）
+     *
+     * @param target 任务文档
+     */
+    @SneakyThrows
+    void writePages(PDDocument target) {
+        // 检查状态
+        this.checkState();
+        // 遍历页面
+        for (PDPage page : target.getPages()) {
+            // 获取页面字典
+            COSDictionary dictionary = page.getCOSObject();
+            // 获取页面对象编号（已被其他对象引用时使用已分配的编号）
+            Integer number = this.numberMap.get(dictionary);
+            // 如果页面对象编号为空，则分配编号
+            if (number == null) {
+                // 分配编号
+                number = this.nextNumber++;
+                // 添加对象编号
+                this.numberMap.put(dictionary, number);
+            }
+            // 添加页面对象编号
+            this.addPageNumber(number);
+            // 写入页面
+            this.writeObject(number, dictionary);
+            // 写入页面引用的对象
+            this.writePending();
+            // 关闭页面内容流（释放内容流数据）
+            this.closeContents(dictionary);
+        }
+        // 清空页面树（已写入的页面不再由文档持有）
+        this.pageRoot.setItem(COSName.KIDS, new COSArray());
+        // 重置页面数量
+        this.pageRoot.setInt(COSName.COUNT, 0);
+    }
+
+    /**
+     * 获取已写入页面数量
+     *
+     * @return 返回已写入页面数量
+     */
+    int getPageCount() {
+        return this.pageCount;
+    }
+
+    /**
+     * 写入总页码（填充延迟写入的总页码表单）
+     */
+    void fillTotalPage() {
+        // 遍历延迟写入对象列表
+        for (COSBase base : this.deferredList) {
+            // 如果为总页码表单，则写入总页码
+            if (XEasyPdfTotalPagePlaceholder.isForm(base)) {
+                // 写入总页码
+                XEasyPdfTotalPagePlaceholder.fill((COSStream) base, this.pageCount);
+            }
+        }
+    }
+
+    /**
+     * 保存（写入文件头、已写入页面数据、延迟写入对象、页面树、文档目录、文档信息及交叉引用表）
+     *
+     * @param target       任务文档
+     * @param outputStream 输出流
+     */
+    @SneakyThrows
+    void finish(PDDocument target, OutputStream outputStream) {
+        // 检查状态
+        this.checkState();
+        // 设置已保存
+        this.isFinished = true;
+        // 关闭临时文件输出流
+        this.spillOutput.close();
+        // 重置当前输出流
+        this.output = new CountingOutputStream(outputStream);
+        // 写入文件头
+        this.writeText("%PDF-" + target.getVersion() + "\n");
+        // 写入二进制标记
+        this.output.write(BINARY_COMMENT);
+        // 获取文件头长度
+        long headerLength = this.output.count;
+        // 遍历已写入对象，偏移量加上文件头长度
+        for (int i = this.writtenSet.nextSetBit(0); i >= 0; i = this.writtenSet.nextSetBit(i + 1)) {
+            // 偏移量加上文件头长度
+            this.offsets[i] += headerLength;
+        }
+        // 复制临时文件数据
+        Files.copy(this.spillPath, this.output);
+        // 删除临时文件（数据已复制）
+        Files.deleteIfExists(this.spillPath);
+        // 设置正在保存
+        this.isFinishing = true;
+        // 遍历延迟写入对象
+        for (COSBase base : this.deferredList) {
+            // 写入对象
+            this.writeObject(this.numberMap.get(base), base);
+            // 写入引用的对象
+            this.writePending();
+        }
+        // 写入页面树根节点
+        this.writePageRoot();
+        // 写入引用的对象
+        this.writePending();
+        // 写入文档目录
+        this.writeObject(CATALOG_NUMBER, this.catalog);
+        // 写入引用的对象
+        this.writePending();
+        // 获取文档信息对象编号
+        int infoNumber = this.getNumber(target.getDocumentInformation().getCOSObject());
+        // 写入文档信息
+        this.writePending();
+        // 写入交叉引用表
+        long xrefOffset = this.writeXref();
+        // 写入文件尾
+        this.writeText(
+                "trailer\n<</Size " + this.nextNumber +
+                        "/Root " + CATALOG_NUMBER + " 0 R/Info " + infoNumber + " 0 R/ID [<" + this.getId() + "><" + this.getId() + ">]>>\n" +
+                        "startxref\n" + xrefOffset + "\n%%EOF\n"
+        );
+        // 刷新输出流
+        this.output.flush();
+    }
+
+    /**
+     * 关闭（删除临时文件）
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            // 关闭临时文件输出流
+            this.spillOutput.close();
+        } finally {
+            // 删除临时文件
+            Files.deleteIfExists(this.spillPath);
+        }
+    }
+
+    /**
+     * 检查状态
+     */
+    private void checkState() {
+        // 如果已保存，则提示错误信息
+        if (this.isFinished) {
+            throw new IllegalStateException("the document has been saved and can not be written");
+        }
+    }
+
+    /**
+     * 写入对象
+     *
+     * @param number 对象编号
+     * @param base   对象
+     */
+    private void writeObject(int number, COSBase base) throws IOException {
+        // 设置对象偏移量
+        this.setOffset(number, this.output.count);
+        // 写入对象开始
+        this.writeText(number + " 0 obj\n");
+        // 如果为流，则写入流
+        if (base instanceof COSStream) {
+            // 写入流
+            this.writeStream((COSStream) base);
+        }
+        // 否则写入对象值
+        else {
+            // 写入对象值
+            this.writeValue(base, true);
+            // 写入对象结束
+            this.writeText("\nendobj\n");
+        }
+    }
+
+    /**
+     * 写入流（长度写入为独立对象，流数据保持原有编码直接复制）
+     *
+     * @param stream 流
+     */
+    private void writeStream(COSStream stream) throws IOException {
+        // 分配长度对象编号
+        int lengthNumber = this.nextNumber++;
+        // 写入流字典
+        this.writeDictionary(stream, lengthNumber);
+        // 写入流开始
+        this.writeText("\nstream\r\n");
+        // 获取流数据起始位置
+        long begin = this.output.count;
+        // 复制流数据
+        try (InputStream inputStream = stream.createRawInputStream()) {
+            // 复制流数据
+            IOUtils.copy(inputStream, this.output);
+        }
+        // 获取流数据长度
+        long length = this.output.count - begin;
+        // 写入流结束
+        this.writeText("\r\nendstream\nendobj\n");
+        // 设置长度对象偏移量
+        this.setOffset(lengthNumber, this.output.count);
+        // 写入长度对象
+        this.writeText(lengthNumber + " 0 obj\n" + length + "\nendobj\n");
+    }
+
+    /**
+     * 写入对象值
+     *
+     * @param base     对象
+     * @param isObject 是否为间接对象本身（字典直接写入）
+     */
+    private void writeValue(COSBase base, boolean isObject) throws IOException {
+        // 如果为间接对象引用，则写入引用
+        if (base instanceof COSObject) {
+            // 获取实际对象
+            COSBase object = ((COSObject) base).getObject();
+            // 如果实际对象为空，则写入空对象
+            if (object == null || object instanceof COSNull) {
+                // 写入空对象
+                this.writeText("null");
+            }
+            // 否则写入引用
+            else {
+                // 写入引用
+                this.writeReference(object);
+            }
+        }
+        // 如果为空，则写入空对象
+        else if (base == null || base instanceof COSNull) {
+            // 写入空对象
+            this.writeText("null");
+        }
+        // 如果为流，则写入引用
+        else if (base instanceof COSStream) {
+            // 写入引用
+            this.writeReference(base);
+        }
+        // 如果为字典，则写入字典或引用（与pdfbox一致，非直接对象的字典写入为间接对象）
+        else if (base instanceof COSDictionary) {
+            // 如果为间接对象本身或直接对象，则写入字典
+            if (isObject || base.isDirect()) {
+                // 写入字典
+                this.writeDictionary((COSDictionary) base, 0);
+            }
+            // 否则写入引用
+            else {
+                // 写入引用
+                this.writeReference(base);
+            }
+        }
+        // 如果为数组，则写入数组
+        else if (base instanceof COSArray) {
+            // 写入数组开始
+            this.output.write('[');
+            // 定义索引
+            int index = 0;
+            // 遍历数组
+            for (COSBase item : (COSArray) base) {
+                // 如果非首个元素，则写入分隔符
+                if (index++ > 0) {
+                    // 写入分隔符
+                    this.output.write(' ');
+                }
+                // 写入元素
+                this.writeValue(item, false);
+            }
+            // 写入数组结束
+            this.output.write(']');
+        }
+        // 如果为字符串，则写入字符串
+        else if (base instanceof COSString) {
+            // 写入字符串
+            COSWriter.writeString((COSString) base, this.output);
+        }
+        // 如果为名称，则写入名称
+        else if (base instanceof COSName) {
+            // 写入名称
+            ((COSName) base).writePDF(this.output);
+        }
+        // 如果为整数，则写入整数
+        else if (base instanceof COSInteger) {
+            // 写入整数
+            ((COSInteger) base).writePDF(this.output);
+        }
+        // 如果为浮点数，则写入浮点数
+        else if (base instanceof COSFloat) {
+            // 写入浮点数
+            ((COSFloat) base).writePDF(this.output);
+        }
+        // 如果为布尔值，则写入布尔值
+        else if (base instanceof COSBoolean) {
+            // 写入布尔值
+            ((COSBoolean) base).writePDF(this.output);
+        }
+        // 否则写入空对象
+        else {
+            // 写入空对象
+            this.writeText("null");
+        }
+    }
+
+    /**
+     * 写入字典
+     *
+     * @param dictionary   字典
+     * @param lengthNumber 流长度对象编号（非流时为0）
+     */
+    private void writeDictionary(COSDictionary dictionary, int lengthNumber) throws IOException {
+        // 写入字典开始
+        this.writeText("<<");
+        // 遍历字典
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            // 如果为流长度，则跳过（重新写入）
+            if (lengthNumber > 0 && COSName.LENGTH.equals(entry.getKey())) {
+                continue;
+            }
+            // 写入键
+            entry.getKey().writePDF(this.output);
+            // 写入分隔符
+            this.output.write(' ');
+            // 写入值
+            this.writeValue(entry.getValue(), false);
+            // 写入换行
+            this.output.write('\n');
+        }
+        // 如果为流，则写入流长度
+        if (lengthNumber > 0) {
+            // 写入流长度
+            this.writeText("/Length " + lengthNumber + " 0 R");
+        }
+        // 写入字典结束
+        this.writeText(">>");
+    }
+
+    /**
+     * 写入引用
+     *
+     * @param object 对象
+     */
+    private void writeReference(COSBase object) throws IOException {
+        this.writeText(this.getNumber(object) + " 0 R");
+    }
+
+    /**
+     * 获取对象编号（未分配时分配编号并加入待写入队列）
+     *
+     * @param object 对象
+     * @return 返回对象编号
+     */
+    private int getNumber(COSBase object) {
+        // 获取对象编号
+        Integer number = this.numberMap.get(object);
+        // 如果对象编号为空，则分配编号
+        if (number == null) {
+            // 分配编号
+            number = this.nextNumber++;
+            // 添加对象编号
+            this.numberMap.put(object, number);
+            // 如果为页面，则仅分配编号（页面于写入页面时写入）
+            if (isPage(object)) {
+                return number;
+            }
+            // 如果需要延迟写入，则添加延迟写入对象
+            if (!this.isFinishing && isDeferred(object)) {
+                // 添加延迟写入对象
+                this.deferredList.add(object);
+            }
+            // 否则添加待写入对象
+            else {
+                // 添加待写入对象
+                this.pendingQueue.add(object);
+            }
+        }
+        return number;
+    }
+
+    /**
+     * 写入待写入对象
+     */
+    private void writePending() throws IOException {
+        // 定义对象
+        COSBase base;
+        // 依次写入待写入对象
+        while ((base = this.pendingQueue.poll()) != null) {
+            // 写入对象
+            this.writeObject(this.numberMap.get(base), base);
+        }
+    }
+
+    /**
+     * 写入页面树根节点
+     */
+    private void writePageRoot() throws IOException {
+        // 设置对象偏移量
+        this.setOffset(PAGE_ROOT_NUMBER, this.output.count);
+        // 写入对象开始
+        this.writeText(PAGE_ROOT_NUMBER + " 0 obj\n<<");
+        // 遍历页面树根节点（保留可继承属性）
+        for (Map.Entry<COSName, COSBase> entry : this.pageRoot.entrySet()) {
+            // 获取键
+            COSName key = entry.getKey();
+            // 如果为页面列表、页面数量或父节点，则跳过（重新写入）
+            if (COSName.KIDS.equals(key) || COSName.COUNT.equals(key) || COSName.PARENT.equals(key)) {
+                continue;
+            }
+            // 写入键
+            key.writePDF(this.output);
+            // 写入分隔符
+            this.output.write(' ');
+            // 写入值
+            this.writeValue(entry.getValue(), false);
+            // 写入换行
+            this.output.write('\n');
+        }
+        // 定义页面列表构建器
+        StringBuilder builder = new StringBuilder(this.pageCount * 8 + 32);
+        // 添加页面列表开始
+        builder.append("/Kids [");
+        // 遍历页面对象编号
+        for (int i = 0; i < this.pageCount; i++) {
+            // 添加页面引用
+            builder.append(this.pageNumbers[i]).append(" 0 R").append(i % 16 == 15 ? '\n' : ' ');
+        }
+        // 添加页面列表结束与页面数量
+        builder.append("]\n/Count ").append(this.pageCount).append(">>\nendobj\n");
+        // 写入页面列表
+        this.writeText(builder.toString());
+    }
+
+    /**
+     * 写入交叉引用表
+     *
+     * @return 返回交叉引用表偏移量
+     */
+    private long writeXref() throws IOException {
+        // 获取交叉引用表偏移量
+        long xrefOffset = this.output.count;
+        // 写入交叉引用表开始
+        this.writeText("xref\n0 " + this.nextNumber + "\n0000000000 65535 f\r\n");
+        // 定义条目
+        byte[] entry = new byte[20];
+        // 遍历对象编号
+        for (int i = 1; i < this.nextNumber; i++) {
+            // 如果对象已写入，则写入偏移量
+            if (this.writtenSet.get(i)) {
+                // 定义偏移量
+                long offset = this.offsets[i];
+                // 写入十位偏移量
+                for (int j = 9; j >= 0; j--) {
+                    // 写入数字
+                    entry[j] = (byte) ('0' + offset % 10);
+                    // 偏移量除以10
+                    offset /= 10;
+                }
+                // 写入代数与使用标记
+                System.arraycopy(" 00000 n\r\n".getBytes(StandardCharsets.ISO_8859_1), 0, entry, 10, 10);
+            }
+            // 否则写入空闲条目
+            else {
+                // 写入空闲条目
+                System.arraycopy("0000000000 65535 f\r\n".getBytes(StandardCharsets.ISO_8859_1), 0, entry, 0, 20);
+            }
+            // 写入条目
+            this.output.write(entry);
+        }
+        return xrefOffset;
+    }
+
+    /**
+     * 关闭页面内容流
+     *
+     * @param page 页面字典
+     */
+    private void closeContents(COSDictionary page) throws IOException {
+        // 获取页面内容
+        COSBase contents = page.getDictionaryObject(COSName.CONTENTS);
+        // 如果为流，则关闭
+        if (contents instanceof COSStream) {
+            // 关闭流
+            ((COSStream) contents).close();
+        }
+        // 如果为数组，则依次关闭
+        else if (contents instanceof COSArray) {
+            // 转换为数组
+            COSArray array = (COSArray) contents;
+            // 遍历数组
+            for (int i = 0, count = array.size(); i < count; i++) {
+                // 获取元素
+                COSBase item = array.getObject(i);
+                // 如果为流，则关闭
+                if (item instanceof COSStream) {
+                    // 关闭流
+                    ((COSStream) item).close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 设置对象偏移量
+     *
+     * @param number 对象编号
+     * @param offset 偏移量
+     */
+    private void setOffset(int number, long offset) {
+        // 如果对象编号超出容量，则扩容
+        if (number >= this.offsets.length) {
+            // 扩容
+            this.offsets = Arrays.copyOf(this.offsets, Math.max(number + 1, this.offsets.length * 2));
+        }
+        // 设置偏移量
+        this.offsets[number] = offset;
+        // 设置已写入
+        this.writtenSet.set(number);
+    }
+
+    /**
+     * 添加页面对象编号
+     *
+     * @param number 页面对象编号
+     */
+    private void addPageNumber(int number) {
+        // 如果页面数量超出容量，则扩容
+        if (this.pageCount == this.pageNumbers.length) {
+            // 扩容
+            this.pageNumbers = Arrays.copyOf(this.pageNumbers, this.pageCount * 2);
+        }
+        // 添加页面对象编号
+        this.pageNumbers[this.pageCount++] = number;
+    }
+
+    /**
+     * 写入文本
+     *
+     * @param text 文本
+     */
+    private void writeText(String text) throws IOException {
+        this.output.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * 获取文件标识
+     *
+     * @return 返回文件标识（十六进制）
+     */
+    @SneakyThrows
+    private String getId() {
+        // 计算摘要
+        byte[] digest = MessageDigest.getInstance("MD5").digest(
+                (this.spillPath.toString() + ':' + this.nextNumber + ':' + this.pageCount).getBytes(StandardCharsets.UTF_8)
+        );
+        // 定义构建器
+        StringBuilder builder = new StringBuilder(digest.length * 2);
+        // 遍历摘要
+        for (byte b : digest) {
+            // 添加十六进制字符
+            builder.append(Character.forDigit((b >> 4) & 0x0F, 16)).append(Character.forDigit(b & 0x0F, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 是否为页面
+     *
+     * @param base 对象
+     * @return 返回布尔值，是为true，否为false
+     */
+    private static boolean isPage(COSBase base) {
+        return base instanceof COSDictionary && COSName.PAGE.equals(((COSDictionary) base).getCOSName(COSName.TYPE));
+    }
+
+    /**
+     * 是否延迟写入（字体于保存前子集化，总页码表单于保存前填充）
+     *
+     * @param base 对象
+     * @return 返回布尔值，是为true，否为false
+     */
+    private static boolean isDeferred(COSBase base) {
+        return base instanceof COSDictionary && (
+                COSName.FONT.equals(((COSDictionary) base).getCOSName(COSName.TYPE)) || XEasyPdfTotalPagePlaceholder.isForm(base)
+        );
+    }
+
+    /**
+     * 计数输出流
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /**
+         * 已写入字节数
+         */
+        private long count;
+
+        /**
+         * 有参构造
+         *
+         * @param outputStream 输出流
+         */
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        /**
+         * 写入
+         *
+         * @param b 字节
+         */
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        /**
+         * 写入
+         *
+         * @param b   字节数组
+         * @param off 偏移量
+         * @param len 长度
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
 import wiki.xsx.core.pdf.footer.XEasyPdfFooter;
@@ -15,6 +16,7 @@ import java.awt.*;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * pdf页面
@@ -443,6 +445,87 @@ public class XEasyPdfPage implements Serializable {
         return this.param.getLastPage();
     }
 
+    /**
+     * 获取最新页面内容流（页面共享，组件无需关闭，由页面构建完成或新增页面时统一关闭）
+     *
+     * @param document       pdf文档
+     * @param mode           内容模式
+     * @param isResetContext 是否重置上下文
+     * @return 返回pdfbox内容流
+     */
+    public PDPageContentStream getContentStream(XEasyPdfDocument document, XEasyPdfComponent.ContentMode mode, boolean isResetContext) {
+        return this.getContentStream(document, this.param.getLastPage(), mode, isResetContext);
+    }
+
+    /**
+     * 获取页面内容流（页面共享，组件无需关闭，由页面构建完成或新增页面时统一关闭）
+     *
+     * @param document       pdf文档
+     * @param page           pdfbox页面
+     * @param mode           内容模式
+     * @param isResetContext 是否重置上下文
+     * @return 返回pdfbox内容流
+     */
+    public PDPageContentStream getContentStream(XEasyPdfDocument document, PDPage page, XEasyPdfComponent.ContentMode mode, boolean isResetContext) {
+        // 如果正在录制页面模板，则返回模板录制内容流
+        if (this.param.getTemplate() != null) {
+            // 返回模板录制内容流
+            return this.param.getTemplate().getStream(document.getTarget(), mode, isResetContext);
+        }
+        // 获取内容流上下文
+        XEasyPdfPageStreamContext context = this.param.getStreamContextMap().computeIfAbsent(page, XEasyPdfPageStreamContext::new);
+        // 返回内容流
+        return context.getStream(document.getTarget(), mode, isResetContext);
+    }
+
+    /**
+     * 绘制页面模板
+     * <p>
+     * 模板不存在时进行录制（录制期间组件均按各自内容模式绘制至模板，模板尺寸为最新页面尺寸），
+     * 绘制时沿用录制时的内容模式与重置上下文，并还原模板录制完成后的页面坐标
+     * </p>
+     *
+     * @param document      pdf文档
+     * @param templateCache 页面模板缓存
+     * @param recorder      模板内容绘制
+     * @return 返回pdf页面
+     */
+    @SneakyThrows
+    public XEasyPdfPage drawTemplate(XEasyPdfDocument document, Map<String, XEasyPdfPageTemplate> templateCache, Runnable recorder) {
+        // 定义缓存key
+        String key = XEasyPdfPageTemplate.getKey(this);
+        // 获取页面模板
+        XEasyPdfPageTemplate template = templateCache.get(key);
+        // 如果页面模板为空，则录制页面模板
+        if (template == null) {
+            // 初始化页面模板
+            template = new XEasyPdfPageTemplate(this.param.getLastPage().getMediaBox());
+            // 开始录制页面模板
+            this.param.setTemplate(template);
+            try {
+                // 绘制模板内容
+                recorder.run();
+            } finally {
+                // 结束录制页面模板
+                this.param.setTemplate(null);
+                // 结束录制，并记录页面坐标
+                template.finish(this.param.getPageX(), this.param.getPageY());
+            }
+            // 添加页面模板缓存
+            templateCache.put(key, template);
+        }
+        // 遍历表单对象
+        for (Map.Entry<XEasyPdfComponent.ContentMode, PDFormXObject> entry : template.getFormMap().entrySet()) {
+            // 获取内容模式
+            XEasyPdfComponent.ContentMode mode = entry.getKey();
+            // 绘制表单对象
+            this.getContentStream(document, mode, template.isResetContext(mode)).drawForm(entry.getValue());
+        }
+        // 还原页面坐标
+        this.param.setPageX(template.getPageX()).setPageY(template.getPageY());
+        return this;
+    }
+
     /**
      * 获取当前页面索引
      *
@@ -632,6 +715,15 @@ public class XEasyPdfPage implements Serializable {
         return this.param.getIsResetContext();
     }
 
+    /**
+     * 是否已刷新（流式模式或刷新后页面已写入文档并释放）
+     *
+     * @return 返回布尔值，true为是，false为否
+     */
+    public boolean isFlushed() {
+        return this.param.getIsFlushed();
+    }
+
     /**
      * 添加新页面
      *
@@ -640,6 +732,10 @@ public class XEasyPdfPage implements Serializable {
      * @return 返回pdf页面
      */
     public XEasyPdfPage addNewPage(XEasyPdfDocument document, PDRectangle pageSize) {
+        // 检查状态
+        this.checkFlushed();
+        // 关闭内容流
+        this.closeContentStream();
         // 定义pdfBox页面
         PDPage page = pageSize == null ? new PDPage(this.param.getOriginalPageSize().getSize()) : new PDPage(pageSize);
         // 如果旋转角度不为空，则设置旋转角度
@@ -671,6 +767,8 @@ public class XEasyPdfPage implements Serializable {
      * @return 返回pdf页面
      */
     public XEasyPdfPage addComponent(XEasyPdfComponent... components) {
+        // 检查状态
+        this.checkFlushed();
         // 如果组件不为空，则添加组件
         if (components != null) {
             // 添加组件
@@ -686,6 +784,8 @@ public class XEasyPdfPage implements Serializable {
      * @return 返回pdf页面
      */
     public XEasyPdfPage addComponent(List<XEasyPdfComponent> components) {
+        // 检查状态
+        this.checkFlushed();
         // 如果组件不为空，则添加组件
         if (components != null && !components.isEmpty()) {
             // 添加组件
@@ -701,6 +801,8 @@ public class XEasyPdfPage implements Serializable {
      * @return 返回pdf页面
      */
     public XEasyPdfPage modifyPageSize(XEasyPdfPageRectangle pageSize) {
+        // 检查状态
+        this.checkFlushed();
         // 如果页面尺寸不为空，则修改页面尺寸
         if (pageSize != null) {
             // 设置当前页面尺寸
@@ -727,6 +829,8 @@ public class XEasyPdfPage implements Serializable {
      * @param pageSize 页面尺寸
      */
     void build(XEasyPdfDocument document, XEasyPdfPageRectangle pageSize) {
+        // 检查状态
+        this.checkFlushed();
         // 初始化参数
         this.param.init(document, this);
         // 如果原有pdfbox页面列表为空，则添加新页面，否则设置页面尺寸
@@ -763,6 +867,63 @@ public class XEasyPdfPage implements Serializable {
         }
         // 绘制水印
         this.drawWatermark(document);
+        // 关闭内容流
+        this.closeContentStream();
+    }
+
+    /**
+     * 获取pdf组件列表
+     *
+     * @return 返回pdf组件列表
+     */
+    List<XEasyPdfComponent> getComponentList() {
+        return this.param.getComponentList();
+    }
+
+    /**
+     * 关闭内容流
+     */
+    void closeContentStream() {
+        // 获取内容流上下文字典
+        Map<PDPage, XEasyPdfPageStreamContext> streamContextMap = this.param.getStreamContextMap();
+        // 如果内容流上下文字典不为空，则关闭内容流
+        if (!streamContextMap.isEmpty()) {
+            // 遍历内容流上下文
+            for (XEasyPdfPageStreamContext context : streamContextMap.values()) {
+                // 关闭内容流
+                context.close();
+            }
+            // 清空内容流上下文字典
+            streamContextMap.clear();
+        }
+    }
+
+    /**
+     * 刷新（页面已写入文档，释放组件与pdfbox页面）
+     */
+    void flush() {
+        // 关闭内容流
+        this.closeContentStream();
+        // 清空组件列表
+        this.param.getComponentList().clear();
+        // 清空pdfbox页面列表
+        this.param.getPageList().clear();
+        // 清空pdfbox新增页面列表
+        this.param.getNewPageList().clear();
+        // 重置最新页面为空
+        this.param.setLastPage(null);
+        // 设置已刷新
+        this.param.setIsFlushed(Boolean.TRUE);
+    }
+
+    /**
+     * 检查状态（已刷新的页面不支持修改）
+     */
+    private void checkFlushed() {
+        // 如果已刷新，则提示错误信息
+        if (this.param.getIsFlushed()) {
+            throw new IllegalStateException("the page has been flushed and can not be modified");
+        }
     }
 
     /**
@@ -804,11 +965,10 @@ public class XEasyPdfPage implements Serializable {
                     // 获取页面尺寸
                     PDRectangle rectangle = lastPage.getMediaBox();
                     // 新建内容流
-                    PDPageContentStream contentStream = new PDPageContentStream(
-                            document.getTarget(),
+                    PDPageContentStream contentStream = this.getContentStream(
+                            document,
                             lastPage,
-                            PDPageContentStream.AppendMode.PREPEND,
-                            true,
+                            XEasyPdfComponent.ContentMode.PREPEND,
                             this.param.getIsResetContext()
                     );
                     // 绘制矩形（背景矩形）
@@ -824,8 +984,6 @@ public class XEasyPdfPage implements Serializable {
                     contentStream.fill();
                     // 内容流重置颜色为黑色
                     contentStream.setNonStrokingColor(Color.BLACK);
-                    // 关闭内容流
-                    contentStream.close();
                 }
             }
         }
@@ -15,7 +15,9 @@ import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
 import java.awt.*;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * pdf页面参数
@@ -97,6 +99,14 @@ class XEasyPdfPageParam implements Serializable {
      * pdf组件列表
      */
     private transient List<XEasyPdfComponent> componentList = new ArrayList<>(64);
+    /**
+     * 内容流上下文字典（pdfbox页面 -> 内容流上下文）
+     */
+    private transient Map<PDPage, XEasyPdfPageStreamContext> streamContextMap = new LinkedHashMap<>(4);
+    /**
+     * 录制中的页面模板
+     */
+    private transient XEasyPdfPageTemplate template;
     /**
      * 左边距
      */
@@ -161,6 +171,10 @@ class XEasyPdfPageParam implements Serializable {
      * 是否允许旋转固有页面
      */
     private Boolean allowRotateInherentPage = Boolean.TRUE;
+    /**
+     * 是否已刷新（已写入文档并释放）
+     */
+    private Boolean isFlushed = Boolean.FALSE;
 
     /**
      * 初始化
@@ -0,0 +1,119 @@
+package wiki.xsx.core.pdf.doc;
+
+import lombok.SneakyThrows;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * pdf页面内容流上下文
+ * <p>
+ * 每个pdfbox页面共享一个追加内容流，组件绘制时不再单独创建与关闭内容流，由页面统一关闭；
+ * 前置内容流仍为每次获取单独创建（后绘制的前置内容位于先绘制的前置内容之下，与原有图层顺序一致），由页面统一关闭
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+final class XEasyPdfPageStreamContext {
+
+    /**
+     * pdfbox页面
+     */
+    private final PDPage page;
+    /**
+     * 追加内容流
+     */
+    private PDPageContentStream appendStream;
+    /**
+     * 前置内容流列表
+     */
+    private final List<PDPageContentStream> prependStreamList = new ArrayList<>(4);
+
+    /**
+     * 有参构造
+     *
+     * @param page pdfbox页面
+     */
+    XEasyPdfPageStreamContext(PDPage page) {
+        this.page = page;
+    }
+
+    /**
+     * 获取内容流
+     *
+     * @param document       pdfbox文档
+     * @param mode           内容模式
+     * @param isResetContext 是否重置上下文
+     * @return 返回内容流
+     */
+    @SneakyThrows
+    PDPageContentStream getStream(PDDocument document, XEasyPdfComponent.ContentMode mode, boolean isResetContext) {
+        // 如果为前置模式，则新建前置内容流（每个前置内容流均插入至已有内容之前，后绘制的位于先绘制的之下）
+        if (mode == XEasyPdfComponent.ContentMode.PREPEND) {
+            // 初始化前置内容流
+            PDPageContentStream prependStream = new PDPageContentStream(document, this.page, PDPageContentStream.AppendMode.PREPEND, true, isResetContext);
+            // 添加前置内容流
+            this.prependStreamList.add(prependStream);
+            return prependStream;
+        }
+        // 如果为覆盖模式，则关闭已有内容流，并以覆盖内容流作为后续的追加内容流
+        if (mode == XEasyPdfComponent.ContentMode.OVERWRITE) {
+            // 关闭内容流
+            this.close();
+            // 初始化追加内容流（覆盖页面内容）
+            this.appendStream = new PDPageContentStream(document, this.page, PDPageContentStream.AppendMode.OVERWRITE, true, false);
+            return this.appendStream;
+        }
+        // 如果需要重置上下文，则关闭已有追加内容流（重置时需包裹此前全部内容）
+        if (isResetContext && this.appendStream != null) {
+            // 关闭追加内容流
+            this.appendStream.close();
+            // 重置追加内容流为空
+            this.appendStream = null;
+        }
+        // 如果追加内容流为空，则初始化追加内容流
+        if (this.appendStream == null) {
+            // 初始化追加内容流
+            this.appendStream = new PDPageContentStream(document, this.page, PDPageContentStream.AppendMode.APPEND, true, isResetContext);
+        }
+        return this.appendStream;
+    }
+
+    /**
+     * 关闭
+     */
+    @SneakyThrows
+    void close() {
+        // 遍历前置内容流列表
+        for (PDPageContentStream prependStream : this.prependStreamList) {
+            // 关闭前置内容流
+            prependStream.close();
+        }
+        // 清空前置内容流列表
+        this.prependStreamList.clear();
+        // 如果追加内容流不为空，则关闭
+        if (this.appendStream != null) {
+            // 关闭追加内容流
+            this.appendStream.close();
+            // 重置追加内容流为空
+            this.appendStream = null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package wiki.xsx.core.pdf.doc;
+
+import lombok.SneakyThrows;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+
+import java.util.*;
+
+/**
+ * pdf页面模板
+ * <p>
+ * 将静态内容按内容模式分别录制为表单对象，多个页面通过同一表单对象引用绘制（绘制时沿用录制时的内容模式与重置上下文），
+ * 并记录录制完成后的页面坐标，用于复用时还原页面定位
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public final class XEasyPdfPageTemplate {
+
+    /**
+     * 表单边界
+     */
+    private final PDRectangle bbox;
+    /**
+     * 表单对象字典（内容模式 -> 表单对象，按录制顺序排列）
+     */
+    private final Map<XEasyPdfComponent.ContentMode, PDFormXObject> formMap = new LinkedHashMap<>(4);
+    /**
+     * 录制内容流字典（内容模式 -> 录制内容流）
+     */
+    private final Map<XEasyPdfComponent.ContentMode, PDPageContentStream> streamMap = new HashMap<>(4);
+    /**
+     * 重置上下文的内容模式
+     */
+    private final Set<XEasyPdfComponent.ContentMode> resetContextSet = EnumSet.noneOf(XEasyPdfComponent.ContentMode.class);
+    /**
+     * 页面X轴坐标
+     */
+    private Float pageX;
+    /**
+     * 页面Y轴坐标
+     */
+    private Float pageY;
+
+    /**
+     * 有参构造
+     *
+     * @param rectangle 页面尺寸
+     */
+    XEasyPdfPageTemplate(PDRectangle rectangle) {
+        this.bbox = new PDRectangle(rectangle.getLowerLeftX(), rectangle.getLowerLeftY(), rectangle.getWidth(), rectangle.getHeight());
+    }
+
+    /**
+     * 获取页面模板缓存key（页面尺寸与起始坐标）
+     *
+     * @param page pdf页面
+     * @return 返回页面模板缓存key
+     */
+    public static String getKey(XEasyPdfPage page) {
+        // 获取页面尺寸
+        PDRectangle rectangle = page.getLastPage().getMediaBox();
+        // 返回缓存key
+        return rectangle.getLowerLeftX() + "," + rectangle.getLowerLeftY() + "," +
+                rectangle.getWidth() + "," + rectangle.getHeight() + "," +
+                page.getPageX() + "," + page.getPageY();
+    }
+
+    /**
+     * 获取表单对象字典
+     *
+     * @return 返回表单对象字典
+     */
+    public Map<XEasyPdfComponent.ContentMode, PDFormXObject> getFormMap() {
+        return Collections.unmodifiableMap(this.formMap);
+    }
+
+    /**
+     * 是否重置上下文
+     *
+     * @param mode 内容模式
+     * @return 返回布尔值，是为true，否为false
+     */
+    public boolean isResetContext(XEasyPdfComponent.ContentMode mode) {
+        return this.resetContextSet.contains(mode);
+    }
+
+    /**
+     * 获取录制内容流（相同内容模式共享同一表单对象）
+     *
+     * @param document       pdfbox文档
+     * @param mode           内容模式
+     * @param isResetContext 是否重置上下文
+     * @return 返回录制内容流
+     */
+    @SneakyThrows
+    PDPageContentStream getStream(PDDocument document, XEasyPdfComponent.ContentMode mode, boolean isResetContext) {
+        // 如果需要重置上下文，则记录内容模式
+        if (isResetContext) {
+            // 记录内容模式
+            this.resetContextSet.add(mode);
+        }
+        // 获取录制内容流
+        PDPageContentStream stream = this.streamMap.get(mode);
+        // 如果录制内容流为空，则初始化表单对象与录制内容流
+        if (stream == null) {
+            // 初始化表单对象
+            PDFormXObject form = new PDFormXObject(document);
+            // 设置表单边界为页面尺寸
+            form.setBBox(this.bbox);
+            // 设置表单资源
+            form.setResources(new PDResources());
+            // 初始化录制内容流
+            stream = new PDPageContentStream(document, form, form.getStream().createOutputStream(COSName.FLATE_DECODE));
+            // 添加表单对象
+            this.formMap.put(mode, form);
+            // 添加录制内容流
+            this.streamMap.put(mode, stream);
+        }
+        return stream;
+    }
+
+    /**
+     * 获取页面X轴坐标
+     *
+     * @return 返回页面X轴坐标
+     */
+    Float getPageX() {
+        return this.pageX;
+    }
+
+    /**
+     * 获取页面Y轴坐标
+     *
+     * @return 返回页面Y轴坐标
+     */
+    Float getPageY() {
+        return this.pageY;
+    }
+
+    /**
+     * 结束录制
+     *
+     * @param pageX 页面X轴坐标
+     * @param pageY 页面Y轴坐标
+     */
+    @SneakyThrows
+    void finish(Float pageX, Float pageY) {
+        // 遍历录制内容流
+        for (PDPageContentStream stream : this.streamMap.values()) {
+            // 关闭录制内容流
+            stream.close();
+        }
+        // 清空录制内容流字典
+        this.streamMap.clear();
+        // 记录页面X轴坐标
+        this.pageX = pageX;
+        // 记录页面Y轴坐标
+        this.pageY = pageY;
+    }
+}
@@ -0,0 +1,385 @@
+package wiki.xsx.core.pdf.doc;
+
+import lombok.SneakyThrows;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.*;
+import org.apache.pdfbox.pdfwriter.ContentStreamWriter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfFontFallback;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * pdf总页码占位符
+ * <p>
+ * 总页码占位符及其所在行的后续文本绘制为共享的表单对象，表单内容在保存时根据最终总页码一次性写入，无需重新解析页面内容流
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public final class XEasyPdfTotalPagePlaceholder {
+
+    /**
+     * 表单标记（文本片段，每个片段为字体名称与编码交替存放的字体片段列表）
+     */
+    private static final COSName SEGMENTS = COSName.getPDFName("XEasyPdfTotalPageSegments");
+    /**
+     * 表单标记（数字编码）
+     */
+    private static final COSName DIGITS = COSName.getPDFName("XEasyPdfTotalPageDigits");
+    /**
+     * 表单标记（数字字体名称）
+     */
+    private static final COSName FONT = COSName.getPDFName("XEasyPdfTotalPageFont");
+    /**
+     * 表单标记（字体大小）
+     */
+    private static final COSName FONT_SIZE = COSName.getPDFName("XEasyPdfTotalPageFontSize");
+    /**
+     * 数字文本
+     */
+    private static final String DIGIT_TEXT = "0123456789";
+    /**
+     * 表单边界最大宽度（pdf页面最大尺寸）
+     */
+    private static final float MAX_WIDTH = 14400F;
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfTotalPagePlaceholder() {
+    }
+
+    /**
+     * 是否开启总页码占位符替换
+     *
+     * @param document pdf文档
+     * @return 返回布尔值，是为true，否为false
+     */
+    public static boolean isEnabled(XEasyPdfDocument document) {
+        return document.getParam().getIsReplaceTotalPagePlaceholder();
+    }
+
+    /**
+     * 获取总页码表单
+     * <p>
+     * 表单内容为总页码及其后续文本（后续文本中的总页码占位符同样替换），文本起始位置为表单原点，
+     * 字体颜色、字符间隔等文本状态继承自绘制时的图形状态
+     * </p>
+     *
+     * @param document pdf文档
+     * @param font     pdfbox字体
+     * @param fontSize 字体大小
+     * @param text     待写入文本（以总页码占位符开头）
+     * @return 返回总页码表单
+     */
+    public static PDFormXObject getForm(XEasyPdfDocument document, PDFont font, float fontSize, String text) {
+        return getForm(document, XEasyPdfFontFallback.getInstance(document, font, null), fontSize, text);
+    }
+
+    /**
+     * 获取总页码表单（总页码及后续文本按字体后备链拆分为片段，片段间切换字体）
+     *
+     * @param document pdf文档
+     * @param fallback 字体后备链
+     * @param fontSize 字体大小
+     * @param text     待写入文本（以总页码占位符开头）
+     * @return 返回总页码表单
+     */
+    @SneakyThrows
+    public static PDFormXObject getForm(XEasyPdfDocument document, XEasyPdfFontFallback fallback, float fontSize, String text) {
+        // 获取总页码表单缓存
+        Map<String, PDFormXObject> formCache = document.getParam().getTotalPageFormCache()
+                .computeIfAbsent(fallback.getFonts(), k -> new HashMap<>(4));
+        // 定义缓存key
+        String key = fontSize + "," + text;
+        // 获取表单
+        PDFormXObject form = formCache.get(key);
+        // 如果表单不为空，则直接返回
+        if (form != null) {
+            return form;
+        }
+        // 初始化表单
+        form = new PDFormXObject(document.getTarget());
+        // 设置表单边界
+        form.setBBox(new PDRectangle(-fontSize, -fontSize, MAX_WIDTH + fontSize, fontSize * 3));
+        // 初始化表单资源
+        PDResources resources = new PDResources();
+        // 设置表单资源
+        form.setResources(resources);
+        // 获取表单字典
+        COSDictionary dictionary = form.getCOSObject();
+        // 获取数字字体（优先使用主字体）
+        PDFont digitFont = fallback.getFont(DIGIT_TEXT, fallback.getFont());
+        // 设置字体名称
+        dictionary.setItem(FONT, resources.add(digitFont));
+        // 设置字体大小
+        dictionary.setFloat(FONT_SIZE, fontSize);
+        // 定义数字编码
+        COSArray digits = new COSArray();
+        // 遍历数字
+        for (char c = '0'; c <= '9'; c++) {
+            // 添加数字编码
+            digits.add(new COSString(encode(digitFont, String.valueOf(c))));
+        }
+        // 设置数字编码
+        dictionary.setItem(DIGITS, digits);
+        // 定义文本片段
+        COSArray segments = new COSArray();
+        // 拆分文本（首个片段为空，总页码位于片段之间）
+        String[] texts = text.split(Pattern.quote(XEasyPdfHandler.Page.getTotalPagePlaceholder()), -1);
+        // 遍历拆分文本
+        for (String segment : texts) {
+            // 定义字体片段（字体名称与编码交替存放）
+            COSArray runs = new COSArray();
+            // 按字体拆分文本片段
+            fallback.forEachRun(segment, (runFont, run) -> {
+                // 如果字体片段不为空，则添加字体片段
+                if (!run.isEmpty()) {
+                    // 添加字体名称
+                    runs.add(resources.add(runFont));
+                    // 添加字体编码
+                    runs.add(new COSString(encode(runFont, run)));
+                }
+            });
+            // 添加文本片段
+            segments.add(runs);
+        }
+        // 设置文本片段
+        dictionary.setItem(SEGMENTS, segments);
+        // 初始化空内容（总页码未知时不显示）
+        form.getStream().createOutputStream().close();
+        // 添加表单缓存
+        formCache.put(key, form);
+        return form;
+    }
+
+    /**
+     * 写入总页码
+     *
+     * @param target    pdfbox文档
+     * @param totalPage 总页码
+     */
+    static void fill(PDDocument target, int totalPage) {
+        // 定义已写入表单
+        Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>(16));
+        // 获取总页码文本
+        String total = String.valueOf(totalPage);
+        // 遍历页面
+        for (PDPage page : target.getPages()) {
+            // 获取页面资源（包含继承自父节点的资源）
+            PDResources resources = page.getResources();
+            // 如果页面资源不为空，则写入总页码
+            if (resources != null) {
+                // 写入总页码
+                fill(resources.getCOSObject(), total, visited);
+            }
+        }
+    }
+
+    /**
+     * 写入总页码（单个表单）
+     *
+     * @param form      总页码表单流
+     * @param totalPage 总页码
+     */
+    static void fill(COSStream form, int totalPage) {
+        // 写入表单内容
+        write(form, String.valueOf(totalPage));
+    }
+
+    /**
+     * 是否为总页码表单
+     *
+     * @param base 对象
+     * @return 返回布尔值，是为true，否为false
+     */
+    static boolean isForm(COSBase base) {
+        return base instanceof COSStream && ((COSStream) base).containsKey(SEGMENTS);
+    }
+
+    /**
+     * 写入总页码（遍历资源中的表单对象，不解析内容流）
+     *
+     * @param resources 资源字典
+     * @param total     总页码文本
+     * @param visited   已写入表单
+     */
+    private static void fill(COSBase resources, String total, Set<COSBase> visited) {
+        // 如果资源字典为空，则返回
+        if (!(resources instanceof COSDictionary)) {
+            return;
+        }
+        // 获取对象字典
+        COSBase base = ((COSDictionary) resources).getDictionaryObject(COSName.XOBJECT);
+        // 如果对象字典为空，则返回
+        if (!(base instanceof COSDictionary)) {
+            return;
+        }
+        // 获取对象字典
+        COSDictionary xObjects = (COSDictionary) base;
+        // 遍历对象
+        for (COSName name : xObjects.keySet()) {
+            // 获取对象
+            base = xObjects.getDictionaryObject(name);
+            // 如果不为流或已写入，则跳过
+            if (!(base instanceof COSStream) || !visited.add(base)) {
+                continue;
+            }
+            // 获取对象流
+            COSStream stream = (COSStream) base;
+            // 如果不为表单，则跳过
+            if (!COSName.FORM.equals(stream.getCOSName(COSName.SUBTYPE))) {
+                continue;
+            }
+            // 如果为总页码表单，则写入总页码
+            if (stream.containsKey(SEGMENTS)) {
+                // 写入总页码
+                write(stream, total);
+            }
+            // 否则遍历表单资源
+            else {
+                // 写入总页码
+                fill(stream.getDictionaryObject(COSName.RESOURCES), total, visited);
+            }
+        }
+    }
+
+    /**
+     * 写入表单内容
+     *
+     * @param stream 表单流
+     * @param total  总页码文本
+     */
+    @SneakyThrows
+    private static void write(COSStream stream, String total) {
+        // 获取数字编码
+        COSArray digits = (COSArray) stream.getDictionaryObject(DIGITS);
+        // 获取文本片段
+        COSArray segments = (COSArray) stream.getDictionaryObject(SEGMENTS);
+        // 定义总页码编码输出流
+        ByteArrayOutputStream totalBytes = new ByteArrayOutputStream(total.length() * 2);
+        // 遍历总页码字符
+        for (int i = 0; i < total.length(); i++) {
+            // 写入数字编码
+            totalBytes.write(((COSString) digits.getObject(total.charAt(i) - '0')).getBytes());
+        }
+        // 获取数字字体名称
+        COSName digitFont = stream.getCOSName(FONT);
+        // 获取字体大小
+        COSFloat fontSize = new COSFloat(stream.getFloat(FONT_SIZE));
+        // 定义指令列表
+        List<Object> tokens = new ArrayList<>(segments.size() * 8 + 8);
+        // 开启文本输入
+        tokens.add(Operator.getOperator("BT"));
+        // 定义当前字体名称
+        COSName current = null;
+        // 遍历文本片段
+        for (int i = 0, count = segments.size(); i < count; i++) {
+            // 如果不为首个片段，则写入总页码
+            if (i > 0) {
+                // 切换字体
+                current = setFont(tokens, current, digitFont, fontSize);
+                // 写入总页码
+                tokens.add(new COSString(totalBytes.toByteArray()));
+                tokens.add(Operator.getOperator("Tj"));
+            }
+            // 获取文本片段
+            COSBase segment = segments.getObject(i);
+            // 如果为字体片段列表，则依次写入字体片段
+            if (segment instanceof COSArray) {
+                // 获取字体片段列表
+                COSArray runs = (COSArray) segment;
+                // 遍历字体片段
+                for (int j = 0, size = runs.size(); j + 1 < size; j += 2) {
+                    // 切换字体
+                    current = setFont(tokens, current, (COSName) runs.getObject(j), fontSize);
+                    // 写入字体片段
+                    tokens.add(runs.getObject(j + 1));
+                    tokens.add(Operator.getOperator("Tj"));
+                }
+            }
+            // 否则为数字字体编码的文本片段
+            else if (((COSString) segment).getBytes().length > 0) {
+                // 切换字体
+                current = setFont(tokens, current, digitFont, fontSize);
+                // 写入文本片段
+                tokens.add(segment);
+                tokens.add(Operator.getOperator("Tj"));
+            }
+        }
+        // 结束文本输入
+        tokens.add(Operator.getOperator("ET"));
+        // 写入表单内容
+        try (OutputStream outputStream = stream.createOutputStream(COSName.FLATE_DECODE)) {
+            // 写入指令
+            new ContentStreamWriter(outputStream).writeTokens(tokens);
+        }
+    }
+
+    /**
+     * 切换字体（字体未变化时不切换）
+     *
+     * @param tokens   指令列表
+     * @param current  当前字体名称
+     * @param font     字体名称
+     * @param fontSize 字体大小
+     * @return 返回当前字体名称
+     */
+    private static COSName setFont(List<Object> tokens, COSName current, COSName font, COSFloat fontSize) {
+        // 如果字体变化，则切换字体
+        if (!font.equals(current)) {
+            // 设置字体
+            tokens.add(font);
+            tokens.add(fontSize);
+            tokens.add(Operator.getOperator("Tf"));
+        }
+        return font;
+    }
+
+    /**
+     * 编码文本（添加至字体子集）
+     *
+     * @param font pdfbox字体
+     * @param text 文本
+     * @return 返回编码
+     */
+    @SneakyThrows
+    private static byte[] encode(PDFont font, String text) {
+        // 如果字体需要子集化，则添加字符至子集
+        if (font.willBeSubset()) {
+            // 定义码点
+            int codePoint;
+            // 遍历文本
+            for (int i = 0, length = text.length(); i < length; i += Character.charCount(codePoint)) {
+                // 获取码点
+                codePoint = text.codePointAt(i);
+                // 添加至子集
+                font.addToSubset(codePoint);
+            }
+        }
+        return font.encode(text);
+    }
+}
@@ -230,6 +230,48 @@ public class XEasyPdfDefaultFooter implements XEasyPdfFooter {
         this.param.init(document, page);
         // 关闭页面自动重置定位
         page.disablePosition();
+        // 获取文本
+        XEasyPdfText text = this.param.getText();
+        // 是否为动态文本（包含页码占位符或注解的文本需逐页绘制）
+        boolean isDynamicText = text != null && (
+                text.hasPlaceholder(XEasyPdfHandler.Page.getCurrentPagePlaceholder()) ||
+                        text.hasPlaceholder(XEasyPdfHandler.Page.getTotalPagePlaceholder()) ||
+                        text.hasAnnotation()
+        );
+        // 如果存在静态内容，则绘制页面模板
+        if ((text != null && !isDynamicText) || this.param.getImage() != null) {
+            // 绘制页面模板（模板不存在时录制）
+            page.drawTemplate(document, this.param.getTemplateCache(document.getTarget()), () -> {
+                // 绘制图片
+                this.drawImage(document, page);
+                // 如果为静态文本，则进行文本绘制
+                if (text != null && !isDynamicText) {
+                    // 绘制文本
+                    this.drawText(document, page, text);
+                }
+            });
+        }
+        // 如果为动态文本，则进行文本绘制
+        if (isDynamicText) {
+            // 绘制文本
+            this.drawText(document, page, text);
+        }
+        // 如果自定义组件不为空，则进行自定义组件绘制
+        if (this.param.getComponent() != null) {
+            // 绘制自定义组件
+            this.param.getComponent().draw(document, page);
+        }
+        // 开启页面自动重置定位
+        page.enablePosition();
+    }
+
+    /**
+     * 绘制图片
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     */
+    private void drawImage(XEasyPdfDocument document, XEasyPdfPage page) {
         // 如果图片不为空，则绘制图片
         if (this.param.getImage() != null) {
             // 获取图片
@@ -244,31 +286,29 @@ public class XEasyPdfDefaultFooter implements XEasyPdfFooter {
                     .setPosition(this.param.getBeginX(), this.param.getBeginY() + this.param.getMarginBottom())
                     .draw(document, page);
         }
-        // 如果文本不为空，则写入文本
-        if (this.param.getText() != null) {
-            // 获取文本
-            XEasyPdfText text = this.param.getText();
-            // 如果开启重置上下文，则设置文本开启重置上下文
-            if (this.param.getIsResetContext()) {
-                // 文本开启重置上下文
-                text.enableResetContext();
-            }
-            // 设置文本参数
-            text.replaceAllPlaceholder(
-                    XEasyPdfHandler.Page.getCurrentPagePlaceholder(), page.getCurrentIndex(document) + ""
-            ).setCheckPage(false);
-            // 设置位置并绘制文本
-            text.setPosition(
-                    this.param.getBeginX(), this.initYForText(document, page, text)
-            ).enableChildComponent().draw(document, page);
-        }
-        // 如果自定义组件不为空，则进行自定义组件绘制
-        if (this.param.getComponent() != null) {
-            // 绘制自定义组件
-            this.param.getComponent().draw(document, page);
+    }
+
+    /**
+     * 绘制文本
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     * @param text     pdf文本
+     */
+    private void drawText(XEasyPdfDocument document, XEasyPdfPage page, XEasyPdfText text) {
+        // 如果开启重置上下文，则设置文本开启重置上下文
+        if (this.param.getIsResetContext()) {
+            // 文本开启重置上下文
+            text.enableResetContext();
         }
-        // 开启页面自动重置定位
-        page.enablePosition();
+        // 设置文本参数
+        text.replaceAllPlaceholder(
+                XEasyPdfHandler.Page.getCurrentPagePlaceholder(), page.getCurrentIndex(document) + ""
+        ).setCheckPage(false);
+        // 设置位置并绘制文本
+        text.setPosition(
+                this.param.getBeginX(), this.initYForText(document, page, text)
+        ).enableChildComponent().draw(document, page);
     }
 
     /**
@@ -2,13 +2,18 @@ package wiki.xsx.core.pdf.footer;
 
 import lombok.Data;
 import lombok.experimental.Accessors;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
 import wiki.xsx.core.pdf.component.text.XEasyPdfText;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
+import wiki.xsx.core.pdf.doc.XEasyPdfPageTemplate;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * pdf页脚组件参数
@@ -74,6 +79,10 @@ class XEasyPdfFooterParam implements Serializable {
      * 高度
      */
     private Float height;
+    /**
+     * 页面模板缓存（弱引用文档，文档回收后缓存随之释放；内层key为页面尺寸与起始坐标）
+     */
+    private transient Map<PDDocument, Map<String, XEasyPdfPageTemplate>> templateCache;
 
     /**
      * 初始化
@@ -98,6 +107,22 @@ class XEasyPdfFooterParam implements Serializable {
         this.beginY = 0F;
     }
 
+    /**
+     * 获取页面模板缓存
+     *
+     * @param document pdfbox文档
+     * @return 返回页面模板缓存
+     */
+    Map<String, XEasyPdfPageTemplate> getTemplateCache(PDDocument document) {
+        // 如果页面模板缓存为空，则初始化缓存
+        if (this.templateCache == null) {
+            // 初始化页面模板缓存
+            this.templateCache = new WeakHashMap<>(4);
+        }
+        // 获取文档页面模板缓存（表单对象不可跨文档引用）
+        return this.templateCache.computeIfAbsent(document, k -> new HashMap<>(4));
+    }
+
     /**
      * 初始化高度
      *
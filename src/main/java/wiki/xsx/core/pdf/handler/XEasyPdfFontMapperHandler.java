@@ -5,16 +5,27 @@ import org.apache.fontbox.FontBoxFont;
 import org.apache.fontbox.ttf.OpenTypeFont;
 import org.apache.fontbox.ttf.TTFParser;
 import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.font.*;
 import wiki.xsx.core.pdf.doc.XEasyPdfDefaultFontStyle;
+import wiki.xsx.core.pdf.util.XEasyPdfFontCollection;
+import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
 
-import java.io.BufferedInputStream;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.IOException;
-import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * pdf字体映射助手
+ * <p>
+ * 字体按字体路径缓存，按字体文件大小计算占用，超出容量时淘汰最久未使用的字体（默认字体固定不淘汰）；
+ * 文档通过字体工具加载字体时登记为字体使用者，被淘汰的字体在未关闭的使用文档全部关闭（或被回收）后关闭，释放文件句柄；
+ * 通过pdfbox字体映射提供给已加载文档的字体不登记使用者。占用统计通过JMX发布
+ * </p>
  *
  * @author xsx
  * @date 2022/6/20
@@ -31,16 +42,60 @@ import java.util.concurrent.ConcurrentHashMap;
  * See the Mulan PSL v1 for more details.
  * </p>
  */
-public class XEasyPdfFontMapperHandler implements FontMapper {
+public class XEasyPdfFontMapperHandler implements FontMapper, XEasyPdfFontMapperHandlerMXBean {
 
     /**
-     * 字体名称映射字典
+     * 字体缓存容量key（系统属性，单位字节）
+     */
+    private static final String FONT_CACHE_MAX_SIZE_KEY = "x-easypdf.font.registry.max-size";
+    /**
+     * 字体缓存默认容量（256MB）
+     */
+    private static final long FONT_CACHE_DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+    /**
+     * JMX注册名称
+     */
+    private static final String OBJECT_NAME = "wiki.xsx.core.pdf:type=FontMapperHandler";
+    /**
+     * 字体名称映射字典（value为字体路径）
+     */
+    private static final ConcurrentHashMap<String, String> FONT_NAME_MAPPING = new ConcurrentHashMap<>(16);
+    /**
+     * 字体路径映射字典（访问顺序，用于淘汰最久未使用的字体）
+     */
+    private static final LinkedHashMap<String, FontEntry> FONT_PATH_MAPPING = new LinkedHashMap<>(16, 0.75F, true);
+    /**
+     * 命中次数
+     */
+    private static final AtomicLong HIT_COUNT = new AtomicLong();
+    /**
+     * 未命中次数
+     */
+    private static final AtomicLong MISS_COUNT = new AtomicLong();
+    /**
+     * 淘汰次数
+     */
+    private static final AtomicLong EVICTION_COUNT = new AtomicLong();
+    /**
+     * 已淘汰但仍被文档使用的字体列表（使用文档全部关闭后关闭字体）
+     */
+    private static final List<FontEntry> EVICTED_FONTS = new ArrayList<>(16);
+    /**
+     * 字体缓存容量（字节）
+     */
+    private static long maxSize = Long.getLong(FONT_CACHE_MAX_SIZE_KEY, FONT_CACHE_DEFAULT_MAX_SIZE);
+    /**
+     * 字体缓存占用（字节）
+     */
+    private static long size;
+    /**
+     * 固定字体占用（字节）
      */
-    private static final ConcurrentHashMap<String, FontBoxFont> FONT_NAME_MAPPING = new ConcurrentHashMap<>(16);
+    private static long pinnedSize;
     /**
-     * 字体路径映射字典
+     * 固定字体数量
      */
-    private static final ConcurrentHashMap<String, FontBoxFont> FONT_PATH_MAPPING = new ConcurrentHashMap<>(16);
+    private static int pinnedCount;
     /**
      * 字体映射助手实例
      */
@@ -52,6 +107,8 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
     private XEasyPdfFontMapperHandler() {
         // 初始化
         this.init(XEasyPdfDefaultFontStyle.LIGHT, XEasyPdfDefaultFontStyle.NORMAL, XEasyPdfDefaultFontStyle.BOLD);
+        // 注册JMX
+        this.registerMBean();
     }
 
     /**
@@ -69,10 +126,8 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
      * @param fontPath 字体路径
      * @param font     字体
      */
-    @SneakyThrows
     public void addFont(String fontPath, FontBoxFont font) {
-        FONT_NAME_MAPPING.putIfAbsent(font.getName(), font);
-        FONT_PATH_MAPPING.putIfAbsent(fontPath, font);
+        this.addFont(fontPath, font, false);
     }
 
     /**
@@ -81,9 +136,202 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
      * @param fontPath 字体路径
      * @return 返回字体
      */
-    @SneakyThrows
     public FontBoxFont getFontByPath(String fontPath) {
-        return FONT_PATH_MAPPING.get(fontPath);
+        // 获取字体
+        FontBoxFont font = this.getFontByPath0(fontPath);
+        // 如果字体不为空，则命中次数加1
+        if (font != null) {
+            // 命中次数加1
+            HIT_COUNT.incrementAndGet();
+        }
+        // 否则未命中次数加1
+        else {
+            // 未命中次数加1
+            MISS_COUNT.incrementAndGet();
+        }
+        return font;
+    }
+
+    /**
+     * 登记字体使用文档（字体被淘汰时，待使用文档全部关闭后再关闭字体）
+     *
+     * @param fontPath 字体路径
+     * @param font     字体
+     * @param document 使用字体的pdfbox文档
+     * @return 返回字体是否仍在缓存中（已被淘汰时返回false，需重新获取字体）
+     */
+    public boolean retain(String fontPath, FontBoxFont font, PDDocument document) {
+        // 同步登记
+        synchronized (FONT_PATH_MAPPING) {
+            // 获取字体条目
+            FontEntry entry = FONT_PATH_MAPPING.get(fontPath);
+            // 如果字体条目为空或字体已更换，则返回false
+            if (entry == null || entry.font != font) {
+                return false;
+            }
+            // 如果非固定字体，则登记使用文档
+            if (!entry.pinned) {
+                // 登记使用文档
+                entry.documents.add(document);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 释放文档使用的字体（文档关闭时调用，已淘汰且不再被使用的字体将被关闭）
+     *
+     * @param document pdfbox文档
+     */
+    public void release(PDDocument document) {
+        // 同步释放
+        synchronized (FONT_PATH_MAPPING) {
+            // 遍历缓存字体
+            for (FontEntry entry : FONT_PATH_MAPPING.values()) {
+                // 移除使用文档
+                entry.documents.remove(document);
+            }
+            // 遍历已淘汰字体
+            for (FontEntry entry : EVICTED_FONTS) {
+                // 移除使用文档
+                entry.documents.remove(document);
+            }
+            // 关闭不再被使用的已淘汰字体
+            this.closeEvicted();
+        }
+    }
+
+    /**
+     * 获取字体缓存容量（字节）
+     *
+     * @return 返回字体缓存容量
+     */
+    @Override
+    public long getMaxSize() {
+        // 同步获取
+        synchronized (FONT_PATH_MAPPING) {
+            return maxSize;
+        }
+    }
+
+    /**
+     * 设置字体缓存容量（字节，超出时淘汰最久未使用的非固定字体）
+     *
+     * @param maxSize 字体缓存容量
+     */
+    @Override
+    public void setMaxSize(long maxSize) {
+        // 同步设置
+        synchronized (FONT_PATH_MAPPING) {
+            // 设置容量
+            XEasyPdfFontMapperHandler.maxSize = maxSize;
+            // 淘汰超出的字体
+            this.evict(null);
+        }
+    }
+
+    /**
+     * 获取字体缓存占用（字节，包含固定字体）
+     *
+     * @return 返回字体缓存占用
+     */
+    @Override
+    public long getSize() {
+        // 同步获取
+        synchronized (FONT_PATH_MAPPING) {
+            return size;
+        }
+    }
+
+    /**
+     * 获取固定字体占用（字节）
+     *
+     * @return 返回固定字体占用
+     */
+    @Override
+    public long getPinnedSize() {
+        // 同步获取
+        synchronized (FONT_PATH_MAPPING) {
+            return pinnedSize;
+        }
+    }
+
+    /**
+     * 获取字体数量
+     *
+     * @return 返回字体数量
+     */
+    @Override
+    public int getFontCount() {
+        // 同步获取
+        synchronized (FONT_PATH_MAPPING) {
+            return FONT_PATH_MAPPING.size();
+        }
+    }
+
+    /**
+     * 获取固定字体数量
+     *
+     * @return 返回固定字体数量
+     */
+    @Override
+    public int getPinnedFontCount() {
+        // 同步获取
+        synchronized (FONT_PATH_MAPPING) {
+            return pinnedCount;
+        }
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 返回命中次数
+     */
+    @Override
+    public long getHitCount() {
+        return HIT_COUNT.get();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    @Override
+    public long getMissCount() {
+        return MISS_COUNT.get();
+    }
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 返回淘汰次数
+     */
+    @Override
+    public long getEvictionCount() {
+        return EVICTION_COUNT.get();
+    }
+
+    /**
+     * 清空非固定字体
+     */
+    @Override
+    public void clear() {
+        // 同步清空
+        synchronized (FONT_PATH_MAPPING) {
+            // 获取迭代器
+            Iterator<Map.Entry<String, FontEntry>> iterator = FONT_PATH_MAPPING.entrySet().iterator();
+            // 遍历字体
+            while (iterator.hasNext()) {
+                // 获取字体
+                Map.Entry<String, FontEntry> entry = iterator.next();
+                // 如果非固定字体，则移除字体
+                if (!entry.getValue().pinned) {
+                    // 移除字体
+                    this.remove(iterator, entry);
+                }
+            }
+        }
     }
 
     /**
@@ -149,7 +397,7 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
             return new CIDFontMapping(null, font, false);
         }
         // 返回默认字体类型信息
-        return new CIDFontMapping(null, FONT_NAME_MAPPING.get(XEasyPdfDefaultFontStyle.NORMAL.getName()), false);
+        return new CIDFontMapping(null, this.getFontByPath0(XEasyPdfDefaultFontStyle.NORMAL.getPath()), false);
     }
 
     /**
@@ -160,10 +408,9 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
     private void init(XEasyPdfDefaultFontStyle... styles) {
         // 遍历字体样式
         for (XEasyPdfDefaultFontStyle style : styles) {
-            // 初始化输入流（从资源路径读取）
-            try (InputStream inputStream = new BufferedInputStream(XEasyPdfFontMapperHandler.class.getResourceAsStream(style.getPath()))) {
-                // 添加字体
-                addFont(style.getPath(), new TTFParser(true, true).parse(inputStream));
+            try {
+                // 添加固定字体（按需读取字体文件中的表数据，资源字体释放至字体缓存目录）
+                this.addFont(style.getPath(), new TTFParser(true, true).parse(XEasyPdfFontUtil.getFontFile(style.getPath())), true);
             } catch (IOException e) {
                 // 提示异常信息
                 throw new RuntimeException(e);
@@ -173,6 +420,18 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
         initFontMapper();
     }
 
+    /**
+     * 注册JMX（注册失败时忽略，如同一JVM中多个类加载器加载本类）
+     */
+    private void registerMBean() {
+        try {
+            // 注册JMX
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // 忽略
+        }
+    }
+
     /**
      * 初始化字体映射
      */
@@ -238,7 +497,206 @@ public class XEasyPdfFontMapperHandler implements FontMapper {
             // 重置字体名称（截取子集名称）
             postScriptName = postScriptName.substring(postScriptName.indexOf('+') + 1);
         }
-        // 获取字体
-        return FONT_NAME_MAPPING.get(postScriptName);
+        // 获取字体路径
+        String fontPath = FONT_NAME_MAPPING.get(postScriptName);
+        // 返回字体
+        return fontPath != null ? this.getFontByPath0(fontPath) : null;
+    }
+
+    /**
+     * 添加字体
+     *
+     * @param fontPath 字体路径
+     * @param font     字体
+     * @param pinned   是否固定（固定字体不淘汰）
+     */
+    private void addFont(String fontPath, FontBoxFont font, boolean pinned) {
+        // 创建字体条目
+        FontEntry entry = new FontEntry(font, getWeight(font), pinned);
+        // 同步添加
+        synchronized (FONT_PATH_MAPPING) {
+            // 如果字体已存在，则返回
+            if (FONT_PATH_MAPPING.containsKey(fontPath)) {
+                return;
+            }
+            // 添加字体
+            FONT_PATH_MAPPING.put(fontPath, entry);
+            // 增加占用
+            size += entry.weight;
+            // 如果为固定字体，则增加固定字体统计
+            if (pinned) {
+                // 增加固定字体占用
+                pinnedSize += entry.weight;
+                // 增加固定字体数量
+                pinnedCount++;
+            }
+            // 添加字体名称映射
+            FONT_NAME_MAPPING.putIfAbsent(getName(font), fontPath);
+            // 淘汰超出的字体（保留当前字体）
+            this.evict(fontPath);
+            // 关闭不再被使用的已淘汰字体（使用文档已被回收）
+            this.closeEvicted();
+        }
+    }
+
+    /**
+     * 根据字体路径获取字体（不计入命中统计）
+     *
+     * @param fontPath 字体路径
+     * @return 返回字体
+     */
+    private FontBoxFont getFontByPath0(String fontPath) {
+        // 同步获取
+        synchronized (FONT_PATH_MAPPING) {
+            // 获取字体条目
+            FontEntry entry = FONT_PATH_MAPPING.get(fontPath);
+            // 返回字体
+            return entry != null ? entry.font : null;
+        }
+    }
+
+    /**
+     * 淘汰最久未使用的非固定字体（调用方持有锁）
+     *
+     * @param retainPath 保留的字体路径
+     */
+    private void evict(String retainPath) {
+        // 获取迭代器
+        Iterator<Map.Entry<String, FontEntry>> iterator = FONT_PATH_MAPPING.entrySet().iterator();
+        // 如果当前占用超过容量，则淘汰
+        while (size > maxSize && iterator.hasNext()) {
+            // 获取字体
+            Map.Entry<String, FontEntry> entry = iterator.next();
+            // 如果为非固定字体且非保留字体，则淘汰
+            if (!entry.getValue().pinned && !entry.getKey().equals(retainPath)) {
+                // 移除字体
+                this.remove(iterator, entry);
+                // 淘汰次数加1
+                EVICTION_COUNT.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 移除字体（调用方持有锁，字体不再被文档使用时关闭）
+     *
+     * @param iterator 迭代器
+     * @param entry    字体
+     */
+    private void remove(Iterator<Map.Entry<String, FontEntry>> iterator, Map.Entry<String, FontEntry> entry) {
+        // 移除字体
+        iterator.remove();
+        // 减少占用
+        size -= entry.getValue().weight;
+        // 移除字体名称映射（仅移除指向当前路径的映射）
+        FONT_NAME_MAPPING.remove(getName(entry.getValue().font), entry.getKey());
+        // 如果字体不再被文档使用，则关闭字体
+        if (entry.getValue().documents.isEmpty()) {
+            // 关闭字体
+            close(entry.getValue().font);
+        }
+        // 否则待使用文档全部关闭后关闭字体
+        else {
+            // 添加已淘汰字体
+            EVICTED_FONTS.add(entry.getValue());
+        }
+    }
+
+    /**
+     * 关闭不再被使用的已淘汰字体（调用方持有锁）
+     */
+    private void closeEvicted() {
+        // 获取迭代器
+        Iterator<FontEntry> iterator = EVICTED_FONTS.iterator();
+        // 遍历已淘汰字体
+        while (iterator.hasNext()) {
+            // 获取字体条目
+            FontEntry entry = iterator.next();
+            // 如果字体不再被文档使用，则关闭并移除字体
+            if (entry.documents.isEmpty()) {
+                // 关闭字体
+                close(entry.font);
+                // 移除字体
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 获取字体占用（字体文件大小，ttc字体为集合文件大小）
+     *
+     * @param font 字体
+     * @return 返回字体占用
+     */
+    private static long getWeight(FontBoxFont font) {
+        // 如果为ttf字体，则返回原始数据大小
+        if (font instanceof TrueTypeFont) {
+            // 返回原始数据大小
+            return ((TrueTypeFont) font).getOriginalDataSize();
+        }
+        return 0L;
+    }
+
+    /**
+     * 关闭字体（释放文件句柄，ttc字体关闭所属字体集合）
+     *
+     * @param font 字体
+     */
+    private static void close(FontBoxFont font) {
+        // 如果为ttf字体，则关闭字体
+        if (font instanceof TrueTypeFont) {
+            try {
+                // 关闭字体
+                XEasyPdfFontCollection.close((TrueTypeFont) font);
+            } catch (IOException e) {
+                // 忽略
+            }
+        }
+    }
+
+    /**
+     * 获取字体名称
+     *
+     * @param font 字体
+     * @return 返回字体名称
+     */
+    @SneakyThrows
+    private static String getName(FontBoxFont font) {
+        return font.getName();
+    }
+
+    /**
+     * 字体条目
+     */
+    private static class FontEntry {
+        /**
+         * 字体
+         */
+        private final FontBoxFont font;
+        /**
+         * 占用（字节）
+         */
+        private final long weight;
+        /**
+         * 是否固定
+         */
+        private final boolean pinned;
+        /**
+         * 使用字体的文档（弱引用，未关闭即被回收的文档不阻止字体关闭）
+         */
+        private final Set<PDDocument> documents = Collections.newSetFromMap(new WeakHashMap<>(4));
+
+        /**
+         * 有参构造
+         *
+         * @param font   字体
+         * @param weight 占用
+         * @param pinned 是否固定
+         */
+        FontEntry(FontBoxFont font, long weight, boolean pinned) {
+            this.font = font;
+            this.weight = weight;
+            this.pinned = pinned;
+        }
     }
 }
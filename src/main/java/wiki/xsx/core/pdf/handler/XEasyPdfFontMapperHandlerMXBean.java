@@ -0,0 +1,93 @@
+package wiki.xsx.core.pdf.handler;
+
+/**
+ * pdf字体映射助手管理接口（JMX）
+ * <p>
+ * 注册名称：wiki.xsx.core.pdf:type=FontMapperHandler
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public interface XEasyPdfFontMapperHandlerMXBean {
+
+    /**
+     * 获取字体缓存容量（字节）
+     *
+     * @return 返回字体缓存容量
+     */
+    long getMaxSize();
+
+    /**
+     * 设置字体缓存容量（字节，超出时淘汰最久未使用的非固定字体）
+     *
+     * @param maxSize 字体缓存容量
+     */
+    void setMaxSize(long maxSize);
+
+    /**
+     * 获取字体缓存占用（字节，包含固定字体）
+     *
+     * @return 返回字体缓存占用
+     */
+    long getSize();
+
+    /**
+     * 获取固定字体占用（字节）
+     *
+     * @return 返回固定字体占用
+     */
+    long getPinnedSize();
+
+    /**
+     * 获取字体数量
+     *
+     * @return 返回字体数量
+     */
+    int getFontCount();
+
+    /**
+     * 获取固定字体数量
+     *
+     * @return 返回固定字体数量
+     */
+    int getPinnedFontCount();
+
+    /**
+     * 获取命中次数
+     *
+     * @return 返回命中次数
+     */
+    long getHitCount();
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    long getMissCount();
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 返回淘汰次数
+     */
+    long getEvictionCount();
+
+    /**
+     * 清空非固定字体
+     */
+    void clear();
+}
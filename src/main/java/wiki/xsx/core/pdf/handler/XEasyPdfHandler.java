@@ -1,8 +1,10 @@
 package wiki.xsx.core.pdf.handler;
 
 import lombok.SneakyThrows;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.barcode.XEasyPdfBarCode;
+import wiki.xsx.core.pdf.component.barcode.XEasyPdfBarCodeSheet;
 import wiki.xsx.core.pdf.component.circle.XEasyPdfCircle;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
@@ -98,6 +100,26 @@ public class XEasyPdfHandler {
         public static XEasyPdfDocument load(InputStream sourceInputStream) {
             return new XEasyPdfDocument(sourceInputStream);
         }
+
+        /**
+         * 加载pdf（随机读取文件，不复制全部文件数据，文档关闭前不可覆盖源文件）
+         *
+         * @param sourcePath         源文件路径
+         * @param memoryUsageSetting 内存策略
+         */
+        public static XEasyPdfDocument load(String sourcePath, MemoryUsageSetting memoryUsageSetting) {
+            return new XEasyPdfDocument(sourcePath, memoryUsageSetting);
+        }
+
+        /**
+         * 加载pdf
+         *
+         * @param sourceInputStream  源文件数据流
+         * @param memoryUsageSetting 内存策略
+         */
+        public static XEasyPdfDocument load(InputStream sourceInputStream, MemoryUsageSetting memoryUsageSetting) {
+            return new XEasyPdfDocument(sourceInputStream, memoryUsageSetting);
+        }
     }
 
     /**
@@ -452,6 +474,33 @@ public class XEasyPdfHandler {
         }
     }
 
+    /**
+     * pdf条形码标签页组件
+     */
+    public static class BarCodeSheet {
+        /**
+         * 构建条形码标签页
+         *
+         * @param columns 列数
+         * @return 返回pdf条形码标签页组件
+         */
+        public static XEasyPdfBarCodeSheet build(int columns) {
+            return new XEasyPdfBarCodeSheet(columns);
+        }
+
+        /**
+         * 构建条形码标签页
+         *
+         * @param columns    列数
+         * @param cellWidth  单元格宽度
+         * @param cellHeight 单元格高度
+         * @return 返回pdf条形码标签页组件
+         */
+        public static XEasyPdfBarCodeSheet build(int columns, float cellWidth, float cellHeight) {
+            return new XEasyPdfBarCodeSheet(columns, cellWidth, cellHeight);
+        }
+    }
+
     /**
      * pdf矩形组件
      */
@@ -244,24 +244,78 @@ public class XEasyPdfDefaultHeader implements XEasyPdfHeader {
     public void draw(XEasyPdfDocument document, XEasyPdfPage page) {
         // 初始化参数
         this.param.init(document, page);
-        // 如果文本不为空，则进行文本绘制
-        if (this.param.getText() != null) {
-            // 获取文本
-            XEasyPdfText text = this.param.getText();
-            // 如果开启重置上下文，则设置文本开启重置上下文
-            if (this.param.getIsResetContext()) {
-                // 文本开启重置上下文
-                text.enableResetContext();
-            }
-            // 设置文本参数
-            text.replaceAllPlaceholder(
-                    XEasyPdfHandler.Page.getCurrentPagePlaceholder(), page.getCurrentIndex(document) + ""
-            ).setCheckPage(false);
-            // 设置位置并绘制文本
-            text.setPosition(
-                    this.param.getTextBeginX(), this.initYForText(document, page, text)
-            ).enableChildComponent().draw(document, page);
+        // 获取文本
+        XEasyPdfText text = this.param.getText();
+        // 是否为动态文本（包含页码占位符或注解的文本需逐页绘制）
+        boolean isDynamicText = text != null && (
+                text.hasPlaceholder(XEasyPdfHandler.Page.getCurrentPagePlaceholder()) ||
+                        text.hasPlaceholder(XEasyPdfHandler.Page.getTotalPagePlaceholder()) ||
+                        text.hasAnnotation()
+        );
+        // 如果为动态文本，则进行文本绘制
+        if (isDynamicText) {
+            // 绘制文本
+            this.drawText(document, page, text);
+        }
+        // 是否绘制分割线至模板（分割线依赖自定义组件绘制后的页面坐标，故存在自定义组件时逐页绘制）
+        boolean isTemplateLine = this.param.getComponent() == null;
+        // 如果存在静态内容，则绘制页面模板
+        if ((text != null && !isDynamicText) || this.param.getImage() != null || (isTemplateLine && !this.param.getLineList().isEmpty())) {
+            // 绘制页面模板（模板不存在时录制）
+            page.drawTemplate(document, this.param.getTemplateCache(document.getTarget()), () -> {
+                // 如果为静态文本，则进行文本绘制
+                if (text != null && !isDynamicText) {
+                    // 绘制文本
+                    this.drawText(document, page, text);
+                }
+                // 绘制图片
+                this.drawImage(document, page);
+                // 如果分割线绘制至模板，则进行分割线绘制
+                if (isTemplateLine) {
+                    // 绘制分割线
+                    this.drawLine(document, page);
+                }
+            });
+        }
+        // 如果自定义组件不为空，则进行自定义组件绘制
+        if (this.param.getComponent() != null) {
+            // 绘制自定义组件
+            this.param.getComponent().draw(document, page);
+            // 绘制分割线
+            this.drawLine(document, page);
+        }
+    }
+
+    /**
+     * 绘制文本
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     * @param text     pdf文本
+     */
+    private void drawText(XEasyPdfDocument document, XEasyPdfPage page, XEasyPdfText text) {
+        // 如果开启重置上下文，则设置文本开启重置上下文
+        if (this.param.getIsResetContext()) {
+            // 文本开启重置上下文
+            text.enableResetContext();
         }
+        // 设置文本参数
+        text.replaceAllPlaceholder(
+                XEasyPdfHandler.Page.getCurrentPagePlaceholder(), page.getCurrentIndex(document) + ""
+        ).setCheckPage(false);
+        // 设置位置并绘制文本
+        text.setPosition(
+                this.param.getTextBeginX(), this.initYForText(document, page, text)
+        ).enableChildComponent().draw(document, page);
+    }
+
+    /**
+     * 绘制图片
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     */
+    private void drawImage(XEasyPdfDocument document, XEasyPdfPage page) {
         // 如果图片不为空，则进行图片绘制
         if (this.param.getImage() != null) {
             // 获取图片
@@ -278,11 +332,15 @@ public class XEasyPdfDefaultHeader implements XEasyPdfHeader {
                             this.param.getImageBeginY() - this.param.getImage().getHeight(document, page)
                     ).draw(document, page);
         }
-        // 如果自定义组件不为空，则进行自定义组件绘制
-        if (this.param.getComponent() != null) {
-            // 绘制自定义组件
-            this.param.getComponent().draw(document, page);
-        }
+    }
+
+    /**
+     * 绘制分割线
+     *
+     * @param document pdf文档
+     * @param page     pdf页面
+     */
+    private void drawLine(XEasyPdfDocument document, XEasyPdfPage page) {
         // 如果分割线列表不为空，则进行分割线绘制
         if (!this.param.getLineList().isEmpty()) {
             // 获取分割线列表
@@ -2,6 +2,7 @@ package wiki.xsx.core.pdf.header;
 
 import lombok.Data;
 import lombok.experimental.Accessors;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
@@ -9,10 +10,14 @@ import wiki.xsx.core.pdf.component.line.XEasyPdfLine;
 import wiki.xsx.core.pdf.component.text.XEasyPdfText;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
+import wiki.xsx.core.pdf.doc.XEasyPdfPageTemplate;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * pdf页眉组件参数
@@ -90,6 +95,10 @@ class XEasyPdfHeaderParam implements Serializable {
      * 高度
      */
     private Float height;
+    /**
+     * 页面模板缓存（弱引用文档，文档回收后缓存随之释放；内层key为页面尺寸与起始坐标）
+     */
+    private transient Map<PDDocument, Map<String, XEasyPdfPageTemplate>> templateCache;
 
     /**
      * 初始化
@@ -125,6 +134,22 @@ class XEasyPdfHeaderParam implements Serializable {
         }
     }
 
+    /**
+     * 获取页面模板缓存
+     *
+     * @param document pdfbox文档
+     * @return 返回页面模板缓存
+     */
+    Map<String, XEasyPdfPageTemplate> getTemplateCache(PDDocument document) {
+        // 如果页面模板缓存为空，则初始化缓存
+        if (this.templateCache == null) {
+            // 初始化页面模板缓存
+            this.templateCache = new WeakHashMap<>(4);
+        }
+        // 获取文档页面模板缓存（表单对象不可跨文档引用）
+        return this.templateCache.computeIfAbsent(document, k -> new HashMap<>(4));
+    }
+
     /**
      * 初始化高度
      *
@@ -1,11 +1,15 @@
 package wiki.xsx.core.pdf.mark;
 
 import lombok.SneakyThrows;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.graphics.blend.BlendMode;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.apache.pdfbox.util.Matrix;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
@@ -16,6 +20,7 @@ import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
 
 import java.awt.*;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -260,59 +265,89 @@ public class XEasyPdfDefaultWatermark implements XEasyPdfWatermark {
         }
         // 获取pdfbox字体
         PDFont font = XEasyPdfFontUtil.loadFont(document, page, this.param.getFontPath(), true);
-        // 获取X轴起始坐标
-        Float beginX = this.param.getBeginX();
-        // 获取Y轴起始坐标
-        Float beginY = this.param.getBeginY();
-        // 获取任务文档
-        PDDocument target = document.getTarget();
         // 获取pdfBox页面列表
         List<PDPage> pageList = page.getPageList();
         // 遍历pdfBox页面列表
         for (PDPage pdPage : pageList) {
             // 执行绘制水印
-            this.doDraw(target, pdPage, font);
-            // 重置X轴起始坐标
-            this.param.setBeginX(beginX);
-            // 重置Y轴起始坐标
-            this.param.setBeginY(beginY);
+            this.doDraw(document, page, pdPage, font);
         }
         // 获取新的pdfBox页面列表
         pageList = page.getNewPageList();
         // 遍历pdfBox页面列表
         for (PDPage pdPage : pageList) {
             // 执行画水印
-            this.doDraw(target, pdPage, font);
-            // 重置X轴起始坐标
-            this.param.setBeginX(beginX);
-            // 重置Y轴起始坐标
-            this.param.setBeginY(beginY);
+            this.doDraw(document, page, pdPage, font);
         }
     }
 
     /**
      * 执行绘制
      *
-     * @param document pdfbox文档
-     * @param page     pdfbox页面
+     * @param document pdf文档
+     * @param page     pdf页面
+     * @param pdPage   pdfbox页面
      * @param font     pdfbox字体
      */
     @SneakyThrows
-    private void doDraw(PDDocument document, PDPage page, PDFont font) {
+    private void doDraw(XEasyPdfDocument document, XEasyPdfPage page, PDPage pdPage, PDFont font) {
+        // 获取水印表单（相同尺寸的页面共享同一表单）
+        PDFormXObject form = this.getForm(document.getTarget(), pdPage.getMediaBox(), font);
+        // 获取内容流
+        PDPageContentStream cs = page.getContentStream(
+                document,
+                pdPage,
+                this.param.getContentMode(),
+                this.param.getIsResetContext()
+        );
+        // 绘制水印表单
+        cs.drawForm(form);
+    }
+
+    /**
+     * 获取水印表单
+     *
+     * @param target    pdfbox文档
+     * @param rectangle 页面尺寸
+     * @param font      pdfbox字体
+     * @return 返回水印表单
+     */
+    @SneakyThrows
+    private PDFormXObject getForm(PDDocument target, PDRectangle rectangle, PDFont font) {
+        // 获取水印表单缓存
+        Map<String, PDFormXObject> formCache = this.param.getFormCache(target);
+        // 定义缓存key（页面尺寸与水印绘制参数）
+        String key = this.param.getFormKey(rectangle);
+        // 获取水印表单
+        PDFormXObject form = formCache.get(key);
+        // 如果水印表单不为空，则直接返回
+        if (form != null) {
+            return form;
+        }
         // 获取页面高度
-        float height = page.getMediaBox().getHeight();
+        float height = rectangle.getHeight();
         // 获取页面宽度
-        float width = page.getMediaBox().getWidth();
+        float width = rectangle.getWidth();
+        // 获取X轴起始坐标
+        Float beginX = this.param.getBeginX();
+        // 获取Y轴起始坐标
+        Float beginY = this.param.getBeginY();
         // 如果X轴起始坐标未初始化，则初始化X轴起始坐标为0
-        if (this.param.getBeginX() == null) {
+        if (beginX == null) {
             // 初始化X轴起始坐标为0
             this.param.setBeginX(0F);
         }
         // 如果Y轴起始坐标未初始化，则初始化Y轴起始坐标为页面高度-字体大小
-        if (this.param.getBeginY() == null) {
+        if (beginY == null) {
             // 初始化Y轴起始坐标 = 页面高度-字体大小
             this.param.setBeginY(height - this.param.getFontSize());
         }
+        // 初始化水印表单
+        form = new PDFormXObject(target);
+        // 设置表单边界为页面尺寸
+        form.setBBox(new PDRectangle(rectangle.getLowerLeftX(), rectangle.getLowerLeftY(), width, height));
+        // 设置表单资源
+        form.setResources(new PDResources());
         // 初始化pdfBox扩展图形对象
         PDExtendedGraphicsState state = new PDExtendedGraphicsState();
         // 设置文本透明度
@@ -321,26 +356,33 @@ public class XEasyPdfDefaultWatermark implements XEasyPdfWatermark {
         state.setAlphaSourceFlag(true);
         // 设置混合模式
         state.setBlendMode(BlendMode.MULTIPLY);
-        // 初始化内容流
-        PDPageContentStream cs = new PDPageContentStream(
-                document,
-                page,
-                this.param.getContentMode().getMode(),
-                true,
-                this.param.getIsResetContext()
-        );
-        // 设置图形参数
-        cs.setGraphicsStateParameters(state);
-        // 设置字体颜色
-        cs.setNonStrokingColor(this.param.getFontColor());
-        // 设置字体
-        cs.setFont(font, this.param.getFontSize());
-        // 设置字符间隔
-        cs.setCharacterSpacing(this.param.getCharacterSpacing());
-        // 写入文本
-        this.writeText(cs, width * 2);
-        // 关闭内容流
-        cs.close();
+        // 初始化表单内容流
+        try (
+                PDPageContentStream cs = new PDPageContentStream(
+                        target,
+                        form,
+                        form.getStream().createOutputStream(COSName.FLATE_DECODE)
+                )
+        ) {
+            // 设置图形参数
+            cs.setGraphicsStateParameters(state);
+            // 设置字体颜色
+            cs.setNonStrokingColor(this.param.getFontColor());
+            // 设置字体
+            cs.setFont(font, this.param.getFontSize());
+            // 设置字符间隔
+            cs.setCharacterSpacing(this.param.getCharacterSpacing());
+            // 写入文本
+            this.writeText(cs, width * 2);
+        } finally {
+            // 重置X轴起始坐标
+            this.param.setBeginX(beginX);
+            // 重置Y轴起始坐标
+            this.param.setBeginY(beginY);
+        }
+        // 添加水印表单缓存
+        formCache.put(key, form);
+        return form;
     }
 
     /**
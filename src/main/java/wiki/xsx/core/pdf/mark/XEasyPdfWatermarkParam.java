@@ -2,12 +2,18 @@ package wiki.xsx.core.pdf.mark;
 
 import lombok.Data;
 import lombok.experimental.Accessors;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import wiki.xsx.core.pdf.component.XEasyPdfComponent;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * pdf页面水印参数
@@ -97,6 +103,10 @@ class XEasyPdfWatermarkParam implements Serializable {
      * 是否需要初始化
      */
     private Boolean isNeedInit = Boolean.TRUE;
+    /**
+     * 水印表单缓存（弱引用文档，文档回收后缓存随之释放；内层key为页面尺寸与水印绘制参数）
+     */
+    private transient Map<PDDocument, Map<String, PDFormXObject>> formCache;
 
     /**
      * 初始化
@@ -133,4 +143,35 @@ class XEasyPdfWatermarkParam implements Serializable {
         // 是否需要初始化为false
         this.isNeedInit = Boolean.FALSE;
     }
+
+    /**
+     * 获取水印表单缓存
+     *
+     * @param document pdfbox文档
+     * @return 返回水印表单缓存
+     */
+    Map<String, PDFormXObject> getFormCache(PDDocument document) {
+        // 如果水印表单缓存为空，则初始化缓存
+        if (this.formCache == null) {
+            // 初始化水印表单缓存
+            this.formCache = new WeakHashMap<>(4);
+        }
+        // 获取文档水印表单缓存（表单对象不可跨文档引用）
+        return this.formCache.computeIfAbsent(document, k -> new HashMap<>(4));
+    }
+
+    /**
+     * 获取水印表单缓存key（页面尺寸与水印绘制参数，参数变更后不再复用旧表单）
+     *
+     * @param rectangle 页面尺寸
+     * @return 返回水印表单缓存key
+     */
+    String getFormKey(PDRectangle rectangle) {
+        return rectangle.getLowerLeftX() + "," + rectangle.getLowerLeftY() + "," +
+                rectangle.getWidth() + "," + rectangle.getHeight() + "," +
+                this.fontPath + "," + this.fontSize + "," + this.fontColor.getRGB() + "," +
+                this.alpha + "," + this.radians + "," + this.wordSpace + "," +
+                this.wordCount + "," + this.wordLine + "," + this.characterSpacing + "," +
+                this.leading + "," + this.beginX + "," + this.beginY + "," + this.text;
+    }
 }
@@ -0,0 +1,257 @@
+package wiki.xsx.core.pdf.util;
+
+import lombok.SneakyThrows;
+import org.apache.fontbox.ttf.TrueTypeCollection;
+import org.apache.fontbox.ttf.TrueTypeFont;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ttc字体集合
+ * <p>
+ * 每个字体集合文件仅解析一次头信息，按索引与PostScript名称建立字体索引（名称仅作为索引的别名，重名时取首个字体）；
+ * 字体按索引对应的偏移量加载，各字体使用独立的文件读取通道，共享操作系统文件缓存，并发读取互不干扰
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public final class XEasyPdfFontCollection {
+
+    /**
+     * 字体集合缓存（key为字体集合文件绝对路径）
+     */
+    private static final ConcurrentHashMap<String, XEasyPdfFontCollection> CACHE = new ConcurrentHashMap<>(16);
+    /**
+     * 按索引加载字体方法（pdfbox内部方法，按索引对应的偏移量解析字体，无法获取时为null）
+     */
+    private static final Method FONT_AT_INDEX_METHOD = initFontAtIndexMethod();
+    /**
+     * 已加载字体所属的字体集合（字体关闭时关闭字体集合，释放文件句柄）
+     */
+    private static final Map<TrueTypeFont, TrueTypeCollection> OPEN_COLLECTIONS = Collections.synchronizedMap(new WeakHashMap<>(16));
+
+    /**
+     * 字体集合文件
+     */
+    private final File file;
+    /**
+     * 字体名称列表（按索引排列）
+     */
+    private final List<String> names;
+
+    /**
+     * 有参构造
+     *
+     * @param file  字体集合文件
+     * @param names 字体名称列表
+     */
+    private XEasyPdfFontCollection(File file, List<String> names) {
+        this.file = file;
+        this.names = names;
+    }
+
+    /**
+     * 获取字体集合（同一文件仅解析一次头信息，不同文件并行解析）
+     *
+     * @param file 字体集合文件
+     * @return 返回字体集合
+     */
+    public static XEasyPdfFontCollection getInstance(File file) {
+        // 定义缓存key
+        String key = file.getAbsolutePath();
+        // 获取字体集合
+        XEasyPdfFontCollection collection = CACHE.get(key);
+        // 如果字体集合不为空，则返回字体集合
+        if (collection != null) {
+            return collection;
+        }
+        // 按文件单次加载
+        return XEasyPdfFontLoader.load("collection:" + key, () -> {
+            // 再次获取字体集合
+            XEasyPdfFontCollection instance = CACHE.get(key);
+            // 如果仍然为空，则创建字体集合
+            if (instance == null) {
+                // 创建字体集合
+                instance = create(file);
+                // 添加缓存
+                CACHE.put(key, instance);
+            }
+            return instance;
+        });
+    }
+
+    /**
+     * 获取字体数量
+     *
+     * @return 返回字体数量
+     */
+    public int size() {
+        return this.names.size();
+    }
+
+    /**
+     * 获取字体名称列表
+     *
+     * @return 返回字体名称列表（按索引排列，只读）
+     */
+    public List<String> getNames() {
+        return this.names;
+    }
+
+    /**
+     * 获取字体索引
+     *
+     * @param face 字体索引或PostScript名称
+     * @return 返回字体索引
+     */
+    public int getIndex(String face) {
+        // 去除空白
+        face = face.trim();
+        // 定义索引
+        int index;
+        // 如果为数字，则作为索引
+        if (!face.isEmpty() && face.chars().allMatch(Character::isDigit)) {
+            // 解析索引
+            index = Integer.parseInt(face);
+        }
+        // 否则按PostScript名称查找索引
+        else {
+            // 查找索引
+            index = this.names.indexOf(face);
+        }
+        // 如果索引超出范围，则提示错误信息
+        if (index < 0 || index >= this.names.size()) {
+            // 提示错误信息
+            throw new IllegalArgumentException("the font['" + face + "'] can not be found in collection['" + this.file.getAbsolutePath() + "']");
+        }
+        return index;
+    }
+
+    /**
+     * 加载字体（按索引对应的偏移量解析，每次调用解析一个新的字体对象，由调用方按索引缓存）
+     *
+     * @param index 字体索引
+     * @return 返回ttf字体
+     */
+    @SneakyThrows
+    public TrueTypeFont loadFont(int index) {
+        // 如果索引超出范围，则提示错误信息
+        if (index < 0 || index >= this.names.size()) {
+            // 提示错误信息
+            throw new IllegalArgumentException("the font index['" + index + "'] can not be found in collection['" + this.file.getAbsolutePath() + "']");
+        }
+        // 创建字体集合（独立的文件读取通道，字体存活期间保持打开）
+        TrueTypeCollection collection = new TrueTypeCollection(this.file);
+        try {
+            // 定义字体
+            TrueTypeFont[] fonts = new TrueTypeFont[1];
+            // 如果按索引加载字体方法不为空，则按偏移量解析字体
+            if (FONT_AT_INDEX_METHOD != null) {
+                // 解析字体
+                fonts[0] = (TrueTypeFont) FONT_AT_INDEX_METHOD.invoke(collection, index);
+            }
+            // 否则逐个解析字体
+            else {
+                // 定义当前索引
+                int[] current = {0};
+                // 遍历字体（按索引顺序解析各字体的表目录），获取目标索引的字体
+                collection.processAllFonts(font -> {
+                    // 如果为目标索引，则设置字体
+                    if (current[0]++ == index) {
+                        // 设置字体
+                        fonts[0] = font;
+                    }
+                });
+            }
+            // 登记字体所属的字体集合
+            OPEN_COLLECTIONS.put(fonts[0], collection);
+            // 返回字体
+            return fonts[0];
+        } catch (Exception e) {
+            // 关闭字体集合
+            collection.close();
+            // 抛出原始异常
+            throw e instanceof InvocationTargetException ? e.getCause() : e;
+        }
+    }
+
+    /**
+     * 关闭字体（ttc字体的读取通道属于字体集合，关闭所属字体集合；其余字体直接关闭）
+     *
+     * @param font ttf字体
+     * @throws IOException IO异常
+     */
+    public static void close(TrueTypeFont font) throws IOException {
+        // 移除并获取所属字体集合
+        TrueTypeCollection collection = OPEN_COLLECTIONS.remove(font);
+        // 如果字体集合不为空，则关闭字体集合
+        if (collection != null) {
+            // 关闭字体集合
+            collection.close();
+        }
+        // 否则关闭字体
+        else {
+            // 关闭字体
+            font.close();
+        }
+    }
+
+    /**
+     * 初始化按索引加载字体方法
+     *
+     * @return 返回按索引加载字体方法，无法获取时返回null
+     */
+    private static Method initFontAtIndexMethod() {
+        try {
+            // 获取按索引加载字体方法
+            Method method = TrueTypeCollection.class.getDeclaredMethod("getFontAtIndex", int.class);
+            // 设置可访问
+            method.setAccessible(true);
+            // 返回方法
+            return method;
+        } catch (Exception e) {
+            // 无法获取时返回null（逐个解析字体）
+            return null;
+        }
+    }
+
+    /**
+     * 创建字体集合（解析头信息与字体名称）
+     *
+     * @param file 字体集合文件
+     * @return 返回字体集合
+     */
+    @SneakyThrows
+    private static XEasyPdfFontCollection create(File file) {
+        // 定义字体名称列表
+        List<String> names = new ArrayList<>(8);
+        // 创建字体集合
+        try (TrueTypeCollection collection = new TrueTypeCollection(file)) {
+            // 遍历字体，添加字体名称
+            collection.processAllFonts(font -> names.add(font.getName()));
+        }
+        return new XEasyPdfFontCollection(file, Collections.unmodifiableList(names));
+    }
+}
@@ -0,0 +1,434 @@
+package wiki.xsx.core.pdf.util;
+
+import lombok.SneakyThrows;
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 字体后备链
+ * <p>
+ * 主字体在前，后备字体依次在后；每个字体按unicode映射表预先生成码点覆盖位图（按字体跨文档共享），
+ * 每个码点O(1)查找首个覆盖该码点的字体，文本按字体拆分为连续片段后分别测量与写入；
+ * 均未覆盖的码点使用主字体
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public final class XEasyPdfFontFallback {
+
+    /**
+     * 码点覆盖位图缓存（弱引用字体，字体被字体映射助手淘汰并回收后随之释放）
+     */
+    private static final Map<TrueTypeFont, BitSet> COVERAGE_CACHE = Collections.synchronizedMap(new WeakHashMap<>(16));
+
+    /**
+     * 字体列表（主字体在前）
+     */
+    private final PDFont[] fonts;
+    /**
+     * 码点覆盖位图列表（为空时视为全部覆盖）
+     */
+    private final BitSet[] coverages;
+
+    /**
+     * 有参构造
+     *
+     * @param fonts 字体列表
+     */
+    private XEasyPdfFontFallback(PDFont[] fonts) {
+        this.fonts = fonts;
+        this.coverages = new BitSet[fonts.length];
+        // 如果存在后备字体，则获取码点覆盖位图
+        if (fonts.length > 1) {
+            // 遍历字体，获取码点覆盖位图
+            for (int i = 0; i < fonts.length; i++) {
+                // 获取码点覆盖位图
+                this.coverages[i] = getCoverage(fonts[i]);
+            }
+        }
+    }
+
+    /**
+     * 获取字体后备链
+     *
+     * @param document          pdf文档
+     * @param font              主字体
+     * @param fallbackFontPaths 后备字体路径列表
+     * @return 返回字体后备链
+     */
+    public static XEasyPdfFontFallback getInstance(XEasyPdfDocument document, PDFont font, List<String> fallbackFontPaths) {
+        // 如果后备字体路径列表为空，则仅包含主字体
+        if (fallbackFontPaths == null || fallbackFontPaths.isEmpty()) {
+            // 返回字体后备链
+            return new XEasyPdfFontFallback(new PDFont[]{font});
+        }
+        // 定义字体列表
+        PDFont[] fonts = new PDFont[fallbackFontPaths.size() + 1];
+        // 设置主字体
+        fonts[0] = font;
+        // 遍历后备字体路径，加载后备字体
+        for (int i = 0, count = fallbackFontPaths.size(); i < count; i++) {
+            // 加载后备字体（文档字体缓存）
+            fonts[i + 1] = XEasyPdfFontUtil.loadFont(document, fallbackFontPaths.get(i), true);
+        }
+        return new XEasyPdfFontFallback(fonts);
+    }
+
+    /**
+     * 获取主字体
+     *
+     * @return 返回主字体
+     */
+    public PDFont getFont() {
+        return this.fonts[0];
+    }
+
+    /**
+     * 获取字体列表（主字体在前）
+     *
+     * @return 返回字体列表
+     */
+    public List<PDFont> getFonts() {
+        return Collections.unmodifiableList(Arrays.asList(this.fonts));
+    }
+
+    /**
+     * 获取字体（首个覆盖该码点的字体，均未覆盖时返回主字体）
+     *
+     * @param codePoint 码点
+     * @return 返回pdfbox字体
+     */
+    public PDFont getFont(int codePoint) {
+        // 如果仅包含主字体，则返回主字体
+        if (this.fonts.length == 1) {
+            return this.fonts[0];
+        }
+        // 遍历字体
+        for (int i = 0; i < this.fonts.length; i++) {
+            // 如果字体覆盖该码点，则返回字体
+            if (this.coverages[i] == null || this.coverages[i].get(codePoint)) {
+                return this.fonts[i];
+            }
+        }
+        return this.fonts[0];
+    }
+
+    /**
+     * 获取字体（覆盖全部文本的字体，优先使用指定字体，均未覆盖时返回主字体）
+     *
+     * @param text      文本
+     * @param preferred 优先字体（可为空）
+     * @return 返回pdfbox字体
+     */
+    public PDFont getFont(String text, PDFont preferred) {
+        // 如果仅包含主字体，则返回主字体
+        if (this.fonts.length == 1) {
+            return this.fonts[0];
+        }
+        // 如果优先字体覆盖全部文本，则返回优先字体
+        if (preferred != null && this.covers(this.indexOf(preferred), text)) {
+            return preferred;
+        }
+        // 遍历字体
+        for (int i = 0; i < this.fonts.length; i++) {
+            // 如果字体覆盖全部文本，则返回字体
+            if (this.covers(i, text)) {
+                return this.fonts[i];
+            }
+        }
+        return this.fonts[0];
+    }
+
+    /**
+     * 获取字符宽度（未缩放的字体单位，按各字符实际使用的字体测量，存放规则同XEasyPdfTextUtil.getCharacterWidths）
+     *
+     * @param text 文本
+     * @return 返回字符宽度数组
+     */
+    public float[] getCharacterWidths(String text) {
+        // 如果仅包含主字体，则按主字体测量
+        if (this.fonts.length == 1) {
+            // 返回字符宽度数组
+            return XEasyPdfTextUtil.getCharacterWidths(text, this.fonts[0]);
+        }
+        // 如果文本为空，则返回空数组
+        if (text == null || text.isEmpty()) {
+            // 返回空数组
+            return new float[0];
+        }
+        // 获取文本长度
+        int length = text.length();
+        // 定义字符宽度数组
+        float[] widths = new float[length];
+        // 定义码点
+        int codePoint;
+        // 遍历文本
+        for (int i = 0; i < length; i += Character.charCount(codePoint)) {
+            // 获取码点
+            codePoint = text.codePointAt(i);
+            // 获取字体
+            PDFont font = this.getFont(codePoint);
+            // 设置字符宽度
+            widths[i] = XEasyPdfFontWidthCache.getInstance(font).getWidth(font, codePoint);
+        }
+        return widths;
+    }
+
+    /**
+     * 获取文本宽度（未缩放的字体单位）
+     *
+     * @param text 文本
+     * @return 返回文本宽度
+     */
+    public float getStringWidth(String text) {
+        // 如果仅包含主字体，则按主字体测量
+        if (this.fonts.length == 1) {
+            // 返回文本宽度
+            return XEasyPdfFontWidthCache.getStringWidth(this.fonts[0], text);
+        }
+        // 定义宽度
+        float width = 0F;
+        // 获取字符宽度
+        for (float charWidth : this.getCharacterWidths(text)) {
+            // 累加宽度
+            width += charWidth;
+        }
+        return width;
+    }
+
+    /**
+     * 获取文本真实宽度
+     *
+     * @param text             文本
+     * @param fontSize         字体大小
+     * @param characterSpacing 字符间隔
+     * @return 返回文本真实宽度
+     */
+    public float getTextRealWidth(String text, float fontSize, float characterSpacing) {
+        return fontSize * this.getStringWidth(text) / 1000 + (text.length() - 1) * characterSpacing;
+    }
+
+    /**
+     * 写入文本（按字体拆分为连续片段，片段间切换字体，写入后恢复为主字体）
+     *
+     * @param stream   内容流
+     * @param text     文本
+     * @param fontSize 字体大小
+     */
+    @SneakyThrows
+    public void showText(PDPageContentStream stream, String text, float fontSize) {
+        // 如果仅包含主字体，则直接写入
+        if (this.fonts.length == 1) {
+            // 写入文本
+            stream.showText(text);
+            return;
+        }
+        // 定义当前字体
+        PDFont current = this.fonts[0];
+        // 定义片段开始索引
+        int beginIndex = 0;
+        // 定义码点
+        int codePoint;
+        // 遍历文本
+        for (int i = 0, length = text.length(); i < length; i += Character.charCount(codePoint)) {
+            // 获取码点
+            codePoint = text.codePointAt(i);
+            // 获取字体
+            PDFont font = this.getFont(codePoint);
+            // 如果字体变化，则写入当前片段并切换字体
+            if (font != current) {
+                // 如果当前片段不为空，则写入当前片段
+                if (i > beginIndex) {
+                    // 写入当前片段
+                    stream.showText(text.substring(beginIndex, i));
+                }
+                // 切换字体
+                stream.setFont(font, fontSize);
+                // 重置当前字体
+                current = font;
+                // 重置片段开始索引
+                beginIndex = i;
+            }
+        }
+        // 如果剩余片段不为空，则写入剩余片段
+        if (text.length() > beginIndex) {
+            // 写入剩余片段
+            stream.showText(text.substring(beginIndex));
+        }
+        // 如果当前字体不为主字体，则恢复为主字体
+        if (current != this.fonts[0]) {
+            // 恢复为主字体
+            stream.setFont(this.fonts[0], fontSize);
+        }
+    }
+
+    /**
+     * 拆分文本（按字体拆分为连续片段，依次回调片段字体与片段文本）
+     *
+     * @param text     文本
+     * @param consumer 片段回调
+     */
+    public void forEachRun(String text, BiConsumer<PDFont, String> consumer) {
+        // 如果仅包含主字体或文本为空，则整体回调
+        if (this.fonts.length == 1 || text.isEmpty()) {
+            // 回调片段
+            consumer.accept(this.fonts[0], text);
+            return;
+        }
+        // 定义当前字体
+        PDFont current = null;
+        // 定义片段开始索引
+        int beginIndex = 0;
+        // 定义码点
+        int codePoint;
+        // 遍历文本
+        for (int i = 0, length = text.length(); i < length; i += Character.charCount(codePoint)) {
+            // 获取码点
+            codePoint = text.codePointAt(i);
+            // 获取字体
+            PDFont font = this.getFont(codePoint);
+            // 如果字体变化，则回调当前片段
+            if (font != current) {
+                // 如果当前片段不为空，则回调当前片段
+                if (i > beginIndex) {
+                    // 回调片段
+                    consumer.accept(current, text.substring(beginIndex, i));
+                }
+                // 重置当前字体
+                current = font;
+                // 重置片段开始索引
+                beginIndex = i;
+            }
+        }
+        // 回调剩余片段
+        consumer.accept(current, text.substring(beginIndex));
+    }
+
+    /**
+     * 是否覆盖全部文本
+     *
+     * @param index 字体索引
+     * @param text  文本
+     * @return 返回布尔值，是为true，否为false
+     */
+    private boolean covers(int index, String text) {
+        // 如果字体索引无效，则返回false
+        if (index < 0) {
+            return false;
+        }
+        // 获取码点覆盖位图
+        BitSet coverage = this.coverages[index];
+        // 如果码点覆盖位图为空，则返回true
+        if (coverage == null) {
+            return true;
+        }
+        // 定义码点
+        int codePoint;
+        // 遍历文本
+        for (int i = 0, length = text.length(); i < length; i += Character.charCount(codePoint)) {
+            // 获取码点
+            codePoint = text.codePointAt(i);
+            // 如果未覆盖该码点，则返回false
+            if (!coverage.get(codePoint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取字体索引
+     *
+     * @param font pdfbox字体
+     * @return 返回字体索引，不存在时返回-1
+     */
+    private int indexOf(PDFont font) {
+        // 遍历字体
+        for (int i = 0; i < this.fonts.length; i++) {
+            // 如果为相同字体，则返回索引
+            if (this.fonts[i] == font) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取码点覆盖位图（ttf字体按unicode映射表生成，其他字体返回空）
+     *
+     * @param font pdfbox字体
+     * @return 返回码点覆盖位图
+     */
+    private static BitSet getCoverage(PDFont font) {
+        // 如果非ttf轮廓的type0字体，则返回空（视为全部覆盖）
+        if (!(font instanceof PDType0Font) || !(((PDType0Font) font).getDescendantFont() instanceof PDCIDFontType2)) {
+            return null;
+        }
+        // 获取ttf字体
+        TrueTypeFont trueTypeFont = ((PDCIDFontType2) ((PDType0Font) font).getDescendantFont()).getTrueTypeFont();
+        // 获取码点覆盖位图
+        BitSet coverage = COVERAGE_CACHE.get(trueTypeFont);
+        // 如果码点覆盖位图为空，则生成码点覆盖位图
+        if (coverage == null) {
+            // 生成码点覆盖位图
+            coverage = createCoverage(trueTypeFont);
+            // 添加缓存
+            COVERAGE_CACHE.put(trueTypeFont, coverage);
+        }
+        return coverage;
+    }
+
+    /**
+     * 生成码点覆盖位图（与pdfbox写入文本时相同的unicode映射，映射为空字形的码点不覆盖）
+     *
+     * @param font ttf字体
+     * @return 返回码点覆盖位图
+     */
+    @SneakyThrows
+    private static BitSet createCoverage(TrueTypeFont font) {
+        // 定义码点覆盖位图
+        BitSet coverage = new BitSet(Character.MAX_VALUE + 1);
+        // 获取unicode映射
+        CmapLookup lookup = font.getUnicodeCmapLookup(false);
+        // 遍历字形
+        for (int gid = 1, count = font.getNumberOfGlyphs(); gid < count; gid++) {
+            // 获取码点列表
+            List<Integer> codePoints = lookup.getCharCodes(gid);
+            // 如果码点列表不为空，则添加覆盖
+            if (codePoints != null) {
+                // 遍历码点，添加覆盖
+                for (Integer codePoint : codePoints) {
+                    // 添加覆盖
+                    coverage.set(codePoint);
+                }
+            }
+        }
+        return coverage;
+    }
+}
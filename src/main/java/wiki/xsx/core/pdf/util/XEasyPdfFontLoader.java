@@ -0,0 +1,88 @@
+package wiki.xsx.core.pdf.util;
+
+import lombok.SneakyThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 字体加载器
+ * <p>
+ * 按key单次加载：同一key的并发请求共享同一次加载结果，不同key并行加载；
+ * 等待时通过future挂起，不持有监视器锁（虚拟线程不会固定载体线程）
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+final class XEasyPdfFontLoader {
+
+    /**
+     * 加载中的任务（加载完成后移除，结果由调用方缓存）
+     */
+    private static final ConcurrentHashMap<String, CompletableFuture<Object>> LOADING = new ConcurrentHashMap<>(16);
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfFontLoader() {
+    }
+
+    /**
+     * 加载
+     * <p>
+     * 加载器内应再次检查调用方缓存，避免前一次加载刚完成并移除任务时重复加载
+     * </p>
+     *
+     * @param key    加载key
+     * @param loader 加载器
+     * @param <T>    结果类型
+     * @return 返回加载结果
+     */
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    static <T> T load(String key, Supplier<T> loader) {
+        // 定义当前任务
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        // 获取已存在的任务
+        CompletableFuture<Object> existing = LOADING.putIfAbsent(key, future);
+        // 如果已存在任务，则等待该任务结果
+        if (existing != null) {
+            try {
+                // 等待任务结果
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                // 抛出原始异常
+                throw e.getCause() != null ? e.getCause() : e;
+            }
+        }
+        try {
+            // 加载
+            T result = loader.get();
+            // 完成任务
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // 异常完成任务
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 移除任务
+            LOADING.remove(key, future);
+        }
+    }
+}
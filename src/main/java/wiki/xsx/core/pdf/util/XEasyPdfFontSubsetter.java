@@ -0,0 +1,973 @@
+package wiki.xsx.core.pdf.util;
+
+import lombok.SneakyThrows;
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.HorizontalMetricsTable;
+import org.apache.fontbox.ttf.OS2WindowsMetricsTable;
+import org.apache.fontbox.ttf.TTFSubsetter;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.cos.*;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 字体子集工具
+ * <p>
+ * 保存文档前替代pdfbox逐文档子集化：以字形集合作为缓存key复用已生成的子集字体（字体程序、宽度、CID映射与unicode映射），
+ * 文档字形集合被已缓存的子集覆盖时直接复用；可为批量文档预设超集，覆盖范围内的文档均嵌入同一超集子集。
+ * 子集内字形保持原字形ID作为CID，因此覆盖文档字形的任意子集均可正确显示
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public final class XEasyPdfFontSubsetter {
+
+    /**
+     * 子集保留的字体表（pdf规范要求的字体表）
+     */
+    private static final List<String> TABLES = Collections.unmodifiableList(
+            Arrays.asList("head", "hhea", "loca", "maxp", "cvt ", "prep", "glyf", "hmtx", "fpgm", "gasp")
+    );
+    /**
+     * unicode映射每段最大数量
+     */
+    private static final int BF_CHAR_LIMIT = 100;
+    /**
+     * 子集缓存（弱引用字体，字体被字体映射助手淘汰并回收后随之释放）
+     */
+    private static final Map<TrueTypeFont, LinkedHashMap<BitSet, Subset>> CACHE = Collections.synchronizedMap(new WeakHashMap<>(16));
+    /**
+     * 超集缓存（key为字体标识）
+     */
+    private static final ConcurrentHashMap<String, Subset> SUPERSET_CACHE = new ConcurrentHashMap<>(16);
+    /**
+     * 命中次数
+     */
+    private static final AtomicLong HIT_COUNT = new AtomicLong();
+    /**
+     * 未命中次数
+     */
+    private static final AtomicLong MISS_COUNT = new AtomicLong();
+    /**
+     * 文档待子集化字体获取方法（获取失败时为空，交由pdfbox子集化）
+     */
+    private static final Method FONTS_TO_SUBSET_METHOD = getFontsToSubsetMethod();
+    /**
+     * 字体嵌入器字段（获取失败时为空，交由pdfbox子集化）
+     */
+    private static final Field EMBEDDER_FIELD = getField(PDType0Font.class, "embedder");
+    /**
+     * 子集unicode字段（获取失败时为空，交由pdfbox子集化）
+     */
+    private static final Field CODE_POINTS_FIELD = EMBEDDER_FIELD == null ? null : getField(EMBEDDER_FIELD.getType(), "subsetCodePoints");
+    /**
+     * 每个字体子集缓存最大数量（默认32）
+     */
+    private static volatile int maxCount = 32;
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfFontSubsetter() {
+    }
+
+    /**
+     * 设置超集（批量文档预设：字形被超集覆盖的文档均嵌入该超集子集）
+     *
+     * @param fontPath 字体路径
+     * @param text     超集文本（批量文档使用的全部字符）
+     */
+    public static void setSuperset(String fontPath, String text) {
+        // 获取字体
+        TrueTypeFont font = XEasyPdfFontUtil.getTrueTypeFont(fontPath);
+        // 定义unicode集合
+        Set<Integer> codePoints = new HashSet<>(text.length());
+        // 遍历文本，添加unicode
+        text.codePoints().forEach(codePoints::add);
+        // 添加超集缓存
+        SUPERSET_CACHE.put(getFontKey(font), createSubset(font, getGlyphs(font, codePoints), codePoints));
+    }
+
+    /**
+     * 移除超集
+     *
+     * @param fontPath 字体路径
+     */
+    public static void removeSuperset(String fontPath) {
+        // 移除超集缓存
+        SUPERSET_CACHE.remove(getFontKey(XEasyPdfFontUtil.getTrueTypeFont(fontPath)));
+    }
+
+    /**
+     * 设置每个字体子集缓存最大数量
+     *
+     * @param maxCount 最大数量（小于等于0时不缓存）
+     */
+    public static void setMaxCount(int maxCount) {
+        XEasyPdfFontSubsetter.maxCount = maxCount;
+    }
+
+    /**
+     * 获取每个字体子集缓存最大数量
+     *
+     * @return 返回最大数量
+     */
+    public static int getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 返回命中次数
+     */
+    public static long getHitCount() {
+        return HIT_COUNT.get();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    public static long getMissCount() {
+        return MISS_COUNT.get();
+    }
+
+    /**
+     * 清空子集缓存、超集与统计
+     */
+    public static void clear() {
+        // 清空子集缓存
+        CACHE.clear();
+        // 清空超集缓存
+        SUPERSET_CACHE.clear();
+        // 重置命中次数
+        HIT_COUNT.set(0L);
+        // 重置未命中次数
+        MISS_COUNT.set(0L);
+    }
+
+    /**
+     * 子集化字体（保存文档前调用，已处理的字体不再由pdfbox子集化）
+     * <p>
+     * 依赖pdfbox未公开的字段与方法，当前pdfbox版本无法访问时不做处理，字体仍由pdfbox保存时子集化
+     * </p>
+     *
+     * @param target   任务文档
+     * @param fonts    字体列表
+     * @param executor 执行器（为空时按字体依次处理，否则按字体并行生成子集）
+     */
+    @SneakyThrows
+    public static void subset(PDDocument target, Collection<PDFont> fonts, Executor executor) {
+        // 如果字体列表为空，则返回
+        if (fonts == null || fonts.isEmpty()) {
+            return;
+        }
+        // 获取文档待子集化字体
+        Set<PDFont> fontsToSubset = getFontsToSubset(target);
+        // 如果文档待子集化字体为空（无法访问），则交由pdfbox子集化
+        if (fontsToSubset == null) {
+            return;
+        }
+        // 定义待处理字体列表
+        List<PDType0Font> fontList = new ArrayList<>(fonts.size());
+        // 定义待处理字体unicode集合列表
+        List<Set<Integer>> codePointsList = new ArrayList<>(fonts.size());
+        // 遍历字体列表
+        for (PDFont font : fonts) {
+            // 定义unicode集合
+            Set<Integer> codePoints = isSupported(font) ? getCodePoints((PDType0Font) font) : null;
+            // 如果unicode集合不为空，则添加待处理字体
+            if (codePoints != null) {
+                // 添加待处理字体
+                fontList.add((PDType0Font) font);
+                // 添加unicode集合
+                codePointsList.add(codePoints);
+            }
+            // 否则如果需要子集化，则交由pdfbox子集化
+            else if (font.willBeSubset()) {
+                // 添加文档待子集化字体
+                fontsToSubset.add(font);
+            }
+        }
+        // 定义子集任务列表
+        List<CompletableFuture<Subset>> futures = new ArrayList<>(fontList.size());
+        // 遍历待处理字体，获取子集
+        for (int i = 0, count = fontList.size(); i < count; i++) {
+            // 获取字体
+            PDType0Font font = fontList.get(i);
+            // 获取unicode集合
+            Set<Integer> codePoints = codePointsList.get(i);
+            // 如果执行器为空，则直接获取子集
+            if (executor == null) {
+                // 添加子集
+                futures.add(CompletableFuture.completedFuture(getSubset(font, codePoints)));
+            }
+            // 否则并行获取子集
+            else {
+                // 添加子集任务
+                futures.add(CompletableFuture.supplyAsync(() -> getSubset(font, codePoints), executor));
+            }
+        }
+        // 遍历待处理字体，写入子集
+        for (int i = 0, count = fontList.size(); i < count; i++) {
+            // 获取字体
+            PDType0Font font = fontList.get(i);
+            try {
+                // 写入子集
+                applySubset(target, font, futures.get(i).join());
+            } catch (CompletionException e) {
+                // 抛出原始异常
+                throw e.getCause() != null ? e.getCause() : e;
+            }
+            // 移除文档待子集化字体（避免pdfbox重复子集化）
+            fontsToSubset.remove(font);
+        }
+    }
+
+    /**
+     * 子集化剩余字体（由pdfbox子集化文档待子集化的全部字体，用于不经pdfbox保存的文档）
+     *
+     * @param target 任务文档
+     */
+    @SneakyThrows
+    public static void subsetRemaining(PDDocument target) {
+        // 获取文档待子集化字体
+        Set<PDFont> fontsToSubset = getFontsToSubset(target);
+        // 如果文档待子集化字体为空（无法访问），则提示错误信息
+        if (fontsToSubset == null) {
+            throw new IllegalStateException("the fonts to subset can not be accessed");
+        }
+        // 遍历待子集化字体
+        for (PDFont font : fontsToSubset) {
+            // 子集化
+            font.subset();
+        }
+        // 清空待子集化字体
+        fontsToSubset.clear();
+    }
+
+    /**
+     * 获取子集（优先超集，其次相同字形集合，再次覆盖字形集合的最小子集，均未命中时生成子集）
+     *
+     * @param font       pdfbox字体
+     * @param codePoints 文档使用的unicode集合
+     * @return 返回子集
+     */
+    private static Subset getSubset(PDType0Font font, Set<Integer> codePoints) {
+        // 获取ttf字体
+        TrueTypeFont trueTypeFont = ((PDCIDFontType2) font.getDescendantFont()).getTrueTypeFont();
+        // 获取字形集合
+        BitSet glyphs = getGlyphs(trueTypeFont, codePoints);
+        // 获取超集
+        Subset subset = SUPERSET_CACHE.get(getFontKey(trueTypeFont));
+        // 如果超集覆盖字形集合，则返回超集
+        if (subset != null && subset.covers(glyphs)) {
+            // 命中次数加1
+            HIT_COUNT.incrementAndGet();
+            return subset;
+        }
+        // 查找缓存
+        subset = findSubset(trueTypeFont, glyphs);
+        // 如果缓存不为空，则返回缓存
+        if (subset != null) {
+            // 命中次数加1
+            HIT_COUNT.incrementAndGet();
+            return subset;
+        }
+        // 按字形集合单次生成子集（并发的相同字形集合共享同一次生成，key为字形集合摘要）
+        return XEasyPdfFontLoader.load("subset:" + System.identityHashCode(trueTypeFont) + ":" + getFontKey(trueTypeFont) + ":" + getDigest(glyphs), () -> {
+            // 再次查找缓存
+            Subset cache = findSubset(trueTypeFont, glyphs);
+            // 如果缓存不为空，则返回缓存
+            if (cache != null) {
+                return cache;
+            }
+            // 未命中次数加1
+            MISS_COUNT.incrementAndGet();
+            // 生成子集
+            Subset created = createSubset(trueTypeFont, glyphs, codePoints);
+            // 添加缓存
+            addSubset(trueTypeFont, glyphs, created);
+            return created;
+        });
+    }
+
+    /**
+     * 查找子集（相同字形集合或覆盖字形集合的最小子集）
+     *
+     * @param font   ttf字体
+     * @param glyphs 字形集合
+     * @return 返回子集
+     */
+    private static Subset findSubset(TrueTypeFont font, BitSet glyphs) {
+        // 同步查找
+        synchronized (CACHE) {
+            // 获取字体子集缓存
+            LinkedHashMap<BitSet, Subset> subsets = CACHE.get(font);
+            // 如果字体子集缓存为空，则返回空
+            if (subsets == null) {
+                return null;
+            }
+            // 获取相同字形集合的子集
+            Subset subset = subsets.get(glyphs);
+            // 如果子集为空，则查找覆盖字形集合的最小子集
+            if (subset == null) {
+                // 遍历子集
+                for (Subset candidate : subsets.values()) {
+                    // 如果子集覆盖字形集合且字形数量更少，则重置子集
+                    if (candidate.covers(glyphs) && (subset == null || candidate.glyphs.cardinality() < subset.glyphs.cardinality())) {
+                        // 重置子集
+                        subset = candidate;
+                    }
+                }
+                // 如果子集不为空，则更新访问顺序
+                if (subset != null) {
+                    // 更新访问顺序
+                    subsets.get(subset.key);
+                }
+            }
+            return subset;
+        }
+    }
+
+    /**
+     * 添加子集缓存（按数量淘汰最久未使用的子集）
+     *
+     * @param font   ttf字体
+     * @param glyphs 字形集合
+     * @param subset 子集
+     */
+    private static void addSubset(TrueTypeFont font, BitSet glyphs, Subset subset) {
+        // 如果不允许缓存，则返回
+        if (maxCount <= 0) {
+            return;
+        }
+        // 同步添加
+        synchronized (CACHE) {
+            // 获取字体子集缓存
+            LinkedHashMap<BitSet, Subset> subsets = CACHE.computeIfAbsent(font, key -> new LinkedHashMap<>(16, 0.75F, true));
+            // 添加子集
+            subsets.put(glyphs, subset);
+            // 获取迭代器
+            Iterator<Subset> iterator = subsets.values().iterator();
+            // 如果当前数量超过最大数量，则淘汰
+            while (subsets.size() > maxCount && iterator.hasNext()) {
+                // 移动至最久未使用的子集
+                iterator.next();
+                // 移除子集
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 生成子集
+     *
+     * @param font       ttf字体
+     * @param glyphs     字形集合（原字形ID）
+     * @param codePoints unicode集合（与字形集合对应）
+     * @return 返回子集
+     */
+    @SneakyThrows
+    private static Subset createSubset(TrueTypeFont font, BitSet glyphs, Set<Integer> codePoints) {
+        // 创建子集生成器
+        TTFSubsetter subsetter = new TTFSubsetter(font, TABLES);
+        // 添加unicode（子集生成器按unicode映射字形）
+        subsetter.addAll(codePoints);
+        // 获取新旧字形ID映射（key为新字形ID，value为原字形ID，包含组合字形引用）
+        Map<Integer, Integer> gidMap = subsetter.getGIDMap();
+        // 定义子集字形集合（原字形ID）
+        BitSet subsetGlyphs = new BitSet();
+        // 遍历映射，添加原字形ID
+        gidMap.values().forEach(subsetGlyphs::set);
+        // 生成子集标签
+        String tag = getTag(subsetGlyphs);
+        // 设置子集前缀
+        subsetter.setPrefix(tag);
+        // 定义输出流
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64 * 1024);
+        // 写入子集字体
+        subsetter.writeToStream(outputStream);
+        // 获取子集字体
+        byte[] fontFile = outputStream.toByteArray();
+        // 定义CID数组（原字形ID升序）
+        int[] cids = subsetGlyphs.stream().toArray();
+        // 定义新字形ID数组
+        int[] gids = new int[cids.length];
+        // 遍历映射，设置新字形ID
+        for (Map.Entry<Integer, Integer> entry : gidMap.entrySet()) {
+            // 设置新字形ID
+            gids[Arrays.binarySearch(cids, entry.getValue())] = entry.getKey();
+        }
+        // 创建子集
+        return new Subset(
+                glyphs,
+                subsetGlyphs,
+                tag,
+                deflate(fontFile),
+                fontFile.length,
+                cids,
+                getWidths(font, cids),
+                deflate(getCidToGidMap(cids, gids)),
+                deflate(getCidSet(cids)),
+                deflate(getToUnicode(font, cids))
+        );
+    }
+
+    /**
+     * 写入子集（仅写入当前文档的字体字典与数据流）
+     *
+     * @param target 任务文档
+     * @param font   pdfbox字体
+     * @param subset 子集
+     */
+    @SneakyThrows
+    private static void applySubset(PDDocument target, PDType0Font font, Subset subset) {
+        // 获取后代字体
+        PDCIDFontType2 cidFont = (PDCIDFontType2) font.getDescendantFont();
+        // 获取后代字体字典
+        COSDictionary cidDictionary = cidFont.getCOSObject();
+        // 获取字体描述
+        PDFontDescriptor fontDescriptor = cidFont.getFontDescriptor();
+        // 定义子集名称
+        String name = subset.tag + "+" + cidFont.getTrueTypeFont().getName();
+        // 设置字体名称
+        font.getCOSObject().setName(COSName.BASE_FONT, name);
+        // 设置后代字体名称
+        cidDictionary.setName(COSName.BASE_FONT, name);
+        // 设置字体描述名称
+        fontDescriptor.setFontName(name);
+        // 创建子集字体流
+        COSStream fontFile = createStream(target, subset.fontFile);
+        // 设置原始长度
+        fontFile.setInt(COSName.LENGTH1, subset.fontFileLength);
+        // 设置子集字体
+        fontDescriptor.setFontFile2(new PDStream(fontFile));
+        // 设置CID集合
+        fontDescriptor.setCIDSet(new PDStream(createStream(target, subset.cidSet)));
+        // 设置CID映射
+        cidDictionary.setItem(COSName.CID_TO_GID_MAP, createStream(target, subset.cidToGidMap));
+        // 设置宽度
+        cidDictionary.setItem(COSName.W, createWidths(subset.cids, subset.widths));
+        // 设置unicode映射
+        font.getCOSObject().setItem(COSName.TO_UNICODE, createStream(target, subset.toUnicode));
+    }
+
+    /**
+     * 是否支持子集复用（ttf轮廓的子集嵌入字体，且字体允许子集化）
+     *
+     * @param font pdfbox字体
+     * @return 返回布尔值，是为true，否为false
+     */
+    @SneakyThrows
+    private static boolean isSupported(PDFont font) {
+        // 如果非子集嵌入的type0字体，则返回false
+        if (!(font instanceof PDType0Font) || !font.willBeSubset()) {
+            return false;
+        }
+        // 获取后代字体
+        Object cidFont = ((PDType0Font) font).getDescendantFont();
+        // 如果非ttf后代字体，则返回false
+        if (!(cidFont instanceof PDCIDFontType2)) {
+            return false;
+        }
+        // 获取OS/2表
+        OS2WindowsMetricsTable os2 = ((PDCIDFontType2) cidFont).getTrueTypeFont().getOS2Windows();
+        // 返回是否允许子集化（不允许时交由pdfbox处理）
+        return os2 == null || (os2.getFsType() & (OS2WindowsMetricsTable.FSTYPE_NO_SUBSETTING | OS2WindowsMetricsTable.FSTYPE_BITMAP_ONLY)) == 0;
+    }
+
+    /**
+     * 获取字形集合（与pdfbox写入内容时相同的unicode映射）
+     *
+     * @param font       ttf字体
+     * @param codePoints unicode集合
+     * @return 返回字形集合
+     */
+    @SneakyThrows
+    private static BitSet getGlyphs(TrueTypeFont font, Set<Integer> codePoints) {
+        // 获取unicode映射
+        CmapLookup lookup = font.getUnicodeCmapLookup(false);
+        // 定义字形集合
+        BitSet glyphs = new BitSet();
+        // 添加空字形
+        glyphs.set(0);
+        // 遍历unicode集合，添加字形
+        for (Integer codePoint : codePoints) {
+            // 添加字形
+            glyphs.set(lookup.getGlyphId(codePoint));
+        }
+        return glyphs;
+    }
+
+    /**
+     * 获取宽度（千分比单位）
+     *
+     * @param font ttf字体
+     * @param cids CID数组
+     * @return 返回宽度数组
+     */
+    @SneakyThrows
+    private static int[] getWidths(TrueTypeFont font, int[] cids) {
+        // 获取缩放比例
+        float scale = 1000F / font.getHeader().getUnitsPerEm();
+        // 获取水平度量表
+        HorizontalMetricsTable metrics = font.getHorizontalMetrics();
+        // 定义宽度数组
+        int[] widths = new int[cids.length];
+        // 遍历CID，设置宽度
+        for (int i = 0; i < cids.length; i++) {
+            // 设置宽度
+            widths[i] = Math.round(metrics.getAdvanceWidth(cids[i]) * scale);
+        }
+        return widths;
+    }
+
+    /**
+     * 获取CID映射（每个CID两字节新字形ID）
+     *
+     * @param cids CID数组
+     * @param gids 新字形ID数组
+     * @return 返回CID映射
+     */
+    private static byte[] getCidToGidMap(int[] cids, int[] gids) {
+        // 定义CID映射
+        byte[] bytes = new byte[(cids[cids.length - 1] + 1) * 2];
+        // 遍历CID，设置新字形ID
+        for (int i = 0; i < cids.length; i++) {
+            // 设置高位
+            bytes[cids[i] * 2] = (byte) (gids[i] >> 8 & 0xFF);
+            // 设置低位
+            bytes[cids[i] * 2 + 1] = (byte) (gids[i] & 0xFF);
+        }
+        return bytes;
+    }
+
+    /**
+     * 获取CID集合（每个CID一位）
+     *
+     * @param cids CID数组
+     * @return 返回CID集合
+     */
+    private static byte[] getCidSet(int[] cids) {
+        // 定义CID集合
+        byte[] bytes = new byte[cids[cids.length - 1] / 8 + 1];
+        // 遍历CID，设置标记位
+        for (int cid : cids) {
+            // 设置标记位
+            bytes[cid / 8] |= 1 << 7 - cid % 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * 获取unicode映射
+     *
+     * @param font ttf字体
+     * @param cids CID数组
+     * @return 返回unicode映射
+     */
+    @SneakyThrows
+    private static byte[] getToUnicode(TrueTypeFont font, int[] cids) {
+        // 获取unicode映射
+        CmapLookup lookup = font.getUnicodeCmapLookup();
+        // 定义映射列表
+        List<String> mappings = new ArrayList<>(cids.length);
+        // 遍历CID，添加映射
+        for (int cid : cids) {
+            // 获取unicode列表
+            List<Integer> codes = cid > 0 ? lookup.getCharCodes(cid) : null;
+            // 如果unicode列表不为空，则添加映射
+            if (codes != null && !codes.isEmpty()) {
+                // 添加映射
+                mappings.add(String.format("<%04X> <%s>", cid, toHex(new String(Character.toChars(codes.get(0))))));
+            }
+        }
+        // 定义unicode映射
+        StringBuilder builder = new StringBuilder(256 + mappings.size() * 16);
+        // 添加头信息
+        builder.append("/CIDInit /ProcSet findresource begin\n")
+                .append("12 dict begin\n")
+                .append("begincmap\n")
+                .append("/CIDSystemInfo\n<< /Registry (Adobe)\n/Ordering (UCS)\n/Supplement 0\n>> def\n")
+                .append("/CMapName /Adobe-Identity-UCS def\n")
+                .append("/CMapType 2 def\n")
+                .append("1 begincodespacerange\n<0000> <FFFF>\nendcodespacerange\n");
+        // 分段添加映射
+        for (int i = 0, size = mappings.size(); i < size; i += BF_CHAR_LIMIT) {
+            // 获取分段结束索引
+            int end = Math.min(i + BF_CHAR_LIMIT, size);
+            // 添加分段开始
+            builder.append(end - i).append(" beginbfchar\n");
+            // 添加映射
+            for (String mapping : mappings.subList(i, end)) {
+                builder.append(mapping).append('\n');
+            }
+            // 添加分段结束
+            builder.append("endbfchar\n");
+        }
+        // 添加尾信息
+        builder.append("endcmap\n")
+                .append("CMapName currentdict /CMap defineresource pop\n")
+                .append("end\n")
+                .append("end\n");
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 创建宽度数组（连续CID合并为一段）
+     *
+     * @param cids   CID数组
+     * @param widths 宽度数组
+     * @return 返回宽度数组
+     */
+    private static COSArray createWidths(int[] cids, int[] widths) {
+        // 定义宽度数组
+        COSArray array = new COSArray();
+        // 定义当前段宽度
+        COSArray run = null;
+        // 遍历CID
+        for (int i = 0; i < cids.length; i++) {
+            // 如果非连续CID，则新建一段
+            if (run == null || cids[i] != cids[i - 1] + 1) {
+                // 添加起始CID
+                array.add(COSInteger.get(cids[i]));
+                // 新建当前段宽度
+                run = new COSArray();
+                // 添加当前段宽度
+                array.add(run);
+            }
+            // 添加宽度
+            run.add(COSInteger.get(widths[i]));
+        }
+        return array;
+    }
+
+    /**
+     * 创建数据流（数据已压缩，直接写入）
+     *
+     * @param target 任务文档
+     * @param bytes  压缩数据
+     * @return 返回数据流
+     */
+    @SneakyThrows
+    private static COSStream createStream(PDDocument target, byte[] bytes) {
+        // 创建数据流
+        COSStream stream = target.getDocument().createCOSStream();
+        // 写入压缩数据
+        try (OutputStream outputStream = stream.createRawOutputStream()) {
+            // 写入
+            outputStream.write(bytes);
+        }
+        // 设置压缩方式
+        stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        return stream;
+    }
+
+    /**
+     * 压缩数据
+     *
+     * @param bytes 原始数据
+     * @return 返回压缩数据
+     */
+    @SneakyThrows
+    private static byte[] deflate(byte[] bytes) {
+        // 定义输出流
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 2 + 64);
+        // 压缩
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream)) {
+            // 写入
+            deflaterOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 转为十六进制（UTF-16BE）
+     *
+     * @param text 文本
+     * @return 返回十六进制字符串
+     */
+    private static String toHex(String text) {
+        // 定义十六进制字符串
+        StringBuilder builder = new StringBuilder(8);
+        // 遍历字符，添加十六进制
+        for (char c : text.toCharArray()) {
+            // 添加十六进制
+            builder.append(String.format("%04X", (int) c));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取子集标签（6位大写字母）
+     *
+     * @param glyphs 字形集合
+     * @return 返回子集标签
+     */
+    private static String getTag(BitSet glyphs) {
+        // 获取哈希值
+        long hash = glyphs.hashCode() & 0xFFFFFFFFL;
+        // 定义标签
+        StringBuilder builder = new StringBuilder(6);
+        // 生成标签
+        for (int i = 0; i < 6; i++) {
+            // 添加字母
+            builder.append((char) ('A' + hash % 26));
+            // 重置哈希值
+            hash /= 26;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取字形集合摘要（十六进制SHA-256）
+     *
+     * @param glyphs 字形集合
+     * @return 返回摘要
+     */
+    @SneakyThrows
+    private static String getDigest(BitSet glyphs) {
+        // 计算摘要
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(glyphs.toByteArray());
+        // 定义十六进制字符串
+        StringBuilder builder = new StringBuilder(digest.length * 2);
+        // 遍历摘要，添加十六进制
+        for (byte b : digest) {
+            // 添加十六进制
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取字体标识（字体名称与原始数据大小）
+     *
+     * @param font ttf字体
+     * @return 返回字体标识
+     */
+    @SneakyThrows
+    private static String getFontKey(TrueTypeFont font) {
+        return font.getName() + "#" + font.getOriginalDataSize();
+    }
+
+    /**
+     * 获取文档使用的unicode集合
+     *
+     * @param font pdfbox字体
+     * @return 返回unicode集合，无法访问时返回空
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<Integer> getCodePoints(PDType0Font font) {
+        // 如果字段无法访问，则返回空
+        if (CODE_POINTS_FIELD == null) {
+            return null;
+        }
+        try {
+            // 获取字体嵌入器
+            Object embedder = EMBEDDER_FIELD.get(font);
+            // 返回unicode集合
+            return embedder == null ? null : (Set<Integer>) CODE_POINTS_FIELD.get(embedder);
+        } catch (Exception e) {
+            // 无法访问，返回空
+            return null;
+        }
+    }
+
+    /**
+     * 获取文档待子集化字体
+     *
+     * @param target 任务文档
+     * @return 返回待子集化字体，无法访问时返回空
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<PDFont> getFontsToSubset(PDDocument target) {
+        // 如果方法无法访问，则返回空
+        if (FONTS_TO_SUBSET_METHOD == null) {
+            return null;
+        }
+        try {
+            // 返回待子集化字体
+            return (Set<PDFont>) FONTS_TO_SUBSET_METHOD.invoke(target);
+        } catch (Exception e) {
+            // 无法访问，返回空
+            return null;
+        }
+    }
+
+    /**
+     * 获取文档待子集化字体方法（pdfbox未公开）
+     *
+     * @return 返回方法，无法访问时返回空
+     */
+    private static Method getFontsToSubsetMethod() {
+        try {
+            // 获取方法
+            Method method = PDDocument.class.getDeclaredMethod("getFontsToSubset");
+            // 设置可访问
+            method.setAccessible(true);
+            return method;
+        } catch (Exception e) {
+            // 无法访问，返回空
+            return null;
+        }
+    }
+
+    /**
+     * 获取字段（包含父类字段，pdfbox未公开）
+     *
+     * @param type 类型
+     * @param name 字段名称
+     * @return 返回字段，无法访问时返回空
+     */
+    private static Field getField(Class<?> type, String name) {
+        // 遍历类型及父类
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                // 获取字段
+                Field field = current.getDeclaredField(name);
+                // 设置可访问
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // 忽略，继续查找父类
+            } catch (Exception e) {
+                // 无法访问，返回空
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 子集
+     */
+    private static class Subset {
+        /**
+         * 缓存key（生成子集时请求的字形集合）
+         */
+        private final BitSet key;
+        /**
+         * 字形集合（原字形ID，包含组合字形引用）
+         */
+        private final BitSet glyphs;
+        /**
+         * 子集标签
+         */
+        private final String tag;
+        /**
+         * 子集字体（已压缩）
+         */
+        private final byte[] fontFile;
+        /**
+         * 子集字体原始长度
+         */
+        private final int fontFileLength;
+        /**
+         * CID数组（原字形ID升序）
+         */
+        private final int[] cids;
+        /**
+         * 宽度数组
+         */
+        private final int[] widths;
+        /**
+         * CID映射（已压缩）
+         */
+        private final byte[] cidToGidMap;
+        /**
+         * CID集合（已压缩）
+         */
+        private final byte[] cidSet;
+        /**
+         * unicode映射（已压缩）
+         */
+        private final byte[] toUnicode;
+
+        /**
+         * 有参构造
+         *
+         * @param key            缓存key
+         * @param glyphs         字形集合
+         * @param tag            子集标签
+         * @param fontFile       子集字体
+         * @param fontFileLength 子集字体原始长度
+         * @param cids           CID数组
+         * @param widths         宽度数组
+         * @param cidToGidMap    CID映射
+         * @param cidSet         CID集合
+         * @param toUnicode      unicode映射
+         */
+        Subset(
+                BitSet key,
+                BitSet glyphs,
+                String tag,
+                byte[] fontFile,
+                int fontFileLength,
+                int[] cids,
+                int[] widths,
+                byte[] cidToGidMap,
+                byte[] cidSet,
+                byte[] toUnicode
+        ) {
+            this.key = key;
+            this.glyphs = glyphs;
+            this.tag = tag;
+            this.fontFile = fontFile;
+            this.fontFileLength = fontFileLength;
+            this.cids = cids;
+            this.widths = widths;
+            this.cidToGidMap = cidToGidMap;
+            this.cidSet = cidSet;
+            this.toUnicode = toUnicode;
+        }
+
+        /**
+         * 是否覆盖字形集合
+         *
+         * @param glyphs 字形集合
+         * @return 返回布尔值，是为true，否为false
+         */
+        boolean covers(BitSet glyphs) {
+            // 复制字形集合
+            BitSet remaining = (BitSet) glyphs.clone();
+            // 移除子集包含的字形
+            remaining.andNot(this.glyphs);
+            // 返回是否全部包含
+            return remaining.isEmpty();
+        }
+    }
+}
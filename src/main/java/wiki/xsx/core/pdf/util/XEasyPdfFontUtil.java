@@ -1,21 +1,23 @@
 package wiki.xsx.core.pdf.util;
 
+import lombok.SneakyThrows;
 import org.apache.fontbox.ttf.OTFParser;
 import org.apache.fontbox.ttf.TTFParser;
-import org.apache.fontbox.ttf.TrueTypeCollection;
 import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
 import wiki.xsx.core.pdf.doc.XEasyPdfPage;
 import wiki.xsx.core.pdf.handler.XEasyPdfFontMapperHandler;
 
-import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.InputStream;
-import java.lang.reflect.Method;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.*;
 import java.util.Locale;
+import java.util.function.Supplier;
 
 /**
  * 字体工具
@@ -54,17 +56,9 @@ public class XEasyPdfFontUtil {
      */
     private static final String COLLECTION_FONT_SEPARATOR = ",";
     /**
-     * ttf字体锁
+     * 字体缓存目录key（系统属性，用于存放从资源路径释放的字体文件）
      */
-    private static final Object TTF_LOCK = new Object();
-    /**
-     * ttc字体集合锁
-     */
-    private static final Object TTC_LOCK = new Object();
-    /**
-     * otf字体锁
-     */
-    private static final Object OTF_LOCK = new Object();
+    private static final String FONT_CACHE_DIR_KEY = "x-easypdf.font.cache";
 
     /**
      * 获取字体高度
@@ -187,6 +181,76 @@ public class XEasyPdfFontUtil {
         throw new IllegalArgumentException("the font can not be loaded，the path['" + fontPath + "'] is error");
     }
 
+    /**
+     * 获取字体文件
+     * <p>
+     * 优先从资源路径查找，资源位于jar包等非文件系统时，释放至字体缓存目录（仅首次释放）；
+     * 否则按文件路径查找。字体解析器基于文件随机读取，表数据按需读取，不在堆中缓冲整个字体文件
+     * </p>
+     *
+     * @param fontPath 字体路径（资源路径或文件路径）
+     * @return 返回字体文件
+     */
+    @SneakyThrows
+    public static File getFontFile(String fontPath) {
+        // 获取资源地址
+        URL url = XEasyPdfFontUtil.class.getResource(fontPath);
+        // 如果资源地址为空，则按文件路径查找
+        if (url == null) {
+            // 获取字体文件
+            File file = Paths.get(fontPath).toFile();
+            // 如果字体文件不存在，则提示错误信息
+            if (!file.isFile()) {
+                // 提示错误信息
+                throw new IllegalArgumentException("the font can not be found，the path['" + fontPath + "'] is error");
+            }
+            return file;
+        }
+        // 如果资源位于文件系统，则直接返回资源文件
+        if ("file".equals(url.getProtocol())) {
+            // 返回资源文件
+            return new File(url.toURI());
+        }
+        // 打开资源连接
+        URLConnection connection = url.openConnection();
+        // 获取资源大小
+        long length = connection.getContentLengthLong();
+        // 获取缓存目录
+        Path directory = Paths.get(System.getProperty(FONT_CACHE_DIR_KEY, System.getProperty("java.io.tmpdir") + File.separator + "x-easypdf-fonts"));
+        // 创建缓存目录（XEasyPdfFileUtil.createDirectories仅创建文件的父目录）
+        Files.createDirectories(directory);
+        // 定义缓存文件（资源路径、大小与修改时间作为文件名，资源变更时重新释放）
+        Path target = directory.resolve(
+                fontPath.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + length + "-" + connection.getLastModified()
+        );
+        // 如果缓存文件已存在且大小一致，则直接返回
+        if (Files.isRegularFile(target) && Files.size(target) == length) {
+            // 关闭资源输入流
+            connection.getInputStream().close();
+            return target.toFile();
+        }
+        // 创建临时文件（同一目录，释放完成后原子替换，并发释放时互不影响）
+        Path temp = Files.createTempFile(directory, "font-", ".tmp");
+        try {
+            // 释放资源
+            try (InputStream inputStream = connection.getInputStream()) {
+                // 复制至临时文件
+                Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try {
+                // 原子替换缓存文件
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // 替换缓存文件
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // 删除临时文件
+            Files.deleteIfExists(temp);
+        }
+        return target.toFile();
+    }
+
     /**
      * 加载字体
      *
@@ -226,32 +290,8 @@ public class XEasyPdfFontUtil {
      */
     private static PDFont loadTTF(XEasyPdfDocument document, String fontPath, boolean isEmbedded) {
         try {
-            // 从缓存中获取字体
-            TrueTypeFont trueTypeFont = (TrueTypeFont) XEasyPdfFontMapperHandler.getInstance().getFontByPath(fontPath);
-            // 如果字体为空，则读取字体
-            if (trueTypeFont == null) {
-                // 加锁
-                synchronized (TTF_LOCK) {
-                    // 再次从缓存中获取字体
-                    trueTypeFont = (TrueTypeFont) XEasyPdfFontMapperHandler.getInstance().getFontByPath(fontPath);
-                    // 如果仍然为空，则读取字体文件
-                    if (trueTypeFont == null) {
-                        // 初始化输入流（从资源路径读取）
-                        try (InputStream inputStream = new BufferedInputStream(XEasyPdfFontUtil.class.getResourceAsStream(fontPath))) {
-                            // 解析ttf字体
-                            trueTypeFont = new TTFParser(true, true).parse(inputStream);
-                        } catch (Exception e) {
-                            // 重置输入流（从绝对路径读取）
-                            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Paths.get(fontPath)))) {
-                                // 重置ttf字体
-                                trueTypeFont = new TTFParser(true, true).parse(inputStream);
-                            }
-                        }
-                        // 添加字体缓存
-                        XEasyPdfFontMapperHandler.getInstance().addFont(fontPath, trueTypeFont);
-                    }
-                }
-            }
+            // 获取字体（解析ttf字体，按需读取字体文件中的表数据，不缓冲整个文件）
+            TrueTypeFont trueTypeFont = getTrueTypeFont(document.getTarget(), fontPath, () -> parseTTF(fontPath));
             // 加载字体
             PDFont font = PDType0Font.load(document.getTarget(), trueTypeFont, isEmbedded);
             // 如果需要嵌入，则添加字体缓存
@@ -271,63 +311,32 @@ public class XEasyPdfFontUtil {
      * 加载ttc字体
      *
      * @param document   pdf文档
-     * @param fontPath   字体路径
+     * @param fontPath   字体路径（字体集合路径,字体索引或PostScript名称）
      * @param isEmbedded 是否嵌入
      * @return 返回pdfBox字体
      */
     private static PDFont loadTTC(XEasyPdfDocument document, String fontPath, boolean isEmbedded) {
         try {
-            // 定义字体路径拆分长度
-            final int length = 2;
-            // 拆分字体路径
-            String[] fontPathSplit = fontPath.split(COLLECTION_FONT_SEPARATOR);
-            // 如果拆分字体路径长度不等于定义的长度，则提示错误信息
-            if (fontPathSplit.length != length) {
-                // 提示错误信息
-                throw new IllegalArgumentException();
-            }
-            // 从缓存中获取字体
-            TrueTypeFont trueTypeFont = (TrueTypeFont) XEasyPdfFontMapperHandler.getInstance().getFontByPath(fontPath);
-            // 如果字体为空，则读取字体
-            if (trueTypeFont == null) {
-                // 加锁
-                synchronized (TTC_LOCK) {
-                    // 再次从缓存中获取字体
-                    trueTypeFont = (TrueTypeFont) XEasyPdfFontMapperHandler.getInstance().getFontByPath(fontPath);
-                    // 如果仍然为空，则读取字体文件
-                    if (trueTypeFont == null) {
-                        // 初始化输入流（从资源路径读取）
-                        try (InputStream inputStream = new BufferedInputStream(XEasyPdfFontUtil.class.getResourceAsStream(fontPathSplit[0]))) {
-                            // 创建ttc字体集合
-                            TrueTypeCollection trueTypeCollection = new TrueTypeCollection(inputStream);
-                            // 反射获取调用方法
-                            Method method = trueTypeCollection.getClass().getDeclaredMethod("getFontAtIndex", int.class);
-                            // 设置访问权限
-                            method.setAccessible(true);
-                            // 解析ttf字体
-                            trueTypeFont = (TrueTypeFont) method.invoke(trueTypeCollection, Integer.parseInt(fontPathSplit[1]));
-                        } catch (Exception e) {
-                            // 重置输入流（从绝对路径读取）
-                            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Paths.get(fontPathSplit[0])))) {
-                                // 创建ttc字体集合
-                                TrueTypeCollection trueTypeCollection = new TrueTypeCollection(inputStream);
-                                // 反射获取调用方法
-                                Method method = trueTypeCollection.getClass().getDeclaredMethod("getFontAtIndex", int.class);
-                                // 设置访问权限
-                                method.setAccessible(true);
-                                // 解析ttf字体
-                                trueTypeFont = (TrueTypeFont) method.invoke(trueTypeCollection, Integer.parseInt(fontPathSplit[1]));
-                            }
-                        }
-                        // 添加字体缓存
-                        XEasyPdfFontMapperHandler.getInstance().addFont(fontPath, trueTypeFont);
-                    }
+            // 获取字体缓存key（字体集合路径,字体索引）
+            String key = getCollectionFontKey(fontPath);
+            // 如果需要嵌入，则按字体索引从缓存获取
+            if (isEmbedded) {
+                // 获取字体
+                PDFont font = document.getFont(key);
+                // 如果字体不为空，则添加字体路径缓存并返回字体
+                if (font != null) {
+                    // 添加字体缓存
+                    document.addFont(fontPath, font);
+                    // 返回字体
+                    return font;
                 }
             }
             // 加载字体
-            PDFont font = PDType0Font.load(document.getTarget(), trueTypeFont, isEmbedded);
+            PDFont font = PDType0Font.load(document.getTarget(), getCollectionFont(document.getTarget(), key), isEmbedded);
             // 如果需要嵌入，则添加字体缓存
             if (isEmbedded) {
+                // 添加字体缓存
+                document.addFont(key, font);
                 // 添加字体缓存
                 document.addFont(fontPath, font);
             }
@@ -355,32 +364,8 @@ public class XEasyPdfFontUtil {
                 // 返回字体
                 return font;
             }
-            // 从缓存中获取字体
-            TrueTypeFont trueTypeFont = (TrueTypeFont) XEasyPdfFontMapperHandler.getInstance().getFontByPath(fontPath);
-            // 如果字体为空，则读取字体
-            if (trueTypeFont == null) {
-                // 加锁
-                synchronized (OTF_LOCK) {
-                    // 再次从缓存中获取字体
-                    trueTypeFont = (TrueTypeFont) XEasyPdfFontMapperHandler.getInstance().getFontByPath(fontPath);
-                    // 如果仍然为空，则读取字体文件
-                    if (trueTypeFont == null) {
-                        // 初始化输入流（从资源路径读取）
-                        try (InputStream inputStream = new BufferedInputStream(XEasyPdfFontUtil.class.getResourceAsStream(fontPath))) {
-                            // 解析otf字体
-                            trueTypeFont = new OTFParser(false, true).parse(inputStream);
-                        } catch (Exception e) {
-                            // 重置输入流（从绝对路径读取）
-                            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Paths.get(fontPath)))) {
-                                // 重置otf字体
-                                trueTypeFont = new OTFParser(false, true).parse(inputStream);
-                            }
-                        }
-                        // 添加字体缓存
-                        XEasyPdfFontMapperHandler.getInstance().addFont(fontPath, trueTypeFont);
-                    }
-                }
-            }
+            // 获取字体（解析otf字体，按需读取字体文件中的表数据，不缓冲整个文件）
+            TrueTypeFont trueTypeFont = getTrueTypeFont(document.getTarget(), fontPath, () -> parseOTF(fontPath));
             // 加载字体
             font = PDType0Font.load(document.getTarget(), trueTypeFont, false);
             // 添加字体缓存
@@ -392,4 +377,130 @@ public class XEasyPdfFontUtil {
             throw new IllegalArgumentException("the font can not be loaded，the path['" + fontPath + "'] is error");
         }
     }
+
+    /**
+     * 获取ttf字体（按字体路径类型加载）
+     *
+     * @param fontPath 字体路径
+     * @return 返回ttf字体
+     */
+    static TrueTypeFont getTrueTypeFont(String fontPath) {
+        // 获取字体路径
+        String lowerPath = fontPath.toLowerCase(Locale.ROOT);
+        // 如果字体为ttf字体，则获取ttf字体
+        if (lowerPath.endsWith(TTF)) {
+            // 获取ttf字体
+            return getTrueTypeFont(null, fontPath, () -> parseTTF(fontPath));
+        }
+        // 如果字体为ttc字体集合，则获取ttc字体
+        if (lowerPath.contains(TTC)) {
+            // 获取ttc字体
+            return getCollectionFont(null, getCollectionFontKey(fontPath));
+        }
+        // 如果字体为otf字体，则获取otf字体
+        if (lowerPath.endsWith(OTF)) {
+            // 获取otf字体
+            return getTrueTypeFont(null, fontPath, () -> parseOTF(fontPath));
+        }
+        // 提示错误信息
+        throw new IllegalArgumentException("the font can not be loaded，the path['" + fontPath + "'] is error");
+    }
+
+    /**
+     * 获取ttc字体缓存key
+     *
+     * @param fontPath 字体路径（字体集合路径,字体索引或PostScript名称）
+     * @return 返回字体缓存key（字体集合路径,字体索引，名称仅作为索引的别名）
+     */
+    private static String getCollectionFontKey(String fontPath) {
+        // 定义字体路径拆分长度
+        final int length = 2;
+        // 拆分字体路径
+        String[] fontPathSplit = fontPath.split(COLLECTION_FONT_SEPARATOR);
+        // 如果拆分字体路径长度不等于定义的长度，则提示错误信息
+        if (fontPathSplit.length != length) {
+            // 提示错误信息
+            throw new IllegalArgumentException("the font can not be loaded，the path['" + fontPath + "'] is error");
+        }
+        // 获取ttc字体集合（每个字体集合文件仅解析一次头信息）
+        XEasyPdfFontCollection collection = XEasyPdfFontCollection.getInstance(getFontFile(fontPathSplit[0]));
+        // 返回字体缓存key（支持字体索引或PostScript名称）
+        return fontPathSplit[0] + COLLECTION_FONT_SEPARATOR + collection.getIndex(fontPathSplit[1]);
+    }
+
+    /**
+     * 获取ttc字体
+     *
+     * @param target pdfbox文档（登记为字体使用者，为空时不登记）
+     * @param key    字体缓存key（字体集合路径,字体索引）
+     * @return 返回ttf字体
+     */
+    private static TrueTypeFont getCollectionFont(PDDocument target, String key) {
+        // 获取分隔符索引
+        int separatorIndex = key.lastIndexOf(COLLECTION_FONT_SEPARATOR);
+        // 按字体索引加载字体
+        return getTrueTypeFont(target, key, () -> {
+            // 获取ttc字体集合（每个字体集合文件仅解析一次头信息）
+            XEasyPdfFontCollection collection = XEasyPdfFontCollection.getInstance(getFontFile(key.substring(0, separatorIndex)));
+            // 加载字体
+            return collection.loadFont(Integer.parseInt(key.substring(separatorIndex + 1)));
+        });
+    }
+
+    /**
+     * 获取字体（优先从缓存获取，未命中时按字体路径单次加载：同一路径的并发请求共享同一次解析，不同路径并行解析）
+     * <p>
+     * 获取的字体登记当前文档为使用者，字体被淘汰时待文档关闭后再关闭
+     * </p>
+     *
+     * @param target   pdfbox文档（登记为字体使用者，为空时不登记）
+     * @param fontPath 字体路径
+     * @param parser   字体解析器
+     * @return 返回字体
+     */
+    private static TrueTypeFont getTrueTypeFont(PDDocument target, String fontPath, Supplier<TrueTypeFont> parser) {
+        // 获取字体映射助手
+        XEasyPdfFontMapperHandler handler = XEasyPdfFontMapperHandler.getInstance();
+        // 从缓存中获取字体
+        TrueTypeFont trueTypeFont = (TrueTypeFont) handler.getFontByPath(fontPath);
+        // 登记使用文档，如果字体为空或已被淘汰，则重新获取
+        while (trueTypeFont == null || (target != null && !handler.retain(fontPath, trueTypeFont, target))) {
+            // 按字体路径单次加载
+            trueTypeFont = XEasyPdfFontLoader.load(fontPath, () -> {
+                // 再次从缓存中获取字体
+                TrueTypeFont font = (TrueTypeFont) handler.getFontByPath(fontPath);
+                // 如果仍然为空，则解析字体
+                if (font == null) {
+                    // 解析字体
+                    font = parser.get();
+                    // 添加字体缓存
+                    handler.addFont(fontPath, font);
+                }
+                return font;
+            });
+        }
+        return trueTypeFont;
+    }
+
+    /**
+     * 解析ttf字体
+     *
+     * @param fontPath 字体路径
+     * @return 返回ttf字体
+     */
+    @SneakyThrows
+    private static TrueTypeFont parseTTF(String fontPath) {
+        return new TTFParser(true, true).parse(getFontFile(fontPath));
+    }
+
+    /**
+     * 解析otf字体
+     *
+     * @param fontPath 字体路径
+     * @return 返回otf字体
+     */
+    @SneakyThrows
+    private static TrueTypeFont parseOTF(String fontPath) {
+        return new OTFParser(false, true).parse(getFontFile(fontPath));
+    }
 }
@@ -0,0 +1,271 @@
+package wiki.xsx.core.pdf.util;
+
+import lombok.SneakyThrows;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 字体宽度缓存
+ * <p>
+ * 按pdfbox字体缓存码点宽度（未缩放的字体单位），基本多文种平面（含中日韩字符）使用按需分配的稠密数组，
+ * 其余码点使用开放寻址的原始类型字典，查询过程无装箱
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontWidthCache {
+
+    /**
+     * 字体宽度缓存字典（弱引用字体，字体回收后缓存随之释放）
+     */
+    private static final Map<PDFont, XEasyPdfFontWidthCache> CACHE = Collections.synchronizedMap(new WeakHashMap<>(16));
+    /**
+     * 稠密页位数
+     */
+    private static final int PAGE_BITS = 8;
+    /**
+     * 稠密页大小
+     */
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    /**
+     * 稠密页掩码
+     */
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    /**
+     * 稠密区间最大码点（基本多文种平面）
+     */
+    private static final int DENSE_MAX_CODE_POINT = Character.MAX_VALUE;
+    /**
+     * 空键
+     */
+    private static final int EMPTY_KEY = -1;
+
+    /**
+     * 稠密页数组（未缓存的宽度为0，零宽字符每次重新计算）
+     */
+    private final float[][] pages = new float[(DENSE_MAX_CODE_POINT + 1) >> PAGE_BITS][];
+    /**
+     * 稀疏键数组
+     */
+    private int[] keys = newKeys(16);
+    /**
+     * 稀疏值数组
+     */
+    private float[] values = new float[16];
+    /**
+     * 稀疏键数量
+     */
+    private int size;
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfFontWidthCache() {
+    }
+
+    /**
+     * 获取字体宽度缓存
+     *
+     * @param font pdfbox字体
+     * @return 返回字体宽度缓存
+     */
+    public static XEasyPdfFontWidthCache getInstance(PDFont font) {
+        // 获取缓存
+        XEasyPdfFontWidthCache cache = CACHE.get(font);
+        // 如果缓存为空，则创建缓存
+        if (cache == null) {
+            // 同步创建
+            synchronized (CACHE) {
+                // 再次获取缓存
+                cache = CACHE.get(font);
+                // 如果仍然为空，则创建缓存
+                if (cache == null) {
+                    // 创建缓存
+                    cache = new XEasyPdfFontWidthCache();
+                    // 添加缓存
+                    CACHE.put(font, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 获取文本宽度（未缩放的字体单位，与PDFont.getStringWidth结果一致）
+     *
+     * @param font pdfbox字体
+     * @param text 文本
+     * @return 返回文本宽度
+     */
+    public static float getStringWidth(PDFont font, String text) {
+        // 如果文本为空，则返回0
+        if (text == null || text.isEmpty()) {
+            // 返回0
+            return 0F;
+        }
+        // 获取字体宽度缓存
+        XEasyPdfFontWidthCache cache = getInstance(font);
+        // 定义宽度
+        float width = 0F;
+        // 定义码点
+        int codePoint;
+        // 遍历文本
+        for (int i = 0, length = text.length(); i < length; i += Character.charCount(codePoint)) {
+            // 获取码点
+            codePoint = text.codePointAt(i);
+            // 累加宽度
+            width += cache.getWidth(font, codePoint);
+        }
+        return width;
+    }
+
+    /**
+     * 获取码点宽度（未缩放的字体单位）
+     *
+     * @param font      pdfbox字体（当前缓存所属字体）
+     * @param codePoint 码点
+     * @return 返回码点宽度
+     */
+    @SneakyThrows
+    public float getWidth(PDFont font, int codePoint) {
+        // 如果为稠密区间，则从稠密页获取
+        if (codePoint <= DENSE_MAX_CODE_POINT) {
+            // 获取稠密页
+            float[] page = this.pages[codePoint >> PAGE_BITS];
+            // 如果稠密页为空，则创建稠密页
+            if (page == null) {
+                // 创建稠密页
+                page = new float[PAGE_SIZE];
+                // 设置稠密页
+                this.pages[codePoint >> PAGE_BITS] = page;
+            }
+            // 获取宽度
+            float width = page[codePoint & PAGE_MASK];
+            // 如果宽度未缓存，则计算宽度
+            if (width == 0F) {
+                // 计算宽度
+                width = font.getStringWidth(new String(Character.toChars(codePoint)));
+                // 缓存宽度
+                page[codePoint & PAGE_MASK] = width;
+            }
+            return width;
+        }
+        // 从稀疏字典获取
+        return this.getSparseWidth(font, codePoint);
+    }
+
+    /**
+     * 获取码点宽度（稀疏字典）
+     *
+     * @param font      pdfbox字体
+     * @param codePoint 码点
+     * @return 返回码点宽度
+     */
+    @SneakyThrows
+    private synchronized float getSparseWidth(PDFont font, int codePoint) {
+        // 获取掩码
+        int mask = this.keys.length - 1;
+        // 获取索引
+        int index = mix(codePoint) & mask;
+        // 线性探测
+        while (this.keys[index] != EMPTY_KEY) {
+            // 如果命中，则返回宽度
+            if (this.keys[index] == codePoint) {
+                // 返回宽度
+                return this.values[index];
+            }
+            // 下一个索引
+            index = (index + 1) & mask;
+        }
+        // 计算宽度
+        float width = font.getStringWidth(new String(Character.toChars(codePoint)));
+        // 添加键
+        this.keys[index] = codePoint;
+        // 添加值
+        this.values[index] = width;
+        // 如果数量超过容量一半，则扩容
+        if (++this.size > this.keys.length >> 1) {
+            // 扩容
+            this.resize();
+        }
+        return width;
+    }
+
+    /**
+     * 扩容
+     */
+    private void resize() {
+        // 获取原键数组
+        int[] oldKeys = this.keys;
+        // 获取原值数组
+        float[] oldValues = this.values;
+        // 创建键数组
+        this.keys = newKeys(oldKeys.length << 1);
+        // 创建值数组
+        this.values = new float[oldKeys.length << 1];
+        // 获取掩码
+        int mask = this.keys.length - 1;
+        // 定义索引
+        int index;
+        // 遍历原键数组
+        for (int i = 0; i < oldKeys.length; i++) {
+            // 如果不为空键，则重新放入
+            if (oldKeys[i] != EMPTY_KEY) {
+                // 获取索引
+                index = mix(oldKeys[i]) & mask;
+                // 线性探测
+                while (this.keys[index] != EMPTY_KEY) {
+                    // 下一个索引
+                    index = (index + 1) & mask;
+                }
+                // 放入键
+                this.keys[index] = oldKeys[i];
+                // 放入值
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * 创建键数组
+     *
+     * @param capacity 容量（2的幂）
+     * @return 返回键数组
+     */
+    private static int[] newKeys(int capacity) {
+        // 创建键数组
+        int[] keys = new int[capacity];
+        // 初始化为空键
+        Arrays.fill(keys, EMPTY_KEY);
+        return keys;
+    }
+
+    /**
+     * 混合哈希
+     *
+     * @param key 键
+     * @return 返回哈希值
+     */
+    private static int mix(int key) {
+        // 乘法哈希
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
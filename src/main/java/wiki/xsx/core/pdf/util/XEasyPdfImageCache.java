@@ -0,0 +1,527 @@
+package wiki.xsx.core.pdf.util;
+
+import lombok.SneakyThrows;
+import org.apache.pdfbox.cos.*;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 图片缓存
+ * <p>
+ * 以图片内容摘要与目标尺寸作为缓存key，同一pdfbox文档内复用同一图片对象，
+ * 不同文档之间复用已压缩的图片流数据（按数据大小淘汰最久未使用的缓存）
+ * </p>
+ *
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfImageCache {
+
+    /**
+     * 文档图片缓存（弱引用文档，文档回收后缓存随之释放）
+     */
+    private static final Map<PDDocument, Map<String, PDImageXObject>> DOCUMENT_CACHE = new WeakHashMap<>(16);
+    /**
+     * 图片流缓存（访问顺序，用于淘汰最久未使用的缓存）
+     */
+    private static final LinkedHashMap<String, StreamTemplate> STREAM_CACHE = new LinkedHashMap<>(16, 0.75F, true);
+    /**
+     * 命中次数
+     */
+    private static final AtomicLong HIT_COUNT = new AtomicLong();
+    /**
+     * 未命中次数
+     */
+    private static final AtomicLong MISS_COUNT = new AtomicLong();
+    /**
+     * 十六进制字符
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    /**
+     * 图片流缓存最大字节数（默认64M）
+     */
+    private static long maxSize = 64L * 1024 * 1024;
+    /**
+     * 图片流缓存当前字节数
+     */
+    private static long size;
+
+    /**
+     * 私有构造
+     */
+    private XEasyPdfImageCache() {
+    }
+
+    /**
+     * 获取缓存key
+     *
+     * @param data   图片数据（原始编码）
+     * @param params 附加参数（图片类型、目标尺寸等）
+     * @return 返回缓存key
+     */
+    @SneakyThrows
+    public static String getKey(byte[] data, Object... params) {
+        // 计算内容摘要
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+        // 定义缓存key
+        StringBuilder builder = new StringBuilder(digest.length * 2 + 32);
+        // 遍历摘要
+        for (byte b : digest) {
+            // 添加十六进制字符
+            builder.append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+        }
+        // 添加数据长度
+        builder.append(':').append(data.length);
+        // 遍历附加参数
+        for (Object param : params) {
+            // 添加附加参数
+            builder.append(':').append(param);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取图片
+     *
+     * @param document pdfbox文档
+     * @param key      缓存key
+     * @param creator  图片创建器（未命中时调用）
+     * @return 返回pdfbox图片对象
+     */
+    public static PDImageXObject getImage(PDDocument document, String key, Supplier<PDImageXObject> creator) {
+        // 定义文档图片缓存
+        Map<String, PDImageXObject> documentCache;
+        // 同步获取
+        synchronized (DOCUMENT_CACHE) {
+            // 获取文档图片缓存
+            documentCache = DOCUMENT_CACHE.computeIfAbsent(document, k -> new HashMap<>(8));
+        }
+        // 同步文档图片缓存
+        synchronized (documentCache) {
+            // 获取图片
+            PDImageXObject image = documentCache.get(key);
+            // 如果图片不为空，则命中文档缓存
+            if (image != null) {
+                // 命中次数加1
+                HIT_COUNT.incrementAndGet();
+                return image;
+            }
+            // 获取图片流缓存
+            StreamTemplate template = getTemplate(key);
+            // 如果图片流缓存不为空，则复用已压缩的图片流数据
+            if (template != null) {
+                // 命中次数加1
+                HIT_COUNT.incrementAndGet();
+                // 创建图片
+                image = template.createImage(document);
+            }
+            // 否则创建图片
+            else {
+                // 未命中次数加1
+                MISS_COUNT.incrementAndGet();
+                // 创建图片
+                image = creator.get();
+                // 如果允许缓存图片流，则添加图片流缓存
+                if (getMaxSize() > 0) {
+                    // 添加图片流缓存
+                    putTemplate(key, createTemplate(image));
+                }
+            }
+            // 添加文档缓存
+            documentCache.put(key, image);
+            return image;
+        }
+    }
+
+    /**
+     * 创建图片流模板（与文档无关，可在任意文档中创建图片）
+     *
+     * @param image pdfbox图片对象
+     * @return 返回图片流模板
+     */
+    public static StreamTemplate createTemplate(PDImageXObject image) {
+        return (StreamTemplate) toTemplate(image.getCOSObject());
+    }
+
+    /**
+     * 是否存在图片流缓存
+     *
+     * @param key 缓存key
+     * @return 返回布尔值，是为true，否为false
+     */
+    public static boolean containsTemplate(String key) {
+        // 同步获取
+        synchronized (STREAM_CACHE) {
+            return STREAM_CACHE.containsKey(key);
+        }
+    }
+
+    /**
+     * 释放文档图片缓存
+     *
+     * @param document pdfbox文档
+     */
+    public static void release(PDDocument document) {
+        // 如果文档不为空，则释放
+        if (document != null) {
+            // 同步释放
+            synchronized (DOCUMENT_CACHE) {
+                // 移除文档图片缓存
+                DOCUMENT_CACHE.remove(document);
+            }
+        }
+    }
+
+    /**
+     * 设置图片流缓存最大字节数
+     *
+     * @param maxSize 最大字节数（小于等于0时不缓存图片流）
+     */
+    public static void setMaxSize(long maxSize) {
+        // 同步设置
+        synchronized (STREAM_CACHE) {
+            // 设置最大字节数
+            XEasyPdfImageCache.maxSize = maxSize;
+            // 淘汰超出的缓存
+            evict();
+        }
+    }
+
+    /**
+     * 获取图片流缓存最大字节数
+     *
+     * @return 返回最大字节数
+     */
+    public static long getMaxSize() {
+        // 同步获取
+        synchronized (STREAM_CACHE) {
+            return maxSize;
+        }
+    }
+
+    /**
+     * 获取图片流缓存当前字节数
+     *
+     * @return 返回当前字节数
+     */
+    public static long getSize() {
+        // 同步获取
+        synchronized (STREAM_CACHE) {
+            return size;
+        }
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 返回命中次数
+     */
+    public static long getHitCount() {
+        return HIT_COUNT.get();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    public static long getMissCount() {
+        return MISS_COUNT.get();
+    }
+
+    /**
+     * 清空图片流缓存与统计
+     */
+    public static void clear() {
+        // 同步清空
+        synchronized (STREAM_CACHE) {
+            // 清空缓存
+            STREAM_CACHE.clear();
+            // 重置当前字节数
+            size = 0L;
+        }
+        // 重置命中次数
+        HIT_COUNT.set(0L);
+        // 重置未命中次数
+        MISS_COUNT.set(0L);
+    }
+
+    /**
+     * 获取图片流缓存
+     *
+     * @param key 缓存key
+     * @return 返回图片流模板
+     */
+    private static StreamTemplate getTemplate(String key) {
+        // 同步获取
+        synchronized (STREAM_CACHE) {
+            return STREAM_CACHE.get(key);
+        }
+    }
+
+    /**
+     * 添加图片流缓存
+     *
+     * @param key      缓存key
+     * @param template 图片流模板
+     */
+    private static void putTemplate(String key, StreamTemplate template) {
+        // 同步添加
+        synchronized (STREAM_CACHE) {
+            // 如果模板超过最大字节数，则不缓存
+            if (template.size > maxSize) {
+                return;
+            }
+            // 添加缓存
+            StreamTemplate old = STREAM_CACHE.put(key, template);
+            // 如果存在旧缓存，则减去旧缓存字节数
+            if (old != null) {
+                // 减去旧缓存字节数
+                size -= old.size;
+            }
+            // 加上新缓存字节数
+            size += template.size;
+            // 淘汰超出的缓存
+            evict();
+        }
+    }
+
+    /**
+     * 淘汰最久未使用的缓存（调用方持有锁）
+     */
+    private static void evict() {
+        // 获取迭代器
+        Iterator<StreamTemplate> iterator = STREAM_CACHE.values().iterator();
+        // 如果当前字节数超过最大字节数，则淘汰
+        while (size > maxSize && iterator.hasNext()) {
+            // 减去淘汰缓存字节数
+            size -= iterator.next().size;
+            // 移除缓存
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 转为模板（与文档无关的深拷贝，流数据保持压缩状态）
+     *
+     * @param base pdfbox对象
+     * @return 返回模板
+     */
+    @SneakyThrows
+    private static Object toTemplate(COSBase base) {
+        // 如果为间接对象，则转换实际对象
+        if (base instanceof COSObject) {
+            return toTemplate(((COSObject) base).getObject());
+        }
+        // 如果为流，则拷贝流数据
+        if (base instanceof COSStream) {
+            // 获取流
+            COSStream stream = (COSStream) base;
+            // 读取流数据（压缩状态）
+            try (InputStream inputStream = stream.createRawInputStream()) {
+                // 返回流模板
+                return new StreamTemplate(toItems(stream), IOUtils.toByteArray(inputStream));
+            }
+        }
+        // 如果为字典，则拷贝字典
+        if (base instanceof COSDictionary) {
+            return toItems((COSDictionary) base);
+        }
+        // 如果为数组，则拷贝数组
+        if (base instanceof COSArray) {
+            // 获取数组
+            COSArray array = (COSArray) base;
+            // 定义模板列表
+            List<Object> list = new ArrayList<>(array.size());
+            // 遍历数组
+            for (int i = 0, count = array.size(); i < count; i++) {
+                // 添加模板
+                list.add(toTemplate(array.get(i)));
+            }
+            return list;
+        }
+        // 其余为不可变的基本对象，直接返回
+        return base;
+    }
+
+    /**
+     * 转为字典模板
+     *
+     * @param dictionary pdfbox字典
+     * @return 返回字典模板
+     */
+    private static Map<COSName, Object> toItems(COSDictionary dictionary) {
+        // 定义字典模板
+        Map<COSName, Object> items = new LinkedHashMap<>(dictionary.size());
+        // 遍历字典
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            // 如果为流长度，则跳过（写入流数据时重新设置）
+            if (COSName.LENGTH.equals(entry.getKey())) {
+                continue;
+            }
+            // 添加模板
+            items.put(entry.getKey(), toTemplate(entry.getValue()));
+        }
+        return items;
+    }
+
+    /**
+     * 转为pdfbox对象
+     *
+     * @param document pdfbox文档对象
+     * @param template 模板
+     * @return 返回pdfbox对象
+     */
+    @SuppressWarnings("unchecked")
+    private static COSBase toCOSBase(COSDocument document, Object template) {
+        // 如果为流模板，则创建流
+        if (template instanceof StreamTemplate) {
+            return ((StreamTemplate) template).toCOSBase(document);
+        }
+        // 如果为字典模板，则创建字典
+        if (template instanceof Map) {
+            // 创建字典
+            COSDictionary dictionary = new COSDictionary();
+            // 设置字典项
+            setItems(document, dictionary, (Map<COSName, Object>) template);
+            return dictionary;
+        }
+        // 如果为数组模板，则创建数组
+        if (template instanceof List) {
+            // 创建数组
+            COSArray array = new COSArray();
+            // 遍历模板列表
+            for (Object item : (List<Object>) template) {
+                // 添加对象
+                array.add(toCOSBase(document, item));
+            }
+            return array;
+        }
+        return (COSBase) template;
+    }
+
+    /**
+     * 设置字典项
+     *
+     * @param document   pdfbox文档对象
+     * @param dictionary pdfbox字典
+     * @param items      字典模板
+     */
+    private static void setItems(COSDocument document, COSDictionary dictionary, Map<COSName, Object> items) {
+        // 遍历字典模板
+        for (Map.Entry<COSName, Object> entry : items.entrySet()) {
+            // 设置字典项
+            dictionary.setItem(entry.getKey(), toCOSBase(document, entry.getValue()));
+        }
+    }
+
+    /**
+     * 图片流模板
+     */
+    public static final class StreamTemplate {
+        /**
+         * 字典模板
+         */
+        private final Map<COSName, Object> items;
+        /**
+         * 流数据（压缩状态）
+         */
+        private final byte[] data;
+        /**
+         * 字节数（含嵌套流）
+         */
+        private final long size;
+
+        /**
+         * 有参构造
+         *
+         * @param items 字典模板
+         * @param data  流数据
+         */
+        private StreamTemplate(Map<COSName, Object> items, byte[] data) {
+            this.items = items;
+            this.data = data;
+            this.size = data.length + sizeOf(items.values());
+        }
+
+        /**
+         * 创建图片
+         *
+         * @param document pdfbox文档
+         * @return 返回pdfbox图片对象
+         */
+        @SneakyThrows
+        public PDImageXObject createImage(PDDocument document) {
+            return new PDImageXObject(new PDStream((COSStream) this.toCOSBase(document.getDocument())), null);
+        }
+
+        /**
+         * 转为pdfbox流
+         *
+         * @param document pdfbox文档对象
+         * @return 返回pdfbox流
+         */
+        @SneakyThrows
+        private COSBase toCOSBase(COSDocument document) {
+            // 创建流
+            COSStream stream = document.createCOSStream();
+            // 设置字典项
+            setItems(document, stream, this.items);
+            // 写入流数据（保持压缩状态）
+            try (OutputStream outputStream = stream.createRawOutputStream()) {
+                // 写入流数据
+                outputStream.write(this.data);
+            }
+            return stream;
+        }
+
+        /**
+         * 计算嵌套流字节数
+         *
+         * @param values 模板集合
+         * @return 返回字节数
+         */
+        @SuppressWarnings("unchecked")
+        private static long sizeOf(Collection<Object> values) {
+            // 定义字节数
+            long size = 0L;
+            // 遍历模板
+            for (Object value : values) {
+                // 如果为流模板，则加上流字节数
+                if (value instanceof StreamTemplate) {
+                    size += ((StreamTemplate) value).size;
+                }
+                // 如果为字典模板，则加上嵌套字节数
+                else if (value instanceof Map) {
+                    size += sizeOf(((Map<COSName, Object>) value).values());
+                }
+                // 如果为数组模板，则加上嵌套字节数
+                else if (value instanceof List) {
+                    size += sizeOf((List<Object>) value);
+                }
+            }
+            return size;
+        }
+    }
+}
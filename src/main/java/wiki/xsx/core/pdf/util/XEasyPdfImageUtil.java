@@ -1,13 +1,21 @@
 package wiki.xsx.core.pdf.util;
 
 import lombok.SneakyThrows;
+import org.apache.pdfbox.io.IOUtils;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageScaleMode;
 import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.file.Files;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 
 /**
@@ -64,6 +72,294 @@ public class XEasyPdfImageUtil {
         return ImageIO.read(imageStream);
     }
 
+    /**
+     * 读取文件
+     *
+     * @param imageBytes 图片数据（原始编码）
+     * @return 返回图片对象
+     */
+    @SneakyThrows
+    public static BufferedImage read(byte[] imageBytes) {
+        // 如果图片数据为空，则提示错误信息
+        if (imageBytes == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 读取图片
+        return ImageIO.read(new ByteArrayInputStream(imageBytes));
+    }
+
+    /**
+     * 读取文件（按目标尺寸抽样解码，保留不小于目标尺寸2倍的像素，用于后续重采样）
+     *
+     * @param imageBytes 图片数据（原始编码）
+     * @param width      目标宽度
+     * @param height     目标高度
+     * @return 返回图片对象，无可用解码器时返回null
+     */
+    @SneakyThrows
+    public static BufferedImage read(byte[] imageBytes, int width, int height) {
+        // 如果图片数据为空，则提示错误信息
+        if (imageBytes == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 创建图片输入流
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            // 获取解码器
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+            // 如果无可用解码器，则返回null
+            if (!readers.hasNext()) {
+                return null;
+            }
+            // 获取解码器
+            ImageReader reader = readers.next();
+            try {
+                // 设置输入流
+                reader.setInput(inputStream, true, true);
+                // 计算抽样间隔（保留不小于目标尺寸2倍的像素）
+                int subsampling = Math.max(
+                        1,
+                        Math.min(reader.getWidth(0) / Math.max(1, width * 2), reader.getHeight(0) / Math.max(1, height * 2))
+                );
+                // 获取解码参数
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 设置抽样间隔
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                // 解码图片
+                return reader.read(0, param);
+            } finally {
+                // 释放解码器
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 读取图片尺寸（仅读取图片文件头信息，不解码）
+     *
+     * @param imageFile 图片文件
+     * @return 返回图片尺寸，无可用解码器时返回null
+     */
+    @SneakyThrows
+    public static Dimension readSize(File imageFile) {
+        // 如果图片文件为空，则提示错误信息
+        if (imageFile == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 创建图片输入流
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(imageFile)) {
+            // 读取图片尺寸
+            return readSize(inputStream);
+        }
+    }
+
+    /**
+     * 读取图片尺寸（仅读取图片头信息，不解码）
+     *
+     * @param imageBytes 图片数据（原始编码）
+     * @return 返回图片尺寸，无可用解码器时返回null
+     */
+    @SneakyThrows
+    public static Dimension readSize(byte[] imageBytes) {
+        // 如果图片数据为空，则提示错误信息
+        if (imageBytes == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 创建图片输入流
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            // 读取图片尺寸
+            return readSize(inputStream);
+        }
+    }
+
+    /**
+     * 读取图片尺寸
+     *
+     * @param inputStream 图片输入流
+     * @return 返回图片尺寸，无可用解码器时返回null
+     */
+    @SneakyThrows
+    private static Dimension readSize(ImageInputStream inputStream) {
+        // 如果图片输入流为空，则返回null
+        if (inputStream == null) {
+            return null;
+        }
+        // 获取解码器
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+        // 如果无可用解码器，则返回null
+        if (!readers.hasNext()) {
+            return null;
+        }
+        // 获取解码器
+        ImageReader reader = readers.next();
+        try {
+            // 设置输入流
+            reader.setInput(inputStream, true, true);
+            // 返回图片尺寸
+            return new Dimension(reader.getWidth(0), reader.getHeight(0));
+        } finally {
+            // 释放解码器
+            reader.dispose();
+        }
+    }
+
+    /**
+     * 分条读取图片（按区域与抽样间隔逐条解码，峰值内存与条带大小相关，与图片大小无关）
+     *
+     * @param imageFile   图片文件
+     * @param stripHeight 条带高度（解码后像素）
+     * @param subsampling 抽样间隔
+     * @param consumer    条带处理器（条带图片与条带起始行，起始行为原图像素）
+     * @return 返回原图尺寸，无可用解码器时返回null
+     */
+    @SneakyThrows
+    public static Dimension readStrips(File imageFile, int stripHeight, int subsampling, ObjIntConsumer<BufferedImage> consumer) {
+        // 如果图片文件为空，则提示错误信息
+        if (imageFile == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 创建图片输入流
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(imageFile)) {
+            // 分条读取图片
+            return readStrips(inputStream, stripHeight, subsampling, consumer);
+        }
+    }
+
+    /**
+     * 分条读取图片（按区域与抽样间隔逐条解码，峰值内存与条带大小相关，与图片大小无关）
+     *
+     * @param imageBytes  图片数据（原始编码）
+     * @param stripHeight 条带高度（解码后像素）
+     * @param subsampling 抽样间隔
+     * @param consumer    条带处理器（条带图片与条带起始行，起始行为原图像素）
+     * @return 返回原图尺寸，无可用解码器时返回null
+     */
+    @SneakyThrows
+    public static Dimension readStrips(byte[] imageBytes, int stripHeight, int subsampling, ObjIntConsumer<BufferedImage> consumer) {
+        // 如果图片数据为空，则提示错误信息
+        if (imageBytes == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 创建图片输入流
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            // 分条读取图片
+            return readStrips(inputStream, stripHeight, subsampling, consumer);
+        }
+    }
+
+    /**
+     * 分条读取图片
+     *
+     * @param inputStream 图片输入流
+     * @param stripHeight 条带高度（解码后像素）
+     * @param subsampling 抽样间隔
+     * @param consumer    条带处理器（条带图片与条带起始行，起始行为原图像素）
+     * @return 返回原图尺寸，无可用解码器时返回null
+     */
+    @SneakyThrows
+    private static Dimension readStrips(ImageInputStream inputStream, int stripHeight, int subsampling, ObjIntConsumer<BufferedImage> consumer) {
+        // 如果图片输入流为空，则返回null
+        if (inputStream == null) {
+            return null;
+        }
+        // 获取解码器
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+        // 如果无可用解码器，则返回null
+        if (!readers.hasNext()) {
+            return null;
+        }
+        // 获取解码器
+        ImageReader reader = readers.next();
+        try {
+            // 设置输入流（允许回溯，每个条带重新定位至图片数据）
+            reader.setInput(inputStream, false, true);
+            // 获取原图宽度
+            int width = reader.getWidth(0);
+            // 获取原图高度
+            int height = reader.getHeight(0);
+            // 定义抽样间隔
+            int step = Math.max(1, subsampling);
+            // 定义条带原图行数
+            int stripRows = Math.max(1, stripHeight) * step;
+            // 获取解码参数
+            ImageReadParam param = reader.getDefaultReadParam();
+            // 设置抽样间隔
+            param.setSourceSubsampling(step, step, 0, 0);
+            // 遍历条带
+            for (int y = 0; y < height; y += stripRows) {
+                // 设置条带区域
+                param.setSourceRegion(new Rectangle(0, y, width, Math.min(stripRows, height - y)));
+                // 解码条带并处理
+                consumer.accept(reader.read(0, param), y);
+            }
+            return new Dimension(width, height);
+        } finally {
+            // 释放解码器
+            reader.dispose();
+        }
+    }
+
+    /**
+     * 读取文件数据（不解码）
+     *
+     * @param imageFile 图片文件
+     * @return 返回图片数据（原始编码）
+     */
+    @SneakyThrows
+    public static byte[] readBytes(File imageFile) {
+        // 如果图片文件为空，则提示错误信息
+        if (imageFile == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 读取图片数据
+        return Files.readAllBytes(imageFile.toPath());
+    }
+
+    /**
+     * 读取数据流（不解码）
+     *
+     * @param imageStream 图片数据流
+     * @return 返回图片数据（原始编码）
+     */
+    @SneakyThrows
+    public static byte[] readBytes(InputStream imageStream) {
+        // 如果图片数据流为空，则提示错误信息
+        if (imageStream == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 读取图片数据
+        return IOUtils.toByteArray(imageStream);
+    }
+
+    /**
+     * 是否可直接嵌入（jpeg或png编码，无需解码与重新编码）
+     *
+     * @param imageBytes 图片数据（原始编码）
+     * @return 返回布尔值，是为true，否为false
+     */
+    public static boolean isPassthrough(byte[] imageBytes) {
+        // 如果数据长度不足，则返回false
+        if (imageBytes == null || imageBytes.length < 8) {
+            // 返回false
+            return false;
+        }
+        // 如果为jpeg编码（FF D8 FF），则返回true
+        if ((imageBytes[0] & 0xFF) == 0xFF && (imageBytes[1] & 0xFF) == 0xD8 && (imageBytes[2] & 0xFF) == 0xFF) {
+            // 返回true
+            return true;
+        }
+        // 是否为png编码（89 50 4E 47 0D 0A 1A 0A）
+        return (imageBytes[0] & 0xFF) == 0x89 && imageBytes[1] == 'P' && imageBytes[2] == 'N' && imageBytes[3] == 'G'
+                && imageBytes[4] == 0x0D && imageBytes[5] == 0x0A && imageBytes[6] == 0x1A && imageBytes[7] == 0x0A;
+    }
+
     /**
      * 写入文件
      *
@@ -134,6 +430,71 @@ public class XEasyPdfImageUtil {
         return image;
     }
 
+    /**
+     * 重采样图片（使用java2d插值绘制，不使用getScaledInstance）
+     *
+     * @param sourceImage 源图片
+     * @param width       目标宽度
+     * @param height      目标高度
+     * @param scaleMode   缩放模式（速度：最近邻插值；平衡：双线性插值；质量：逐级减半的双线性插值）
+     * @return 返回重采样后的图片对象
+     */
+    public static BufferedImage resample(BufferedImage sourceImage, int width, int height, XEasyPdfImageScaleMode scaleMode) {
+        // 如果源图片为空，则提示错误信息
+        if (sourceImage == null) {
+            // 提示错误信息
+            throw new IllegalArgumentException("Image can not be null");
+        }
+        // 获取图片类型（统一为整型像素，使用java2d快速绘制路径）
+        int type = sourceImage.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        // 定义插值
+        Object interpolation = scaleMode == XEasyPdfImageScaleMode.SPEED ?
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR :
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+        // 定义当前图片
+        BufferedImage image = sourceImage;
+        // 定义当前宽度
+        int currentWidth = sourceImage.getWidth();
+        // 定义当前高度
+        int currentHeight = sourceImage.getHeight();
+        // 循环缩放，直至目标尺寸
+        do {
+            // 如果为质量模式，则每次最多缩小一半
+            if (scaleMode == XEasyPdfImageScaleMode.QUALITY) {
+                // 重置当前宽度
+                currentWidth = Math.max(width, currentWidth / 2);
+                // 重置当前高度
+                currentHeight = Math.max(height, currentHeight / 2);
+            }
+            // 否则一次缩放至目标尺寸
+            else {
+                // 重置当前宽度
+                currentWidth = width;
+                // 重置当前高度
+                currentHeight = height;
+            }
+            // 创建图片
+            BufferedImage temp = new BufferedImage(currentWidth, currentHeight, type);
+            // 创建2d图像
+            Graphics2D graphics = temp.createGraphics();
+            // 设置插值
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            // 绘制图像
+            graphics.drawImage(image, 0, 0, currentWidth, currentHeight, null);
+            // 关闭资源
+            graphics.dispose();
+            // 如果不为源图片，则刷新图片
+            if (image != sourceImage) {
+                // 刷新图片
+                image.flush();
+            }
+            // 重置当前图片
+            image = temp;
+        } while (currentWidth != width || currentHeight != height);
+        // 返回图片
+        return image;
+    }
+
     /**
      * 转为字节数组
      *
@@ -300,6 +661,18 @@ public class XEasyPdfImageUtil {
         return graphics;
     }
 
+    /**
+     * 获取旋转后的图片尺寸
+     *
+     * @param width   宽度
+     * @param height  高度
+     * @param radians 旋转弧度
+     * @return 返回旋转后的尺寸
+     */
+    public static Dimension getRotateSize(int width, int height, double radians) {
+        return getRotateRectangle(width, height, radians).getSize();
+    }
+
     /**
      * 获取旋转尺寸
      *
@@ -1,9 +1,9 @@
 package wiki.xsx.core.pdf.util;
 
-import lombok.SneakyThrows;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,88 +38,195 @@ public class XEasyPdfTextUtil {
      * @param characterSpacing 文本间隔
      * @return 返回文本列表
      */
-    @SneakyThrows
     public static String splitText(String text, float lineWidth, PDFont font, float fontSize, float characterSpacing) {
-        // 如果待输入文本为空，或文本长度为0，或行宽减字体大小小于0，则直接返回空字符串
-        if (isBlank(text) || lineWidth - fontSize < 0) {
-            // 返回空字符串
+        // 获取行结束索引
+        int endIndex = splitTextIndex(text, getCharacterWidths(text, font), lineWidth, fontSize, characterSpacing);
+        // 如果行结束索引小于0，则返回空
+        if (endIndex < 0) {
+            // 返回空
             return null;
         }
-        // 定义临时文本
-        String tempText;
-        // 定义当前行真实宽度
-        float lineRealWidth;
+        // 返回截取字符串
+        return text.substring(0, endIndex);
+    }
+
+    /**
+     * 拆分文本段落（换行）
+     *
+     * @param text             待输入文本
+     * @param lineWidth        行宽度
+     * @param font             字体
+     * @param fontSize         字体大小
+     * @param characterSpacing 文本间隔
+     * @return 返回文本列表
+     */
+    public static List<String> splitLines(String text, float lineWidth, PDFont font, float fontSize, float characterSpacing) {
+        // 返回文本列表
+        return subLines(
+                text,
+                0,
+                splitLinesIndexes(text, getCharacterWidths(text, font), 0, lineWidth, fontSize, characterSpacing)
+        );
+    }
+
+    /**
+     * 获取字符宽度（未缩放的字体单位，按字符索引存放，代理对的宽度记录在高位字符上，低位字符为0）
+     *
+     * @param text 文本
+     * @param font pdfbox字体
+     * @return 返回字符宽度数组
+     */
+    public static float[] getCharacterWidths(String text, PDFont font) {
+        // 如果文本为空，则返回空数组
+        if (text == null || text.isEmpty()) {
+            // 返回空数组
+            return new float[0];
+        }
+        // 获取文本长度
+        int length = text.length();
+        // 定义字符宽度数组
+        float[] widths = new float[length];
+        // 获取字体宽度缓存
+        XEasyPdfFontWidthCache cache = XEasyPdfFontWidthCache.getInstance(font);
+        // 定义码点
+        int codePoint;
+        // 遍历文本
+        for (int i = 0; i < length; i += Character.charCount(codePoint)) {
+            // 获取码点
+            codePoint = text.codePointAt(i);
+            // 设置字符宽度
+            widths[i] = cache.getWidth(font, codePoint);
+        }
+        return widths;
+    }
+
+    /**
+     * 拆分文本索引（单行）
+     *
+     * @param text             待输入文本
+     * @param widths           字符宽度数组
+     * @param lineWidth        行宽度
+     * @param fontSize         字体大小
+     * @param characterSpacing 文本间隔
+     * @return 返回行结束索引（不包含），无可拆分文本时返回-1
+     */
+    public static int splitTextIndex(String text, float[] widths, float lineWidth, float fontSize, float characterSpacing) {
+        // 如果待输入文本为空，或文本长度为0，或行宽减字体大小小于0，则直接返回-1
+        if (isBlank(text, 0) || lineWidth - fontSize < 0) {
+            // 返回-1
+            return -1;
+        }
         // 每行字数（估计）
         int fontCount = Math.max(1, (int) (lineWidth / (fontSize + characterSpacing)));
-        // 定义开始索引
-        int beginIndex = 0;
+        // 定义当前行累计宽度（字体单位）
+        float widthSum = 0F;
+        // 定义累计宽度索引
+        int sumIndex = 0;
+        // 获取文本长度
+        int len = text.length();
         // 遍历文本
-        for (int i = fontCount, len = text.length(); i <= len; i++) {
-            // 截取临时文本
-            tempText = text.substring(beginIndex, i);
-            // 计算当前文本真实宽度
-            lineRealWidth = getTextRealWidth(tempText, font, fontSize, characterSpacing);
+        for (int i = fontCount; i <= len; i++) {
+            // 累加至当前索引
+            while (sumIndex < i) {
+                // 累加字符宽度
+                widthSum += widths[sumIndex++];
+            }
             // 如果真实宽度大于行宽度，则减少一个字符
-            if (lineRealWidth > lineWidth) {
-                // 返回截取字符串
-                return text.substring(beginIndex, i - 1);
+            if (getTextRealWidth(widthSum, i, fontSize, characterSpacing) > lineWidth) {
+                // 返回行结束索引
+                return i - 1;
             }
         }
-        return text;
+        return len;
     }
 
     /**
-     * 拆分文本段落（换行）
+     * 拆分文本段落索引（换行）
      *
      * @param text             待输入文本
+     * @param widths           字符宽度数组
+     * @param beginIndex       开始索引
      * @param lineWidth        行宽度
-     * @param font             字体
      * @param fontSize         字体大小
      * @param characterSpacing 文本间隔
-     * @return 返回文本列表
+     * @return 返回各行结束索引（不包含），第一行从开始索引起，其余各行从上一行结束索引起
      */
-    @SneakyThrows
-    public static List<String> splitLines(String text, float lineWidth, PDFont font, float fontSize, float characterSpacing) {
-        // 如果待输入文本为空，或文本长度为0，或行宽减字体大小小于0，则直接返回空列表
-        if (isBlank(text) || lineWidth - fontSize < 0) {
-            // 返回空列表
-            return new ArrayList<>(0);
+    public static int[] splitLinesIndexes(
+            String text,
+            float[] widths,
+            int beginIndex,
+            float lineWidth,
+            float fontSize,
+            float characterSpacing
+    ) {
+        // 如果待输入文本为空，或文本长度为0，或行宽减字体大小小于0，则直接返回空数组
+        if (isBlank(text, beginIndex) || lineWidth - fontSize < 0) {
+            // 返回空数组
+            return new int[0];
         }
-        // 定义文本列表
-        List<String> lineList = new ArrayList<>(200);
-        // 定义临时文本
-        String tempText;
-        // 定义当前行真实宽度
-        float lineRealWidth;
+        // 获取文本长度
+        int len = text.length();
         // 每行字数（估计）
         int fontCount = Math.max(1, (int) (lineWidth / (fontSize + characterSpacing)));
-        // 定义开始索引
-        int beginIndex = 0;
+        // 定义行结束索引数组
+        int[] indexes = new int[(len - beginIndex) / fontCount + 2];
+        // 定义行数
+        int count = 0;
+        // 定义当前行累计宽度（字体单位）
+        float widthSum = 0F;
+        // 定义累计宽度索引
+        int sumIndex = beginIndex;
         // 遍历文本
-        for (int i = fontCount, len = text.length(); i <= len; i++) {
-            // 截取临时文本
-            tempText = text.substring(beginIndex, i);
-            // 计算当前文本真实宽度
-            lineRealWidth = getTextRealWidth(tempText, font, fontSize, characterSpacing);
+        for (int i = beginIndex + fontCount; i <= len; i++) {
+            // 累加至当前索引
+            while (sumIndex < i) {
+                // 累加字符宽度
+                widthSum += widths[sumIndex++];
+            }
             // 如果真实宽度大于行宽度，则减少一个字符
-            if (lineRealWidth > lineWidth) {
-                // 加入文本列表
-                lineList.add(text.substring(beginIndex, i - 1));
+            if (getTextRealWidth(widthSum, i - beginIndex, fontSize, characterSpacing) > lineWidth) {
+                // 添加行结束索引
+                indexes = addIndex(indexes, count++, i - 1);
                 // 重置开始索引
                 beginIndex = i - 1;
+                // 重置累计宽度
+                widthSum = 0F;
+                // 重置累计宽度索引
+                sumIndex = beginIndex;
                 // 重置文本索引
                 i = i + fontCount - 1;
-                // 如果文本索引大于或等于文本长度，则为最后一行，加入文本列表
+                // 如果文本索引大于或等于文本长度，则为最后一行，添加行结束索引
                 if (i >= len) {
-                    // 加入文本列表
-                    lineList.add(text.substring(beginIndex));
+                    // 添加行结束索引
+                    indexes = addIndex(indexes, count++, len);
                 }
             }
         }
-        // 如果开始索引加每行字数小于文本长度，则为最后一行，加入文本列表
-        if (beginIndex + fontCount < text.length() || lineList.isEmpty()) {
+        // 如果开始索引加每行字数小于文本长度，则为最后一行，添加行结束索引
+        if (beginIndex + fontCount < len || count == 0) {
+            // 添加行结束索引
+            indexes = addIndex(indexes, count++, len);
+        }
+        return indexes.length == count ? indexes : Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * 截取文本行
+     *
+     * @param text       文本
+     * @param beginIndex 开始索引
+     * @param endIndexes 各行结束索引
+     * @return 返回文本列表
+     */
+    public static List<String> subLines(String text, int beginIndex, int[] endIndexes) {
+        // 定义文本列表
+        List<String> lineList = new ArrayList<>(Math.max(endIndexes.length, 10));
+        // 遍历各行结束索引
+        for (int endIndex : endIndexes) {
             // 加入文本列表
-            lineList.add(text.substring(beginIndex));
+            lineList.add(text.substring(beginIndex, endIndex));
+            // 重置开始索引
+            beginIndex = endIndex;
         }
         return lineList;
     }
@@ -133,9 +240,8 @@ public class XEasyPdfTextUtil {
      * @param characterSpacing 字符间隔
      * @return 返回文本真实宽度
      */
-    @SneakyThrows
     public static float getTextRealWidth(String text, PDFont font, float fontSize, float characterSpacing) {
-        return fontSize * font.getStringWidth(text) / 1000 + (text.length() - 1) * characterSpacing;
+        return fontSize * XEasyPdfFontWidthCache.getStringWidth(font, text) / 1000 + (text.length() - 1) * characterSpacing;
     }
 
     /**
@@ -216,6 +322,62 @@ public class XEasyPdfTextUtil {
         return temp;
     }
 
+    /**
+     * 获取文本真实宽度
+     *
+     * @param widthSum         累计宽度（字体单位）
+     * @param length           文本长度
+     * @param fontSize         字体大小
+     * @param characterSpacing 字符间隔
+     * @return 返回文本真实宽度
+     */
+    private static float getTextRealWidth(float widthSum, int length, float fontSize, float characterSpacing) {
+        return fontSize * widthSum / 1000 + (length - 1) * characterSpacing;
+    }
+
+    /**
+     * 添加索引
+     *
+     * @param indexes 索引数组
+     * @param count   索引数量
+     * @param index   待添加索引
+     * @return 返回索引数组
+     */
+    private static int[] addIndex(int[] indexes, int count, int index) {
+        // 如果索引数组已满，则扩容
+        if (count == indexes.length) {
+            // 扩容
+            indexes = Arrays.copyOf(indexes, count + (count >> 1) + 1);
+        }
+        // 添加索引
+        indexes[count] = index;
+        return indexes;
+    }
+
+    /**
+     * 空白（从开始索引起）
+     *
+     * @param text       文本
+     * @param beginIndex 开始索引
+     * @return 返回布尔值，是为true，否为false
+     */
+    private static boolean isBlank(String text, int beginIndex) {
+        // 如果文本为空，则返回true
+        if (text == null) {
+            // 返回true
+            return true;
+        }
+        // 遍历文本
+        for (int i = beginIndex, len = text.length(); i < len; i++) {
+            // 如果字符不为空白字符（与trim保持一致），则返回false
+            if (text.charAt(i) > ' ') {
+                // 返回false
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * 空白
      *
@@ -0,0 +1,144 @@
+package wiki.xsx.core.pdf.component;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Assert;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.barcode.XEasyPdfBarCode;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfBarCodeVectorTest {
+
+    private static final String CONTENT = "x-easypdf-20261017";
+
+    @Test
+    public void testOneDimensional() throws IOException, WriterException {
+        try (PDDocument document = this.draw(
+                XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.CODE_128, CONTENT).enableVectorMode()
+        )) {
+            PDPage page = document.getPage(0);
+            Assert.assertFalse(page.getResources().getXObjectNames().iterator().hasNext());
+            List<String> operators = this.getOperators(page);
+            // 背景矩形加每个条一个矩形
+            Assert.assertEquals(this.countBars(CONTENT) + 1, this.count(operators, "re"));
+            Assert.assertEquals(2, this.count(operators, "f"));
+        }
+    }
+
+    @Test
+    public void testTwoDimensional() throws IOException, WriterException {
+        try (PDDocument document = this.draw(
+                XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.QR_CODE, CONTENT).enableVectorMode()
+        )) {
+            PDPage page = document.getPage(0);
+            Assert.assertFalse(page.getResources().getXObjectNames().iterator().hasNext());
+            int rectCount = this.count(this.getOperators(page), "re") - 1;
+            // 相邻模块合并，矩形数量少于前景模块数量
+            Assert.assertTrue(rectCount > 0);
+            Assert.assertTrue(rectCount < this.countModules(CONTENT));
+        }
+    }
+
+    @Test
+    public void testWords() throws IOException {
+        try (PDDocument document = this.draw(
+                XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.CODE_128, CONTENT, "vector-words").enableShowWords().enableVectorMode()
+        )) {
+            Assert.assertTrue(new PDFTextStripper().getText(document).contains("vector-words"));
+        }
+    }
+
+    @Test
+    public void testImageMode() throws IOException {
+        try (PDDocument document = this.draw(XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.CODE_128, CONTENT))) {
+            PDPage page = document.getPage(0);
+            Assert.assertTrue(page.getResources().getXObjectNames().iterator().hasNext());
+            Assert.assertEquals(0, this.count(this.getOperators(page), "re"));
+        }
+    }
+
+    private PDDocument draw(XEasyPdfBarCode barCode) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(XEasyPdfHandler.Page.build(barCode)).save(outputStream).close();
+        return PDDocument.load(outputStream.toByteArray());
+    }
+
+    private int countBars(String content) throws WriterException {
+        BitMatrix matrix = new MultiFormatWriter().encode(content, BarcodeFormat.CODE_128, 0, 0);
+        BitArray row = matrix.getRow(0, null);
+        int count = 0;
+        for (int begin = row.getNextSet(0); begin < row.getSize(); begin = row.getNextSet(row.getNextUnset(begin))) {
+            count++;
+        }
+        return count;
+    }
+
+    private int countModules(String content) throws WriterException {
+        BitMatrix matrix = new MultiFormatWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0);
+        int count = 0;
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                if (matrix.get(x, y)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private List<String> getOperators(PDPage page) throws IOException {
+        List<String> operators = new ArrayList<>();
+        Iterator<PDStream> iterator = page.getContentStreams();
+        while (iterator.hasNext()) {
+            PDFStreamParser parser = new PDFStreamParser(iterator.next().toByteArray());
+            parser.parse();
+            for (Object token : parser.getTokens()) {
+                if (token instanceof Operator) {
+                    operators.add(((Operator) token).getName());
+                }
+            }
+        }
+        return operators;
+    }
+
+    private int count(List<String> operators, String operator) {
+        int count = 0;
+        for (String name : operators) {
+            if (operator.equals(name)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
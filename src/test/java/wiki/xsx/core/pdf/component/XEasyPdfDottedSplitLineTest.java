@@ -0,0 +1,98 @@
+package wiki.xsx.core.pdf.component;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.junit.Assert;
+import org.junit.Test;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfDottedSplitLineTest {
+
+    @Test
+    public void testSingleDashedPath() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build().addPage(
+                XEasyPdfHandler.Page.build(
+                        XEasyPdfHandler.SplitLine.DottedLine.build()
+                                .setLineLength(10F)
+                                .setLineSpace(5F)
+                                .setMarginLeft(0F)
+                                .setMarginRight(0F)
+                                .setWidth(200F),
+                        XEasyPdfHandler.SplitLine.SolidLine.build()
+                )
+        ).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            List<Object> tokens = this.getTokens(document.getPage(0));
+            List<Integer> dashes = this.indexesOf(tokens, "d");
+            List<Integer> strokes = this.indexesOf(tokens, "S");
+            // 虚线分割线为单一路径，绘制后重置虚线样式，实线分割线不受影响
+            Assert.assertEquals(2, dashes.size());
+            Assert.assertEquals(2, strokes.size());
+            Assert.assertEquals(2, this.indexesOf(tokens, "m").size());
+            COSArray pattern = (COSArray) tokens.get(dashes.get(0) - 2);
+            Assert.assertEquals(2, pattern.size());
+            Assert.assertEquals(10F, ((COSNumber) pattern.getObject(0)).floatValue(), 0F);
+            Assert.assertEquals(5F, ((COSNumber) pattern.getObject(1)).floatValue(), 0F);
+            Assert.assertEquals(0, ((COSArray) tokens.get(dashes.get(1) - 2)).size());
+            Assert.assertTrue(dashes.get(0) < strokes.get(0));
+            Assert.assertTrue(strokes.get(0) < dashes.get(1));
+            Assert.assertTrue(dashes.get(1) < strokes.get(1));
+            // 首个点线加13个点线与间隔：14 * 10 + 13 * 5
+            int moveIndex = this.indexesOf(tokens, "m").get(0);
+            int lineIndex = this.indexesOf(tokens, "l").get(0);
+            float beginX = ((COSNumber) tokens.get(moveIndex - 2)).floatValue();
+            float endX = ((COSNumber) tokens.get(lineIndex - 2)).floatValue();
+            Assert.assertEquals(205F, endX - beginX, 0.001F);
+        }
+    }
+
+    private List<Object> getTokens(PDPage page) throws IOException {
+        List<Object> tokens = new ArrayList<>();
+        Iterator<PDStream> iterator = page.getContentStreams();
+        while (iterator.hasNext()) {
+            PDFStreamParser parser = new PDFStreamParser(iterator.next().toByteArray());
+            parser.parse();
+            tokens.addAll(parser.getTokens());
+        }
+        return tokens;
+    }
+
+    private List<Integer> indexesOf(List<Object> tokens, String operator) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Object token = tokens.get(i);
+            if (token instanceof Operator && operator.equals(((Operator) token).getName())) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+}
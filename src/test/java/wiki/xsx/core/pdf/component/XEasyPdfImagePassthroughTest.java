@@ -0,0 +1,127 @@
+package wiki.xsx.core.pdf.component;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
+import wiki.xsx.core.pdf.util.XEasyPdfImageUtil;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfImagePassthroughTest {
+
+    private BufferedImage source;
+
+    @Before
+    public void setup() {
+        XEasyPdfImageCache.clear();
+        this.source = new BufferedImage(120, 80, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 120; x++) {
+            for (int y = 0; y < 80; y++) {
+                this.source.setRGB(x, y, (x * 2 << 16) | (y * 3 << 8) | ((x + y) & 0xFF));
+            }
+        }
+    }
+
+    @Test
+    public void testJpegPassthrough() throws IOException {
+        byte[] bytes = this.toBytes("jpg");
+        Assert.assertTrue(XEasyPdfImageUtil.isPassthrough(bytes));
+        byte[] data = this.draw(XEasyPdfHandler.Image.build(new ByteArrayInputStream(bytes), XEasyPdfImageType.JPEG, 120, 80), COSName.DCT_DECODE);
+        Assert.assertArrayEquals(bytes, data);
+    }
+
+    @Test
+    public void testPngPassthrough() throws IOException {
+        byte[] bytes = this.toBytes("png");
+        Assert.assertTrue(XEasyPdfImageUtil.isPassthrough(bytes));
+        byte[] data = this.draw(XEasyPdfHandler.Image.build(new ByteArrayInputStream(bytes), XEasyPdfImageType.PNG, 120, 80), COSName.FLATE_DECODE);
+        // 压缩数据直接复制（不解码重新编码）
+        Assert.assertArrayEquals(this.getImageData(bytes), data);
+    }
+
+    @Test
+    public void testRotatedImageReencoded() throws IOException {
+        byte[] bytes = this.toBytes("jpg");
+        XEasyPdfImage image = XEasyPdfHandler.Image.build(new ByteArrayInputStream(bytes), XEasyPdfImageType.JPEG, 80, 120).setRadians(90D);
+        byte[] data = this.draw(image, COSName.DCT_DECODE);
+        Assert.assertFalse(Arrays.equals(bytes, data));
+    }
+
+    @Test
+    public void testUnknownFormat() {
+        Assert.assertFalse(XEasyPdfImageUtil.isPassthrough(null));
+        Assert.assertFalse(XEasyPdfImageUtil.isPassthrough(new byte[]{'G', 'I', 'F', '8', '9', 'a', 0, 0}));
+    }
+
+    private byte[] toBytes(String format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assert.assertTrue(ImageIO.write(this.source, format, outputStream));
+        return outputStream.toByteArray();
+    }
+
+    private byte[] draw(XEasyPdfImage image, COSName filter) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(XEasyPdfHandler.Page.build(image)).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            PDResources resources = document.getPage(0).getResources();
+            for (COSName name : resources.getXObjectNames()) {
+                PDXObject xObject = resources.getXObject(name);
+                if (xObject instanceof PDImageXObject) {
+                    Assert.assertEquals(filter, xObject.getCOSObject().getDictionaryObject(COSName.FILTER));
+                    try (InputStream inputStream = xObject.getCOSObject().createRawInputStream()) {
+                        return IOUtils.toByteArray(inputStream);
+                    }
+                }
+            }
+        }
+        throw new AssertionError("the image can not be found");
+    }
+
+    private byte[] getImageData(byte[] png) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.wrap(png, 8, png.length - 8);
+        while (buffer.remaining() >= 12) {
+            int length = buffer.getInt();
+            byte[] type = new byte[4];
+            buffer.get(type);
+            if (type[0] == 'I' && type[1] == 'D' && type[2] == 'A' && type[3] == 'T') {
+                outputStream.write(png, buffer.position(), length);
+            }
+            buffer.position(buffer.position() + length + 4);
+        }
+        return outputStream.toByteArray();
+    }
+}
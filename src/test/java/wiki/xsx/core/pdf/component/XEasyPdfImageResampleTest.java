@@ -0,0 +1,125 @@
+package wiki.xsx.core.pdf.component;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfImageResampleTest {
+
+    private byte[] imageBytes;
+
+    @Before
+    public void setup() throws IOException {
+        XEasyPdfImageCache.clear();
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 400; x++) {
+            for (int y = 0; y < 400; y++) {
+                image.setRGB(x, y, (x * 37 + y * 11) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        this.imageBytes = outputStream.toByteArray();
+    }
+
+    @Test
+    public void testDpi() throws IOException {
+        PDImageXObject image = this.draw(XEasyPdfHandler.Document.build(), this.build().setDpi(144F));
+        // 72点显示宽度，144dpi对应144像素
+        Assert.assertEquals(144, image.getWidth());
+        Assert.assertEquals(144, image.getHeight());
+    }
+
+    @Test
+    public void testNoUpsampling() throws IOException {
+        PDImageXObject image = this.draw(XEasyPdfHandler.Document.build(), this.build().setDpi(600F));
+        Assert.assertEquals(400, image.getWidth());
+        Assert.assertEquals(400, image.getHeight());
+    }
+
+    @Test
+    public void testWithoutDpi() throws IOException {
+        Assert.assertEquals(400, this.draw(XEasyPdfHandler.Document.build(), this.build()).getWidth());
+    }
+
+    @Test
+    public void testGlobalDpi() throws IOException {
+        Assert.assertEquals(72, this.draw(XEasyPdfHandler.Document.build().setGlobalImageDpi(72F), this.build()).getWidth());
+        // 组件分辨率优先于文档全局分辨率
+        Assert.assertEquals(
+                216,
+                this.draw(XEasyPdfHandler.Document.build().setGlobalImageDpi(72F), this.build().setDpi(216F)).getWidth()
+        );
+    }
+
+    @Test
+    public void testResampleType() throws IOException {
+        PDImageXObject image = this.draw(
+                XEasyPdfHandler.Document.build(),
+                this.build().setDpi(144F).setResampleType(XEasyPdfImageType.JPEG, 0.7F)
+        );
+        Assert.assertEquals(144, image.getWidth());
+        Assert.assertEquals(COSName.DCT_DECODE, image.getCOSObject().getDictionaryObject(COSName.FILTER));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDpi() {
+        this.build().setDpi(0F);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidResampleType() {
+        this.build().setResampleType(XEasyPdfImageType.GIF, 0.7F);
+    }
+
+    private XEasyPdfImage build() {
+        return XEasyPdfHandler.Image.build(new ByteArrayInputStream(this.imageBytes), XEasyPdfImageType.PNG, 72, 72);
+    }
+
+    private PDImageXObject draw(XEasyPdfDocument document, XEasyPdfImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        document.addPage(XEasyPdfHandler.Page.build(image)).save(outputStream).close();
+        try (PDDocument target = PDDocument.load(outputStream.toByteArray())) {
+            PDResources resources = target.getPage(0).getResources();
+            for (COSName name : resources.getXObjectNames()) {
+                PDXObject xObject = resources.getXObject(name);
+                if (xObject instanceof PDImageXObject) {
+                    return (PDImageXObject) xObject;
+                }
+            }
+        }
+        throw new AssertionError("the image can not be found");
+    }
+}
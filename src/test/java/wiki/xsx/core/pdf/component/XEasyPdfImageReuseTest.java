@@ -0,0 +1,98 @@
+package wiki.xsx.core.pdf.component;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageScaleMode;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfImageReuseTest {
+
+    private byte[] imageBytes;
+
+    @Before
+    public void setup() throws IOException {
+        XEasyPdfImageCache.clear();
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 200; x++) {
+            for (int y = 0; y < 200; y++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        this.imageBytes = outputStream.toByteArray();
+    }
+
+    @Test
+    public void testDrawInTwoDocuments() throws IOException {
+        XEasyPdfImage image = XEasyPdfHandler.Image.build(
+                new ByteArrayInputStream(this.imageBytes), XEasyPdfImageType.PNG, 100, 100
+        );
+        List<PDImageXObject> first = this.draw(image);
+        List<PDImageXObject> second = this.draw(image);
+        Assert.assertEquals(1, first.size());
+        Assert.assertEquals(1, second.size());
+        Assert.assertEquals(200, second.get(0).getWidth());
+    }
+
+    @Test
+    public void testReinitializeAfterSetDpi() throws IOException {
+        XEasyPdfImage image = XEasyPdfHandler.Image.build(
+                new ByteArrayInputStream(this.imageBytes), XEasyPdfImageType.PNG, 50, 50
+        );
+        Assert.assertEquals(200, this.draw(image).get(0).getWidth());
+        image.setDpi(72F);
+        Assert.assertEquals(50, this.draw(image).get(0).getWidth());
+        image.setScaleMode(XEasyPdfImageScaleMode.SPEED);
+        Assert.assertEquals(50, this.draw(image).get(0).getWidth());
+    }
+
+    private List<PDImageXObject> draw(XEasyPdfImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(XEasyPdfHandler.Page.build(image)).save(outputStream).close();
+        List<PDImageXObject> images = new ArrayList<>(1);
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            PDResources resources = document.getPage(0).getResources();
+            for (COSName name : resources.getXObjectNames()) {
+                PDXObject xObject = resources.getXObject(name);
+                if (xObject instanceof PDImageXObject) {
+                    images.add((PDImageXObject) xObject);
+                }
+            }
+        }
+        return images;
+    }
+}
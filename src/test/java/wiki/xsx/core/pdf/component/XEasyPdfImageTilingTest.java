@@ -0,0 +1,155 @@
+package wiki.xsx.core.pdf.component;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
+import wiki.xsx.core.pdf.util.XEasyPdfImageUtil;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfImageTilingTest {
+
+    private BufferedImage source;
+
+    private byte[] imageBytes;
+
+    @Before
+    public void setup() throws IOException {
+        XEasyPdfImageCache.clear();
+        this.source = new BufferedImage(200, 250, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 200; x++) {
+            for (int y = 0; y < 250; y++) {
+                this.source.setRGB(x, y, (x * 3 << 16) | (y << 8) | ((x ^ y) & 0xFF));
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(this.source, "png", outputStream);
+        this.imageBytes = outputStream.toByteArray();
+    }
+
+    @Test
+    public void testReadStrips() {
+        List<Integer> offsets = new ArrayList<>();
+        List<Integer> heights = new ArrayList<>();
+        Dimension size = XEasyPdfImageUtil.readStrips(this.imageBytes, 100, 1, (strip, offset) -> {
+            offsets.add(offset);
+            heights.add(strip.getHeight());
+            Assert.assertEquals(200, strip.getWidth());
+            Assert.assertEquals(this.source.getRGB(7, offset), strip.getRGB(7, 0));
+        });
+        Assert.assertEquals(new Dimension(200, 250), size);
+        Assert.assertEquals(3, offsets.size());
+        Assert.assertEquals(Integer.valueOf(0), offsets.get(0));
+        Assert.assertEquals(Integer.valueOf(100), offsets.get(1));
+        Assert.assertEquals(Integer.valueOf(200), offsets.get(2));
+        Assert.assertEquals(Integer.valueOf(50), heights.get(2));
+    }
+
+    @Test
+    public void testTiling() throws IOException {
+        try (PDDocument document = this.draw(this.build(200, 250).enableTiling(64))) {
+            List<PDImageXObject> tiles = this.getImages(document.getPage(0));
+            // 按条带自上而下嵌入为多个图片对象
+            Assert.assertEquals(4, tiles.size());
+            int offset = 0;
+            for (PDImageXObject tile : tiles) {
+                Assert.assertEquals(200, tile.getWidth());
+                BufferedImage image = tile.getImage();
+                for (int y = 0; y < tile.getHeight(); y += 9) {
+                    for (int x = 0; x < 200; x += 13) {
+                        Assert.assertEquals(this.source.getRGB(x, offset + y) & 0xFFFFFF, image.getRGB(x, y) & 0xFFFFFF);
+                    }
+                }
+                offset += tile.getHeight();
+            }
+            Assert.assertEquals(250, offset);
+        }
+    }
+
+    @Test
+    public void testTilingWithDpi() throws IOException {
+        try (PDDocument document = this.draw(this.build(100, 125).setDpi(72F).enableTiling(32))) {
+            List<PDImageXObject> tiles = this.getImages(document.getPage(0));
+            int height = 0;
+            for (PDImageXObject tile : tiles) {
+                Assert.assertEquals(100, tile.getWidth());
+                height += tile.getHeight();
+            }
+            Assert.assertEquals(125, height);
+        }
+    }
+
+    @Test
+    public void testWithoutTiling() throws IOException {
+        try (PDDocument document = this.draw(this.build(200, 250))) {
+            Assert.assertEquals(1, this.getImages(document.getPage(0)).size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTileSize() {
+        this.build(200, 250).enableTiling(0);
+    }
+
+    private XEasyPdfImage build(int width, int height) {
+        return XEasyPdfHandler.Image.build(new ByteArrayInputStream(this.imageBytes), XEasyPdfImageType.PNG, width, height);
+    }
+
+    private PDDocument draw(XEasyPdfImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(XEasyPdfHandler.Page.build(image)).save(outputStream).close();
+        return PDDocument.load(outputStream.toByteArray());
+    }
+
+    private List<PDImageXObject> getImages(PDPage page) throws IOException {
+        List<PDImageXObject> images = new ArrayList<>();
+        Iterator<PDStream> iterator = page.getContentStreams();
+        while (iterator.hasNext()) {
+            PDFStreamParser parser = new PDFStreamParser(iterator.next().toByteArray());
+            parser.parse();
+            List<Object> tokens = parser.getTokens();
+            for (int i = 1; i < tokens.size(); i++) {
+                Object token = tokens.get(i);
+                if (token instanceof Operator && "Do".equals(((Operator) token).getName())) {
+                    images.add((PDImageXObject) page.getResources().getXObject((COSName) tokens.get(i - 1)));
+                }
+            }
+        }
+        return images;
+    }
+}
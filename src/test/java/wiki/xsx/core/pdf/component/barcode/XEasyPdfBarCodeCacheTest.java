@@ -0,0 +1,188 @@
+package wiki.xsx.core.pdf.component.barcode;
+
+import com.google.zxing.common.BitMatrix;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfBarCodeCacheTest {
+
+    private int maxCount;
+
+    private AtomicInteger count;
+
+    @Before
+    public void setup() {
+        this.maxCount = XEasyPdfBarCodeCache.getMaxCount();
+        this.count = new AtomicInteger();
+        XEasyPdfBarCodeCache.clear();
+        XEasyPdfImageCache.clear();
+    }
+
+    @After
+    public void clean() {
+        XEasyPdfBarCodeCache.setMaxCount(this.maxCount);
+        XEasyPdfBarCodeCache.clear();
+    }
+
+    @Test
+    public void testMatrixCache() {
+        BitMatrix first = XEasyPdfBarCodeCache.getMatrix("key", this.encoder());
+        BitMatrix second = XEasyPdfBarCodeCache.getMatrix("key", this.encoder());
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, this.count.get());
+        Assert.assertEquals(1L, XEasyPdfBarCodeCache.getMissCount());
+        Assert.assertEquals(1L, XEasyPdfBarCodeCache.getHitCount());
+        Assert.assertEquals(1, XEasyPdfBarCodeCache.getSize());
+    }
+
+    @Test
+    public void testEviction() {
+        XEasyPdfBarCodeCache.setMaxCount(2);
+        XEasyPdfBarCodeCache.getMatrix("first", this.encoder());
+        XEasyPdfBarCodeCache.getMatrix("second", this.encoder());
+        XEasyPdfBarCodeCache.getMatrix("first", this.encoder());
+        XEasyPdfBarCodeCache.getMatrix("third", this.encoder());
+        Assert.assertEquals(2, XEasyPdfBarCodeCache.getSize());
+        Assert.assertEquals(3, this.count.get());
+        // 淘汰最久未使用的缓存
+        XEasyPdfBarCodeCache.getMatrix("first", this.encoder());
+        Assert.assertEquals(3, this.count.get());
+        XEasyPdfBarCodeCache.getMatrix("second", this.encoder());
+        Assert.assertEquals(4, this.count.get());
+        XEasyPdfBarCodeCache.setMaxCount(0);
+        Assert.assertEquals(0, XEasyPdfBarCodeCache.getSize());
+        XEasyPdfBarCodeCache.getMatrix("first", this.encoder());
+        XEasyPdfBarCodeCache.getMatrix("first", this.encoder());
+        Assert.assertEquals(6, this.count.get());
+    }
+
+    @Test
+    public void testSheet() throws IOException {
+        XEasyPdfBarCodeSheet sheet = XEasyPdfHandler.BarCodeSheet.build(3, 100F, 100F).setSpacing(10F, 20F).setMarginLeft(50F).setMarginTop(50F);
+        for (int i = 0; i < 7; i++) {
+            sheet.addBarCode(XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.QR_CODE, "label"));
+        }
+        try (PDDocument document = this.draw(sheet)) {
+            PDPage page = document.getPage(0);
+            List<float[]> positions = this.getImagePositions(page);
+            Assert.assertEquals(7, positions.size());
+            // 相同内容的条形码仅编码一次，并复用同一图片对象
+            Assert.assertEquals(1L, XEasyPdfBarCodeCache.getMissCount());
+            Assert.assertEquals(1, this.countImages(page));
+            TreeSet<Float> xSet = new TreeSet<>();
+            TreeSet<Float> ySet = new TreeSet<>();
+            for (float[] position : positions) {
+                xSet.add(position[0]);
+                ySet.add(position[1]);
+                Assert.assertEquals(100F, position[2], 0.001F);
+                Assert.assertEquals(100F, position[3], 0.001F);
+            }
+            Assert.assertEquals(3, xSet.size());
+            Assert.assertEquals(3, ySet.size());
+            Assert.assertEquals(50F, xSet.first(), 0.001F);
+            Assert.assertEquals(110F, xSet.higher(xSet.first()) - xSet.first(), 0.001F);
+            Assert.assertEquals(page.getMediaBox().getHeight() - 150F, ySet.last(), 0.001F);
+            Assert.assertEquals(120F, ySet.last() - ySet.lower(ySet.last()), 0.001F);
+        }
+    }
+
+    @Test
+    public void testSheetPagination() throws IOException {
+        XEasyPdfBarCodeSheet sheet = XEasyPdfHandler.BarCodeSheet.build(4, 100F, 100F);
+        for (int i = 0; i < 40; i++) {
+            sheet.addBarCode(XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.CODE_128, "label" + i));
+        }
+        try (PDDocument document = this.draw(sheet)) {
+            Assert.assertTrue(document.getNumberOfPages() > 1);
+            int total = 0;
+            for (PDPage page : document.getPages()) {
+                total += this.getImagePositions(page).size();
+            }
+            Assert.assertEquals(40, total);
+            Assert.assertEquals(40L, XEasyPdfBarCodeCache.getMissCount());
+        }
+    }
+
+    private Supplier<BitMatrix> encoder() {
+        return () -> {
+            this.count.incrementAndGet();
+            return new BitMatrix(4);
+        };
+    }
+
+    private PDDocument draw(XEasyPdfBarCodeSheet sheet) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(XEasyPdfHandler.Page.build(sheet)).save(outputStream).close();
+        return PDDocument.load(outputStream.toByteArray());
+    }
+
+    private int countImages(PDPage page) {
+        int count = 0;
+        for (COSName ignored : page.getResources().getXObjectNames()) {
+            count++;
+        }
+        return count;
+    }
+
+    private List<float[]> getImagePositions(PDPage page) throws IOException {
+        List<float[]> positions = new ArrayList<>();
+        List<Object> tokens = new ArrayList<>();
+        Iterator<PDStream> iterator = page.getContentStreams();
+        while (iterator.hasNext()) {
+            PDFStreamParser parser = new PDFStreamParser(iterator.next().toByteArray());
+            parser.parse();
+            tokens.addAll(parser.getTokens());
+        }
+        for (int i = 0; i < tokens.size(); i++) {
+            Object token = tokens.get(i);
+            if (token instanceof Operator && "cm".equals(((Operator) token).getName())) {
+                Object next = i + 2 < tokens.size() ? tokens.get(i + 2) : null;
+                if (next instanceof Operator && "Do".equals(((Operator) next).getName())) {
+                    positions.add(new float[]{
+                            ((COSNumber) tokens.get(i - 2)).floatValue(),
+                            ((COSNumber) tokens.get(i - 1)).floatValue(),
+                            ((COSNumber) tokens.get(i - 6)).floatValue(),
+                            ((COSNumber) tokens.get(i - 3)).floatValue()
+                    });
+                }
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,198 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.barcode.XEasyPdfBarCode;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImage;
+import wiki.xsx.core.pdf.component.image.XEasyPdfImageType;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfImageCache;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfComponentPreparerTest {
+
+    private static final int IMAGE_COUNT = 6;
+
+    private ExecutorService pool;
+
+    private AtomicInteger taskCount;
+
+    private AtomicInteger activeCount;
+
+    private AtomicInteger maxActiveCount;
+
+    private List<byte[]> imageBytesList;
+
+    @Before
+    public void setup() throws IOException {
+        XEasyPdfImageCache.clear();
+        this.pool = Executors.newFixedThreadPool(4);
+        this.taskCount = new AtomicInteger();
+        this.activeCount = new AtomicInteger();
+        this.maxActiveCount = new AtomicInteger();
+        this.imageBytesList = new ArrayList<>(IMAGE_COUNT);
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            BufferedImage image = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
+            for (int x = 0; x < 300; x++) {
+                for (int y = 0; y < 300; y++) {
+                    image.setRGB(x, y, (x * (31 + i) + y * 17) & 0xFFFFFF);
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", outputStream);
+            this.imageBytesList.add(outputStream.toByteArray());
+        }
+    }
+
+    @After
+    public void clean() {
+        this.pool.shutdownNow();
+        XEasyPdfImageCache.clear();
+    }
+
+    @Test
+    public void testParallelPrepare() throws IOException {
+        List<List<byte[]>> expected = this.getImageData(this.create(null));
+        XEasyPdfImageCache.clear();
+        List<List<byte[]>> actual = this.getImageData(this.create(XEasyPdfHandler.Document.build()));
+        // 每个组件仅预处理一次（重复使用的图片组件按引用去重），另有一个字体子集任务
+        Assert.assertEquals(IMAGE_COUNT + 2, this.taskCount.get());
+        // 许可在任务完成阶段释放，计数可能与下一任务重叠一次
+        Assert.assertTrue(this.maxActiveCount.get() <= 2);
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).size(), actual.get(i).size());
+            for (int j = 0; j < expected.get(i).size(); j++) {
+                Assert.assertArrayEquals(expected.get(i).get(j), actual.get(i).get(j));
+            }
+        }
+    }
+
+    @Test
+    public void testWithoutExecutor() throws IOException {
+        Assert.assertEquals(IMAGE_COUNT + 1, this.getImageData(this.create(null)).size());
+        Assert.assertEquals(0, this.taskCount.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimit() {
+        XEasyPdfHandler.Document.build().enableParallelPrepare(this.pool, 0);
+    }
+
+    @Test
+    public void testSkipPrepareWithoutSize() throws Exception {
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build().enableParallelPrepare(this.pool, 1);
+        XEasyPdfImage sized = this.buildImage(0);
+        XEasyPdfImage unsized = XEasyPdfHandler.Image.build(
+                new ByteArrayInputStream(this.imageBytesList.get(1)), XEasyPdfImageType.PNG
+        ).setDpi(36F);
+        XEasyPdfPage page = XEasyPdfHandler.Page.build(sized, unsized);
+        XEasyPdfComponentPreparer.prepare(document, Collections.singletonList(page));
+        // 未自定义尺寸时显示尺寸取决于自适应布局，不进行预处理
+        Assert.assertNotNull(this.getPreparedTemplate(sized));
+        Assert.assertNull(this.getPreparedTemplate(unsized));
+        document.close();
+    }
+
+    private byte[] create(XEasyPdfDocument document) {
+        if (document == null) {
+            document = XEasyPdfHandler.Document.build();
+        } else {
+            document.enableParallelPrepare(this::execute, 1);
+        }
+        XEasyPdfImage shared = this.buildImage(0);
+        document.addPage(XEasyPdfHandler.Page.build(shared));
+        for (int i = 1; i < IMAGE_COUNT; i++) {
+            document.addPage(XEasyPdfHandler.Page.build(this.buildImage(i), shared));
+        }
+        document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.BarCode.build(XEasyPdfBarCode.CodeType.QR_CODE, "x-easypdf")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        document.save(outputStream).close();
+        return outputStream.toByteArray();
+    }
+
+    private XEasyPdfImage buildImage(int index) {
+        return XEasyPdfHandler.Image.build(
+                new ByteArrayInputStream(this.imageBytesList.get(index)), XEasyPdfImageType.PNG, 100, 100
+        ).setDpi(144F);
+    }
+
+    private void execute(Runnable task) {
+        this.taskCount.incrementAndGet();
+        this.pool.execute(() -> {
+            this.maxActiveCount.accumulateAndGet(this.activeCount.incrementAndGet(), Math::max);
+            try {
+                task.run();
+            } finally {
+                this.activeCount.decrementAndGet();
+            }
+        });
+    }
+
+    private Object getPreparedTemplate(XEasyPdfImage image) throws Exception {
+        Field paramField = XEasyPdfImage.class.getDeclaredField("param");
+        paramField.setAccessible(true);
+        Object param = paramField.get(image);
+        Field templateField = param.getClass().getDeclaredField("preparedTemplate");
+        templateField.setAccessible(true);
+        return templateField.get(param);
+    }
+
+    private List<List<byte[]>> getImageData(byte[] bytes) throws IOException {
+        List<List<byte[]>> list = new ArrayList<>(IMAGE_COUNT + 1);
+        try (PDDocument document = PDDocument.load(bytes)) {
+            for (PDPage page : document.getPages()) {
+                List<byte[]> dataList = new ArrayList<>(2);
+                PDResources resources = page.getResources();
+                for (COSName name : resources.getXObjectNames()) {
+                    PDXObject xObject = resources.getXObject(name);
+                    if (xObject instanceof PDImageXObject) {
+                        try (InputStream inputStream = xObject.getCOSObject().createRawInputStream()) {
+                            dataList.add(IOUtils.toByteArray(inputStream));
+                        }
+                    }
+                }
+                list.add(dataList);
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,99 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfDocumentLoadTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String sourcePath;
+
+    @Before
+    public void setup() throws IOException {
+        this.sourcePath = new File(this.folder.getRoot(), "source.pdf").getPath();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("source page 1")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("source page 2"))
+        ).save(this.sourcePath).close();
+    }
+
+    @Test
+    public void testLoadFromPath() throws IOException {
+        String outputPath = new File(this.folder.getRoot(), "output.pdf").getPath();
+        XEasyPdfHandler.Document.load(this.sourcePath).addPage(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("new page"))
+        ).save(outputPath).close();
+        this.assertPages(outputPath, "source page 2", "new page");
+    }
+
+    @Test
+    public void testLoadWithMemoryUsageSetting() throws IOException {
+        String outputPath = new File(this.folder.getRoot(), "output.pdf").getPath();
+        new XEasyPdfDocument(this.sourcePath, MemoryUsageSetting.setupTempFileOnly().setTempDir(this.folder.getRoot())).addPage(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("new page"))
+        ).save(outputPath).close();
+        this.assertPages(outputPath, "source page 2", "new page");
+    }
+
+    @Test
+    public void testOverwriteSource() throws IOException {
+        XEasyPdfHandler.Document.load(this.sourcePath).addPage(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("new page"))
+        ).save(this.sourcePath).close();
+        this.assertPages(this.sourcePath, "source page 2", "new page");
+    }
+
+    @Test
+    public void testSourceReleasedAfterLoad() throws IOException {
+        String outputPath = new File(this.folder.getRoot(), "output.pdf").getPath();
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.load(this.sourcePath)) {
+            // 按路径加载时读取全部文件数据，源文件可在文档关闭前替换
+            Files.write(Paths.get(this.sourcePath), new byte[]{0});
+            document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("new page"))).save(outputPath);
+        }
+        this.assertPages(outputPath, "source page 2", "new page");
+    }
+
+    private void assertPages(String path, String secondPage, String thirdPage) throws IOException {
+        try (PDDocument document = PDDocument.load(new File(path))) {
+            Assert.assertEquals(3, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(2);
+            stripper.setEndPage(2);
+            Assert.assertEquals(secondPage, stripper.getText(document).trim());
+            stripper.setStartPage(3);
+            stripper.setEndPage(3);
+            Assert.assertEquals(thirdPage, stripper.getText(document).trim());
+        }
+    }
+}
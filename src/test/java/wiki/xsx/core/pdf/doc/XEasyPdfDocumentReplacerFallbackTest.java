@@ -0,0 +1,125 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfDocumentReplacerFallbackTest {
+
+    private static final String PRIMARY_FONT_PATH = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+    private static final String FALLBACK_FONT_PATH = XEasyPdfDefaultFontStyle.LIGHT.getPath();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String symbol;
+
+    @Before
+    public void setup() throws IOException {
+        try (
+                TrueTypeFont primary = new TTFParser().parse(XEasyPdfFontUtil.getFontFile(PRIMARY_FONT_PATH));
+                TrueTypeFont fallback = new TTFParser().parse(XEasyPdfFontUtil.getFontFile(FALLBACK_FONT_PATH))
+        ) {
+            for (String candidate : new String[]{"测", "☃", "✓", "♥"}) {
+                int codePoint = candidate.codePointAt(0);
+                if (primary.getUnicodeCmapLookup().getGlyphId(codePoint) == 0 && fallback.getUnicodeCmapLookup().getGlyphId(codePoint) > 0) {
+                    this.symbol = candidate;
+                    break;
+                }
+            }
+        }
+        Assert.assertNotNull("no code point covered only by the fallback font", this.symbol);
+    }
+
+    @Test
+    public void testReplaceStringsWithDifferentFonts() throws IOException {
+        String sourcePath = this.createSource(false);
+        Map<String, String> replaceMap = new HashMap<>(2);
+        replaceMap.put("name", "abc");
+        replaceMap.put("sign", this.symbol);
+        String text = this.replace(sourcePath, replaceMap);
+        Assert.assertEquals("abc\nkeep\n" + this.symbol, text);
+    }
+
+    @Test
+    public void testReplaceStringInArray() throws IOException {
+        String sourcePath = this.createSource(true);
+        Map<String, String> replaceMap = new HashMap<>(1);
+        replaceMap.put("name", this.symbol);
+        String text = this.replace(sourcePath, replaceMap);
+        Assert.assertEquals(this.symbol + "keep\nkeep\nsign", text);
+    }
+
+    private String replace(String sourcePath, Map<String, String> replaceMap) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.load(sourcePath)
+                .replacer()
+                .setFontPath(PRIMARY_FONT_PATH)
+                .setFallbackFontPath(FALLBACK_FONT_PATH)
+                .replaceText(replaceMap)
+                .finish(outputStream);
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            return new PDFTextStripper().getText(document).trim().replace("\r\n", "\n");
+        }
+    }
+
+    private String createSource(boolean isArray) throws IOException {
+        String sourcePath = new File(this.folder.getRoot(), "source.pdf").getPath();
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            PDType0Font font = PDType0Font.load(document, PDDocument.class.getResourceAsStream(PRIMARY_FONT_PATH), false);
+            try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+                stream.beginText();
+                stream.setFont(font, 12);
+                stream.newLineAtOffset(50, 700);
+                if (isArray) {
+                    stream.showTextWithPositioning(new Object[]{"name", "keep"});
+                } else {
+                    stream.showText("name");
+                }
+                stream.newLineAtOffset(0, -20);
+                stream.showText("keep");
+                stream.newLineAtOffset(0, -20);
+                stream.showText("sign");
+                stream.endText();
+            }
+            document.save(sourcePath);
+        }
+        return sourcePath;
+    }
+}
@@ -0,0 +1,210 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfDocumentWriterTest {
+
+    private static final int PAGE_COUNT = 30;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStreamMode() throws IOException {
+        File tempDir = this.folder.newFolder();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.build()) {
+            document.enableReplaceTotalPagePlaceholder().setGlobalFooter(
+                    XEasyPdfHandler.Footer.build(
+                            XEasyPdfHandler.Text.build(
+                                    XEasyPdfHandler.Page.getCurrentPagePlaceholder() + " of " + XEasyPdfHandler.Page.getTotalPagePlaceholder()
+                            )
+                    )
+            ).setTempDir(tempDir.getPath()).enableStreamMode();
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                XEasyPdfPage page = XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page" + i));
+                document.addPage(page);
+                Assert.assertTrue(page.isFlushed());
+                Assert.assertTrue(page.getComponentList().isEmpty());
+                // 已写入的页面不再由任务文档持有
+                Assert.assertEquals(0, document.getTarget().getNumberOfPages());
+            }
+            document.save(outputStream);
+            Assert.assertEquals(0, this.countSpillFiles(tempDir));
+        }
+        Assert.assertEquals(0, this.countFiles(tempDir));
+        byte[] bytes = outputStream.toByteArray();
+        this.assertXref(bytes);
+        try (PDDocument document = PDDocument.load(bytes)) {
+            Assert.assertEquals(PAGE_COUNT, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                stripper.setStartPage(i);
+                stripper.setEndPage(i);
+                String text = stripper.getText(document);
+                Assert.assertTrue(text, text.contains("page" + i));
+                Assert.assertTrue(text, text.contains(i + " of " + PAGE_COUNT));
+            }
+            this.assertSingleEmbeddedFont(document);
+        }
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+        File tempDir = this.folder.newFolder();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.build().setTempDir(tempDir.getPath())) {
+            for (int i = 1; i <= 3; i++) {
+                XEasyPdfPage page = XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("segment" + i));
+                document.addPage(page).flush();
+                Assert.assertTrue(page.isFlushed());
+                Assert.assertTrue(document.getPageList().isEmpty());
+                // 各次刷新共用一个临时文件
+                Assert.assertEquals(1, this.countSpillFiles(tempDir));
+            }
+            document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("segment4"))).save(outputStream);
+            Assert.assertEquals(0, this.countSpillFiles(tempDir));
+        }
+        byte[] bytes = outputStream.toByteArray();
+        this.assertXref(bytes);
+        try (PDDocument document = PDDocument.load(bytes)) {
+            Assert.assertEquals(4, document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int i = 1; i <= 4; i++) {
+                stripper.setStartPage(i);
+                stripper.setEndPage(i);
+                Assert.assertTrue(stripper.getText(document).contains("segment" + i));
+            }
+            this.assertSingleEmbeddedFont(document);
+        }
+    }
+
+    @Test
+    public void testCloseWithoutSave() throws IOException {
+        File tempDir = this.folder.newFolder();
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build().setTempDir(tempDir.getPath()).enableStreamMode();
+        document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page")));
+        Assert.assertEquals(1, this.countSpillFiles(tempDir));
+        document.close();
+        Assert.assertEquals(0, this.countFiles(tempDir));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddComponentAfterWrite() {
+        XEasyPdfPage page = XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page"));
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.build().setTempDir(this.folder.getRoot().getPath()).enableStreamMode()) {
+            document.addPage(page);
+            page.addComponent(XEasyPdfHandler.Text.build("dropped"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddComponentAfterFlush() {
+        XEasyPdfPage page = XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page"));
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.build().setTempDir(this.folder.getRoot().getPath())) {
+            document.addPage(page).flush();
+            page.addComponent(XEasyPdfHandler.Text.build("dropped"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSaveTwice() {
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.build().setTempDir(this.folder.getRoot().getPath()).enableStreamMode()) {
+            document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page")));
+            document.save(new ByteArrayOutputStream());
+            document.save(new ByteArrayOutputStream());
+        }
+    }
+
+    @Test
+    public void testPermission() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XEasyPdfDocument document = XEasyPdfHandler.Document.build().setTempDir(this.folder.getRoot().getPath()).enableStreamMode()) {
+            document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page1")));
+            document.addPage(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page2")));
+            document.permission().setCanModify(false).finishWithStandardPolicy(
+                    false, XEasyPdfDocumentPermission.PWLength.LENGTH_128, "owner", ""
+            ).save(outputStream);
+        }
+        Assert.assertEquals(0, this.countFiles(this.folder.getRoot()));
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            Assert.assertTrue(document.isEncrypted());
+            Assert.assertEquals(2, document.getNumberOfPages());
+            Assert.assertFalse(document.getCurrentAccessPermission().canModify());
+        }
+    }
+
+    private int countFiles(File dir) {
+        String[] names = dir.list();
+        return names == null ? 0 : names.length;
+    }
+
+    private int countSpillFiles(File dir) {
+        String[] names = dir.list((parent, name) -> name.startsWith("x-easypdf-"));
+        return names == null ? 0 : names.length;
+    }
+
+    private void assertSingleEmbeddedFont(PDDocument document) throws IOException {
+        Set<COSBase> fonts = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PDPage page : document.getPages()) {
+            PDResources resources = page.getResources();
+            for (COSName name : resources.getFontNames()) {
+                PDType0Font font = (PDType0Font) resources.getFont(name);
+                Assert.assertTrue(font.isEmbedded());
+                fonts.add(font.getCOSObject());
+            }
+        }
+        Assert.assertEquals(1, fonts.size());
+    }
+
+    private void assertXref(byte[] bytes) {
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        int startXref = text.lastIndexOf("startxref");
+        int xrefOffset = Integer.parseInt(text.substring(startXref + 9, text.indexOf("%%EOF", startXref)).trim());
+        Assert.assertTrue(text.startsWith("xref", xrefOffset));
+        String[] lines = text.substring(xrefOffset, text.indexOf("trailer", xrefOffset)).split("\r?\n");
+        int size = Integer.parseInt(lines[1].split(" ")[1]);
+        for (int i = 1; i < size; i++) {
+            String entry = lines[i + 2];
+            if (entry.endsWith("n")) {
+                int offset = Integer.parseInt(entry.substring(0, 10));
+                Assert.assertTrue("object " + i, text.startsWith(i + " 0 obj", offset));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.junit.Assert;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.awt.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfPageStreamContextTest {
+
+    @Test
+    public void testPrependLayerOrder() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build().addPage(
+                XEasyPdfHandler.Page.build(
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.RED),
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.BLUE)
+                                .setContentMode(XEasyPdfComponent.ContentMode.PREPEND),
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.GREEN)
+                                .setContentMode(XEasyPdfComponent.ContentMode.PREPEND),
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.CYAN)
+                ).setHeader(
+                        XEasyPdfHandler.Header.build(
+                                XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.MAGENTA)
+                                        .setContentMode(XEasyPdfComponent.ContentMode.PREPEND)
+                        )
+                ).setBackgroundColor(Color.YELLOW)
+        ).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            List<List<Color>> layers = this.getLayers(document.getPage(0));
+            // 后绘制的前置内容位于先绘制的前置内容之下，追加内容共享同一内容流
+            Assert.assertEquals(5, layers.size());
+            Assert.assertEquals(Color.GREEN, layers.get(0).get(0));
+            Assert.assertEquals(Color.BLUE, layers.get(1).get(0));
+            Assert.assertEquals(Color.YELLOW, layers.get(2).get(0));
+            Assert.assertEquals(Color.MAGENTA, layers.get(3).get(0));
+            Assert.assertEquals(Color.RED, layers.get(4).get(0));
+            Assert.assertEquals(Color.CYAN, layers.get(4).get(1));
+        }
+    }
+
+    @Test
+    public void testAppendShareStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build().addPage(
+                XEasyPdfHandler.Page.build(
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.RED),
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.BLUE),
+                        XEasyPdfHandler.Rect.build(50F, 50F).setBackgroundColor(Color.GREEN)
+                )
+        ).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            List<List<Color>> layers = this.getLayers(document.getPage(0));
+            Assert.assertEquals(1, layers.size());
+            Assert.assertEquals(Color.RED, layers.get(0).get(0));
+            Assert.assertEquals(Color.BLUE, layers.get(0).get(1));
+            Assert.assertEquals(Color.GREEN, layers.get(0).get(2));
+        }
+    }
+
+    private List<List<Color>> getLayers(PDPage page) throws IOException {
+        List<List<Color>> layers = new ArrayList<>();
+        Iterator<PDStream> iterator = page.getContentStreams();
+        while (iterator.hasNext()) {
+            PDFStreamParser parser = new PDFStreamParser(iterator.next().toByteArray());
+            parser.parse();
+            List<Object> tokens = parser.getTokens();
+            List<Color> colors = new ArrayList<>();
+            for (int i = 3; i < tokens.size(); i++) {
+                Object token = tokens.get(i);
+                if (token instanceof Operator && "sc".equals(((Operator) token).getName())) {
+                    Color color = new Color(
+                            ((COSNumber) tokens.get(i - 3)).floatValue(),
+                            ((COSNumber) tokens.get(i - 2)).floatValue(),
+                            ((COSNumber) tokens.get(i - 1)).floatValue()
+                    );
+                    if (!Color.BLACK.equals(color)) {
+                        colors.add(color);
+                    }
+                }
+            }
+            if (!colors.isEmpty()) {
+                layers.add(colors);
+            }
+        }
+        return layers;
+    }
+}
@@ -0,0 +1,151 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.junit.Assert;
+import org.junit.Test;
+import wiki.xsx.core.pdf.component.XEasyPdfComponent;
+import wiki.xsx.core.pdf.footer.XEasyPdfFooter;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+import wiki.xsx.core.pdf.header.XEasyPdfHeader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfPageTemplateTest {
+
+    @Test
+    public void testSharedTemplate() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 1")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 2")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 3"))
+        ).setGlobalHeader(
+                XEasyPdfHandler.Header.build(XEasyPdfHandler.Text.build("header"))
+        ).setGlobalFooter(
+                XEasyPdfHandler.Footer.build(XEasyPdfHandler.Text.build("footer"))
+        ).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            List<Object> forms = this.getForms(document.getPage(0));
+            // 页眉与页脚各一个表单
+            Assert.assertEquals(2, forms.size());
+            for (PDPage page : document.getPages()) {
+                List<Object> pageForms = this.getForms(page);
+                Assert.assertEquals(forms.size(), pageForms.size());
+                for (int i = 0; i < forms.size(); i++) {
+                    Assert.assertSame(forms.get(i), pageForms.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTemplateCacheDoesNotPinDocument() throws IOException, InterruptedException {
+        XEasyPdfHeader header = XEasyPdfHandler.Header.build(XEasyPdfHandler.Text.build("header"));
+        XEasyPdfFooter footer = XEasyPdfHandler.Footer.build(XEasyPdfHandler.Text.build("footer"));
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 1")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 2"))
+        ).setGlobalHeader(header).setGlobalFooter(footer);
+        document.save(new ByteArrayOutputStream());
+        WeakReference<PDDocument> reference = new WeakReference<>(document.getTarget());
+        document.close();
+        document = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        // 仍在使用的页眉页脚不应强引用已关闭的文档
+        Assert.assertNull(reference.get());
+        Assert.assertNotNull(header);
+        Assert.assertNotNull(footer);
+    }
+
+    @Test
+    public void testTemplateContentMode() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 1")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 2"))
+        ).setGlobalHeader(
+                XEasyPdfHandler.Header.build(
+                        XEasyPdfHandler.Text.build("header").setContentMode(XEasyPdfComponent.ContentMode.PREPEND)
+                )
+        ).setGlobalFooter(
+                XEasyPdfHandler.Footer.build(XEasyPdfHandler.Text.build("footer"))
+        ).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            for (PDPage page : document.getPages()) {
+                List<String> streams = this.getContentStreams(page);
+                // 前置页眉位于首个内容流，追加页脚与正文位于后续内容流
+                Assert.assertTrue(streams.size() >= 2);
+                Assert.assertTrue(streams.get(0).contains(" Do"));
+                Assert.assertFalse(streams.get(0).contains("BT"));
+                Assert.assertTrue(streams.get(streams.size() - 1).contains(" Do"));
+                Assert.assertTrue(streams.get(streams.size() - 1).contains("BT"));
+            }
+        }
+    }
+
+    @Test
+    public void testAnnotationOnEveryPage() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 1")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 2")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 3"))
+        ).setGlobalHeader(
+                XEasyPdfHandler.Header.build(XEasyPdfHandler.Text.build("header").setLink("https://x-easypdf.cn"))
+        ).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            for (PDPage page : document.getPages()) {
+                Assert.assertEquals(1, page.getAnnotations().size());
+                Assert.assertTrue(page.getAnnotations().get(0) instanceof PDAnnotationLink);
+            }
+        }
+    }
+
+    private List<Object> getForms(PDPage page) {
+        List<Object> forms = new ArrayList<>();
+        if (page.getResources().getCOSObject().getCOSDictionary(COSName.XOBJECT) != null) {
+            for (COSName name : page.getResources().getXObjectNames()) {
+                forms.add(page.getResources().getCOSObject().getCOSDictionary(COSName.XOBJECT).getItem(name));
+            }
+        }
+        return forms;
+    }
+
+    private List<String> getContentStreams(PDPage page) throws IOException {
+        List<String> streams = new ArrayList<>();
+        Iterator<PDStream> iterator = page.getContentStreams();
+        while (iterator.hasNext()) {
+            streams.add(new String(iterator.next().toByteArray(), StandardCharsets.ISO_8859_1));
+        }
+        return streams;
+    }
+}
@@ -0,0 +1,97 @@
+package wiki.xsx.core.pdf.doc;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.Assert;
+import org.junit.Test;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfTotalPagePlaceholderTest {
+
+    @Test
+    public void testTotalPage() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page"))
+        ).setGlobalFooter(
+                XEasyPdfHandler.Footer.build(
+                        XEasyPdfHandler.Text.build(
+                                XEasyPdfHandler.Page.getCurrentPagePlaceholder() + " of " + XEasyPdfHandler.Page.getTotalPagePlaceholder()
+                        )
+                )
+        ).enableReplaceTotalPagePlaceholder().save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int i = 1; i <= 3; i++) {
+                stripper.setStartPage(i);
+                stripper.setEndPage(i);
+                Assert.assertTrue(stripper.getText(document).contains(i + " of 3"));
+            }
+        }
+    }
+
+    @Test
+    public void testFillInheritedResources() throws IOException {
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build().enableReplaceTotalPagePlaceholder();
+        PDDocument target = document.getTarget();
+        PDFont font = PDType0Font.load(
+                target, PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf"), false
+        );
+        PDFormXObject form = XEasyPdfTotalPagePlaceholder.getForm(
+                document, font, 12F, XEasyPdfHandler.Page.getTotalPagePlaceholder() + " pages"
+        );
+        // 表单仅位于页面树根节点资源中，由页面继承
+        PDResources resources = new PDResources();
+        resources.add(form);
+        target.getPages().getCOSObject().setItem(COSName.RESOURCES, resources);
+        for (int i = 0; i < 12; i++) {
+            PDPage page = new PDPage();
+            target.addPage(page);
+            page.getCOSObject().removeItem(COSName.RESOURCES);
+        }
+        XEasyPdfTotalPagePlaceholder.fill(target, target.getNumberOfPages());
+        PDFStreamParser parser = new PDFStreamParser(form.getContentStream().toByteArray());
+        parser.parse();
+        List<byte[]> strings = new ArrayList<>();
+        for (Object token : parser.getTokens()) {
+            if (token instanceof COSString) {
+                strings.add(((COSString) token).getBytes());
+            }
+        }
+        Assert.assertEquals(2, strings.size());
+        Assert.assertArrayEquals(font.encode("12"), strings.get(0));
+        Assert.assertArrayEquals(font.encode(" pages"), strings.get(1));
+        document.close();
+    }
+}
@@ -0,0 +1,179 @@
+package wiki.xsx.core.pdf.handler;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.util.XEasyPdfFontUtil;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontMapperHandlerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final XEasyPdfFontMapperHandler handler = XEasyPdfFontMapperHandler.getInstance();
+
+    private byte[] fontBytes;
+
+    private long maxSize;
+
+    @Before
+    public void setup() throws IOException {
+        try (InputStream inputStream = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            this.fontBytes = IOUtils.toByteArray(inputStream);
+        }
+        this.maxSize = this.handler.getMaxSize();
+        this.handler.clear();
+    }
+
+    @After
+    public void clean() {
+        this.handler.clear();
+        this.handler.setMaxSize(this.maxSize);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws IOException {
+        long pinnedSize = this.handler.getPinnedSize();
+        int pinnedCount = this.handler.getPinnedFontCount();
+        Assert.assertEquals(pinnedSize, this.handler.getSize());
+        Assert.assertEquals(pinnedCount, this.handler.getFontCount());
+        this.handler.setMaxSize(pinnedSize + 2L * this.fontBytes.length);
+        TrueTypeFont first = this.parse();
+        this.handler.addFont("test:first", first);
+        this.handler.addFont("test:second", this.parse());
+        Assert.assertEquals(pinnedSize + 2L * this.fontBytes.length, this.handler.getSize());
+        long hitCount = this.handler.getHitCount();
+        Assert.assertSame(first, this.handler.getFontByPath("test:first"));
+        Assert.assertEquals(hitCount + 1, this.handler.getHitCount());
+        long evictionCount = this.handler.getEvictionCount();
+        this.handler.addFont("test:third", this.parse());
+        // 淘汰最久未使用的非固定字体
+        Assert.assertEquals(evictionCount + 1, this.handler.getEvictionCount());
+        Assert.assertSame(first, this.handler.getFontByPath("test:first"));
+        Assert.assertNotNull(this.handler.getFontByPath("test:third"));
+        long missCount = this.handler.getMissCount();
+        Assert.assertNull(this.handler.getFontByPath("test:second"));
+        Assert.assertEquals(missCount + 1, this.handler.getMissCount());
+        Assert.assertEquals(pinnedCount + 2, this.handler.getFontCount());
+        // 固定字体不淘汰
+        this.handler.setMaxSize(0L);
+        Assert.assertEquals(pinnedCount, this.handler.getFontCount());
+        Assert.assertEquals(pinnedSize, this.handler.getSize());
+    }
+
+    @Test
+    public void testRetainCurrentFont() throws IOException {
+        this.handler.setMaxSize(0L);
+        TrueTypeFont font = this.parse();
+        this.handler.addFont("test:current", font);
+        // 超出容量时仍保留当前添加的字体
+        Assert.assertSame(font, this.handler.getFontByPath("test:current"));
+        this.handler.clear();
+        Assert.assertNull(this.handler.getFontByPath("test:current"));
+        Assert.assertEquals(this.handler.getPinnedFontCount(), this.handler.getFontCount());
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("wiki.xsx.core.pdf:type=FontMapperHandler");
+        Assert.assertTrue(server.isRegistered(name));
+        Assert.assertEquals(this.handler.getFontCount(), server.getAttribute(name, "FontCount"));
+        Assert.assertEquals(this.handler.getPinnedSize(), server.getAttribute(name, "PinnedSize"));
+        server.setAttribute(name, new Attribute("MaxSize", 1024L));
+        Assert.assertEquals(1024L, this.handler.getMaxSize());
+        this.handler.addFont("test:mbean", this.parse());
+        server.invoke(name, "clear", null, null);
+        Assert.assertNull(this.handler.getFontByPath("test:mbean"));
+    }
+
+    @Test
+    public void testCloseEvictedFontAfterDocumentClose() throws IOException {
+        Assume.assumeTrue(new File("/proc/self/fd").isDirectory());
+        File file = this.newFontFile();
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build();
+        XEasyPdfFontUtil.loadFont(document, file.getPath(), true);
+        Assert.assertTrue(this.isOpen(file));
+        this.handler.setMaxSize(0L);
+        Assert.assertNull(this.handler.getFontByPath(file.getPath()));
+        // 淘汰后仍被未关闭的文档使用，不关闭字体
+        Assert.assertTrue(this.isOpen(file));
+        document.save(new ByteArrayOutputStream()).close();
+        Assert.assertFalse(this.isOpen(file));
+    }
+
+    @Test
+    public void testCloseUnusedEvictedFont() throws IOException {
+        Assume.assumeTrue(new File("/proc/self/fd").isDirectory());
+        File file = this.newFontFile();
+        this.handler.addFont("test:unused", new TTFParser(false, true).parse(file));
+        Assert.assertTrue(this.isOpen(file));
+        this.handler.clear();
+        Assert.assertFalse(this.isOpen(file));
+    }
+
+    private File newFontFile() throws IOException {
+        File file = this.folder.newFile("font.ttf");
+        Files.write(file.toPath(), this.fontBytes);
+        return file;
+    }
+
+    private boolean isOpen(File file) throws IOException {
+        Path target = file.toPath().toRealPath();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get("/proc/self/fd"))) {
+            for (Path fd : stream) {
+                try {
+                    if (target.equals(Files.readSymbolicLink(fd))) {
+                        return true;
+                    }
+                } catch (IOException e) {
+                    // 描述符已关闭
+                }
+            }
+        }
+        return false;
+    }
+
+    private TrueTypeFont parse() throws IOException {
+        return new TTFParser().parse(new ByteArrayInputStream(this.fontBytes));
+    }
+}
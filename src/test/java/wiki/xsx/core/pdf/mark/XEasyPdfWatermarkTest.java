@@ -0,0 +1,90 @@
+package wiki.xsx.core.pdf.mark;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.Assert;
+import org.junit.Test;
+import wiki.xsx.core.pdf.doc.XEasyPdfPageRectangle;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.awt.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfWatermarkTest {
+
+    @Test
+    public void testSharedForm() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 1")),
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build("page 2")),
+                XEasyPdfHandler.Page.build(XEasyPdfPageRectangle.A5, XEasyPdfHandler.Text.build("page 3"))
+        ).setGlobalWatermark(XEasyPdfHandler.Watermark.build("watermark")).save(outputStream).close();
+        try (PDDocument document = PDDocument.load(outputStream.toByteArray())) {
+            Object first = this.getForm(document.getPage(0).getResources());
+            Assert.assertNotNull(first);
+            // 相同尺寸页面共享同一水印表单
+            Assert.assertSame(first, this.getForm(document.getPage(1).getResources()));
+            // 不同尺寸页面使用单独水印表单
+            Assert.assertNotSame(first, this.getForm(document.getPage(2).getResources()));
+        }
+    }
+
+    @Test
+    public void testFormKey() {
+        XEasyPdfWatermarkParam param = new XEasyPdfWatermarkParam().setText("watermark");
+        PDRectangle rectangle = PDRectangle.A4;
+        String key = param.getFormKey(rectangle);
+        Assert.assertEquals(key, param.getFormKey(new PDRectangle(rectangle.getWidth(), rectangle.getHeight())));
+        Assert.assertNotEquals(key, param.getFormKey(PDRectangle.A5));
+        Assert.assertNotEquals(key, key = param.setText("other").getFormKey(rectangle));
+        Assert.assertNotEquals(key, key = param.setFontColor(Color.RED).getFormKey(rectangle));
+        Assert.assertNotEquals(key, key = param.setAlpha(0.5F).getFormKey(rectangle));
+        Assert.assertNotEquals(key, key = param.setRadians(45D).getFormKey(rectangle));
+        Assert.assertNotEquals(key, key = param.setFontSize(20F).getFormKey(rectangle));
+        Assert.assertNotEquals(key, param.setFontPath("other.ttf").getFormKey(rectangle));
+    }
+
+    @Test
+    public void testFormCacheDoesNotPinDocument() throws InterruptedException {
+        XEasyPdfWatermarkParam param = new XEasyPdfWatermarkParam().setText("watermark");
+        PDDocument document = new PDDocument();
+        Assert.assertNotSame(param.getFormCache(new PDDocument()), param.getFormCache(document));
+        Assert.assertSame(param.getFormCache(document), param.getFormCache(document));
+        WeakReference<PDDocument> reference = new WeakReference<>(document);
+        document = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        // 水印参数不应强引用已不再使用的文档
+        Assert.assertNull(reference.get());
+    }
+
+    private Object getForm(PDResources resources) {
+        for (COSName name : resources.getXObjectNames()) {
+            return resources.getCOSObject().getCOSDictionary(COSName.XOBJECT).getItem(name);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,199 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.handler.XEasyPdfFontMapperHandler;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontCollectionTest {
+
+    private static final String NAME = "LiberationSans";
+
+    private static final String OTHER_NAME = "LiberationSanz";
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static File file;
+
+    private static File sameNameFile;
+
+    @BeforeClass
+    public static void setup() throws IOException {
+        byte[] font;
+        try (InputStream inputStream = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+            font = IOUtils.toByteArray(inputStream);
+        }
+        // 由同一字体生成两个字体的集合，第二个字体重命名
+        file = folder.newFile("fonts.ttc");
+        Files.write(file.toPath(), createCollection(font, rename(font)));
+        // 两个同名字体的集合，第二个字体仅字重不同
+        sameNameFile = folder.newFile("same-name.ttc");
+        Files.write(sameNameFile.toPath(), createCollection(font, bold(font)));
+    }
+
+    @Test
+    public void testNames() {
+        XEasyPdfFontCollection collection = XEasyPdfFontCollection.getInstance(file);
+        Assert.assertSame(collection, XEasyPdfFontCollection.getInstance(new File(file.getPath())));
+        Assert.assertEquals(2, collection.size());
+        Assert.assertEquals(Arrays.asList(NAME, OTHER_NAME), collection.getNames());
+    }
+
+    @Test
+    public void testIndex() {
+        XEasyPdfFontCollection collection = XEasyPdfFontCollection.getInstance(file);
+        Assert.assertEquals(0, collection.getIndex("0"));
+        Assert.assertEquals(1, collection.getIndex(" 1 "));
+        Assert.assertEquals(0, collection.getIndex(NAME));
+        Assert.assertEquals(1, collection.getIndex(OTHER_NAME));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndexOutOfRange() {
+        XEasyPdfFontCollection.getInstance(file).getIndex("2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingName() {
+        XEasyPdfFontCollection.getInstance(file).getIndex("Missing");
+    }
+
+    @Test
+    public void testLoadFont() throws IOException {
+        XEasyPdfFontCollection collection = XEasyPdfFontCollection.getInstance(file);
+        TrueTypeFont font = collection.loadFont(1);
+        Assert.assertEquals(OTHER_NAME, font.getName());
+        Assert.assertTrue(font.getNumberOfGlyphs() > 0);
+        Assert.assertNotSame(font, collection.loadFont(1));
+    }
+
+    @Test
+    public void testFontPath() {
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build();
+        PDFont byIndex = XEasyPdfFontUtil.loadFont(document, file.getPath() + ",1", true);
+        PDFont byName = XEasyPdfFontUtil.loadFont(document, file.getPath() + "," + OTHER_NAME, true);
+        Assert.assertTrue(byIndex.getName().endsWith(OTHER_NAME));
+        Assert.assertTrue(byName.getName().endsWith(OTHER_NAME));
+        Assert.assertTrue(XEasyPdfFontUtil.loadFont(document, file.getPath() + "," + NAME, true).getName().endsWith(NAME));
+        document.close();
+    }
+
+    @Test
+    public void testLoadSameNameFontByIndex() throws IOException {
+        XEasyPdfFontCollection collection = XEasyPdfFontCollection.getInstance(sameNameFile);
+        Assert.assertEquals(Arrays.asList(NAME, NAME), collection.getNames());
+        Assert.assertEquals(400, collection.loadFont(0).getOS2Windows().getWeightClass());
+        Assert.assertEquals(700, collection.loadFont(1).getOS2Windows().getWeightClass());
+    }
+
+    @Test
+    public void testCacheByIndex() {
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build();
+        PDFont byName = XEasyPdfFontUtil.loadFont(document, file.getPath() + "," + OTHER_NAME, true);
+        // 名称与索引指向同一字体时，共用同一缓存
+        Assert.assertSame(byName, XEasyPdfFontUtil.loadFont(document, file.getPath() + ",1", true));
+        // 共享字体按字体索引缓存
+        Assert.assertNotNull(XEasyPdfFontMapperHandler.getInstance().getFontByPath(file.getPath() + ",1"));
+        Assert.assertNull(XEasyPdfFontMapperHandler.getInstance().getFontByPath(file.getPath() + "," + OTHER_NAME));
+        document.close();
+    }
+
+    private static byte[] bold(byte[] font) {
+        byte[] data = font.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int numTables = buffer.getShort(4);
+        for (int i = 0; i < numTables; i++) {
+            int record = 12 + i * 16;
+            if ("OS/2".equals(new String(data, record, 4, StandardCharsets.US_ASCII))) {
+                // usWeightClass
+                buffer.putShort(buffer.getInt(record + 8) + 4, (short) 700);
+            }
+        }
+        return data;
+    }
+
+    private static byte[] rename(byte[] font) {
+        byte[] data = font.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int numTables = buffer.getShort(4);
+        for (int i = 0; i < numTables; i++) {
+            int record = 12 + i * 16;
+            if ("name".equals(new String(data, record, 4, StandardCharsets.US_ASCII))) {
+                int offset = buffer.getInt(record + 8);
+                int length = buffer.getInt(record + 12);
+                replace(data, offset, length, NAME.getBytes(StandardCharsets.US_ASCII), OTHER_NAME.getBytes(StandardCharsets.US_ASCII));
+                replace(data, offset, length, NAME.getBytes(StandardCharsets.UTF_16BE), OTHER_NAME.getBytes(StandardCharsets.UTF_16BE));
+            }
+        }
+        return data;
+    }
+
+    private static void replace(byte[] data, int offset, int length, byte[] source, byte[] target) {
+        for (int i = offset, end = offset + length - source.length; i <= end; i++) {
+            if (Arrays.equals(source, Arrays.copyOfRange(data, i, i + source.length))) {
+                System.arraycopy(target, 0, data, i, target.length);
+            }
+        }
+    }
+
+    private static byte[] createCollection(byte[]... fonts) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int headerSize = 12 + fonts.length * 4;
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.put("ttcf".getBytes(StandardCharsets.US_ASCII)).putInt(0x00010000).putInt(fonts.length);
+        int position = headerSize;
+        byte[][] parts = new byte[fonts.length][];
+        for (int i = 0; i < fonts.length; i++) {
+            header.putInt(position);
+            // 表偏移量为相对于集合文件的绝对位置
+            byte[] data = Arrays.copyOf(fonts[i], (fonts[i].length + 3) & ~3);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            int numTables = buffer.getShort(4);
+            for (int j = 0; j < numTables; j++) {
+                int record = 12 + j * 16;
+                buffer.putInt(record + 8, buffer.getInt(record + 8) + position);
+            }
+            parts[i] = data;
+            position += data.length;
+        }
+        outputStream.write(header.array(), 0, headerSize);
+        for (byte[] part : parts) {
+            outputStream.write(part, 0, part.length);
+        }
+        return outputStream.toByteArray();
+    }
+}
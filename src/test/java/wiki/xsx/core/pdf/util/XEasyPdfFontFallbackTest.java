@@ -0,0 +1,125 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.doc.XEasyPdfDefaultFontStyle;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontFallbackTest {
+
+    private static final String PRIMARY_FONT_PATH = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+    private static final String FALLBACK_FONT_PATH = XEasyPdfDefaultFontStyle.LIGHT.getPath();
+
+    private XEasyPdfDocument document;
+
+    private PDFont primary;
+
+    private PDFont secondary;
+
+    private XEasyPdfFontFallback fallback;
+
+    private String symbol;
+
+    @Before
+    public void setup() throws IOException {
+        this.document = XEasyPdfHandler.Document.build();
+        this.primary = XEasyPdfFontUtil.loadFont(this.document, PRIMARY_FONT_PATH, true);
+        this.secondary = XEasyPdfFontUtil.loadFont(this.document, FALLBACK_FONT_PATH, true);
+        this.fallback = XEasyPdfFontFallback.getInstance(this.document, this.primary, Collections.singletonList(FALLBACK_FONT_PATH));
+        for (String candidate : new String[]{"测", "☃", "✓", "♥"}) {
+            if (this.fallback.getFont(candidate.codePointAt(0)) == this.secondary) {
+                this.symbol = candidate;
+                break;
+            }
+        }
+        Assert.assertNotNull("no code point covered only by the fallback font", this.symbol);
+    }
+
+    @After
+    public void clean() throws IOException {
+        this.document.close();
+    }
+
+    @Test
+    public void testGetFont() {
+        Assert.assertSame(this.primary, this.fallback.getFont());
+        Assert.assertSame(this.primary, this.fallback.getFont('a'));
+        Assert.assertSame(this.primary, this.fallback.getFont("abc", null));
+        Assert.assertSame(this.secondary, this.fallback.getFont("abc", this.secondary));
+        Assert.assertSame(this.secondary, this.fallback.getFont("a" + this.symbol, null));
+        Assert.assertSame(this.primary, XEasyPdfFontFallback.getInstance(this.document, this.primary, null).getFont(this.symbol, null));
+    }
+
+    @Test
+    public void testStringWidth() throws IOException {
+        float expected = this.primary.getStringWidth("ab") + this.secondary.getStringWidth(this.symbol);
+        Assert.assertEquals(expected, this.fallback.getStringWidth("a" + this.symbol + "b"), 0.01F);
+        Assert.assertEquals(3, this.fallback.getCharacterWidths("a" + this.symbol + "b").length);
+    }
+
+    @Test
+    public void testDrawText() throws IOException {
+        String text = "ab" + this.symbol + "cd";
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(
+                        XEasyPdfHandler.Text.build(text).setFontPath(PRIMARY_FONT_PATH).setFallbackFontPath(FALLBACK_FONT_PATH)
+                )
+        ).save(outputStream).close();
+        try (PDDocument target = PDDocument.load(outputStream.toByteArray())) {
+            Assert.assertEquals(text, new PDFTextStripper().getText(target).trim());
+            Assert.assertEquals(2, target.getPage(0).getResources().getCOSObject().getCOSDictionary(COSName.FONT).size());
+        }
+    }
+
+    @Test
+    public void testDrawTotalPageSuffix() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(),
+                XEasyPdfHandler.Page.build()
+        ).setGlobalFooter(
+                XEasyPdfHandler.Footer.build(
+                        XEasyPdfHandler.Text.build("a" + XEasyPdfHandler.Page.getTotalPagePlaceholder() + "b" + this.symbol)
+                                .setFontPath(PRIMARY_FONT_PATH)
+                                .setFallbackFontPath(FALLBACK_FONT_PATH)
+                )
+        ).enableReplaceTotalPagePlaceholder().save(outputStream).close();
+        try (PDDocument target = PDDocument.load(outputStream.toByteArray())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int i = 1; i <= 2; i++) {
+                stripper.setStartPage(i);
+                stripper.setEndPage(i);
+                Assert.assertEquals("a2b" + this.symbol, stripper.getText(target).trim());
+            }
+        }
+    }
+}
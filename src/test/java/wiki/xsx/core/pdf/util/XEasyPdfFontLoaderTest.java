@@ -0,0 +1,134 @@
+package wiki.xsx.core.pdf.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontLoaderTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<FutureTask<Object>> tasks = this.start("single", () -> {
+            count.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new Object();
+        }, started);
+        release.countDown();
+        Object result = tasks.get(0).get(5, TimeUnit.SECONDS);
+        for (FutureTask<Object> task : tasks) {
+            // 同一key的并发请求共享同一次加载
+            Assert.assertSame(result, task.get(5, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(1, count.get());
+        // 加载完成后移除任务，结果由调用方缓存
+        Assert.assertNotSame(result, XEasyPdfFontLoader.load("single", Object::new));
+    }
+
+    @Test
+    public void testException() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<FutureTask<Object>> tasks = this.start("error", () -> {
+            count.incrementAndGet();
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("load failed");
+        }, started);
+        release.countDown();
+        for (FutureTask<Object> task : tasks) {
+            try {
+                task.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+                Assert.assertEquals("load failed", e.getCause().getMessage());
+            }
+        }
+        Assert.assertEquals(1, count.get());
+        Assert.assertEquals("loaded", XEasyPdfFontLoader.load("error", () -> "loaded"));
+    }
+
+    @Test
+    public void testDifferentKeys() throws Exception {
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+        // 不同key并行加载，两个加载器互相等待对方开始
+        FutureTask<Boolean> task = new FutureTask<>(() -> XEasyPdfFontLoader.load("first", () -> {
+            first.countDown();
+            return awaitResult(second);
+        }));
+        new Thread(task).start();
+        Assert.assertTrue(XEasyPdfFontLoader.load("second", () -> {
+            second.countDown();
+            return awaitResult(first);
+        }));
+        Assert.assertTrue(task.get(5, TimeUnit.SECONDS));
+    }
+
+    private List<FutureTask<Object>> start(String key, Supplier<Object> loader, CountDownLatch started) throws InterruptedException {
+        List<FutureTask<Object>> tasks = new ArrayList<>(THREAD_COUNT);
+        FutureTask<Object> first = new FutureTask<>(() -> XEasyPdfFontLoader.load(key, loader));
+        tasks.add(first);
+        new Thread(first).start();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < THREAD_COUNT; i++) {
+            FutureTask<Object> task = new FutureTask<>(() -> XEasyPdfFontLoader.load(key, loader));
+            Thread thread = new Thread(task);
+            tasks.add(task);
+            thread.start();
+            // 等待线程进入等待状态（等待首个加载完成）
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            Assert.assertEquals(Thread.State.WAITING, thread.getState());
+        }
+        return tasks;
+    }
+
+    private static void await(CountDownLatch latch) {
+        if (!awaitResult(latch)) {
+            throw new IllegalStateException("timeout");
+        }
+    }
+
+    private static boolean awaitResult(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
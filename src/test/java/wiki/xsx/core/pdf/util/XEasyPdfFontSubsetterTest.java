@@ -0,0 +1,118 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import wiki.xsx.core.pdf.doc.XEasyPdfDefaultFontStyle;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontSubsetterTest {
+
+    @Before
+    public void setup() {
+        XEasyPdfFontSubsetter.clear();
+    }
+
+    @After
+    public void cleanup() {
+        XEasyPdfFontSubsetter.clear();
+    }
+
+    @Test
+    public void testSubsetText() throws IOException {
+        try (PDDocument document = PDDocument.load(this.build("hello subset"))) {
+            Assert.assertEquals("hello subset", new PDFTextStripper().getText(document).trim());
+            Assert.assertTrue(this.getFontName(document).matches("[A-Z]{6}\\+.+"));
+        }
+        Assert.assertEquals(1L, XEasyPdfFontSubsetter.getMissCount());
+    }
+
+    @Test
+    public void testCacheHit() throws IOException {
+        byte[] first = this.build("hello subset");
+        byte[] second = this.build("hello subset");
+        byte[] third = this.build("subset");
+        Assert.assertEquals(1L, XEasyPdfFontSubsetter.getMissCount());
+        Assert.assertEquals(2L, XEasyPdfFontSubsetter.getHitCount());
+        try (
+                PDDocument firstDocument = PDDocument.load(first);
+                PDDocument secondDocument = PDDocument.load(second);
+                PDDocument thirdDocument = PDDocument.load(third)
+        ) {
+            // 覆盖字形集合的子集被复用
+            Assert.assertEquals(this.getFontName(firstDocument), this.getFontName(secondDocument));
+            Assert.assertEquals(this.getFontName(firstDocument), this.getFontName(thirdDocument));
+            Assert.assertEquals("subset", new PDFTextStripper().getText(thirdDocument).trim());
+        }
+    }
+
+    @Test
+    public void testDisableCache() {
+        XEasyPdfFontSubsetter.setMaxCount(0);
+        try {
+            this.build("hello subset");
+            this.build("hello subset");
+            Assert.assertEquals(2L, XEasyPdfFontSubsetter.getMissCount());
+        } finally {
+            XEasyPdfFontSubsetter.setMaxCount(32);
+        }
+    }
+
+    @Test
+    public void testSuperset() throws IOException {
+        XEasyPdfFontSubsetter.setSuperset(XEasyPdfDefaultFontStyle.NORMAL.getPath(), "abcdefghijklmnopqrstuvwxyz ");
+        try (
+                PDDocument first = PDDocument.load(this.build("hello"));
+                PDDocument second = PDDocument.load(this.build("world"))
+        ) {
+            Assert.assertEquals(0L, XEasyPdfFontSubsetter.getMissCount());
+            Assert.assertEquals(this.getFontName(first), this.getFontName(second));
+            Assert.assertEquals("world", new PDFTextStripper().getText(second).trim());
+        }
+        byte[] bytes = this.build("HELLO");
+        Assert.assertEquals(1L, XEasyPdfFontSubsetter.getMissCount());
+        try (PDDocument document = PDDocument.load(bytes)) {
+            Assert.assertEquals("HELLO", new PDFTextStripper().getText(document).trim());
+        }
+    }
+
+    private byte[] build(String text) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(
+                XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build(text))
+        ).save(outputStream).close();
+        return outputStream.toByteArray();
+    }
+
+    private String getFontName(PDDocument document) throws IOException {
+        PDResources resources = document.getPage(0).getResources();
+        for (COSName name : resources.getFontNames()) {
+            return resources.getFont(name).getName();
+        }
+        return null;
+    }
+}
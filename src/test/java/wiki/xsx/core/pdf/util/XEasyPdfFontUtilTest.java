@@ -0,0 +1,174 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import wiki.xsx.core.pdf.doc.XEasyPdfDocument;
+import wiki.xsx.core.pdf.handler.XEasyPdfHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontUtilTest {
+
+    private static final String FONT_CACHE_DIR_KEY = "x-easypdf.font.cache";
+
+    private static final String JAR_FONT_PATH = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void clean() {
+        System.clearProperty(FONT_CACHE_DIR_KEY);
+    }
+
+    @Test
+    public void testExtractJarResource() throws IOException {
+        // 仅在此处使用临时缓存目录（已加载的字体全局缓存，不能指向测试结束后删除的文件）
+        File cacheDirectory = new File(this.folder.getRoot(), "fonts");
+        System.setProperty(FONT_CACHE_DIR_KEY, cacheDirectory.getPath());
+        File file = XEasyPdfFontUtil.getFontFile(JAR_FONT_PATH);
+        Assert.assertEquals(cacheDirectory, file.getParentFile());
+        try (InputStream inputStream = PDDocument.class.getResourceAsStream(JAR_FONT_PATH)) {
+            Assert.assertArrayEquals(IOUtils.toByteArray(inputStream), Files.readAllBytes(file.toPath()));
+        }
+        long lastModified = file.lastModified();
+        Assert.assertEquals(file, XEasyPdfFontUtil.getFontFile(JAR_FONT_PATH));
+        Assert.assertEquals(lastModified, file.lastModified());
+        Assert.assertEquals(1, cacheDirectory.list().length);
+    }
+
+    @Test
+    public void testFilePath() throws IOException {
+        File file = this.folder.newFile("font.ttf");
+        Assert.assertEquals(file, XEasyPdfFontUtil.getFontFile(file.getPath()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFile() {
+        XEasyPdfFontUtil.getFontFile(new File(this.folder.getRoot(), "missing.ttf").getPath());
+    }
+
+    @Test
+    public void testLoadFont() throws IOException {
+        XEasyPdfDocument document = XEasyPdfHandler.Document.build();
+        PDFont font = XEasyPdfFontUtil.loadFont(document, JAR_FONT_PATH, true);
+        Assert.assertSame(font, XEasyPdfFontUtil.loadFont(document, JAR_FONT_PATH, true));
+        Assert.assertTrue(font.getStringWidth("font") > 0);
+        document.close();
+    }
+
+    @Test
+    public void testFontPerDocument() throws IOException {
+        XEasyPdfDocument first = XEasyPdfHandler.Document.build();
+        XEasyPdfDocument second = XEasyPdfHandler.Document.build();
+        PDFont firstFont = XEasyPdfFontUtil.loadFont(first, JAR_FONT_PATH, true);
+        PDFont secondFont = XEasyPdfFontUtil.loadFont(second, JAR_FONT_PATH, true);
+        // 每个文档独立创建字体，共享同一个已解析的ttf字体
+        Assert.assertNotSame(firstFont, secondFont);
+        Assert.assertNotSame(firstFont.getCOSObject(), secondFont.getCOSObject());
+        Assert.assertSame(this.getTrueTypeFont(firstFont), this.getTrueTypeFont(secondFont));
+        Assert.assertEquals(firstFont.getStringWidth("width"), secondFont.getStringWidth("width"), 0F);
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void testSubsetPerDocument() throws IOException {
+        byte[] first = this.create("aaaa");
+        byte[] second = this.create("The quick brown fox");
+        // 子集状态互不影响
+        Assert.assertEquals(2, this.getGlyphCount(first));
+        Assert.assertTrue(this.getGlyphCount(second) > 10);
+        try (PDDocument document = PDDocument.load(second)) {
+            Assert.assertTrue(new PDFTextStripper().getText(document).contains("The quick brown fox"));
+        }
+    }
+
+    @Test
+    public void testConcurrentDocuments() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>(8);
+            for (int i = 0; i < 8; i++) {
+                String text = "document" + i;
+                futures.add(executor.submit(() -> this.create(text)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try (PDDocument document = PDDocument.load(futures.get(i).get())) {
+                    Assert.assertTrue(new PDFTextStripper().getText(document).contains("document" + i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TrueTypeFont getTrueTypeFont(PDFont font) {
+        return ((PDCIDFontType2) ((PDType0Font) font).getDescendantFont()).getTrueTypeFont();
+    }
+
+    private byte[] create(String text) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XEasyPdfHandler.Document.build(XEasyPdfHandler.Page.build(XEasyPdfHandler.Text.build(text)))
+                .setFontPath(JAR_FONT_PATH)
+                .save(outputStream)
+                .close();
+        return outputStream.toByteArray();
+    }
+
+    private int getGlyphCount(byte[] bytes) throws IOException {
+        try (PDDocument document = PDDocument.load(bytes)) {
+            PDResources resources = document.getPage(0).getResources();
+            for (COSName name : resources.getFontNames()) {
+                PDType0Font font = (PDType0Font) resources.getFont(name);
+                try (InputStream inputStream = font.getDescendantFont().getFontDescriptor().getFontFile2().createInputStream()) {
+                    TrueTypeFont subset = new TTFParser(true).parse(inputStream);
+                    try {
+                        return subset.getNumberOfGlyphs();
+                    } finally {
+                        subset.close();
+                    }
+                }
+            }
+        }
+        throw new AssertionError("the font can not be found");
+    }
+}
@@ -0,0 +1,181 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.fontbox.util.BoundingBox;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfFontWidthCacheTest {
+
+    @Test
+    public void testMatchesFontWidth() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDFont font = PDType0Font.load(
+                    document, PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")
+            );
+            String text = "The quick brown fox jumps over the lazy dog 0123456789 !?";
+            Assert.assertEquals(font.getStringWidth(text), XEasyPdfFontWidthCache.getStringWidth(font, text), 0F);
+            Assert.assertEquals(font.getStringWidth(text), XEasyPdfFontWidthCache.getStringWidth(font, text), 0F);
+            Assert.assertEquals(0F, XEasyPdfFontWidthCache.getStringWidth(font, ""), 0F);
+            Assert.assertEquals(0F, XEasyPdfFontWidthCache.getStringWidth(font, null), 0F);
+        }
+    }
+
+    @Test
+    public void testInstancePerFont() throws IOException {
+        CountingFont font = new CountingFont();
+        CountingFont other = new CountingFont();
+        Assert.assertSame(XEasyPdfFontWidthCache.getInstance(font), XEasyPdfFontWidthCache.getInstance(font));
+        Assert.assertNotSame(XEasyPdfFontWidthCache.getInstance(font), XEasyPdfFontWidthCache.getInstance(other));
+    }
+
+    @Test
+    public void testBasicPlaneMeasuredOnce() throws IOException {
+        CountingFont font = new CountingFont();
+        String text = "abc测试文本abc测试";
+        float width = XEasyPdfFontWidthCache.getStringWidth(font, text);
+        Assert.assertEquals(font.getExpectedWidth(text), width, 0F);
+        Assert.assertEquals(7, font.count);
+        Assert.assertEquals(width, XEasyPdfFontWidthCache.getStringWidth(font, text), 0F);
+        Assert.assertEquals(7, font.count);
+    }
+
+    @Test
+    public void testSupplementaryPlanesMeasuredOnce() throws IOException {
+        CountingFont font = new CountingFont();
+        StringBuilder builder = new StringBuilder();
+        // 超过稀疏字典初始容量，覆盖扩容
+        for (int codePoint = 0x1F300; codePoint < 0x1F300 + 500; codePoint++) {
+            builder.appendCodePoint(codePoint);
+        }
+        builder.appendCodePoint(0x20000).append('a').appendCodePoint(0x20000);
+        String text = builder.toString();
+        float width = XEasyPdfFontWidthCache.getStringWidth(font, text);
+        Assert.assertEquals(font.getExpectedWidth(text), width, 0F);
+        Assert.assertEquals(502, font.count);
+        Assert.assertEquals(width, XEasyPdfFontWidthCache.getStringWidth(font, text), 0F);
+        Assert.assertEquals(502, font.count);
+        float[] widths = XEasyPdfTextUtil.getCharacterWidths(new String(Character.toChars(0x20000)), font);
+        Assert.assertEquals(CountingFont.getCodePointWidth(0x20000), widths[0], 0F);
+        Assert.assertEquals(0F, widths[1], 0F);
+    }
+
+    private static class CountingFont extends PDFont {
+
+        private int count;
+
+        CountingFont() throws IOException {
+            super(new COSDictionary());
+        }
+
+        static float getCodePointWidth(int codePoint) {
+            return 100F + codePoint % 900;
+        }
+
+        float getExpectedWidth(String text) {
+            float width = 0F;
+            for (int i = 0, codePoint; i < text.length(); i += Character.charCount(codePoint)) {
+                codePoint = text.codePointAt(i);
+                width += getCodePointWidth(codePoint);
+            }
+            return width;
+        }
+
+        @Override
+        public float getStringWidth(String text) {
+            this.count++;
+            return this.getExpectedWidth(text);
+        }
+
+        @Override
+        protected float getStandard14Width(int code) {
+            return 0F;
+        }
+
+        @Override
+        protected byte[] encode(int unicode) {
+            return new byte[0];
+        }
+
+        @Override
+        public int readCode(InputStream in) {
+            return 0;
+        }
+
+        @Override
+        public boolean isVertical() {
+            return false;
+        }
+
+        @Override
+        public void addToSubset(int codePoint) {
+        }
+
+        @Override
+        public void subset() {
+        }
+
+        @Override
+        public boolean willBeSubset() {
+            return false;
+        }
+
+        @Override
+        public boolean hasExplicitWidth(int code) {
+            return false;
+        }
+
+        @Override
+        public boolean isDamaged() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmbedded() {
+            return false;
+        }
+
+        @Override
+        public float getWidthFromFont(int code) {
+            return 0F;
+        }
+
+        @Deprecated
+        @Override
+        public float getHeight(int code) {
+            return 0F;
+        }
+
+        @Override
+        public BoundingBox getBoundingBox() {
+            return new BoundingBox();
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfImageCacheTest {
+
+    private long maxSize;
+
+    private BufferedImage image;
+
+    private AtomicInteger count;
+
+    @Before
+    public void setup() {
+        this.maxSize = XEasyPdfImageCache.getMaxSize();
+        XEasyPdfImageCache.clear();
+        this.count = new AtomicInteger();
+        this.image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 64; x++) {
+            for (int y = 0; y < 64; y++) {
+                this.image.setRGB(x, y, (x * 131 + y * 71) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @After
+    public void clean() {
+        XEasyPdfImageCache.setMaxSize(this.maxSize);
+        XEasyPdfImageCache.clear();
+    }
+
+    @Test
+    public void testKey() {
+        byte[] data = {1, 2, 3};
+        Assert.assertEquals(XEasyPdfImageCache.getKey(data, "png", 10), XEasyPdfImageCache.getKey(new byte[]{1, 2, 3}, "png", 10));
+        Assert.assertNotEquals(XEasyPdfImageCache.getKey(data, "png", 10), XEasyPdfImageCache.getKey(data, "png", 20));
+        Assert.assertNotEquals(XEasyPdfImageCache.getKey(data), XEasyPdfImageCache.getKey(new byte[]{1, 2, 4}));
+    }
+
+    @Test
+    public void testSameDocument() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject first = XEasyPdfImageCache.getImage(document, "key", this.creator(document));
+            PDImageXObject second = XEasyPdfImageCache.getImage(document, "key", this.creator(document));
+            Assert.assertSame(first, second);
+            Assert.assertEquals(1, this.count.get());
+            Assert.assertEquals(1L, XEasyPdfImageCache.getMissCount());
+            Assert.assertEquals(1L, XEasyPdfImageCache.getHitCount());
+        }
+    }
+
+    @Test
+    public void testAcrossDocuments() throws IOException {
+        try (PDDocument first = new PDDocument(); PDDocument second = new PDDocument()) {
+            PDImageXObject source = XEasyPdfImageCache.getImage(first, "key", this.creator(first));
+            Assert.assertTrue(XEasyPdfImageCache.containsTemplate("key"));
+            Assert.assertTrue(XEasyPdfImageCache.getSize() > 0L);
+            PDImageXObject copy = XEasyPdfImageCache.getImage(second, "key", this.creator(second));
+            // 复用已压缩的图片流，不再重新编码
+            Assert.assertEquals(1, this.count.get());
+            Assert.assertNotSame(source.getCOSObject(), copy.getCOSObject());
+            Assert.assertEquals(source.getWidth(), copy.getWidth());
+            Assert.assertEquals(source.getHeight(), copy.getHeight());
+            Assert.assertArrayEquals(this.getRawData(source), this.getRawData(copy));
+            Assert.assertEquals(this.image.getRGB(10, 20), copy.getImage().getRGB(10, 20));
+        }
+    }
+
+    @Test
+    public void testRelease() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject first = XEasyPdfImageCache.getImage(document, "key", this.creator(document));
+            XEasyPdfImageCache.release(document);
+            PDImageXObject second = XEasyPdfImageCache.getImage(document, "key", this.creator(document));
+            Assert.assertNotSame(first, second);
+            Assert.assertEquals(1, this.count.get());
+        }
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            XEasyPdfImageCache.getImage(document, "first", this.creator(document));
+            long size = XEasyPdfImageCache.getSize();
+            XEasyPdfImageCache.setMaxSize(size);
+            XEasyPdfImageCache.getImage(document, "second", this.creator(document));
+            // 超出最大字节数时淘汰最久未使用的缓存
+            Assert.assertFalse(XEasyPdfImageCache.containsTemplate("first"));
+            Assert.assertTrue(XEasyPdfImageCache.containsTemplate("second"));
+            Assert.assertTrue(XEasyPdfImageCache.getSize() <= size);
+            XEasyPdfImageCache.setMaxSize(0L);
+            Assert.assertEquals(0L, XEasyPdfImageCache.getSize());
+            XEasyPdfImageCache.getImage(document, "third", this.creator(document));
+            Assert.assertFalse(XEasyPdfImageCache.containsTemplate("third"));
+            Assert.assertEquals(3, this.count.get());
+        }
+    }
+
+    private Supplier<PDImageXObject> creator(PDDocument document) {
+        return () -> {
+            this.count.incrementAndGet();
+            try {
+                return LosslessFactory.createFromImage(document, this.image);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private byte[] getRawData(PDImageXObject image) throws IOException {
+        try (InputStream inputStream = image.getCOSObject().createRawInputStream()) {
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package wiki.xsx.core.pdf.util;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author xsx
+ * @date 2026/10/17
+ * @since 1.8
+ * <p>
+ * Copyright (c) 2020-2022 xsx All Rights Reserved.
+ * x-easypdf is licensed under Mulan PSL v2.
+ * You can use this software according to the terms and conditions of the Mulan PSL v2.
+ * You may obtain a copy of Mulan PSL v2 at:
+ * http://license.coscl.org.cn/MulanPSL2
+ * THIS SOFTWARE IS PROVIDED ON AN "AS IS" BASIS, WITHOUT WARRANTIES OF ANY KIND,
+ * EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FIT FOR A PARTICULAR PURPOSE.
+ * See the Mulan PSL v2 for more details.
+ * </p>
+ */
+public class XEasyPdfTextUtilTest {
+
+    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 .,;:!?-WWWiii";
+
+    private PDDocument document;
+
+    private PDFont font;
+
+    @Before
+    public void setup() throws IOException {
+        this.document = new PDDocument();
+        this.font = PDType0Font.load(
+                this.document, PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")
+        );
+    }
+
+    @After
+    public void clean() throws IOException {
+        this.document.close();
+    }
+
+    @Test
+    public void testSplitLinesMatchesPrefixMeasurement() throws IOException {
+        Random random = new Random(20261017L);
+        float[] lineWidths = {20F, 57.5F, 100F, 333.3F, 595F};
+        float[] fontSizes = {8F, 10.5F, 16F};
+        float[] spacings = {0F, 0.5F, 3F};
+        for (int n = 0; n < 60; n++) {
+            String text = this.randomText(random, 1 + random.nextInt(600));
+            for (float lineWidth : lineWidths) {
+                for (float fontSize : fontSizes) {
+                    for (float spacing : spacings) {
+                        String message = "[" + text + "] " + lineWidth + "/" + fontSize + "/" + spacing;
+                        Assert.assertEquals(
+                                message,
+                                this.splitLines(text, lineWidth, fontSize, spacing),
+                                XEasyPdfTextUtil.splitLines(text, lineWidth, this.font, fontSize, spacing)
+                        );
+                        Assert.assertEquals(
+                                message,
+                                this.splitText(text, lineWidth, fontSize, spacing),
+                                XEasyPdfTextUtil.splitText(text, lineWidth, this.font, fontSize, spacing)
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSplitLinesIndexesFromOffset() {
+        String text = "the quick brown fox jumps over the lazy dog, the quick brown fox jumps over the lazy dog";
+        float[] widths = XEasyPdfTextUtil.getCharacterWidths(text, this.font);
+        int beginIndex = XEasyPdfTextUtil.splitTextIndex(text, widths, 60F, 10F, 0F);
+        Assert.assertTrue(beginIndex > 0);
+        int[] indexes = XEasyPdfTextUtil.splitLinesIndexes(text, widths, beginIndex, 120F, 10F, 0F);
+        List<String> lines = XEasyPdfTextUtil.subLines(text, beginIndex, indexes);
+        Assert.assertEquals(text.length(), indexes[indexes.length - 1]);
+        Assert.assertEquals(text.substring(beginIndex), String.join("", lines));
+        Assert.assertEquals(XEasyPdfTextUtil.splitLines(text.substring(beginIndex), 120F, this.font, 10F, 0F), lines);
+    }
+
+    @Test
+    public void testBlankText() {
+        Assert.assertNull(XEasyPdfTextUtil.splitText("   ", 100F, this.font, 10F, 0F));
+        Assert.assertTrue(XEasyPdfTextUtil.splitLines("", 100F, this.font, 10F, 0F).isEmpty());
+        Assert.assertTrue(XEasyPdfTextUtil.splitLines("text", 5F, this.font, 10F, 0F).isEmpty());
+        Assert.assertEquals(0, XEasyPdfTextUtil.getCharacterWidths(null, this.font).length);
+    }
+
+    @Test
+    public void testCharacterWidths() throws IOException {
+        String text = "Wi x";
+        float[] widths = XEasyPdfTextUtil.getCharacterWidths(text, this.font);
+        for (int i = 0; i < text.length(); i++) {
+            Assert.assertEquals(this.font.getStringWidth(text.substring(i, i + 1)), widths[i], 0F);
+        }
+        Assert.assertEquals(
+                10F * this.font.getStringWidth(text) / 1000 + 3 * 2F,
+                XEasyPdfTextUtil.getTextRealWidth(text, this.font, 10F, 2F),
+                0F
+        );
+    }
+
+    private String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = CHARACTERS.charAt(random.nextInt(CHARACTERS.length()));
+        }
+        return new String(chars);
+    }
+
+    private float getTextRealWidth(String text, float fontSize, float characterSpacing) throws IOException {
+        return fontSize * this.font.getStringWidth(text) / 1000 + (text.length() - 1) * characterSpacing;
+    }
+
+    private String splitText(String text, float lineWidth, float fontSize, float characterSpacing) throws IOException {
+        if (XEasyPdfTextUtil.isBlank(text) || lineWidth - fontSize < 0) {
+            return null;
+        }
+        int fontCount = Math.max(1, (int) (lineWidth / (fontSize + characterSpacing)));
+        for (int i = fontCount, len = text.length(); i <= len; i++) {
+            if (this.getTextRealWidth(text.substring(0, i), fontSize, characterSpacing) > lineWidth) {
+                return text.substring(0, i - 1);
+            }
+        }
+        return text;
+    }
+
+    private List<String> splitLines(String text, float lineWidth, float fontSize, float characterSpacing) throws IOException {
+        if (XEasyPdfTextUtil.isBlank(text) || lineWidth - fontSize < 0) {
+            return new ArrayList<>(0);
+        }
+        List<String> lineList = new ArrayList<>(200);
+        int fontCount = Math.max(1, (int) (lineWidth / (fontSize + characterSpacing)));
+        int beginIndex = 0;
+        for (int i = fontCount, len = text.length(); i <= len; i++) {
+            if (this.getTextRealWidth(text.substring(beginIndex, i), fontSize, characterSpacing) > lineWidth) {
+                lineList.add(text.substring(beginIndex, i - 1));
+                beginIndex = i - 1;
+                i = i + fontCount - 1;
+                if (i >= len) {
+                    lineList.add(text.substring(beginIndex));
+                }
+            }
+        }
+        if (beginIndex + fontCount < text.length() || lineList.isEmpty()) {
+            lineList.add(text.substring(beginIndex));
+        }
+        return lineList;
+    }
+}